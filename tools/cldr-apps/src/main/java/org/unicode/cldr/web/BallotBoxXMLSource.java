@@ -80,6 +80,21 @@ public class BallotBoxXMLSource<T> extends DelegateXMLSource {
         return resolver;
     }
 
+    /**
+     * Set the value for the given path for this DataBackedSource to a winner that was resolved
+     * earlier from the same votes, without resolving them again.
+     *
+     * @param path the xpath
+     * @param value the winning value, or null
+     * @param fullPath the full path for the winning value
+     */
+    void setValueFromSnapshot(String path, String value, String fullPath) {
+        delegate.removeValueAtDPath(path);
+        if (value != null) {
+            delegate.putValueAtPath(fullPath, value);
+        }
+    }
+
     private String getFullPathWithResolver(String path, VoteResolver<String> resolver) {
         String diskFullPath = diskData.getFullPathAtDPath(path);
         if (diskFullPath == null) {
@@ -95,8 +95,9 @@ public class DBUtils {
     public static final String DB_SQL_ENGINE_INNO = "ENGINE=InnoDB";
     public static final String DB_SQL_MB4 = " CHARACTER SET utf8mb4 COLLATE utf8mb4_bin";
 
-    // This could be useful for debugging but is not accurate, since it is not decremented
+    // Only used if CLDR_DB_INSTRUMENT is false. Not accurate, since it is not decremented
     // when a connection is auto-closed as with "try (Connection conn = ...)"
+    // Use getOpenConnectionCount() instead.
     public static int db_number_open = 0;
     public static int db_number_used = 0;
     private static final int db_UnicodeType = java.sql.Types.BLOB;
@@ -104,20 +105,64 @@ public class DBUtils {
     /** the StackTracker can track unclosed connections */
     private static final StackTracker tracker = DEBUG ? new StackTracker() : null;
 
+    /**
+     * If true (the default), connections are wrapped so that their queries are timed, their named
+     * statements cached, and their closing counted. See {@link QueryStats}.
+     */
+    private static final boolean CLDR_DB_INSTRUMENT =
+            CldrUtility.getProperty("CLDR_DB_INSTRUMENT", true);
+
+    /** Queries taking at least this many milliseconds are logged. 0 to log none. */
+    private static final long CLDR_DB_SLOW_QUERY_MS =
+            Long.parseLong(CldrUtility.getProperty("CLDR_DB_SLOW_QUERY_MS", "1000"));
+
+    private static final QueryStats queryStats = new QueryStats(CLDR_DB_SLOW_QUERY_MS);
+
+    static {
+        queryStats.setListener(
+                (name, nanos, failed) -> {
+                    if (CookieSession.sm != null && CookieSession.sm.surveyMetrics != null) {
+                        CookieSession.sm.surveyMetrics.timeQuery(name, nanos, failed);
+                    }
+                });
+    }
+
+    /** The timings of the queries, and the connection counts */
+    static QueryStats getQueryStats() {
+        return queryStats;
+    }
+
+    /** Number of connections currently open */
+    public static int getOpenConnectionCount() {
+        return CLDR_DB_INSTRUMENT ? queryStats.getOpenConnections() : db_number_open;
+    }
+
+    /** Number of connections handed out since startup */
+    public static long getUsedConnectionCount() {
+        return CLDR_DB_INSTRUMENT ? queryStats.getConnectionsUsed() : db_number_used;
+    }
+
     public Appendable stats(Appendable output) throws IOException {
+        if (CLDR_DB_INSTRUMENT) {
+            return queryStats.report(output.append("DBUtils: "), 20);
+        }
         return output.append("DBUtils: currently open: " + db_number_open)
                 .append(", max open: " + db_max_open)
                 .append(", total used: " + db_number_used);
     }
 
     public Appendable statsShort(Appendable output) throws IOException {
+        if (CLDR_DB_INSTRUMENT) {
+            return output.append("" + queryStats.getOpenConnections())
+                    .append("/" + queryStats.getMaxOpenConnections());
+        }
         return output.append("" + db_number_open).append("/" + db_max_open);
     }
 
     /**
      * Close a connection. Note that Connection is AutoClosable, so Connnections may be closed
      * without going through this function. In other words, with newer call sites, the
-     * db_number_open metrics may be off.
+     * db_number_open metrics may be off, unless CLDR_DB_INSTRUMENT is on (the default).
      *
      * @param conn
      */
@@ -132,7 +177,9 @@ public class DBUtils {
                 logger.severe(DBUtils.unchainSqlException(e));
                 e.printStackTrace();
             }
-            db_number_open--;
+            if (!CLDR_DB_INSTRUMENT) {
+                db_number_open--;
+            }
         }
     }
 
@@ -581,10 +628,10 @@ public class DBUtils {
             logger.warning("DB Shutdown in progress, ignoring: " + iae);
         }
         datasource = null;
-        if (DBUtils.db_number_open > 0) {
+        if (getOpenConnectionCount() > 0) {
             logger.info(
                     "DBUtils: removing my instance. "
-                            + DBUtils.db_number_open
+                            + getOpenConnectionCount()
                             + " connections still open?\n"
                             + tracker);
             logger.info("(Note: AutoClosed connections may not be calculated properly.)");
@@ -636,13 +683,19 @@ public class DBUtils {
     public final Connection getAConnection() {
         logger.fine(() -> "DB OPEN: " + getDBOpenStack());
         try {
+            final long start = System.nanoTime();
+            final Connection c;
             if (connectionUrl != null) {
-                Connection c = getDBConnectionFor(connectionUrl);
+                c = getDBConnectionFor(connectionUrl);
                 c.setAutoCommit(true);
+            } else {
+                c = datasource.getConnection();
+            }
+            if (!CLDR_DB_INSTRUMENT) {
+                db_number_open++;
                 return c;
             }
-            db_number_open++;
-            return datasource.getConnection();
+            return InstrumentedConnection.wrap(c, queryStats, System.nanoTime() - start);
         } catch (SQLException se) {
             se.printStackTrace();
             SurveyMain.busted("Fatal in getAConnection()", se);
@@ -658,7 +711,6 @@ public class DBUtils {
      */
     private static Connection getDBConnectionFor(final String connectionUrl) {
         try {
-            db_number_open++;
             return DriverManager.getConnection(connectionUrl);
         } catch (SQLException e) {
             throw new RuntimeException("getConnection() failed for url", e);
@@ -701,7 +753,8 @@ public class DBUtils {
     }
 
     /**
-     * prepare statements for this connection
+     * prepare statements for this connection. The statement is timed under the name, and may be
+     * reused if the same name is prepared again on this connection.
      *
      * @throws SQLException
      */
@@ -709,7 +762,12 @@ public class DBUtils {
             Connection conn, String name, String sql) throws SQLException {
         PreparedStatement ps = null;
         try {
-            ps = prepareForwardReadOnly(conn, sql);
+            ps =
+                    InstrumentedConnection.prepareNamed(
+                            conn, name, sql, InstrumentedConnection.Kind.READ_ONLY);
+            if (ps == null) {
+                ps = prepareForwardReadOnly(conn, sql);
+            }
         } finally {
             if (ps == null) {
                 logger.severe("Warning: couldn't initialize " + name + " from " + sql);
@@ -719,7 +777,8 @@ public class DBUtils {
     }
 
     /**
-     * prepare statements for this connection. Assumes generated keys.
+     * prepare statements for this connection. Assumes generated keys. The statement is timed under
+     * the name, and may be reused if the same name is prepared again on this connection.
      *
      * @throws SQLException
      */
@@ -727,7 +786,12 @@ public class DBUtils {
             throws SQLException {
         PreparedStatement ps = null;
         try {
-            ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+            ps =
+                    InstrumentedConnection.prepareNamed(
+                            conn, name, sql, InstrumentedConnection.Kind.GENERATED_KEYS);
+            if (ps == null) {
+                ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+            }
         } finally {
             if (ps == null) {
                 logger.severe("Warning: couldn't initialize " + name + " from " + sql);
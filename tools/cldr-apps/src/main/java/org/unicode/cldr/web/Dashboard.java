@@ -12,6 +12,7 @@ import java.util.Map.Entry;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
 import org.eclipse.microprofile.openapi.annotations.media.Schema;
 import org.unicode.cldr.test.CheckCLDR;
 import org.unicode.cldr.util.*;
@@ -248,16 +249,48 @@ public class Dashboard {
         } else {
             args.setUserAndOrganization(UserRegistry.NO_USER, usersOrg);
         }
-        args.setFiles(locale, sourceFactory, sm.getDiskFactory());
+        final Factory baselineFactory = sm.getDiskFactory();
+        args.setFiles(locale, sourceFactory, baselineFactory);
+        VettingViewer<Organization>.PathNotes notes = null;
         if (xpath != null) {
             args.setXpath(xpath);
+        } else {
+            notes = getNotes(sourceFactory, locale, usersOrg, coverageLevel, baselineFactory);
+        }
+        return reallyGet(vv, args, notes);
+    }
+
+    /**
+     * Get the kept notifications of the locale, see {@link DashboardCache}
+     *
+     * @return the notes, or null to go through all the paths
+     */
+    private VettingViewer<Organization>.PathNotes getNotes(
+            STFactory factory,
+            CLDRLocale locale,
+            Organization usersOrg,
+            Level coverageLevel,
+            Factory baselineFactory) {
+        final DashboardCache cache = DashboardCache.get(factory);
+        if (cache == null) {
+            return null;
+        }
+        try {
+            return cache.getNotes(locale, usersOrg, coverageLevel, baselineFactory);
+        } catch (ExecutionException e) {
+            SurveyLog.logException(e, "Getting dashboard notes for " + locale);
+            return null;
         }
-        return reallyGet(vv, args);
     }
 
-    private ReviewOutput reallyGet(VettingViewer<Organization> vv, VettingParameters args) {
+    private ReviewOutput reallyGet(
+            VettingViewer<Organization> vv,
+            VettingParameters args,
+            VettingViewer<Organization>.PathNotes notes) {
         VettingViewer<Organization>.DashboardData dd;
-        dd = vv.generateDashboard(args);
+        try (SurveyMetrics.Timing t = SurveyMetrics.time("vettingviewer_dashboard")) {
+            dd = notes == null ? vv.generateDashboard(args) : vv.generateDashboard(args, notes);
+        }
 
         ReviewOutput reviewOutput = new ReviewOutput();
 
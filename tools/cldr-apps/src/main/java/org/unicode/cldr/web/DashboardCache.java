@@ -0,0 +1,382 @@
+package org.unicode.cldr.web;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.logging.Logger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.unicode.cldr.util.CLDRConfig;
+import org.unicode.cldr.util.CLDRLocale;
+import org.unicode.cldr.util.Counter;
+import org.unicode.cldr.util.Factory;
+import org.unicode.cldr.util.Level;
+import org.unicode.cldr.util.NotificationCategory;
+import org.unicode.cldr.util.Organization;
+import org.unicode.cldr.util.VettingParameters;
+import org.unicode.cldr.util.VettingViewer;
+
+/**
+ * Keeps the Dashboard notifications of each locale that are the same for all the users of an
+ * organization at a coverage level against a baseline (see {@link VettingViewer.PathNotes}), so
+ * that the Dashboard of a user and the Priority Items Summary are made from them instead of going
+ * through all the paths of the locale each time. Each keeps its own baseline: the Dashboard the
+ * Survey Tool's disk factory, the summary the common, seed, main and annotations factory.
+ *
+ * <p>Each vote updates the notes of its path in the locale and its cached sublocales at once, off
+ * the voting thread. A changed winning value can also change the checks of other paths, so each of
+ * those notes is then made again in the background, one at a time, while the old ones are still
+ * served.
+ *
+ * <p>The notes are also stored on disk in a compact form (see {@link
+ * VettingViewer.PathNotes#write}), so that they survive a restart. They are keyed by the locale's
+ * vote snapshot key (see {@link STFactory#getLoadedStateKey}), which covers the code, the data and
+ * the votes of the locale and its parents, and by the baseline files; stored notes with another key
+ * are made again.
+ */
+final class DashboardCache implements STFactory.VoteListener {
+    static final Logger logger = SurveyLog.forClass(DashboardCache.class);
+
+    /** Set CLDR_DASHBOARD_CACHE=false to go through all the paths for each Dashboard */
+    private static final boolean ENABLED =
+            CLDRConfig.getInstance().getProperty("CLDR_DASHBOARD_CACHE", true);
+
+    /** Change this if the file format changes */
+    private static final int FORMAT_VERSION = 1;
+
+    private static DashboardCache instance = null;
+
+    /**
+     * Get the cache for this STFactory
+     *
+     * @return the cache, or null if caching is off
+     */
+    static synchronized DashboardCache get(STFactory factory) {
+        if (!ENABLED) {
+            return null;
+        }
+        if (instance == null || instance.factory != factory) {
+            instance = new DashboardCache(factory);
+        }
+        return instance;
+    }
+
+    private static final class Key {
+        final CLDRLocale locale;
+        final Organization org;
+        final Level level;
+        final Factory baselineFactory;
+
+        Key(CLDRLocale locale, Organization org, Level level, Factory baselineFactory) {
+            this.locale = locale;
+            this.org = org;
+            this.level = level;
+            this.baselineFactory = baselineFactory;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) o;
+            return locale.equals(other.locale)
+                    && org == other.org
+                    && level == other.level
+                    && baselineFactory == other.baselineFactory;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(locale, org, level, baselineFactory);
+        }
+    }
+
+    private final STFactory factory;
+    private final LoadingCache<Key, VettingViewer<Organization>.PathNotes> cache;
+
+    /** The keys whose notes are waiting to be made again after a vote */
+    private final Set<Key> refreshQueued = ConcurrentHashMap.newKeySet();
+
+    /** Held while the notes of a key are made again, so that older notes never replace newer */
+    private final Map<Key, Object> refreshLocks = new ConcurrentHashMap<>();
+
+    private DashboardCache(STFactory factory) {
+        this.factory = factory;
+        final CLDRConfig config = CLDRConfig.getInstance();
+        cache =
+                CacheBuilder.newBuilder()
+                        .recordStats()
+                        // weighed by the number of paths kept, when loaded
+                        .maximumWeight(config.getProperty("CLDR_DASHBOARD_CACHE_PATHS", 5000000))
+                        .weigher(
+                                (Key k, VettingViewer<Organization>.PathNotes v) ->
+                                        Math.max(1, v.size()))
+                        .expireAfterWrite(
+                                Duration.ofMinutes(
+                                        config.getProperty("CLDR_DASHBOARD_CACHE_MINUTES", 20)))
+                        .build(
+                                new CacheLoader<>() {
+                                    @Override
+                                    public VettingViewer<Organization>.PathNotes load(
+                                            Key key) {
+                                        return makeNotes(key);
+                                    }
+                                });
+        factory.addVoteListener(this);
+        SurveyMetrics.registerCache("dashboard_notes", cache::stats);
+    }
+
+    private VettingViewer<Organization>.PathNotes makeNotes(Key key) {
+        final SurveyMain sm = CookieSession.sm;
+        VettingViewer<Organization> vv =
+                new VettingViewer<>(sm.getSupplementalDataInfo(), factory, new STUsersChoice(sm));
+        VettingParameters args =
+                new VettingParameters(
+                        VettingViewer.getDashboardNotificationCategories(key.org),
+                        key.locale,
+                        key.level);
+        args.setUserAndOrganization(0, key.org);
+        args.setFiles(key.locale, factory, key.baselineFactory);
+        // before making the notes, so that a vote while they are made changes the key
+        final String storeKey = getStoreKey(key);
+        final File file = getStoreFile(key);
+        if (storeKey != null) {
+            final VettingViewer<Organization>.PathNotes stored = read(vv, args, file, storeKey);
+            if (stored != null) {
+                return stored;
+            }
+        }
+        final VettingViewer<Organization>.PathNotes notes;
+        try (SurveyMetrics.Timing t = SurveyMetrics.time("vettingviewer_dashboard_notes")) {
+            notes = vv.generatePathNotes(args);
+        }
+        if (storeKey != null) {
+            store(notes, file, storeKey);
+        }
+        return notes;
+    }
+
+    /**
+     * Get the key of the stored notes: the state of the locale, the notes' parameters, and the
+     * baseline files of the locale and its parents
+     *
+     * @return the key, or null if the notes can't be stored
+     */
+    private String getStoreKey(Key key) {
+        final String stateKey = factory.getLoadedStateKey(key.locale);
+        if (stateKey == null) {
+            return null;
+        }
+        Hasher hasher = Hashing.sha256().newHasher();
+        hasher.putString(stateKey, StandardCharsets.UTF_8)
+                .putString(key.org.name(), StandardCharsets.UTF_8)
+                .putString(key.level.name(), StandardCharsets.UTF_8);
+        for (CLDRLocale l = key.locale; l != null; l = l.getParent()) {
+            final List<File> dirs =
+                    key.baselineFactory.getSourceDirectoriesForLocale(l.getBaseName());
+            if (dirs == null) {
+                continue;
+            }
+            for (File dir : dirs) {
+                final File xml = new File(dir, l.getBaseName() + ".xml");
+                hasher.putString(xml.getPath(), StandardCharsets.UTF_8);
+                try {
+                    hasher.putBytes(Files.readAllBytes(xml.toPath()));
+                } catch (NoSuchFileException e) {
+                    hasher.putInt(-1);
+                } catch (IOException e) {
+                    SurveyLog.logException(logger, e, "Reading " + xml);
+                    return null;
+                }
+            }
+        }
+        return hasher.hash().toString();
+    }
+
+    /** Where the notes of the key are stored */
+    private File getStoreFile(Key key) {
+        final String baseline =
+                Hashing.sha256()
+                        .hashString(
+                                String.valueOf(
+                                        List.of(key.baselineFactory.getSourceDirectories())),
+                                StandardCharsets.UTF_8)
+                        .toString()
+                        .substring(0, 16);
+        return new File(
+                SurveyMain.getSurveyHome(),
+                "dashboard-notes/"
+                        + key.locale.getBaseName()
+                        + "/"
+                        + key.org.name()
+                        + "-"
+                        + key.level.name()
+                        + "-"
+                        + baseline
+                        + ".dat");
+    }
+
+    /**
+     * Read stored notes
+     *
+     * @return the notes, or null if there are none for this key
+     */
+    private static VettingViewer<Organization>.PathNotes read(
+            VettingViewer<Organization> vv, VettingParameters args, File file, String storeKey) {
+        if (!file.isFile()) {
+            return null;
+        }
+        try (DataInputStream in =
+                new DataInputStream(
+                        new BufferedInputStream(new GZIPInputStream(new FileInputStream(file))))) {
+            if (in.readInt() != FORMAT_VERSION || !in.readUTF().equals(storeKey)) {
+                return null;
+            }
+            return vv.readPathNotes(args, in);
+        } catch (IOException | RuntimeException e) {
+            logger.warning("Ignoring unreadable dashboard notes " + file + ": " + e);
+            return null;
+        }
+    }
+
+    /** Store the notes off this thread, replacing the file atomically */
+    private static void store(
+            VettingViewer<Organization>.PathNotes notes, File file, String storeKey) {
+        SurveyThreadManager.getExecutorService()
+                .submit(
+                        () -> {
+                            try {
+                                write(notes, file, storeKey);
+                            } catch (IOException e) {
+                                SurveyLog.logException(logger, e, "Writing " + file);
+                            }
+                        });
+    }
+
+    private static void write(
+            VettingViewer<Organization>.PathNotes notes, File file, String storeKey)
+            throws IOException {
+        File dir = file.getParentFile();
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Could not create " + dir);
+        }
+        File tmp = File.createTempFile(file.getName(), ".tmp", dir);
+        try {
+            try (DataOutputStream out =
+                    new DataOutputStream(
+                            new BufferedOutputStream(
+                                    new GZIPOutputStream(new FileOutputStream(tmp))))) {
+                out.writeInt(FORMAT_VERSION);
+                out.writeUTF(storeKey);
+                notes.write(out);
+            }
+            Files.move(
+                    tmp.toPath(),
+                    file.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            tmp.delete();
+        }
+    }
+
+    /**
+     * Get the notes of a locale, making them if they are not kept
+     *
+     * @param locale the locale
+     * @param org the organization whose votes count as "ours"
+     * @param level the coverage level
+     * @param baselineFactory the factory of the baseline files to compare against
+     * @return the notes
+     */
+    VettingViewer<Organization>.PathNotes getNotes(
+            CLDRLocale locale, Organization org, Level level, Factory baselineFactory)
+            throws ExecutionException {
+        return cache.get(new Key(locale, org, level, baselineFactory));
+    }
+
+    /**
+     * Get the counts of a locale for the Priority Items Summary, see {@link
+     * VettingViewer#setLocaleProblemCounts}
+     */
+    Counter<NotificationCategory> getProblemCounts(
+            CLDRLocale locale, Organization org, Level level, Factory baselineFactory)
+            throws ExecutionException {
+        return getNotes(locale, org, level, baselineFactory).getProblemCounts();
+    }
+
+    @Override
+    public void voteCast(CLDRLocale locale, String xpath) {
+        for (Key key : cache.asMap().keySet()) {
+            if (isSelfOrAncestor(locale, key.locale)) {
+                // update just this path at once, off the voting thread
+                SurveyThreadManager.getExecutorService().submit(() -> update(key, xpath));
+                // then all the paths, since the new winner can change the checks of others
+                if (refreshQueued.add(key)) {
+                    SurveyThreadManager.getExecutorService().submit(() -> refresh(key));
+                }
+            }
+        }
+    }
+
+    private static boolean isSelfOrAncestor(CLDRLocale ancestor, CLDRLocale locale) {
+        for (CLDRLocale l = locale; l != null; l = l.getParent()) {
+            if (l.equals(ancestor)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void update(Key key, String xpath) {
+        final VettingViewer<Organization>.PathNotes notes = cache.getIfPresent(key);
+        if (notes == null) {
+            return;
+        }
+        try {
+            notes.update(xpath);
+        } catch (RuntimeException e) {
+            logger.warning("Updating dashboard notes of " + key.locale + ", " + xpath + ": " + e);
+            cache.asMap().remove(key, notes);
+        }
+    }
+
+    /** Make the notes of the key again, if they are still kept */
+    private void refresh(Key key) {
+        synchronized (refreshLocks.computeIfAbsent(key, k -> new Object())) {
+            // votes from now on queue another refresh
+            refreshQueued.remove(key);
+            if (cache.getIfPresent(key) == null) {
+                return;
+            }
+            try {
+                cache.asMap().replace(key, makeNotes(key));
+            } catch (RuntimeException e) {
+                logger.warning("Refreshing dashboard notes of " + key.locale + ": " + e);
+                cache.invalidate(key);
+            }
+        }
+    }
+}
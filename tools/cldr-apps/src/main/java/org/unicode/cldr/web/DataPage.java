@@ -354,7 +354,9 @@ public class DataPage {
              *     <p>Called only by DataPage.DataRow.CandidateItem.toJSONString()
              */
             public String getExample() {
-                return nativeExampleGenerator.getExampleHtml(xpath, rawValue);
+                try (SurveyMetrics.Timing t = SurveyMetrics.time("example_html")) {
+                    return nativeExampleGenerator.getExampleHtml(xpath, rawValue);
+                }
             }
 
             /**
@@ -987,9 +989,20 @@ public class DataPage {
          * @return the StatusAction
          */
         public StatusAction getStatusAction(InputMethod inputMethod) {
-            // null because this is for display.
+            return getStatusAction(inputMethod, userForVotelist);
+        }
+
+        /**
+         * Get the StatusAction for this DataRow, as seen by the given user rather than the user of
+         * the page
+         *
+         * @param inputMethod
+         * @param userInfo the user, or null
+         * @return the StatusAction
+         */
+        public StatusAction getStatusAction(InputMethod inputMethod, UserInfo userInfo) {
             return SurveyMain.checkCLDRPhase(locale)
-                    .getShowRowAction(this, inputMethod, getPathHeader(), userForVotelist);
+                    .getShowRowAction(this, inputMethod, getPathHeader(), userInfo);
         }
 
         /**
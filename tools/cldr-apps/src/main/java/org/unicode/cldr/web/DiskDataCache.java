@@ -103,6 +103,7 @@ public class DiskDataCache {
         this.english = english;
         this.phf = PathHeader.getFactory(english);
         this.sdi = sdi;
+        SurveyMetrics.registerCache("disk_data", cache::stats);
     }
 
     public PathHeader.Factory getPathHeaderFactory() {
@@ -111,6 +112,7 @@ public class DiskDataCache {
 
     private LoadingCache<CLDRLocale, DiskDataEntry> cache =
             CacheBuilder.newBuilder()
+                    .recordStats()
                     .build(
                             new CacheLoader<CLDRLocale, DiskDataEntry>() {
 
@@ -10,6 +10,7 @@ import org.unicode.cldr.util.CLDRLocale;
 public class DisplayAndInputProcessorFactory {
     private static final LoadingCache<CLDRLocale, DisplayAndInputProcessor> daipCache =
             CacheBuilder.newBuilder()
+                    .recordStats()
                     .softValues()
                     .build(
                             new CacheLoader<>() {
@@ -21,6 +22,10 @@ public class DisplayAndInputProcessorFactory {
                                 }
                             });
 
+    static {
+        SurveyMetrics.registerCache("daip", daipCache::stats);
+    }
+
     static DisplayAndInputProcessor make(CLDRLocale locale) {
         try {
             return daipCache.get(locale);
@@ -62,6 +62,7 @@ public class HttpStatusCache {
 
     private static Cache<URL, Integer> urlCache =
             CacheBuilder.newBuilder()
+                    .recordStats()
                     .maximumSize(8192)
                     // We would want the expiry time greater if this were used by users, not just
                     // TC.
@@ -69,6 +70,10 @@ public class HttpStatusCache {
                     .concurrencyLevel(3)
                     .build();
 
+    static {
+        SurveyMetrics.registerCache("http_status", urlCache::stats);
+    }
+
     /**
      * Returns the status code.
      *
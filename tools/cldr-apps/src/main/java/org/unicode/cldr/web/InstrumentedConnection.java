@@ -0,0 +1,284 @@
+package org.unicode.cldr.web;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Wraps a JDBC Connection so that the statements it prepares are timed in a {@link QueryStats},
+ * and so that it keeps a cache of named statements.
+ *
+ * <p>A named statement (see {@link #prepareNamed}) is not closed when the caller closes it, but
+ * kept until the connection is closed, and handed out again if the same name and SQL are prepared
+ * again on this connection. A cached statement that is still in use is not handed out twice.
+ * Statements are also cached by the connection pool across connections, see statementCacheSize in
+ * server.xml.
+ */
+final class InstrumentedConnection implements InvocationHandler {
+    /** How the statement was prepared */
+    enum Kind {
+        /** forward only, read only */
+        READ_ONLY,
+        /** returning generated keys */
+        GENERATED_KEYS
+    }
+
+    /**
+     * Wrap a connection
+     *
+     * @param conn the connection from the pool or the driver
+     * @param stats where to record the connection and its queries
+     * @param waitNanos how long it took to get the connection
+     */
+    static Connection wrap(Connection conn, QueryStats stats, long waitNanos) {
+        stats.connectionOpened(waitNanos);
+        return (Connection)
+                Proxy.newProxyInstance(
+                        InstrumentedConnection.class.getClassLoader(),
+                        new Class<?>[] {Connection.class},
+                        new InstrumentedConnection(conn, stats));
+    }
+
+    /**
+     * Prepare a named statement, from the connection's cache if possible
+     *
+     * @return the statement, or null if conn is not an instrumented connection
+     */
+    static PreparedStatement prepareNamed(Connection conn, String name, String sql, Kind kind)
+            throws SQLException {
+        if (!Proxy.isProxyClass(conn.getClass())) {
+            return null;
+        }
+        InvocationHandler handler = Proxy.getInvocationHandler(conn);
+        if (!(handler instanceof InstrumentedConnection)) {
+            return null;
+        }
+        return ((InstrumentedConnection) handler).prepareCached(conn, name, sql, kind);
+    }
+
+    private final Connection target;
+    private final QueryStats stats;
+    private boolean closed = false;
+
+    /** Named statements, by kind and name. Guarded by this. */
+    private final Map<String, TimedStatement> cache = new HashMap<>();
+
+    private InstrumentedConnection(Connection target, QueryStats stats) {
+        this.target = target;
+        this.stats = stats;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "close":
+                close();
+                return null;
+            case "prepareStatement":
+                {
+                    final String sql = (String) args[0];
+                    final Statement st = (Statement) call(method, args);
+                    stats.statementPrepared(false);
+                    return wrapStatement(
+                                    proxy,
+                                    st,
+                                    PreparedStatement.class,
+                                    QueryStats.nameFor(sql),
+                                    sql,
+                                    false)
+                            .proxy;
+                }
+            case "createStatement":
+                {
+                    final Statement st = (Statement) call(method, args);
+                    return wrapStatement(proxy, st, Statement.class, null, null, false).proxy;
+                }
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            default:
+                return call(method, args);
+        }
+    }
+
+    private Object call(Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private synchronized PreparedStatement prepareCached(
+            Connection proxy, String name, String sql, Kind kind) throws SQLException {
+        final String key = kind + ":" + name;
+        TimedStatement cached = cache.get(key);
+        if (cached != null && !cached.inUse && cached.sql.equals(sql)) {
+            cached.inUse = true;
+            stats.statementPrepared(true);
+            return (PreparedStatement) cached.proxy;
+        }
+        final PreparedStatement ps;
+        if (kind == Kind.GENERATED_KEYS) {
+            ps = target.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+        } else {
+            ps = DBUtils.prepareForwardReadOnly(target, sql);
+        }
+        stats.statementPrepared(false);
+        if (cached != null) {
+            // in use, or the name was reused for other SQL: don't cache this one
+            return (PreparedStatement)
+                    wrapStatement(proxy, ps, PreparedStatement.class, name, sql, false).proxy;
+        }
+        TimedStatement timed = wrapStatement(proxy, ps, PreparedStatement.class, name, sql, true);
+        timed.inUse = true;
+        cache.put(key, timed);
+        return (PreparedStatement) timed.proxy;
+    }
+
+    private synchronized void close() throws SQLException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            for (TimedStatement s : cache.values()) {
+                try {
+                    s.target.close();
+                } catch (SQLException e) {
+                    DBUtils.logger.warning("Closing cached " + s.name + ": " + e);
+                }
+            }
+            cache.clear();
+            target.close();
+        } finally {
+            stats.connectionClosed();
+        }
+    }
+
+    private TimedStatement wrapStatement(
+            Object connProxy,
+            Statement st,
+            Class<?> type,
+            String name,
+            String sql,
+            boolean cached) {
+        TimedStatement timed = new TimedStatement(connProxy, st, name, sql, cached);
+        timed.proxy =
+                Proxy.newProxyInstance(
+                        InstrumentedConnection.class.getClassLoader(),
+                        new Class<?>[] {type},
+                        timed);
+        return timed;
+    }
+
+    /** Times the execute methods of one statement */
+    private final class TimedStatement implements InvocationHandler {
+        final Object connProxy;
+        final Statement target;
+        final String name;
+        final String sql;
+        /** if true, the statement is only closed with the connection */
+        final boolean cached;
+
+        Object proxy;
+        /** Guarded by the connection */
+        boolean inUse = false;
+
+        TimedStatement(
+                Object connProxy, Statement target, String name, String sql, boolean cached) {
+            this.connProxy = connProxy;
+            this.target = target;
+            this.name = name;
+            this.sql = sql;
+            this.cached = cached;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            final String methodName = method.getName();
+            if (methodName.startsWith("execute")) {
+                // Statement.execute*(sql) names the query by its SQL
+                final String execSql =
+                        (args != null && args.length > 0 && args[0] instanceof String)
+                                ? (String) args[0]
+                                : sql;
+                final String execName =
+                        execSql == sql && name != null
+                                ? name
+                                : execSql == null ? "(batch)" : QueryStats.nameFor(execSql);
+                final long start = System.nanoTime();
+                boolean failed = true;
+                try {
+                    Object result = call(method, args);
+                    failed = false;
+                    return result;
+                } finally {
+                    stats.record(
+                            execName,
+                            execSql == null ? execName : execSql,
+                            System.nanoTime() - start,
+                            failed);
+                }
+            }
+            switch (methodName) {
+                case "close":
+                    if (cached) {
+                        release();
+                        return null;
+                    }
+                    break;
+                case "getConnection":
+                    return connProxy;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            return call(method, args);
+        }
+
+        private Object call(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        /** Return a cached statement to the cache, ready for its next use */
+        private void release() throws SQLException {
+            synchronized (InstrumentedConnection.this) {
+                if (!inUse) {
+                    return;
+                }
+                inUse = false;
+                if (closed) {
+                    return;
+                }
+            }
+            try {
+                ((PreparedStatement) target).clearParameters();
+                if (target.getResultSet() != null) {
+                    target.getResultSet().close();
+                }
+            } catch (SQLException e) {
+                // not reusable after all
+                synchronized (InstrumentedConnection.this) {
+                    cache.values().remove(this);
+                }
+                target.close();
+            }
+        }
+    }
+}
@@ -33,6 +33,7 @@ public class OrgCoverageLevelCounter {
     final StandardCodes sc = StandardCodes.make();
     final LoadingCache<Pair<Organization, CLDRLocale>, Integer> cache =
             CacheBuilder.newBuilder()
+                    .recordStats()
                     .build(
                             new CacheLoader<Pair<Organization, CLDRLocale>, Integer>() {
                                 @Override
@@ -46,6 +47,7 @@ public class OrgCoverageLevelCounter {
     public OrgCoverageLevelCounter(STFactory factory) {
         logger.entering("OrgCoverageLevelCounter", "c'tor");
         this.factory = factory;
+        SurveyMetrics.registerCache("org_coverage", cache::stats);
     }
 
     public int countPathsInCoverage(final Organization org, final CLDRLocale loc)
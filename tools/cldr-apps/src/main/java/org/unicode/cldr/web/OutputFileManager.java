@@ -23,6 +23,12 @@ import java.nio.file.Files;
 import java.time.Instant;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -34,6 +40,14 @@ public class OutputFileManager {
     private static final Logger logger = SurveyLog.forClass(OutputFileManager.class);
 
     private static final String XML_SUFFIX = ".xml";
+
+    /** How many locales to write at once when generating VXML */
+    private static final int VXML_THREADS =
+            CLDRConfig.getInstance()
+                    .getProperty(
+                            "CLDR_VXML_THREADS",
+                            Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+
     private final SurveyMain sm;
 
     public OutputFileManager(SurveyMain surveyMain) {
@@ -189,27 +203,109 @@ public class OutputFileManager {
     /**
      * Output all files (VXML, etc.)
      *
+     * <p>Locales are written by a pool of CLDR_VXML_THREADS threads, each file as soon as it is
+     * done. A locale is only started once its parent (if it is also being written) is done, so
+     * that the parent's data is loaded once rather than by each of its children at the same time.
+     * Stops at the first failure, or when the progress callback says to stop.
+     *
      * @param vxmlGenerator the VxmlGenerator
      * @param results the VxmlQueue.Results
      * @return true for success, false for failure
      */
     private boolean outputAllFiles(VxmlGenerator vxmlGenerator, VxmlQueue.Results results) {
+        final Set<CLDRLocale> locales = vxmlGenerator.getLocales();
+        final int threads = Math.max(1, Math.min(VXML_THREADS, locales.size()));
+        final ExecutorService executor =
+                Executors.newFixedThreadPool(threads, SurveyThreadManager.getThreadFactory());
+        final Map<CLDRLocale, CompletableFuture<Void>> futures = new HashMap<>();
+        final AtomicInteger written = new AtomicInteger();
+        final long start = System.nanoTime();
         try {
-            for (CLDRLocale loc : vxmlGenerator.getLocales()) {
-                for (OutputFileManager.Kind kind : OutputFileManager.Kind.values()) {
-                    if (kind == OutputFileManager.Kind.vxml
-                            || kind == OutputFileManager.Kind.pxml) {
-                        logger.log(Level.WARNING, "Writing " + loc.getDisplayName() + ":" + kind);
-                        writeManualOutputFile(results.directory, loc, kind);
-                    }
-                }
-                vxmlGenerator.update(loc);
+            for (CLDRLocale loc : locales) {
+                scheduleLocale(loc, locales, futures, executor, vxmlGenerator, results, written);
             }
+            CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0])).get();
             return true;
-        } catch (Exception e) {
-            logger.log(Level.SEVERE, "outputAllFiles: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            logger.log(Level.WARNING, "outputAllFiles: interrupted, stopping");
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            logger.log(Level.SEVERE, "outputAllFiles: " + e.getCause().getMessage(), e.getCause());
             return false;
+        } finally {
+            executor.shutdownNow();
+            results.throughput =
+                    throughputReport(written.get(), threads, System.nanoTime() - start);
+            logger.log(Level.WARNING, "outputAllFiles: " + results.throughput);
+        }
+    }
+
+    /**
+     * Schedule one locale, after its parent
+     *
+     * @return the future that completes when the locale has been written
+     */
+    private CompletableFuture<Void> scheduleLocale(
+            CLDRLocale loc,
+            Set<CLDRLocale> locales,
+            Map<CLDRLocale, CompletableFuture<Void>> futures,
+            ExecutorService executor,
+            VxmlGenerator vxmlGenerator,
+            VxmlQueue.Results results,
+            AtomicInteger written) {
+        CompletableFuture<Void> future = futures.get(loc);
+        if (future == null) {
+            final CLDRLocale parent = loc.getParent();
+            final CompletableFuture<Void> after =
+                    (parent != null && locales.contains(parent))
+                            ? scheduleLocale(
+                                    parent,
+                                    locales,
+                                    futures,
+                                    executor,
+                                    vxmlGenerator,
+                                    results,
+                                    written)
+                            : CompletableFuture.completedFuture(null);
+            future =
+                    after.thenRunAsync(
+                            () -> {
+                                writeLocale(results.directory, loc, vxmlGenerator);
+                                written.incrementAndGet();
+                            },
+                            executor);
+            // stop the others as soon as one fails
+            future.whenComplete(
+                    (v, t) -> {
+                        if (t != null) {
+                            vxmlGenerator.fail();
+                        }
+                    });
+            futures.put(loc, future);
+        }
+        return future;
+    }
+
+    /** Write the files of one locale, unless told to stop */
+    private void writeLocale(File directory, CLDRLocale loc, VxmlGenerator vxmlGenerator) {
+        vxmlGenerator.checkStopped();
+        final long start = System.currentTimeMillis();
+        for (OutputFileManager.Kind kind : OutputFileManager.Kind.values()) {
+            if (kind == OutputFileManager.Kind.vxml || kind == OutputFileManager.Kind.pxml) {
+                logger.log(Level.WARNING, "Writing " + loc.getDisplayName() + ":" + kind);
+                writeManualOutputFile(directory, loc, kind);
+            }
         }
+        logger.fine(() -> "Wrote " + loc + " in " + (System.currentTimeMillis() - start) + " ms");
+        vxmlGenerator.update(loc);
+    }
+
+    private static String throughputReport(int written, int threads, long nanos) {
+        final double seconds = nanos / (double) TimeUnit.SECONDS.toNanos(1);
+        return String.format(
+                "Wrote %d locales in %.1f s with %d threads (%.1f locales/minute)",
+                written, seconds, threads, seconds > 0 ? written * 60 / seconds : 0.0);
     }
 
     public static Set<CLDRLocale> createVxmlLocaleSet() {
@@ -253,7 +349,8 @@ public class OutputFileManager {
              */
             String outDirName = getOutDirName(vetDataDir, loc, kind);
             File outDir = new File(outDirName);
-            if (!outDir.exists() && !outDir.mkdirs()) {
+            // another thread may be creating it too
+            if (!outDir.mkdirs() && !outDir.isDirectory()) {
                 throw new InternalError("Unable to create directory: " + outDirName);
             }
             String outFileName = outDirName + "/" + loc + XML_SUFFIX;
@@ -637,7 +734,7 @@ public class OutputFileManager {
     private static File makeAnnotationFile(File outFile) {
         File parentDir = outFile.getParentFile().getParentFile();
         File annotationsDir = new File(parentDir, DirNames.justAnnotations);
-        if (!annotationsDir.exists() && !annotationsDir.mkdirs()) {
+        if (!annotationsDir.mkdirs() && !annotationsDir.isDirectory()) {
             throw new InternalError("Unable to create directory: " + annotationsDir);
         }
         return new File(annotationsDir, outFile.getName());
@@ -0,0 +1,254 @@
+package org.unicode.cldr.web;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * Timings of the SQL run through {@link DBUtils}, and counts of its connections and statements.
+ *
+ * <p>Each query is timed under a name: the name given to {@link DBUtils#prepareStatement(
+ * java.sql.Connection, String, String)}, or else the SQL itself with its literals replaced by
+ * '?'. Queries slower than the slow query threshold are logged.
+ */
+final class QueryStats {
+    static final Logger logger = SurveyLog.forClass(QueryStats.class);
+
+    /** Upper bounds of the histogram buckets, in milliseconds. The last bucket has no bound. */
+    static final long[] BUCKETS_MS = {1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000};
+
+    /** Names beyond this many are all counted as {@link #OTHER} */
+    static final int MAX_NAMES = 500;
+
+    static final String OTHER = "(other)";
+
+    /** Called after every query */
+    interface Listener {
+        void queryTimed(String name, long nanos, boolean failed);
+    }
+
+    /** The timings of one query */
+    static final class Stat {
+        final String name;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS_MS.length + 1);
+
+        private Stat(String name) {
+            this.name = name;
+        }
+
+        private void record(long nanos, boolean failed) {
+            count.increment();
+            if (failed) {
+                errors.increment();
+            }
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+            buckets.incrementAndGet(bucketFor(TimeUnit.NANOSECONDS.toMillis(nanos)));
+        }
+
+        long getCount() {
+            return count.sum();
+        }
+
+        long getErrors() {
+            return errors.sum();
+        }
+
+        long getTotalMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(totalNanos.sum());
+        }
+
+        long getMaxMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(maxNanos.get());
+        }
+
+        /** The count in each bucket of {@link #BUCKETS_MS}, and then the count over the last */
+        long[] getHistogram() {
+            long[] result = new long[buckets.length()];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = buckets.get(i);
+            }
+            return result;
+        }
+    }
+
+    private final Map<String, Stat> stats = new ConcurrentHashMap<>();
+    private final AtomicInteger openConnections = new AtomicInteger();
+    private final AtomicInteger maxOpenConnections = new AtomicInteger();
+    private final LongAdder connectionsUsed = new LongAdder();
+    private final LongAdder connectionWaitNanos = new LongAdder();
+    private final LongAdder statementsPrepared = new LongAdder();
+    private final LongAdder statementCacheHits = new LongAdder();
+    private volatile long slowMillis;
+    private volatile Listener listener = null;
+
+    /**
+     * @param slowMillis queries taking at least this long are logged, or 0 to log none
+     */
+    QueryStats(long slowMillis) {
+        this.slowMillis = slowMillis;
+    }
+
+    void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    void setSlowMillis(long slowMillis) {
+        this.slowMillis = slowMillis;
+    }
+
+    /**
+     * Record one execution
+     *
+     * @param name the query's name
+     * @param sql the query, for the slow query log
+     * @param nanos how long it took
+     * @param failed true if it threw
+     */
+    void record(String name, String sql, long nanos, boolean failed) {
+        Stat stat = stats.get(name);
+        if (stat == null) {
+            if (stats.size() >= MAX_NAMES) {
+                name = OTHER;
+            }
+            stat = stats.computeIfAbsent(name, Stat::new);
+        }
+        stat.record(nanos, failed);
+        final long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        if (slowMillis > 0 && millis >= slowMillis) {
+            logger.warning(
+                    "Slow query: "
+                            + millis
+                            + "ms"
+                            + (failed ? " (failed)" : "")
+                            + " "
+                            + name
+                            + (sql.equals(name) ? "" : ": " + sql));
+        }
+        final Listener l = listener;
+        if (l != null) {
+            l.queryTimed(stat.name, nanos, failed);
+        }
+    }
+
+    void connectionOpened(long waitNanos) {
+        connectionsUsed.increment();
+        connectionWaitNanos.add(waitNanos);
+        maxOpenConnections.accumulateAndGet(openConnections.incrementAndGet(), Math::max);
+    }
+
+    void connectionClosed() {
+        openConnections.decrementAndGet();
+    }
+
+    void statementPrepared(boolean cacheHit) {
+        if (cacheHit) {
+            statementCacheHits.increment();
+        } else {
+            statementsPrepared.increment();
+        }
+    }
+
+    int getOpenConnections() {
+        return openConnections.get();
+    }
+
+    int getMaxOpenConnections() {
+        return maxOpenConnections.get();
+    }
+
+    long getConnectionsUsed() {
+        return connectionsUsed.sum();
+    }
+
+    /** Total time spent waiting for the pool to hand out a connection */
+    long getConnectionWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(connectionWaitNanos.sum());
+    }
+
+    long getStatementsPrepared() {
+        return statementsPrepared.sum();
+    }
+
+    long getStatementCacheHits() {
+        return statementCacheHits.sum();
+    }
+
+    Stat get(String name) {
+        return stats.get(name);
+    }
+
+    /**
+     * @return all the queries, the most total time first
+     */
+    List<Stat> getStats() {
+        List<Stat> result = new ArrayList<>(stats.values());
+        result.sort(Comparator.comparingLong((Stat s) -> s.totalNanos.sum()).reversed());
+        return result;
+    }
+
+    /** Append the connection counts, and the top queries by total time */
+    Appendable report(Appendable output, int top) throws IOException {
+        output.append("DB connections: open " + getOpenConnections())
+                .append(", max open " + getMaxOpenConnections())
+                .append(", used " + getConnectionsUsed())
+                .append(", waited " + getConnectionWaitMillis() + "ms")
+                .append("; statements prepared " + getStatementsPrepared())
+                .append(", cached " + getStatementCacheHits())
+                .append("\n");
+        for (Stat s : getStats()) {
+            if (top-- <= 0) {
+                break;
+            }
+            output.append(
+                    String.format(
+                            "%8d ms total %6d ms max %8d calls %4d errors  %s\n",
+                            s.getTotalMillis(),
+                            s.getMaxMillis(),
+                            s.getCount(),
+                            s.getErrors(),
+                            s.name));
+        }
+        return output;
+    }
+
+    static int bucketFor(long millis) {
+        for (int i = 0; i < BUCKETS_MS.length; i++) {
+            if (millis <= BUCKETS_MS[i]) {
+                return i;
+            }
+        }
+        return BUCKETS_MS.length;
+    }
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^'\\\\]|\\\\.|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    /**
+     * The name to time SQL under when it has none: the SQL with literals replaced by '?', so that
+     * statements which only differ in their literal values are counted together.
+     */
+    static String nameFor(String sql) {
+        String name = STRING_LITERAL.matcher(sql).replaceAll("?");
+        name = NUMBER_LITERAL.matcher(name).replaceAll("?");
+        name = IN_LIST.matcher(name).replaceAll("(?)");
+        name = WHITESPACE.matcher(name).replaceAll(" ").trim();
+        return name.length() > 200 ? name.substring(0, 200) : name;
+    }
+}
@@ -6,10 +6,14 @@ import com.google.common.base.Suppliers;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 import com.ibm.icu.dev.util.ElapsedTimer;
 import com.ibm.icu.text.NumberFormat;
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -18,6 +22,7 @@ import java.sql.Statement;
 import java.sql.Timestamp;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
@@ -28,9 +33,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import org.unicode.cldr.test.CheckCLDR;
@@ -41,6 +49,7 @@ import org.unicode.cldr.util.CLDRConfig;
 import org.unicode.cldr.util.CLDRFile;
 import org.unicode.cldr.util.CLDRFile.DraftStatus;
 import org.unicode.cldr.util.CLDRLocale;
+import org.unicode.cldr.util.CodeHashes;
 import org.unicode.cldr.util.Factory;
 import org.unicode.cldr.util.InternalCldrException;
 import org.unicode.cldr.util.Pair;
@@ -49,6 +58,7 @@ import org.unicode.cldr.util.SimpleXMLSource;
 import org.unicode.cldr.util.VoteResolver;
 import org.unicode.cldr.util.VoteResolver.Level;
 import org.unicode.cldr.util.VoteResolver.Status;
+import org.unicode.cldr.util.VoteResolver.VoterInfo;
 import org.unicode.cldr.util.VoteType;
 import org.unicode.cldr.util.XMLSource;
 import org.unicode.cldr.web.CLDRProgressIndicator.CLDRProgressTask;
@@ -119,6 +129,21 @@ public class STFactory extends Factory implements BallotBoxFactory<UserRegistry.
         /** Voting information for each XPath */
         private final Map<String, PerXPathData> xpathToData = new HashMap<>();
 
+        /**
+         * Held while a vote is saved and applied. A lock, not a monitor, since saving may block on
+         * the DB, which would pin a virtual thread to its carrier.
+         */
+        private final ReentrantLock voteLock = new ReentrantLock();
+
+        /**
+         * A digest of all the votes of this locale, part of the vote snapshot keys of this locale
+         * and its sublocales: a winner can depend on the winners of other paths, through its
+         * bailey value (inheritance marker votes, lateral inheritance, parent locales). Computed
+         * from the votes when loaded, and changed on each vote, so a snapshot is not reused after
+         * a vote here (nor after the next restart).
+         */
+        private volatile long voteState = 0;
+
         public void nextStamp() {
             stamp.next();
         }
@@ -445,8 +470,15 @@ public class STFactory extends Factory implements BallotBoxFactory<UserRegistry.
             ResultSet rs = null;
             int n = 0;
             int del = 0;
+            /* digest of each path's votes, for the vote snapshot */
+            final Map<String, Long> pathDigests = new HashMap<>();
 
             try {
+                if (!flushVotes()) {
+                    // the votes table must have all the votes; fail, so that the next get() retries
+                    throw new InternalCldrException(
+                            "Could not load " + locale + ": some votes are still being saved");
+                }
                 /*
                  * Select several columns (xp, submitter, value, override, last_mod, vote_type),
                  * from all rows with the given locale in the votes table.
@@ -493,6 +525,15 @@ public class STFactory extends Factory implements BallotBoxFactory<UserRegistry.
                         }
                         internalSetVoteForValue(
                                 theSubmitter, xpath, value, voteOverride, last_mod, voteType);
+                        pathDigests.merge(
+                                xpath,
+                                VoteSnapshot.hashVote(
+                                        submitter,
+                                        value,
+                                        voteOverride,
+                                        last_mod == null ? 0 : last_mod.getTime(),
+                                        voteType.id()),
+                                Long::sum);
                         n++;
                     } catch (BallotBox.InvalidXPathException e) {
                         logger.severe(
@@ -526,6 +567,15 @@ public class STFactory extends Factory implements BallotBoxFactory<UserRegistry.
                                 VoteResolver.Level.LOCKING_VOTES,
                                 last_mod,
                                 VoteType.DIRECT);
+                        pathDigests.merge(
+                                xpath,
+                                VoteSnapshot.hashVote(
+                                        UserRegistry.ADMIN_ID,
+                                        value,
+                                        VoteResolver.Level.LOCKING_VOTES,
+                                        last_mod == null ? 0 : last_mod.getTime(),
+                                        VoteType.DIRECT.id()),
+                                Long::sum);
                         n++;
                     } catch (BallotBox.InvalidXPathException e) {
                         System.err.println(
@@ -544,6 +594,12 @@ public class STFactory extends Factory implements BallotBoxFactory<UserRegistry.
                 DBUtils.close(rs, ps, conn);
             }
             SurveyLog.debug(et + " - read " + n + " items  (" + xpathToData.size() + " xpaths.)");
+            long state = 0;
+            for (Entry<String, Long> e : pathDigests.entrySet()) {
+                // a sum, so that it does not depend on the order of the paths
+                state += (e.getKey().hashCode() * 31L + e.getValue()) * 0x9E3779B97F4A7C15L;
+            }
+            voteState = state;
 
             et =
                     (SurveyLog.DEBUG)
@@ -551,24 +607,77 @@ public class STFactory extends Factory implements BallotBoxFactory<UserRegistry.
                             : null;
             /*
              * Now that we've loaded all the votes, resolve the votes for each path.
+             * If no vote in the locale (or its parents) changed since the last snapshot, a path
+             * whose votes are also the same as in the snapshot gets the winner from it instead.
              */
+            final String snapshotKey = getVoteSnapshotKey(locale, state);
+            final File snapshotFile = snapshotKey == null ? null : getVoteSnapshotFile(locale);
+            final VoteSnapshot oldSnapshot =
+                    snapshotKey == null ? null : VoteSnapshot.read(snapshotFile, snapshotKey);
+            final VoteSnapshot newSnapshot = snapshotKey == null ? null : new VoteSnapshot();
             Set<String> xpathSet = allPXDPaths();
             int j = 0;
+            int reused = 0;
             for (String xp : xpathSet) {
                 try {
-                    resolver =
-                            dataBackedSource.setValueFromResolver(
-                                    xp,
-                                    resolver,
-                                    VoteLoadingContext.ORDINARY_LOAD_VOTES,
-                                    peekXpathData(xp));
+                    final PerXPathData xpd = peekXpathData(xp);
+                    final Long digest = pathDigests.get(xp);
+                    if (newSnapshot == null || digest == null || xpd == null || xpd.isEmpty()) {
+                        resolver =
+                                dataBackedSource.setValueFromResolver(
+                                        xp, resolver, VoteLoadingContext.ORDINARY_LOAD_VOTES, xpd);
+                    } else {
+                        final int xpathId = sm.xpt.getByXpath(xp);
+                        final VoteSnapshot.Winner winner =
+                                oldSnapshot == null ? null : oldSnapshot.get(xpathId, digest);
+                        if (winner != null) {
+                            dataBackedSource.setValueFromSnapshot(
+                                    xp, winner.value, winner.fullPath);
+                            reused++;
+                        } else {
+                            resolver =
+                                    dataBackedSource.setValueFromResolver(
+                                            xp,
+                                            resolver,
+                                            VoteLoadingContext.ORDINARY_LOAD_VOTES,
+                                            xpd);
+                        }
+                        newSnapshot.put(
+                                xpathId,
+                                digest,
+                                dataBackedSource.getValueAtDPath(xp),
+                                dataBackedSource.getFullPathAtDPath(xp));
+                    }
                 } catch (Exception e) {
                     e.printStackTrace();
                     SurveyLog.logException(logger, e, "In setValueFromResolver, xp = " + xp);
                 }
                 j++;
             }
-            SurveyLog.debug(et + " - resolved " + j + " items, " + n + " total.");
+            SurveyLog.debug(
+                    et
+                            + " - resolved "
+                            + j
+                            + " items ("
+                            + reused
+                            + " from the snapshot), "
+                            + n
+                            + " total.");
+            if (newSnapshot != null
+                    && (oldSnapshot == null
+                            || reused != newSnapshot.size()
+                            || reused != oldSnapshot.size())) {
+                SurveyThreadManager.getExecutorService()
+                        .submit(
+                                () -> {
+                                    try {
+                                        newSnapshot.write(snapshotFile, snapshotKey);
+                                    } catch (IOException e) {
+                                        SurveyLog.logException(
+                                                logger, e, "Writing " + snapshotFile);
+                                    }
+                                });
+            }
         }
 
         @Override
@@ -660,7 +769,7 @@ public class STFactory extends Factory implements BallotBoxFactory<UserRegistry.
          */
         public VoteResolver<String> getResolver(
                 PerXPathData perXPathData, String path, VoteResolver<String> r) {
-            try {
+            try (SurveyMetrics.Timing t = SurveyMetrics.time("vote_resolve")) {
                 r = getResolverInternal(perXPathData, path, r);
             } catch (VoteResolver.UnknownVoterException uve) {
                 sm.reg.userModified(); // try reloading user table
@@ -858,11 +967,20 @@ public class STFactory extends Factory implements BallotBoxFactory<UserRegistry.
             }
 
             // small critical section for actual vote
-            synchronized (this) {
+            voteLock.lock();
+            try {
                 saveVoteToDb(user, distinguishingXpath, value, withVote, xpathId, voteType);
 
                 internalSetVoteForValue(
                         user, distinguishingXpath, value, withVote, new Date(), voteType);
+                voteState =
+                        voteState * 31
+                                + VoteSnapshot.hashVote(
+                                        user.id,
+                                        value,
+                                        withVote,
+                                        System.currentTimeMillis(),
+                                        voteType.id());
 
                 if (withVote != null && withVote == VoteResolver.Level.PERMANENT_VOTES) {
                     doPermanentVote(distinguishingXpath, xpathId, value);
@@ -873,6 +991,8 @@ public class STFactory extends Factory implements BallotBoxFactory<UserRegistry.
                         null,
                         VoteLoadingContext.SINGLE_VOTE,
                         peekXpathData(distinguishingXpath));
+            } finally {
+                voteLock.unlock();
             }
 
             String newVal = dataBackedSource.getValueAtDPath(distinguishingXpath);
@@ -880,6 +1000,9 @@ public class STFactory extends Factory implements BallotBoxFactory<UserRegistry.
             if (newVal != null && (!newVal.equals(oldVal) || !oldFullPath.equals(newFullPath))) {
                 dataBackedSource.notifyListeners(distinguishingXpath);
             }
+            for (VoteListener l : voteListeners) {
+                l.voteCast(locale, distinguishingXpath);
+            }
         }
 
         /**
@@ -920,10 +1043,13 @@ public class STFactory extends Factory implements BallotBoxFactory<UserRegistry.
                 if (value == null
                         && UserRegistry.userIsTC(user)
                         && XPathTable.getAlt(xpath) != null) {
-                    synchronized (this) {
+                    voteLock.lock();
+                    try {
                         Set<String> set = new HashSet<>(pathsForFile);
                         set.add(xpath);
                         pathsForFile = Collections.unmodifiableSet(set);
+                    } finally {
+                        voteLock.unlock();
                     }
                 } else {
                     throw new BallotBox.InvalidXPathException(xpath);
@@ -932,7 +1058,8 @@ public class STFactory extends Factory implements BallotBoxFactory<UserRegistry.
         }
 
         /**
-         * Save the vote to the database
+         * Save the vote to the database: through the vote journal, or right away if there is none,
+         * or the vote is permanent (PermanentVote reads the votes back from the database)
          *
          * @param user
          * @param distinguishingXpath
@@ -947,7 +1074,6 @@ public class STFactory extends Factory implements BallotBoxFactory<UserRegistry.
                 final Integer withVote,
                 final int xpathId,
                 VoteType voteType) {
-            boolean didClearFlag = false;
             ElapsedTimer et =
                     !SurveyLog.DEBUG
                             ? null
@@ -960,104 +1086,63 @@ public class STFactory extends Factory implements BallotBoxFactory<UserRegistry.
                                             + user
                                             + " voting for '"
                                             + value);
-            Connection conn = null;
-            PreparedStatement saveOld = null; // save off old value
-            PreparedStatement ps = null;
-            final boolean wasFlagged = getFlag(locale, xpathId); // do this outside of the txn..
-            int submitter = user.id;
+            final boolean wasFlagged = getFlag(locale, xpathId);
+            final boolean clearFlag = wasFlagged && UserRegistry.userIsTC(user);
+            Runnable afterCommit = null;
+            // Voting can trigger adding a forum post (agree/decline) and/or closing a forum thread.
+            // AUTO_IMPORT and MANUAL_IMPORT votes are excluded; DIRECT and BULK_UPLOAD are not
+            // excluded.
+            if (sm.fora != null
+                    && (voteType != VoteType.AUTO_IMPORT && voteType != VoteType.MANUAL_IMPORT)) {
+                afterCommit =
+                        () ->
+                                SurveyThreadManager.getExecutorService()
+                                        .submit(
+                                                () ->
+                                                        sm.fora.doForumAfterVote(
+                                                                locale,
+                                                                user,
+                                                                distinguishingXpath,
+                                                                xpathId,
+                                                                value,
+                                                                clearFlag));
+            }
+            final VoteJournal.Vote vote =
+                    new VoteJournal.Vote(
+                            locale.getBaseName(),
+                            xpathId,
+                            user.id,
+                            value,
+                            withVote,
+                            voteType.id(),
+                            clearFlag,
+                            afterCommit);
+            final VoteJournal journal = voteJournal;
             try {
-                conn = DBUtils.getInstance().getDBConnection();
-
-                String add0 = "", add1 = "", add2 = "";
-
-                // #1 - save the "VOTE_VALUE_ALT"  ( possible proposal) value.
-                if (DBUtils.db_Mysql) {
-                    add0 = "IGNORE";
+                if (journal != null
+                        && (withVote == null || withVote != VoteResolver.Level.PERMANENT_VOTES)) {
+                    journal.append(vote);
                 } else {
-                    throw new RuntimeException("Unexpected db type, expected " + DBUtils.db_Mysql);
-                }
-                String sql =
-                        "insert "
-                                + add0
-                                + " into "
-                                + DBUtils.Table.VOTE_VALUE_ALT
-                                + " "
-                                + add1
-                                + " select "
-                                + DBUtils.Table.VOTE_VALUE
-                                + ".locale,"
-                                + DBUtils.Table.VOTE_VALUE
-                                + ".xpath,"
-                                + DBUtils.Table.VOTE_VALUE
-                                + ".value "
-                                + " from "
-                                + DBUtils.Table.VOTE_VALUE
-                                + " where locale=? and xpath=? and submitter=? and value is not null "
-                                + add2;
-                saveOld =
-                        DBUtils.prepareStatementWithArgs(
-                                conn, sql, locale.getBaseName(), xpathId, user.id);
-                saveOld.executeUpdate();
-
-                // #2 - save the actual vote.
-                ps =
-                        DBUtils.prepareForwardReadOnly(
-                                conn,
-                                "INSERT INTO "
-                                        + DBUtils.Table.VOTE_VALUE
-                                        + " (locale,xpath,submitter,value,last_mod,"
-                                        + VOTE_OVERRIDE
-                                        + ","
-                                        + VOTE_TYPE
-                                        + ") values (?,?,?,?,CURRENT_TIMESTAMP,?,?) "
-                                        + "ON DUPLICATE KEY UPDATE locale=?,xpath=?,submitter=?,value=?,last_mod=CURRENT_TIMESTAMP,"
-                                        + VOTE_OVERRIDE
-                                        + "=?,"
-                                        + VOTE_TYPE
-                                        + "=?");
-                int colNum = 1;
-                for (int repeat = 1; repeat <= 2; repeat++) {
-                    ps.setString(colNum++, locale.getBaseName());
-                    ps.setInt(colNum++, xpathId);
-                    ps.setInt(colNum++, submitter);
-                    DBUtils.setStringUTF8(ps, colNum++, value);
-                    DBUtils.setInteger(ps, colNum++, withVote);
-                    DBUtils.setInteger(ps, colNum++, voteType.id());
-                }
-                ps.executeUpdate();
-
-                if (wasFlagged && UserRegistry.userIsTC(user)) {
-                    clearFlag(conn, locale, xpathId);
-                    didClearFlag = true;
+                    if (!flushVotes()) { // keep the votes in order
+                        throw new IOException("Timed out waiting for earlier votes to be saved");
+                    }
+                    saveVotesToDb(Collections.singletonList(vote));
+                    if (afterCommit != null) {
+                        afterCommit.run();
+                    }
                 }
-                conn.commit();
-            } catch (SQLException e) {
+            } catch (SQLException | IOException e) {
                 SurveyLog.logException(logger, e, "Exception in saveVoteToDb");
                 SurveyMain.busted("Could not vote for value in locale " + locale, e);
                 throw new InternalError(
-                        "Could not load locale " + locale + " : " + DBUtils.unchainSqlException(e));
-            } finally {
-                DBUtils.close(saveOld, ps, conn);
+                        "Could not load locale "
+                                + locale
+                                + " : "
+                                + (e instanceof SQLException
+                                        ? DBUtils.unchainSqlException((SQLException) e)
+                                        : e.toString()));
             }
             SurveyLog.debug(et);
-
-            // Voting can trigger adding a forum post (agree/decline) and/or closing a forum thread.
-            // AUTO_IMPORT and MANUAL_IMPORT votes are excluded; DIRECT and BULK_UPLOAD are not
-            // excluded.
-            if (sm.fora != null
-                    && (voteType != VoteType.AUTO_IMPORT && voteType != VoteType.MANUAL_IMPORT)) {
-                final boolean clearFlag = didClearFlag;
-                SurveyThreadManager.getExecutorService()
-                        .submit(
-                                () ->
-                                        sm.fora.doForumAfterVote(
-                                                locale,
-                                                user,
-                                                distinguishingXpath,
-                                                xpathId,
-                                                value,
-                                                clearFlag));
-            }
         }
 
         /**
@@ -1211,6 +1296,44 @@ public class STFactory extends Factory implements BallotBoxFactory<UserRegistry.
 
     private boolean dbIsSetup = false;
 
+    /**
+     * Guards setting up and shutting down the DB tables and the vote journal. A lock, not a
+     * monitor, so that a virtual thread waiting on the DB is not pinned to its carrier.
+     */
+    private final ReentrantLock dbLock = new ReentrantLock();
+
+    /** Guards flagList, as dbLock does the DB */
+    private static final ReentrantLock flagLock = new ReentrantLock();
+
+    /** Config: whether votes are written to the database in the background, via a journal */
+    private final boolean CLDR_VOTE_JOURNAL =
+            CLDRConfig.getInstance().getProperty("CLDR_VOTE_JOURNAL", true);
+
+    /** Config: whether the vote journal is synced to disk on every vote */
+    private final boolean CLDR_VOTE_JOURNAL_SYNC =
+            CLDRConfig.getInstance().getProperty("CLDR_VOTE_JOURNAL_SYNC", true);
+
+    /** Config: max # of votes written to the database in one batch */
+    private final int CLDR_VOTE_BATCH_MAX =
+            CLDRConfig.getInstance().getProperty("CLDR_VOTE_BATCH_MAX", 500);
+
+    /** Config: the longest to wait for the vote journal to catch up, in seconds */
+    private final int CLDR_VOTE_FLUSH_SECONDS =
+            CLDRConfig.getInstance().getProperty("CLDR_VOTE_FLUSH_SECONDS", 30);
+
+    /** Votes not yet in the database, or null to save each vote as it is made */
+    private volatile VoteJournal voteJournal = null;
+
+    /** Config: whether the winners resolved when loading a locale are saved for the next load */
+    private final boolean CLDR_VOTE_SNAPSHOTS =
+            CLDRConfig.getInstance().getProperty("CLDR_VOTE_SNAPSHOTS", true);
+
+    /** The part of the vote snapshot keys that is the same for every locale */
+    private String voteSnapshotKeyBase = null;
+
+    /** Digests of the disk data of each locale, for the vote snapshot keys */
+    private final Map<CLDRLocale, String> diskDataDigests = new ConcurrentHashMap<>();
+
     /** The infamous back-pointer. */
     public SurveyMain sm;
 
@@ -1237,6 +1360,29 @@ public class STFactory extends Factory implements BallotBoxFactory<UserRegistry.
                     new DiskDataCache(
                             sm.getDiskFactory(), sm.getEnglishFile(), sm.getSupplementalDataInfo());
         }
+        SurveyMetrics.registerCache("stfactory_locales", locales::stats);
+        SurveyMetrics.registerCache("testcache_bundles", () -> getTestCache().getStats());
+        SurveyMetrics.registerCache("example_generators", TestCache::getExampleGeneratorStats);
+    }
+
+    /**
+     * Notified of every vote, whether or not it changed the winning value. Listeners of the
+     * XMLSource only hear about changes to the winning value.
+     */
+    public interface VoteListener {
+        /**
+         * Called after the vote is in, on the voting thread
+         *
+         * @param locale the locale voted in
+         * @param xpath the distinguishing xpath voted on
+         */
+        void voteCast(CLDRLocale locale, String xpath);
+    }
+
+    private final List<VoteListener> voteListeners = new CopyOnWriteArrayList<>();
+
+    public void addVoteListener(VoteListener l) {
+        voteListeners.add(l);
     }
 
     /** For statistics */
@@ -1272,6 +1418,7 @@ public class STFactory extends Factory implements BallotBoxFactory<UserRegistry.
     /** Per locale map */
     private final LoadingCache<CLDRLocale, PerLocaleData> locales =
             CacheBuilder.newBuilder()
+                    .recordStats()
                     .softValues()
                     .expireAfterAccess(Duration.ofHours(CLDR_LOCALE_CACHE_HOURS))
                     .maximumSize(CLDR_LOCALE_CACHE_MAX)
@@ -1291,7 +1438,10 @@ public class STFactory extends Factory implements BallotBoxFactory<UserRegistry.
                                     if (!getAvailableCLDRLocales().contains(key)) {
                                         return null; // not available
                                     }
-                                    return new PerLocaleData(key);
+                                    try (SurveyMetrics.Timing t =
+                                            SurveyMetrics.time("stfactory_load")) {
+                                        return new PerLocaleData(key);
+                                    }
                                 }
                             });
 
@@ -1329,7 +1479,13 @@ public class STFactory extends Factory implements BallotBoxFactory<UserRegistry.
         }
 
         // now load the actual locale
-        try {
+        final PerLocaleData loaded = locales.getIfPresent(locale);
+        if (loaded != null) {
+            return loaded;
+        }
+        // The permit is taken before the cache marks the locale as loading, so that a load
+        // never waits for a permit while others wait for it (such as loads of its sublocales).
+        try (SurveyThreadManager.Permit p = SurveyThreadManager.Limit.LOCALE_LOAD.acquire()) {
             return locales.get(locale);
         } catch (ExecutionException e) {
             SurveyLog.logException(logger, e, "get(" + locale + ")");
@@ -1344,7 +1500,16 @@ public class STFactory extends Factory implements BallotBoxFactory<UserRegistry.
     }
 
     public TestCache.TestResultBundle getTestResult(CLDRLocale loc, CheckCLDR.Options options) {
-        return getTestCache().getBundle(options);
+        try (SurveyMetrics.Timing t = SurveyMetrics.time("testcache_bundle")) {
+            final TestCache tc = getTestCache();
+            final TestCache.TestResultBundle b = tc.getBundleIfPresent(options);
+            if (b != null) {
+                return b;
+            }
+            try (SurveyThreadManager.Permit p = SurveyThreadManager.Limit.TEST_BUNDLE.acquire()) {
+                return tc.getBundle(options);
+            }
+        }
     }
 
     /*
@@ -1461,7 +1626,16 @@ public class STFactory extends Factory implements BallotBoxFactory<UserRegistry.
                         + " WHERE locale = ?");
     }
 
-    public synchronized void setupDB() {
+    public void setupDB() {
+        dbLock.lock();
+        try {
+            doSetupDB();
+        } finally {
+            dbLock.unlock();
+        }
+    }
+
+    private void doSetupDB() {
         if (dbIsSetup) return;
         dbIsSetup = true; // don't thrash.
         String sql = "(none)"; // this points to
@@ -1670,6 +1844,290 @@ public class STFactory extends Factory implements BallotBoxFactory<UserRegistry.
         } finally {
             DBUtils.close(s);
         }
+        if (CLDR_VOTE_JOURNAL) {
+            openVoteJournal();
+        }
+    }
+
+    /** Open the vote journal, saving any votes that a previous run left in it */
+    private void openVoteJournal() {
+        File file =
+                new File(
+                        SurveyMain.getSurveyHome(),
+                        "vote-journal-" + DBUtils.Table.VOTE_VALUE + ".dat");
+        try {
+            voteJournal =
+                    new VoteJournal(
+                            file,
+                            this::saveVotesToDb,
+                            CLDR_VOTE_JOURNAL_SYNC,
+                            CLDR_VOTE_BATCH_MAX,
+                            SurveyThreadManager.getThreadFactory());
+        } catch (IOException e) {
+            SurveyLog.logException(logger, e, "Opening " + file);
+            SurveyMain.busted("Could not save the votes in " + file, e);
+            throw new InternalError("Could not save the votes in " + file + ": " + e);
+        }
+    }
+
+    /**
+     * Save votes to the database, in one transaction. The statements are batched, so this takes
+     * a few round trips however many votes there are.
+     *
+     * @param votes the votes, in the order they were made
+     * @throws SQLException
+     */
+    private void saveVotesToDb(List<VoteJournal.Vote> votes) throws SQLException {
+        Connection conn = null;
+        PreparedStatement saveOld = null; // save off old value
+        PreparedStatement saveOlder = null; // save off a value voted for earlier in this batch
+        PreparedStatement ps = null;
+        try {
+            conn = DBUtils.getInstance().getDBConnection();
+
+            // #1 - save the "VOTE_VALUE_ALT"  ( possible proposal) value.
+            if (!DBUtils.db_Mysql) {
+                throw new RuntimeException("Unexpected db type, expected " + DBUtils.db_Mysql);
+            }
+            saveOld =
+                    conn.prepareStatement(
+                            "insert IGNORE into "
+                                    + DBUtils.Table.VOTE_VALUE_ALT
+                                    + " select "
+                                    + DBUtils.Table.VOTE_VALUE
+                                    + ".locale,"
+                                    + DBUtils.Table.VOTE_VALUE
+                                    + ".xpath,"
+                                    + DBUtils.Table.VOTE_VALUE
+                                    + ".value "
+                                    + " from "
+                                    + DBUtils.Table.VOTE_VALUE
+                                    + " where locale=? and xpath=? and submitter=? and value is not null "
+                                    // not if unchanged, so that replaying a saved vote is a no-op
+                                    + " and not (value <=> ?)");
+            saveOlder =
+                    conn.prepareStatement(
+                            "insert IGNORE into "
+                                    + DBUtils.Table.VOTE_VALUE_ALT
+                                    + " (locale,xpath,value) values (?,?,?)");
+
+            // #2 - save the actual vote.
+            ps =
+                    DBUtils.prepareForwardReadOnly(
+                            conn,
+                            "INSERT INTO "
+                                    + DBUtils.Table.VOTE_VALUE
+                                    + " (locale,xpath,submitter,value,last_mod,"
+                                    + VOTE_OVERRIDE
+                                    + ","
+                                    + VOTE_TYPE
+                                    + ") values (?,?,?,?,?,?,?) "
+                                    + "ON DUPLICATE KEY UPDATE locale=?,xpath=?,submitter=?,value=?,last_mod=?,"
+                                    + VOTE_OVERRIDE
+                                    + "=?,"
+                                    + VOTE_TYPE
+                                    + "=?");
+
+            // The old values are read before any of the new votes are written, so a value
+            // replaced within this batch is saved from the batch itself.
+            Map<String, String> batchValues = new HashMap<>();
+            for (VoteJournal.Vote vote : votes) {
+                String key = vote.locale + "/" + vote.xpathId + "/" + vote.submitter;
+                if (!batchValues.containsKey(key)) {
+                    saveOld.setString(1, vote.locale);
+                    saveOld.setInt(2, vote.xpathId);
+                    saveOld.setInt(3, vote.submitter);
+                    DBUtils.setStringUTF8(saveOld, 4, vote.value);
+                    saveOld.addBatch();
+                } else if (batchValues.get(key) != null) {
+                    saveOlder.setString(1, vote.locale);
+                    saveOlder.setInt(2, vote.xpathId);
+                    DBUtils.setStringUTF8(saveOlder, 3, batchValues.get(key));
+                    saveOlder.addBatch();
+                }
+                batchValues.put(key, vote.value);
+
+                int colNum = 1;
+                for (int repeat = 1; repeat <= 2; repeat++) {
+                    ps.setString(colNum++, vote.locale);
+                    ps.setInt(colNum++, vote.xpathId);
+                    ps.setInt(colNum++, vote.submitter);
+                    DBUtils.setStringUTF8(ps, colNum++, vote.value);
+                    // the time of the vote, not of saving it, so that a replay changes nothing
+                    ps.setTimestamp(colNum++, new Timestamp(vote.time));
+                    DBUtils.setInteger(ps, colNum++, vote.withVote);
+                    DBUtils.setInteger(ps, colNum++, vote.voteType);
+                }
+                ps.addBatch();
+            }
+            saveOld.executeBatch();
+            saveOlder.executeBatch();
+            ps.executeBatch();
+
+            for (VoteJournal.Vote vote : votes) {
+                if (vote.clearFlag) {
+                    clearFlag(conn, CLDRLocale.getInstance(vote.locale), vote.xpathId);
+                }
+            }
+            conn.commit();
+        } finally {
+            DBUtils.close(saveOld, saveOlder, ps, conn);
+        }
+    }
+
+    /**
+     * Get the key for the vote snapshot of the given locale: a hash of everything that resolving
+     * its votes depends on, including the votes of the locale and its parents. (The votes of each
+     * path are also checked path by path.)
+     *
+     * @param voteState the voteState of the locale being loaded
+     * @return the key, or null if vote snapshots are turned off (or a parent is not loaded)
+     */
+    private String getVoteSnapshotKey(CLDRLocale locale, long voteState) {
+        if (!CLDR_VOTE_SNAPSHOTS) {
+            return null;
+        }
+        Hasher hasher = Hashing.sha256().newHasher();
+        hasher.putString(getVoteSnapshotKeyBase(), StandardCharsets.UTF_8);
+        // The voters, with their organizations, levels and locales
+        for (Entry<Integer, VoterInfo> e : new TreeMap<>(sm.reg.getVoterToInfo()).entrySet()) {
+            VoterInfo info = e.getValue();
+            hasher.putInt(e.getKey())
+                    .putString(String.valueOf(info.getOrganization()), StandardCharsets.UTF_8)
+                    .putString(String.valueOf(info.getLevel()), StandardCharsets.UTF_8)
+                    .putString(String.valueOf(info.getLocales()), StandardCharsets.UTF_8);
+        }
+        // The baseline: the disk data of the locale and its parents
+        for (CLDRLocale l = locale; l != null; l = l.getParent()) {
+            hasher.putString(getDiskDataDigest(l), StandardCharsets.UTF_8);
+        }
+        // The votes of the whole locale, since a path's winner can depend on other paths' winners
+        hasher.putLong(voteState);
+        // The parents' votes, which change the bailey values (parents are loaded first)
+        for (CLDRLocale l = locale.getParent(); l != null; l = l.getParent()) {
+            final PerLocaleData parent = locales.getIfPresent(l);
+            if (parent == null) {
+                return null; // not loaded, so there is no telling what their winners are
+            }
+            hasher.putLong(parent.voteState);
+        }
+        return hasher.hash().toString();
+    }
+
+    /**
+     * Get a key for results made from the locale as it is loaded now, such as the Dashboard's
+     * notes: the key of its vote snapshot, with its votes as they are now
+     *
+     * @return the key, or null if vote snapshots are turned off or the locale is not loaded
+     */
+    String getLoadedStateKey(CLDRLocale locale) {
+        final PerLocaleData pld = locales.getIfPresent(locale);
+        return pld == null ? null : getVoteSnapshotKey(locale, pld.voteState);
+    }
+
+    private String getVoteSnapshotKeyBase() {
+        dbLock.lock();
+        try {
+            if (voteSnapshotKeyBase == null) {
+                voteSnapshotKeyBase = makeVoteSnapshotKeyBase();
+            }
+            return voteSnapshotKeyBase;
+        } finally {
+            dbLock.unlock();
+        }
+    }
+
+    private String makeVoteSnapshotKeyBase() {
+        Hasher hasher = Hashing.sha256().newHasher();
+        hasher.putString(CLDRConfig.getInstance().getPhase().name(), StandardCharsets.UTF_8)
+                .putString(SurveyMain.getNewVersion(), StandardCharsets.UTF_8)
+                .putString(
+                        CLDRConfig.getInstance().getProperty("CLDR_CODE_HASH", ""),
+                        StandardCharsets.UTF_8);
+        // All the code that resolving depends on: the cldr-code and cldr-apps classes
+        hasher.putString(
+                CodeHashes.getCodeFingerprint(VoteResolver.class, BallotBoxXMLSource.class),
+                StandardCharsets.UTF_8);
+        File supplementalDirectory = getSupplementalDirectory();
+        File[] supplementalFiles = supplementalDirectory.listFiles();
+        if (supplementalFiles != null) {
+            Arrays.sort(supplementalFiles);
+            for (File f : supplementalFiles) {
+                if (!f.isFile()) {
+                    continue;
+                }
+                try {
+                    hasher.putString(f.getName(), StandardCharsets.UTF_8)
+                            .putBytes(Files.readAllBytes(f.toPath()));
+                } catch (IOException e) {
+                    SurveyLog.logException(logger, e, "Reading " + f);
+                    hasher.putLong(f.length()).putLong(f.lastModified());
+                }
+            }
+        }
+        return hasher.hash().toString();
+    }
+
+    private String getDiskDataDigest(CLDRLocale locale) {
+        return diskDataDigests.computeIfAbsent(
+                locale,
+                l -> {
+                    XMLSource diskData = diskDataCache.get(l).diskData;
+                    Hasher hasher = Hashing.sha256().newHasher();
+                    Set<String> paths = new TreeSet<>();
+                    diskData.forEach(paths::add);
+                    for (String path : paths) {
+                        hasher.putString(path, StandardCharsets.UTF_8)
+                                .putString(
+                                        String.valueOf(diskData.getFullPathAtDPath(path)),
+                                        StandardCharsets.UTF_8)
+                                .putString(
+                                        String.valueOf(diskData.getValueAtDPath(path)),
+                                        StandardCharsets.UTF_8);
+                    }
+                    return hasher.hash().toString();
+                });
+    }
+
+    /** Where the vote snapshot of the locale is kept */
+    File getVoteSnapshotFile(CLDRLocale locale) {
+        return new File(
+                SurveyMain.getSurveyHome(),
+                "vote-snapshots/" + DBUtils.Table.VOTE_VALUE + "/" + locale.getBaseName() + ".dat");
+    }
+
+    /**
+     * Wait until all votes made so far are in the database, for at most CLDR_VOTE_FLUSH_SECONDS.
+     * Call this before reading the votes table directly.
+     *
+     * @return false if some votes were still not saved
+     */
+    public boolean flushVotes() {
+        final VoteJournal journal = voteJournal;
+        if (journal != null && !journal.awaitFlushed(CLDR_VOTE_FLUSH_SECONDS * 1000L)) {
+            logger.warning(journal.getPendingCount() + " vote(s) still not saved to the database");
+            return false;
+        }
+        return true;
+    }
+
+    /** Save any votes still in the vote journal, and close it */
+    public void shutdown() {
+        dbLock.lock();
+        try {
+            if (voteJournal != null) {
+                logger.info(
+                        "Saving " + voteJournal.getPendingCount() + " vote(s) from the journal");
+                try {
+                    voteJournal.close();
+                } catch (IOException e) {
+                    SurveyLog.logException(logger, e, "Closing the vote journal");
+                }
+                voteJournal = null;
+            }
+        } finally {
+            dbLock.unlock();
+        }
     }
 
     /**
@@ -1686,13 +2144,16 @@ public class STFactory extends Factory implements BallotBoxFactory<UserRegistry.
             throws SQLException {
         PreparedStatement ps = null;
         try {
-            synchronized (STFactory.class) {
+            lockFlags();
+            try {
                 final Pair<CLDRLocale, Integer> theKey = new Pair<>(locale, xpath);
                 final Set<Pair<CLDRLocale, Integer>> m = loadFlag();
                 if (m.contains(theKey)) {
                     return 0; // already there.
                 }
                 m.add(theKey);
+            } finally {
+                flagLock.unlock();
             } // make sure that the DB is loaded before we attempt to update.
             if (DBUtils.db_Mysql) {
                 ps =
@@ -1732,8 +2193,11 @@ public class STFactory extends Factory implements BallotBoxFactory<UserRegistry.
     private void clearFlag(Connection conn, CLDRLocale locale, int xpath) throws SQLException {
         PreparedStatement ps = null;
         try {
-            synchronized (STFactory.class) {
+            lockFlags();
+            try {
                 loadFlag().remove(new Pair<>(locale, xpath));
+            } finally {
+                flagLock.unlock();
             } // make sure DB is loaded before we attempt to update
             ps =
                     DBUtils.prepareStatementWithArgs(
@@ -1757,26 +2221,39 @@ public class STFactory extends Factory implements BallotBoxFactory<UserRegistry.
      * @return true or false
      */
     public boolean getFlag(CLDRLocale locale, int xpath) {
-        synchronized (STFactory.class) {
+        lockFlags();
+        try {
             return loadFlag().contains(new Pair<>(locale, xpath));
+        } finally {
+            flagLock.unlock();
         }
     }
 
     public boolean haveFlags() {
-        synchronized (STFactory.class) {
+        lockFlags();
+        try {
             return !(loadFlag().isEmpty());
+        } finally {
+            flagLock.unlock();
         }
     }
 
     /**
-     * Bottleneck for flag functions.
+     * Set up the DB, then take flagLock. Setting up the DB may clear flags (when the vote journal
+     * is replayed), so it is not done with flagLock held.
+     */
+    private void lockFlags() {
+        setupDB();
+        flagLock.lock();
+    }
+
+    /**
+     * Bottleneck for flag functions. Called with flagLock held, see {@link #lockFlags()}.
      *
      * @return
      */
     private Set<Pair<CLDRLocale, Integer>> loadFlag() {
         if (flagList == null) {
-            setupDB();
-
             flagList = new HashSet<>();
 
             logger.fine("Loading flagged items from .." + DBUtils.Table.VOTE_FLAGGED);
@@ -1806,12 +2283,18 @@ public class STFactory extends Factory implements BallotBoxFactory<UserRegistry.
     /** In memory cache. */
     private Set<Pair<CLDRLocale, Integer>> flagList = null;
 
+    /** For tests: drop the locale from the cache, so that it is loaded again */
+    void TESTING_unloadLocale(CLDRLocale locale) {
+        locales.invalidate(locale);
+    }
+
     /**
      * Close and re-open the factory. For testing only!
      *
      * @return
      */
     public STFactory TESTING_shutdownAndRestart() {
+        shutdown();
         sm.TESTING_removeSTFactory();
         return sm.getSTFactory();
     }
@@ -1895,6 +2378,10 @@ public class STFactory extends Factory implements BallotBoxFactory<UserRegistry.
         PreparedStatement ps = null; // all for mysql
         ResultSet rs = null;
         SimpleXMLSource sxs = new SimpleXMLSource(locale.getBaseName());
+        if (!flushVotes()) {
+            throw new InternalCldrException(
+                    "Could not read votes for " + locale + ": some are still being saved");
+        }
         try {
             conn = DBUtils.getInstance().getAConnection();
 
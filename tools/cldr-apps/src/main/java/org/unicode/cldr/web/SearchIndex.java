@@ -0,0 +1,345 @@
+package org.unicode.cldr.web;
+
+import com.ibm.icu.text.Normalizer2;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.unicode.cldr.util.CLDRFile;
+import org.unicode.cldr.util.PathHeader;
+import org.unicode.cldr.util.XMLSource;
+
+/**
+ * In-memory search index over the values of one locale, and the PathHeader labels (section, page,
+ * header and code) and string ids of their paths.
+ *
+ * <p>Text is normalized with NFKC case folding, so searches are case-insensitive, and indexed by
+ * trigram: a query of three or more characters only looks at the paths that contain all of its
+ * trigrams. Shorter queries look at every path.
+ *
+ * <p>The index listens to its locale's XMLSource, and updates a path when its winning value
+ * changes. Thread-safe.
+ */
+final class SearchIndex implements XMLSource.Listener {
+    private static final Normalizer2 NORMALIZER = Normalizer2.getNFKCCasefoldInstance();
+
+    /** How well a path matched, best first */
+    enum Match {
+        /** the value is the query */
+        EXACT,
+        /** the value starts with the query */
+        PREFIX,
+        /** a word of the value starts with the query */
+        WORD,
+        /** the value contains the query */
+        SUBSTRING,
+        /** the PathHeader label or string id contains the query */
+        LABEL
+    }
+
+    /** One path of the index, as found by a search */
+    static final class Hit {
+        final String xpath;
+        final String value;
+        final Match match;
+        final String context;
+        private final PathHeader pathHeader;
+
+        private Hit(Doc doc, Match match) {
+            this.xpath = doc.xpath;
+            this.value = doc.value;
+            this.match = match;
+            this.context = match == Match.LABEL ? doc.label : doc.value;
+            this.pathHeader = doc.pathHeader;
+        }
+    }
+
+    /** Ranks by match, then in PathHeader order */
+    private static final Comparator<Hit> RANKING =
+            Comparator.<Hit, Match>comparing(h -> h.match)
+                    .thenComparing(
+                            h -> h.pathHeader, Comparator.nullsLast(Comparator.naturalOrder()))
+                    .thenComparing(h -> h.xpath);
+
+    private static final class Doc {
+        final String xpath;
+        final String value;
+        final String normValue;
+        final String label;
+        final String normLabel;
+        final PathHeader pathHeader;
+
+        Doc(String xpath, String value, PathHeader pathHeader) {
+            this.xpath = xpath;
+            this.value = value;
+            this.normValue = normalize(value);
+            this.pathHeader = pathHeader;
+            this.label =
+                    (pathHeader == null
+                                    ? ""
+                                    : pathHeader.getSectionId()
+                                            + " | "
+                                            + pathHeader.getPageId()
+                                            + " | "
+                                            + pathHeader.getHeader()
+                                            + " | "
+                                            + pathHeader.getCode()
+                                            + " | ")
+                            + XPathTable.getStringIDString(xpath);
+            this.normLabel = normalize(label);
+        }
+
+        Match match(String query) {
+            if (normValue.equals(query)) {
+                return Match.EXACT;
+            } else if (normValue.startsWith(query)) {
+                return Match.PREFIX;
+            }
+            int i = normValue.indexOf(query);
+            if (i > 0) {
+                for (; i > 0; i = normValue.indexOf(query, i + 1)) {
+                    if (!Character.isLetterOrDigit(normValue.codePointBefore(i))) {
+                        return Match.WORD;
+                    }
+                }
+                return Match.SUBSTRING;
+            }
+            return normLabel.contains(query) ? Match.LABEL : null;
+        }
+    }
+
+    /** Sorted doc ids */
+    private static final class Postings {
+        int[] ids = new int[2];
+        int size = 0;
+
+        void add(int id) {
+            int i = Arrays.binarySearch(ids, 0, size, id);
+            if (i >= 0) {
+                return;
+            }
+            i = -i - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, i, ids, i + 1, size - i);
+            ids[i] = id;
+            size++;
+        }
+
+        void remove(int id) {
+            int i = Arrays.binarySearch(ids, 0, size, id);
+            if (i >= 0) {
+                System.arraycopy(ids, i + 1, ids, i, size - i - 1);
+                size--;
+            }
+        }
+    }
+
+    private final String locale;
+    private final PathHeader.Factory phf;
+
+    /** Docs by id. Ids of removed paths are left null. Guarded by this. */
+    private final List<Doc> docs = new ArrayList<>();
+
+    private final Map<String, Integer> pathToId = new HashMap<>();
+    private final Map<String, Postings> postings = new HashMap<>();
+
+    /**
+     * Paths that changed while the index was being built, so that the build doesn't overwrite
+     * them with older values; null once it is built. Guarded by this.
+     */
+    private Set<String> changedWhileBuilding = new HashSet<>();
+
+    /**
+     * Build the index for all the values that are in the file itself (not inherited)
+     *
+     * @param file an unresolved file
+     */
+    SearchIndex(CLDRFile file, PathHeader.Factory phf) {
+        this(file.getLocaleID(), phf);
+        build(file);
+    }
+
+    /**
+     * Make an empty index, to be filled by {@link #build(CLDRFile)}. It can listen to its source
+     * before it is built, so that no change is missed.
+     */
+    SearchIndex(String locale, PathHeader.Factory phf) {
+        this.locale = locale;
+        this.phf = phf;
+    }
+
+    /**
+     * Add all the values that are in the file itself (not inherited), except for paths that
+     * changed since the index was made
+     *
+     * @param file an unresolved file
+     */
+    void build(CLDRFile file) {
+        for (String xpath : file) {
+            if (file.isHere(xpath)) {
+                String value = file.getStringValue(xpath);
+                if (value != null) {
+                    synchronized (this) {
+                        if (!changedWhileBuilding.contains(xpath)) {
+                            put(xpath, value);
+                        }
+                    }
+                }
+            }
+        }
+        synchronized (this) {
+            changedWhileBuilding = null;
+        }
+    }
+
+    String getLocale() {
+        return locale;
+    }
+
+    synchronized int size() {
+        return pathToId.size();
+    }
+
+    /**
+     * Search the index
+     *
+     * @param query the text to look for; any case
+     * @return the matching paths, best first
+     */
+    List<Hit> search(String query) {
+        final String q = normalize(query);
+        final List<Hit> hits = new ArrayList<>();
+        if (q.isEmpty()) {
+            return hits;
+        }
+        synchronized (this) {
+            final int[] candidates = candidates(q);
+            if (candidates == null) {
+                for (Doc doc : docs) {
+                    addHit(hits, doc, q);
+                }
+            } else {
+                for (int id : candidates) {
+                    addHit(hits, docs.get(id), q);
+                }
+            }
+        }
+        hits.sort(RANKING);
+        return hits;
+    }
+
+    private static void addHit(List<Hit> hits, Doc doc, String q) {
+        if (doc != null) {
+            Match match = doc.match(q);
+            if (match != null) {
+                hits.add(new Hit(doc, match));
+            }
+        }
+    }
+
+    /** The ids of the docs that have every trigram of the query, or null to check all docs */
+    private int[] candidates(String q) {
+        if (q.length() < 3) {
+            return null;
+        }
+        Postings smallest = null;
+        List<Postings> all = new ArrayList<>();
+        for (int i = 0; i + 3 <= q.length(); i++) {
+            Postings p = postings.get(q.substring(i, i + 3));
+            if (p == null) {
+                return new int[0];
+            }
+            all.add(p);
+            if (smallest == null || p.size < smallest.size) {
+                smallest = p;
+            }
+        }
+        int[] result = Arrays.copyOf(smallest.ids, smallest.size);
+        int n = result.length;
+        for (Postings p : all) {
+            if (p == smallest) {
+                continue;
+            }
+            int kept = 0;
+            for (int i = 0; i < n; i++) {
+                if (Arrays.binarySearch(p.ids, 0, p.size, result[i]) >= 0) {
+                    result[kept++] = result[i];
+                }
+            }
+            n = kept;
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    /** Add, replace or (if value is null) remove the path */
+    synchronized void put(String xpath, String value) {
+        Integer id = pathToId.get(xpath);
+        if (id != null) {
+            Doc old = docs.get(id);
+            if (value != null && value.equals(old.value)) {
+                return;
+            }
+            for (String gram : grams(old)) {
+                postings.get(gram).remove(id);
+            }
+            if (value == null) {
+                docs.set(id, null);
+                pathToId.remove(xpath);
+                return;
+            }
+        } else if (value == null) {
+            return;
+        } else {
+            id = docs.size();
+            docs.add(null);
+            pathToId.put(xpath, id);
+        }
+        Doc doc = new Doc(xpath, value, getPathHeader(xpath));
+        docs.set(id, doc);
+        for (String gram : grams(doc)) {
+            postings.computeIfAbsent(gram, g -> new Postings()).add(id);
+        }
+    }
+
+    private PathHeader getPathHeader(String xpath) {
+        try {
+            return phf.fromPath(xpath);
+        } catch (Exception e) {
+            return null; // search by value only
+        }
+    }
+
+    private static List<String> grams(Doc doc) {
+        List<String> result = new ArrayList<>();
+        addGrams(result, doc.normValue);
+        addGrams(result, doc.normLabel);
+        return result;
+    }
+
+    private static void addGrams(List<String> result, String text) {
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            result.add(text.substring(i, i + 3));
+        }
+    }
+
+    static String normalize(String s) {
+        return NORMALIZER.normalize(s);
+    }
+
+    @Override
+    public void valueChanged(String xpath, XMLSource source) {
+        final String value = source.isHere(xpath) ? source.getValueAtDPath(xpath) : null;
+        synchronized (this) {
+            if (changedWhileBuilding != null) {
+                changedWhileBuilding.add(xpath);
+            }
+            put(xpath, value);
+        }
+    }
+}
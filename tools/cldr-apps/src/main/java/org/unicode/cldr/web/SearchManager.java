@@ -2,18 +2,21 @@ package org.unicode.cldr.web;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
-import java.util.Set;
-import java.util.TreeSet;
 import java.util.concurrent.Callable;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 import org.eclipse.microprofile.openapi.annotations.media.Schema;
-import org.unicode.cldr.util.CLDRFile;
+import org.unicode.cldr.util.CLDRConfig;
+import org.unicode.cldr.util.CLDRLocale;
 import org.unicode.cldr.util.Factory;
+import org.unicode.cldr.util.PathHeader;
+import org.unicode.cldr.util.XMLSource;
 
 public class SearchManager {
     static final Logger logger = SurveyLog.forClass(SearchManager.class);
@@ -30,6 +33,12 @@ public class SearchManager {
 
         @Schema(description = "Value to search for")
         public String value;
+
+        @Schema(description = "Number of results to skip, for paging")
+        public int offset = 0;
+
+        @Schema(description = "Maximum number of results to return, or 0 for all")
+        public int limit = 0;
     }
 
     /** Struct for one single result */
@@ -71,7 +80,10 @@ public class SearchManager {
         @Schema(description = "when the search was started")
         public Date lastUpdated;
 
-        @Schema(description = "array of search results, in found order")
+        @Schema(description = "total number of results, including those not returned")
+        public int totalResults = 0;
+
+        @Schema(description = "array of search results, best match first")
         public synchronized SearchResult[] getResults() {
             return results.toArray(new SearchResult[results.size()]);
         }
@@ -116,11 +128,11 @@ public class SearchManager {
 
         private final SearchRequest request;
         private final SearchResponse response = new SearchResponse();
-        private final String locale;
+        private final List<String> locales;
         private Future<Search> future;
 
-        Search(SearchRequest request, String locale) {
-            this.locale = locale;
+        Search(SearchRequest request, List<String> locales) {
+            this.locales = locales;
             this.request = request;
             this.response.lastUpdated = this.response.searchStart = new Date();
             this.response.isOngoing = true;
@@ -130,7 +142,7 @@ public class SearchManager {
                     () ->
                             String.format(
                                     "%s: l=%s, q='%s'",
-                                    this.response, this.locale, this.request.value));
+                                    this.response, this.locales, this.request.value));
         }
 
         public void begin() {
@@ -141,21 +153,26 @@ public class SearchManager {
 
         @Override
         public Search call() throws Exception {
-            // first, simple search of exact values
-            CLDRFile file = factory.make(locale, false);
-            Set<String> xresult = new TreeSet<>();
-            file.getPathsWithValue(request.value, "", null, xresult);
-            for (final String xpath : xresult) {
-                // Skip if this isn’t found "here"
-                if (!file.isHere(xpath)) {
-                    continue;
+            final List<SearchResult> results = new ArrayList<>();
+            for (final String locale : locales) {
+                if (Thread.interrupted()) {
+                    return this; // stopped
+                }
+                for (final SearchIndex.Hit hit : getIndex(locale).search(request.value)) {
+                    results.add(new SearchResult(hit.xpath, hit.context, locale));
                 }
-                // Add incrementally. A user may get a partial result if they request before we are
-                // done.
-                response.addResult(new SearchResult(xpath, request.value, locale));
             }
-
-            // All done (for now!)
+            synchronized (response) {
+                response.totalResults = results.size();
+            }
+            final int from = Math.min(Math.max(request.offset, 0), results.size());
+            final int to =
+                    request.limit <= 0
+                            ? results.size()
+                            : Math.min(results.size(), from + request.limit);
+            for (final SearchResult result : results.subList(from, to)) {
+                response.addResult(result);
+            }
             response.complete();
 
             return this;
@@ -170,10 +187,78 @@ public class SearchManager {
     private Factory factory;
 
     final Cache<Object, Object> searches =
-            CacheBuilder.newBuilder().expireAfterWrite(10, TimeUnit.MINUTES).build();
+            CacheBuilder.newBuilder().recordStats().expireAfterWrite(10, TimeUnit.MINUTES).build();
+
+    /** A search index, and the source it listens to, if any */
+    private static final class IndexEntry {
+        final SearchIndex index;
+        final XMLSource source;
+
+        IndexEntry(SearchIndex index, XMLSource source) {
+            this.index = index;
+            this.source = source;
+        }
+    }
+
+    /**
+     * Search index per locale. Each index keeps itself up to date as votes come in, as long as
+     * the locale is not loaded again; see {@link #getIndex(String)}.
+     */
+    private final LoadingCache<String, IndexEntry> indexes =
+            CacheBuilder.newBuilder()
+                    .recordStats()
+                    .maximumSize(CLDRConfig.getInstance().getProperty("CLDR_SEARCH_INDEX_MAX", 50))
+                    .expireAfterAccess(2, TimeUnit.HOURS)
+                    .build(CacheLoader.from(this::makeIndex));
 
     private SearchManager(Factory f) {
         this.factory = f;
+        SurveyMetrics.registerCache("searches", searches::stats);
+        SurveyMetrics.registerCache("search_indexes", indexes::stats);
+    }
+
+    private IndexEntry makeIndex(String locale) {
+        final long start = System.currentTimeMillis();
+        final SearchIndex index =
+                new SearchIndex(
+                        locale, PathHeader.getFactory(CLDRConfig.getInstance().getEnglish()));
+        final XMLSource source = getSource(locale);
+        if (source != null) {
+            // update the index as votes change the values; listen first, so that none is missed
+            source.addListener(index);
+        }
+        index.build(factory.make(locale, false));
+        logger.info(
+                () ->
+                        String.format(
+                                "Indexed %d values of %s in %d ms",
+                                index.size(), locale, System.currentTimeMillis() - start));
+        return new IndexEntry(index, source);
+    }
+
+    /** The source that votes in the locale change, or null if there are no votes */
+    private XMLSource getSource(String locale) {
+        if (factory instanceof STFactory) {
+            return ((STFactory) factory).get(CLDRLocale.getInstance(locale)).getSource();
+        }
+        return null;
+    }
+
+    /**
+     * Get the search index for the locale, building it if needed. If the locale was loaded again
+     * since the index was built, the index no longer hears of its votes, so it is built again.
+     *
+     * @param locale
+     * @return
+     */
+    SearchIndex getIndex(String locale) {
+        IndexEntry entry = indexes.getUnchecked(locale);
+        if (entry.source != null && entry.source != getSource(locale)) {
+            logger.fine(() -> "Indexing " + locale + " again, since it was loaded again");
+            indexes.asMap().remove(locale, entry);
+            entry = indexes.getUnchecked(locale);
+        }
+        return entry.index;
     }
 
     /**
@@ -193,7 +278,19 @@ public class SearchManager {
      * @return
      */
     public SearchResponse newSearch(final SearchRequest request, final String locale) {
-        final Search s = new Search(request, locale);
+        return newSearch(request, List.of(locale));
+    }
+
+    /**
+     * Start up a new search over several locales. Results are ranked per locale, in the order of
+     * the locales.
+     *
+     * @param request
+     * @param locales
+     * @return
+     */
+    public SearchResponse newSearch(final SearchRequest request, final List<String> locales) {
+        final Search s = new Search(request, locales);
         searches.put(s.response.token, s);
 
         s.begin();
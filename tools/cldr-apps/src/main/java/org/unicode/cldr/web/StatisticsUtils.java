@@ -150,6 +150,7 @@ public class StatisticsUtils {
         if (!SurveyMain.isSetup || SurveyMain.isBusted()) {
             return -2;
         }
+        CookieSession.sm.getSTFactory().flushVotes(); // the queries read the votes table
         try {
             return DBUtils.getFirstInt(DBUtils.queryToCachedJSON(queryName, FEW_MINUTES, querySql));
         } catch (Throwable t) {
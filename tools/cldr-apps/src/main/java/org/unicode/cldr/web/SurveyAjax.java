@@ -193,6 +193,7 @@ public class SurveyAjax extends HttpServlet {
                 ErrorSubtypes.getJson(r, request);
                 send(r, out);
             } else if (what.equals(WHAT_STATS_BYLOC)) {
+                sm.getSTFactory().flushVotes(); // reads the votes table
                 SurveyJSONWrapper r = newJSONStatusQuick();
                 JSONObject query =
                         DBUtils.queryToCachedJSON(
@@ -210,6 +211,7 @@ public class SurveyAjax extends HttpServlet {
                 new SurveyFlaggedItems(UserRegistry.userIsTC(mySession.user)).getJson(r);
                 send(r, out);
             } else if (what.equals(WHAT_STATS_BYDAYUSERLOC)) {
+                sm.getSTFactory().flushVotes(); // reads the votes table
                 String votesAfterString = SurveyMain.getVotesAfterString();
                 SurveyJSONWrapper r = newJSONStatus(request, sm);
                 final String day =
@@ -229,6 +231,7 @@ public class SurveyAjax extends HttpServlet {
                 // submitter,locale,YEAR(last_mod),MONTH(last_mod),DAYOFMONTH(last_mod) order by day
                 // desc limit 10000;
             } else if (what.equals(WHAT_STATS_BYDAY)) {
+                sm.getSTFactory().flushVotes(); // reads the votes table
                 SurveyJSONWrapper r = newJSONStatus(request, sm);
                 {
                     final String sql =
@@ -286,6 +289,7 @@ public class SurveyAjax extends HttpServlet {
                 }
                 send(r, out);
             } else if (what.equals(WHAT_MY_LOCALES)) {
+                sm.getSTFactory().flushVotes(); // reads the votes table
                 SurveyJSONWrapper r = newJSONStatus(request, sm);
                 String q1 =
                         "select count(*) as count, "
@@ -320,6 +324,7 @@ public class SurveyAjax extends HttpServlet {
                 }
                 send(r, out);
             } else if (what.equals(WHAT_RECENT_ITEMS)) {
+                sm.getSTFactory().flushVotes(); // reads the votes table
                 SurveyJSONWrapper r = newJSONStatus(request, sm);
                 int limit;
                 try {
@@ -1391,6 +1396,7 @@ public class SurveyAjax extends HttpServlet {
 
         JSONObject oldvotes = new JSONObject();
         final String newVotesTable = DBUtils.Table.VOTE_VALUE.toString();
+        sm.getSTFactory().flushVotes();
 
         if (loc == null || loc.isEmpty()) {
             listLocalesForImportOldVotes(user, sm, newVotesTable, oldvotes);
@@ -2041,6 +2047,7 @@ public class SurveyAjax extends HttpServlet {
         }
         alreadyAutoImportedVotes(user.id, "set");
         sm.getSTFactory().setupDB();
+        sm.getSTFactory().flushVotes();
         final String newVotesTable =
                 DBUtils.Table.VOTE_VALUE.toString(); // the table name like "cldr_vote_value_34" or
         // "cldr_vote_value_34_beta"
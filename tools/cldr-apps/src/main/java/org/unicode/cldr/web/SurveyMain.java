@@ -2385,9 +2385,12 @@ public class SurveyMain extends HttpServlet implements CLDRProgressIndicator, Ex
     }
 
     private Supplier<STFactory> newSTFactorySupplier() {
-        return Suppliers.memoize(() -> new STFactory(this));
+        return Suppliers.memoize(() -> createdSTFactory = new STFactory(this));
     }
 
+    /** The factory, if it has been created; for shutting it down */
+    private volatile STFactory createdSTFactory = null;
+
     private Supplier<STFactory> gSTFactory = newSTFactorySupplier();
 
     /** destroy the ST Factory - testing use only! */
@@ -2982,6 +2985,9 @@ public class SurveyMain extends HttpServlet implements CLDRProgressIndicator, Ex
             logger.info(startupMsg);
             // TODO: use a Future instead
             isSetup = true;
+            if (surveyMetrics != null) {
+                surveyMetrics.exportCaches(); // the ones made during startup
+            }
         } else {
             logger.warning(
                     "------- SurveyTool FAILED TO STARTUP, "
@@ -3146,6 +3152,10 @@ public class SurveyMain extends HttpServlet implements CLDRProgressIndicator, Ex
             MailSender.shutdown();
             progress.update("shutting down summary snapshots... " + destroyTimer);
             Summary.shutdown();
+            progress.update("saving votes... " + destroyTimer);
+            if (createdSTFactory != null) {
+                createdSTFactory.shutdown();
+            }
             progress.update("shutting down SurveyThreadManager... " + destroyTimer);
             startupThread.shutdown();
             progress.update("Shutting down database..." + destroyTimer);
@@ -3677,8 +3687,8 @@ public class SurveyMain extends HttpServlet implements CLDRProgressIndicator, Ex
     private class StatusForFrontEnd implements JSONString {
         private final boolean isPhaseBeta = isPhaseBeta();
         private final String contextPath;
-        private final int dbopen = DBUtils.db_number_open;
-        private final int dbused = DBUtils.db_number_used;
+        private final int dbopen = DBUtils.getOpenConnectionCount();
+        private final long dbused = DBUtils.getUsedConnectionCount();
         private final int observers = CookieSession.getObserverCount();
         private final String isBusted = SurveyMain.isBusted;
         private final boolean isSetup = SurveyMain.isSetup;
@@ -1,9 +1,23 @@
 package org.unicode.cldr.web;
 
+import com.google.common.cache.CacheStats;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import javax.annotation.PostConstruct;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 import org.eclipse.microprofile.metrics.Counter;
+import org.eclipse.microprofile.metrics.Metadata;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.MetricType;
 import org.eclipse.microprofile.metrics.MetricUnits;
+import org.eclipse.microprofile.metrics.Tag;
+import org.eclipse.microprofile.metrics.Timer;
 import org.eclipse.microprofile.metrics.annotation.Gauge;
 import org.eclipse.microprofile.metrics.annotation.Metric;
 
@@ -14,15 +28,227 @@ public class SurveyMetrics {
     @Metric(name = "exceptions", description = "Number of SurveyTool Exceptions that happened")
     Counter surveyExceptions;
 
+    @Inject MetricRegistry registry;
+
+    private static final Metadata DB_QUERY =
+            Metadata.builder()
+                    .withName("db_query")
+                    .withDescription("Time taken by each DB query, by query name")
+                    .withType(MetricType.TIMER)
+                    .withUnit(MetricUnits.NANOSECONDS)
+                    .build();
+
+    private static final Metadata DB_QUERY_ERRORS =
+            Metadata.builder()
+                    .withName("db_query_errors")
+                    .withDescription("Number of DB queries that failed, by query name")
+                    .withType(MetricType.COUNTER)
+                    .build();
+
+    private static final Metadata HOT_PATH =
+            Metadata.builder()
+                    .withName("hot_path")
+                    .withDescription(
+                            "Time taken by work that is done often or is slow, by name. See"
+                                    + " SurveyMetrics.time()")
+                    .withType(MetricType.TIMER)
+                    .withUnit(MetricUnits.NANOSECONDS)
+                    .build();
+
+    /** Hot path timers by name. Looking up a Timer in the registry each time costs more. */
+    private final Map<String, Timer> hotPaths = new ConcurrentHashMap<>();
+
+    /** The caches to export, by name. See {@link #registerCache(String, Supplier)} */
+    private static final Map<String, Supplier<CacheStats>> caches = new ConcurrentHashMap<>();
+
+    /** The caches that have gauges in the registry. Guarded by this. */
+    private final Set<String> exportedCaches = new HashSet<>();
+
+    /** The running instance, or null before SurveyMain is set up */
+    private static SurveyMetrics get() {
+        return CookieSession.sm == null ? null : CookieSession.sm.surveyMetrics;
+    }
+
+    @PostConstruct
+    void init() {
+        exportCaches();
+    }
+
     /** Count an exception. Right now there is only one bucket. */
     public void countException(Throwable exception) {
         surveyExceptions.inc();
     }
 
+    /** Time one DB query. Called by DBUtils. */
+    public void timeQuery(String name, long nanos, boolean failed) {
+        final Tag tag = new Tag("query", name);
+        registry.timer(DB_QUERY, tag).update(nanos, TimeUnit.NANOSECONDS);
+        if (failed) {
+            registry.counter(DB_QUERY_ERRORS, tag).inc();
+        }
+    }
+
+    /**
+     * Start timing some work, as in <code>
+     * try (SurveyMetrics.Timing t = SurveyMetrics.time("vote_resolve")) { ... }</code>. The time is
+     * recorded under the hot_path timer, tagged with the name. May be called from anywhere; nothing
+     * is recorded until SurveyMain is set up.
+     *
+     * @param name a short name for the work, such as "stfactory_load"
+     */
+    public static Timing time(String name) {
+        return new Timing(name);
+    }
+
+    /** A timing in progress, recorded when closed */
+    public static final class Timing implements AutoCloseable {
+        private final String name;
+        private final long start = System.nanoTime();
+
+        private Timing(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void close() {
+            final SurveyMetrics metrics = get();
+            if (metrics != null) {
+                metrics.timeHotPath(name, System.nanoTime() - start);
+            }
+        }
+    }
+
+    /** Record the time of some work. Use {@link #time(String)} instead. */
+    public void timeHotPath(String name, long nanos) {
+        hotPaths.computeIfAbsent(name, n -> registry.timer(HOT_PATH, new Tag("path", n)))
+                .update(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Export the hit, miss and eviction counts and the total load time of a Guava cache built with
+     * recordStats(), as the cache_hits, cache_misses, cache_evictions and cache_load_time gauges
+     * tagged with the name. Registering another cache under the same name replaces it, as when an
+     * STFactory is replaced.
+     *
+     * @param name a short name for the cache, such as "stfactory_locales"
+     * @param stats usually cache::stats
+     */
+    public static void registerCache(String name, Supplier<CacheStats> stats) {
+        caches.put(name, stats);
+        final SurveyMetrics metrics = get();
+        if (metrics != null) {
+            metrics.exportCaches();
+        }
+    }
+
+    /** Add gauges for the caches registered since the last call */
+    public synchronized void exportCaches() {
+        for (String name : caches.keySet()) {
+            if (exportedCaches.add(name)) {
+                final Tag tag = new Tag("cache", name);
+                registerCacheGauge(
+                        "cache_hits",
+                        "Cache hits",
+                        MetricUnits.NONE,
+                        name,
+                        tag,
+                        CacheStats::hitCount);
+                registerCacheGauge(
+                        "cache_misses",
+                        "Cache misses",
+                        MetricUnits.NONE,
+                        name,
+                        tag,
+                        CacheStats::missCount);
+                registerCacheGauge(
+                        "cache_evictions",
+                        "Cache evictions",
+                        MetricUnits.NONE,
+                        name,
+                        tag,
+                        CacheStats::evictionCount);
+                registerCacheGauge(
+                        "cache_load_time",
+                        "Time spent loading cache entries",
+                        MetricUnits.NANOSECONDS,
+                        name,
+                        tag,
+                        CacheStats::totalLoadTime);
+            }
+        }
+    }
+
+    private void registerCacheGauge(
+            String metric,
+            String description,
+            String unit,
+            String name,
+            Tag tag,
+            Function<CacheStats, Long> count) {
+        final Metadata metadata =
+                Metadata.builder()
+                        .withName(metric)
+                        .withDescription(description + ", by cache name")
+                        .withType(MetricType.GAUGE)
+                        .withUnit(unit)
+                        .build();
+        final org.eclipse.microprofile.metrics.Gauge<Long> gauge =
+                () -> count.apply(caches.get(name).get());
+        registry.register(metadata, gauge, tag);
+    }
+
     @Gauge(name = "users", description = "Number of active users", unit = MetricUnits.NONE)
     public int getUsers() {
         return CookieSession.getUserCount();
     }
 
+    @Gauge(
+            name = "db_connections_open",
+            description = "Number of DB connections in use",
+            unit = MetricUnits.NONE)
+    public int getDbConnectionsOpen() {
+        return DBUtils.getOpenConnectionCount();
+    }
+
+    @Gauge(
+            name = "db_connections_max",
+            description = "Most DB connections in use at once",
+            unit = MetricUnits.NONE)
+    public int getDbConnectionsMax() {
+        return DBUtils.getQueryStats().getMaxOpenConnections();
+    }
+
+    @Gauge(
+            name = "db_connections_used",
+            description = "Number of DB connections handed out",
+            unit = MetricUnits.NONE)
+    public long getDbConnectionsUsed() {
+        return DBUtils.getUsedConnectionCount();
+    }
+
+    @Gauge(
+            name = "db_connection_wait",
+            description = "Total time spent waiting for a DB connection",
+            unit = MetricUnits.MILLISECONDS)
+    public long getDbConnectionWait() {
+        return DBUtils.getQueryStats().getConnectionWaitMillis();
+    }
+
+    @Gauge(
+            name = "db_statements_prepared",
+            description = "Number of DB statements prepared",
+            unit = MetricUnits.NONE)
+    public long getDbStatementsPrepared() {
+        return DBUtils.getQueryStats().getStatementsPrepared();
+    }
+
+    @Gauge(
+            name = "db_statement_cache_hits",
+            description = "Number of named DB statements reused from the connection's cache",
+            unit = MetricUnits.NONE)
+    public long getDbStatementCacheHits() {
+        return DBUtils.getQueryStats().getStatementCacheHits();
+    }
+
     public SurveyMetrics() {}
 }
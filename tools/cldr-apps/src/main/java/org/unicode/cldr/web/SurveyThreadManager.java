@@ -4,6 +4,7 @@ package org.unicode.cldr.web;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadFactory;
 import java.util.logging.Logger;
 import javax.enterprise.concurrent.ManagedExecutorService;
@@ -15,8 +16,21 @@ import org.apache.hc.core5.concurrent.DefaultThreadFactory;
 import org.unicode.cldr.util.CLDRConfig;
 import org.unicode.cldr.util.CLDRConfig.Environment;
 
+/**
+ * Hands out the threads and executors of the Survey Tool, usually the container's managed ones.
+ *
+ * <p>With CLDR_VIRTUAL_THREADS=true, on a JDK with virtual threads (21 and up), the ThreadFactory
+ * and ExecutorService make a virtual thread per task instead, so that tasks blocked on the DB or
+ * on a locale load do not hold a platform thread. Since virtual threads are not bounded by a
+ * pool, the expensive shared work is then bounded by a {@link Limit} instead. Otherwise, the
+ * container's pools bound it, and the limits are not used.
+ */
 public class SurveyThreadManager {
     static final Logger logger = SurveyLog.forClass(SurveyThreadManager.class);
+
+    /** Set CLDR_VIRTUAL_THREADS=true to run tasks on virtual threads, if the JDK has them */
+    private static final boolean VIRTUAL_THREADS =
+            CLDRConfig.getInstance().getProperty("CLDR_VIRTUAL_THREADS", false);
     private static final String JAVA_COMP_DEFAULT_MANAGED_THREAD_FACTORY =
             "java:comp/DefaultManagedThreadFactory";
     private static final String DEFAULT_MANAGED_EXECUTOR =
@@ -35,7 +49,9 @@ public class SurveyThreadManager {
      */
     public static ThreadFactory getThreadFactory() {
         if (gFactory == null) {
-            if (CLDRConfig.getInstance().getEnvironment() == Environment.UNITTEST) {
+            if (isUsingVirtualThreads()) {
+                gFactory = VirtualThreads.FACTORY;
+            } else if (CLDRConfig.getInstance().getEnvironment() == Environment.UNITTEST) {
                 // Allow this to run in unit tests
                 System.err.println(
                         "SurveyThread: in UNITTEST, spinning up a new DefaultThreadFactory");
@@ -66,7 +82,9 @@ public class SurveyThreadManager {
      */
     public static ExecutorService getExecutorService() {
         if (gExecutor == null) {
-            if (CLDRConfig.getInstance().getEnvironment() == Environment.UNITTEST) {
+            if (isUsingVirtualThreads()) {
+                gExecutor = newThreadPerTaskExecutor(getThreadFactory());
+            } else if (CLDRConfig.getInstance().getEnvironment() == Environment.UNITTEST) {
                 gExecutor = Executors.newCachedThreadPool(getThreadFactory());
             } else {
                 InitialContext context = DBUtils.getInitialContext();
@@ -111,6 +129,156 @@ public class SurveyThreadManager {
         return gScheduledExecutor;
     }
 
+    /**
+     * Are tasks run on virtual threads? Only if CLDR_VIRTUAL_THREADS is set and the JDK has them.
+     * The ScheduledExecutorService is always the container's.
+     */
+    public static boolean isUsingVirtualThreads() {
+        return VIRTUAL_THREADS && VirtualThreads.FACTORY != null;
+    }
+
+    /** Looked up once, by reflection, since the code is built for older JDKs too */
+    private static final class VirtualThreads {
+        static final ThreadFactory FACTORY = makeVirtualThreadFactory("SurveyThread");
+    }
+
+    /**
+     * Make a factory of virtual threads
+     *
+     * @param name the prefix of the thread names
+     * @return the factory, or null if this JDK has no virtual threads
+     */
+    static ThreadFactory makeVirtualThreadFactory(String name) {
+        try {
+            final Class<?> ofVirtual = Class.forName("java.lang.Thread$Builder$OfVirtual");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder =
+                    ofVirtual
+                            .getMethod("name", String.class, long.class)
+                            .invoke(builder, name + "-", 0L);
+            return (ThreadFactory) ofVirtual.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            logger.fine("No virtual threads: " + e);
+            return null;
+        }
+    }
+
+    /**
+     * Make an executor that starts a new thread for each task, such as a virtual thread
+     *
+     * @return the executor, or a cached thread pool if this JDK has no per-task executor
+     */
+    static ExecutorService newThreadPerTaskExecutor(ThreadFactory factory) {
+        try {
+            return (ExecutorService)
+                    Executors.class
+                            .getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                            .invoke(null, factory);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(factory);
+        }
+    }
+
+    /**
+     * Bounds how many threads do some expensive shared work at once, as in <code>
+     * try (SurveyThreadManager.Permit p = Limit.LOCALE_LOAD.acquire()) { ... }</code>. A thread
+     * that already holds a permit of a limit does not take another one, so that limited work may
+     * call other work under the same limit without deadlock.
+     *
+     * <p>The limits are only in force when tasks run on virtual threads, see {@link
+     * #isUsingVirtualThreads()}.
+     *
+     * <p>Each limit defaults to the number of processors (at least 4), and can be set with its
+     * property.
+     */
+    public enum Limit {
+        /** Loading a locale's data and votes into the STFactory */
+        LOCALE_LOAD("CLDR_LIMIT_LOCALE_LOAD"),
+        /** Running the checks of a locale for the TestCache */
+        TEST_BUNDLE("CLDR_LIMIT_TEST_BUNDLE");
+
+        private final int permits;
+        private final Semaphore semaphore;
+
+        /** How many times the current thread holds this limit */
+        private final ThreadLocal<int[]> held = ThreadLocal.withInitial(() -> new int[1]);
+
+        private final Permit permit = new Permit(this);
+
+        Limit(String property) {
+            permits =
+                    CLDRConfig.getInstance()
+                            .getProperty(
+                                    property,
+                                    Math.max(4, Runtime.getRuntime().availableProcessors()));
+            semaphore = new Semaphore(permits, true);
+        }
+
+        /**
+         * Wait for a permit, if the limits are in force
+         *
+         * @return the permit, to be closed when done
+         */
+        public Permit acquire() {
+            if (!isUsingVirtualThreads()) {
+                return Permit.NONE;
+            }
+            return take();
+        }
+
+        /** Wait for a permit, whether or not the limits are in force */
+        Permit take() {
+            final int[] depth = held.get();
+            if (depth[0] == 0 && !semaphore.tryAcquire()) {
+                try (SurveyMetrics.Timing t =
+                        SurveyMetrics.time("limit_wait_" + name().toLowerCase())) {
+                    semaphore.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("Interrupted waiting for " + this, e);
+                }
+            }
+            depth[0]++;
+            return permit;
+        }
+
+        private void release() {
+            final int[] depth = held.get();
+            if (depth[0] > 0 && --depth[0] == 0) {
+                semaphore.release();
+            }
+        }
+
+        /** The number of permits */
+        public int getPermits() {
+            return permits;
+        }
+
+        /** The number of permits in use right now */
+        public int getInUse() {
+            return permits - semaphore.availablePermits();
+        }
+    }
+
+    /** A permit of a {@link Limit}, released when closed */
+    public static final class Permit implements AutoCloseable {
+        /** What {@link Limit#acquire()} returns when the limits are not in force */
+        static final Permit NONE = new Permit(null);
+
+        private final Limit limit;
+
+        private Permit(Limit limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public void close() {
+            if (limit != null) {
+                limit.release();
+            }
+        }
+    }
+
     public void shutdown() {
         logger.finer("SurveyThreadManager: The container should manage all threads.");
         gExecutor = null;
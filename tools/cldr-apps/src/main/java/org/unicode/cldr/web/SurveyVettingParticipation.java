@@ -47,6 +47,7 @@ public class SurveyVettingParticipation {
         JSONArray userObj = new JSONArray();
         JSONArray participationObj = new JSONArray();
         OrgCoverageLevelCounter covcounter = OrgCoverageLevelCounter.getInstance();
+        sm.getSTFactory().flushVotes(); // reads the votes table
         try {
             conn = DBUtils.getInstance().getAConnection();
             psUsers = sm.reg.list(org, conn);
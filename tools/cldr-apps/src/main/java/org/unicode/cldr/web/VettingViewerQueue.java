@@ -312,7 +312,20 @@ public class VettingViewerQueue {
                         "Starting generation of Priority Items Summary, " + taskDescription());
             }
             vv.setLocaleBaselineCount(new VVQueueLocaleBaselineCount());
-            vv.generatePriorityItemsSummary(aBuffer, choiceSet, usersOrg);
+            final DashboardCache dashboardCache = DashboardCache.get(sm.getSTFactory());
+            if (dashboardCache != null) {
+                // count from the Dashboard notes, which are kept up to date vote by vote,
+                // made against the same baseline as the summary
+                final Factory baselineFactory =
+                        CLDRConfig.getInstance().getCommonAndSeedAndMainAndAnnotationsFactory();
+                vv.setLocaleProblemCounts(
+                        (locale, level) ->
+                                dashboardCache.getProblemCounts(
+                                        locale, usersOrg, level, baselineFactory));
+            }
+            try (SurveyMetrics.Timing t = SurveyMetrics.time("vettingviewer_priority_items")) {
+                vv.generatePriorityItemsSummary(aBuffer, choiceSet, usersOrg);
+            }
             if (myThread.isAlive()) {
                 if (DEBUG) {
                     System.out.println(
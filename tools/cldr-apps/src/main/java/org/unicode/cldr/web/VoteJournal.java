@@ -0,0 +1,594 @@
+package org.unicode.cldr.web;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.SQLException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Write-behind log of the votes STFactory saves to the VOTE_VALUE table.
+ *
+ * <p>A vote is appended to a local file (and synced to disk) before {@link #append(Vote)}
+ * returns, then written to the database by a single background thread, in batches of whatever
+ * has accumulated meanwhile. Votes reach the database in the order they were appended. Voters
+ * appending at the same time share one sync (group commit). Once nothing is pending, the file is
+ * emptied; otherwise a marker records how far the database has caught up, and the file is
+ * rewritten with just the pending votes once it grows past {@link #COMPACT_BYTES}.
+ *
+ * <p>A batch that fails with a transient error (a lost connection or a timeout) is retried, at
+ * most {@link #MAX_ATTEMPTS} times. A batch that fails otherwise is saved one vote at a time, so
+ * that one bad vote doesn't hold up the others. A vote that cannot be saved is set aside in a
+ * file next to the journal, with the same format (see {@link #read(File)}), and logged.
+ *
+ * <p>Opening a journal first replays any votes left in the file by a server that stopped before
+ * writing them. Replay may save a vote that had already been saved: each vote keeps the time it
+ * was made, which is what is saved as its last_mod, so saving it again leaves the same row.
+ */
+final class VoteJournal implements AutoCloseable {
+    static final Logger logger = SurveyLog.forClass(VoteJournal.class);
+
+    private static final byte VOTE = 'V';
+    private static final byte COMMITTED = 'C';
+
+    /** How long to wait before first retrying a batch; doubled for each further attempt */
+    private static final long RETRY_MILLIS = 5000;
+
+    /** How many times a batch is tried before its votes are set aside */
+    static final int MAX_ATTEMPTS = 5;
+
+    /** Once the file is this long, it is rewritten with just the pending votes */
+    static final long COMPACT_BYTES = 1 << 20;
+
+    /** One vote, as saved to the VOTE_VALUE table */
+    static final class Vote {
+        final String locale;
+        final int xpathId;
+        final int submitter;
+        final String value;
+        final Integer withVote;
+        final int voteType;
+        final boolean clearFlag;
+
+        /** When the vote was made, in milliseconds since the epoch */
+        final long time;
+
+        /** Run once the vote is in the database. Not journaled, so never run after a replay. */
+        final Runnable afterCommit;
+
+        /** Sequence number, assigned by the journal */
+        private long seq;
+
+        /** Whether the vote was set aside, not saved */
+        private boolean failed;
+
+        Vote(
+                String locale,
+                int xpathId,
+                int submitter,
+                String value,
+                Integer withVote,
+                int voteType,
+                boolean clearFlag,
+                Runnable afterCommit) {
+            this(
+                    locale,
+                    xpathId,
+                    submitter,
+                    value,
+                    withVote,
+                    voteType,
+                    clearFlag,
+                    System.currentTimeMillis(),
+                    afterCommit);
+        }
+
+        private Vote(
+                String locale,
+                int xpathId,
+                int submitter,
+                String value,
+                Integer withVote,
+                int voteType,
+                boolean clearFlag,
+                long time,
+                Runnable afterCommit) {
+            this.locale = locale;
+            this.xpathId = xpathId;
+            this.submitter = submitter;
+            this.value = value;
+            this.withVote = withVote;
+            this.voteType = voteType;
+            this.clearFlag = clearFlag;
+            this.time = time;
+            this.afterCommit = afterCommit;
+        }
+
+        @Override
+        public String toString() {
+            return locale + ":" + xpathId + ":" + submitter + "=" + value;
+        }
+    }
+
+    /** Saves votes to the database, in order, in a single transaction */
+    interface Writer {
+        void write(List<Vote> votes) throws SQLException;
+    }
+
+    private final File file;
+    private final File failedFile;
+    private final Writer writer;
+    private final boolean sync;
+    private final int maxBatch;
+    private final Thread thread;
+
+    /** The open journal file. Replaced when the file is compacted. Guarded by this. */
+    private FileOutputStream out;
+
+    /** Appended but not yet committed, in order. Guarded by this. */
+    private final Deque<Vote> pending = new ArrayDeque<>();
+
+    private long lastSeq = 0;
+    private long committedSeq = 0;
+    private boolean closed = false;
+
+    /** The last vote known to be synced to disk. Guarded by this. */
+    private long syncedSeq = 0;
+
+    /** Whether a voter is syncing the file for everyone. Guarded by this. */
+    private boolean syncing = false;
+
+    /**
+     * Open the journal, first replaying any votes left in the file, and start the writer thread.
+     *
+     * @param file the journal file, created if needed
+     * @param writer saves batches of votes
+     * @param sync whether to sync the file to disk on every vote
+     * @param maxBatch the most votes to save in one batch
+     * @param threadFactory makes the writer thread
+     */
+    VoteJournal(
+            File file, Writer writer, boolean sync, int maxBatch, ThreadFactory threadFactory)
+            throws IOException {
+        this.file = file;
+        this.failedFile = getFailedFile(file);
+        this.writer = writer;
+        this.sync = sync;
+        this.maxBatch = maxBatch;
+        replay();
+        out = new FileOutputStream(file, true);
+        thread = threadFactory.newThread(this::run);
+        thread.setName("VoteJournal");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /** The file where votes that could not be saved are set aside */
+    static File getFailedFile(File file) {
+        return new File(file.getPath() + ".failed");
+    }
+
+    private void replay() throws IOException {
+        if (!file.exists()) {
+            return;
+        }
+        List<Vote> votes = read(file);
+        if (!votes.isEmpty()) {
+            logger.warning("Replaying " + votes.size() + " unsaved vote(s) from " + file);
+            for (int start = 0; start < votes.size(); start += maxBatch) {
+                save(votes.subList(start, Math.min(votes.size(), start + maxBatch)));
+            }
+        }
+        if (!file.delete()) {
+            throw new IOException("Could not delete " + file);
+        }
+    }
+
+    /** Read the votes in a journal file that were never committed. A truncated tail is ignored. */
+    static List<Vote> read(File file) throws IOException {
+        List<Vote> votes = new ArrayList<>();
+        long committed = 0;
+        try (DataInputStream in =
+                new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            while (true) {
+                int type = in.read();
+                if (type == -1) {
+                    break;
+                } else if (type == COMMITTED) {
+                    committed = Math.max(committed, in.readLong());
+                } else if (type == VOTE) {
+                    votes.add(readVote(in));
+                } else {
+                    logger.warning("Ignoring the rest of " + file + ": bad record type " + type);
+                    break;
+                }
+            }
+        } catch (EOFException e) {
+            logger.warning("Ignoring a partial record at the end of " + file);
+        }
+        final long lastCommitted = committed;
+        votes.removeIf(v -> v.seq <= lastCommitted);
+        return votes;
+    }
+
+    private static Vote readVote(DataInputStream in) throws IOException {
+        long seq = in.readLong();
+        String locale = in.readUTF();
+        int xpathId = in.readInt();
+        int submitter = in.readInt();
+        String value = in.readBoolean() ? readString(in) : null;
+        Integer withVote = in.readBoolean() ? in.readInt() : null;
+        int voteType = in.readInt();
+        boolean clearFlag = in.readBoolean();
+        long time = in.readLong();
+        Vote vote =
+                new Vote(
+                        locale, xpathId, submitter, value, withVote, voteType, clearFlag, time,
+                        null);
+        vote.seq = seq;
+        return vote;
+    }
+
+    private static void writeVote(DataOutputStream data, Vote vote) throws IOException {
+        data.writeByte(VOTE);
+        data.writeLong(vote.seq);
+        data.writeUTF(vote.locale);
+        data.writeInt(vote.xpathId);
+        data.writeInt(vote.submitter);
+        data.writeBoolean(vote.value != null);
+        if (vote.value != null) {
+            byte[] bytes = vote.value.getBytes(StandardCharsets.UTF_8);
+            data.writeInt(bytes.length);
+            data.write(bytes);
+        }
+        data.writeBoolean(vote.withVote != null);
+        if (vote.withVote != null) {
+            data.writeInt(vote.withVote);
+        }
+        data.writeInt(vote.voteType);
+        data.writeBoolean(vote.clearFlag);
+        data.writeLong(vote.time);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Log the vote, and queue it for the database. When this returns, the vote survives a
+     * restart. If several voters append at once, one of them syncs the file for all of them.
+     *
+     * @throws IOException if the vote could not be logged. If it could not be written, it is not
+     *     queued either; if it was written but could not be synced, it is still saved to the
+     *     database, but may be lost in a crash before then.
+     */
+    void append(Vote vote) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("VoteJournal is closed");
+            }
+            vote.seq = lastSeq + 1;
+            writeVote(new DataOutputStream(bytes), vote);
+            out.write(bytes.toByteArray());
+            lastSeq = vote.seq;
+            pending.add(vote);
+            notifyAll();
+        }
+        if (sync) {
+            syncTo(vote.seq);
+        }
+    }
+
+    /** Sync the file at least up to the given vote, or wait for another voter to */
+    private void syncTo(long seq) throws IOException {
+        final FileOutputStream toSync;
+        final long target;
+        synchronized (this) {
+            while (syncedSeq < seq && syncing) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while syncing " + file, e);
+                }
+            }
+            if (syncedSeq >= seq) {
+                return;
+            }
+            syncing = true; // no compaction meanwhile, so out stays open
+            toSync = out;
+            target = lastSeq;
+        }
+        boolean synced = false;
+        try {
+            toSync.getChannel().force(false);
+            synced = true;
+        } finally {
+            synchronized (this) {
+                syncing = false;
+                if (synced) {
+                    syncedSeq = Math.max(syncedSeq, target);
+                }
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Wait until every vote appended so far is in the database (or set aside, if it could not be
+     * saved)
+     *
+     * @param timeoutMillis the longest to wait
+     * @return true if all the votes were saved; false if it timed out, the thread was
+     *     interrupted, or the journal was closed with votes left in the file
+     */
+    synchronized boolean awaitFlushed(long timeoutMillis) {
+        final long target = lastSeq;
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (committedSeq < target) {
+            final long left = deadline - System.nanoTime();
+            if (left <= 0 || !thread.isAlive()) {
+                return false;
+            }
+            try {
+                TimeUnit.NANOSECONDS.timedWait(this, left);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** The number of votes not yet in the database */
+    synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    private void run() {
+        List<Vote> batch = new ArrayList<>();
+        while (true) {
+            synchronized (this) {
+                while (pending.isEmpty() && !closed) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (pending.isEmpty()) {
+                    return; // closed, and nothing left to write
+                }
+                batch.clear();
+                for (Iterator<Vote> it = pending.iterator();
+                        it.hasNext() && batch.size() < maxBatch; ) {
+                    batch.add(it.next());
+                }
+            }
+            final int done = save(batch);
+            if (done > 0) {
+                committed(batch.subList(0, done));
+            }
+            if (done < batch.size()) {
+                synchronized (this) {
+                    logger.severe("Leaving " + pending.size() + " unsaved vote(s) in " + file);
+                }
+                return; // closed
+            }
+            for (Vote vote : batch) {
+                if (vote.afterCommit != null && !vote.failed) {
+                    vote.afterCommit.run();
+                }
+            }
+        }
+    }
+
+    /**
+     * Save a batch of votes: all at once if possible, otherwise one by one, setting aside those
+     * that cannot be saved
+     *
+     * @return how many of the votes, from the start, were saved or set aside. Fewer than all of
+     *     them only if the journal was closed while retrying.
+     */
+    private int save(List<Vote> batch) {
+        Exception e = write(batch);
+        if (e == null) {
+            logger.fine(() -> "Saved " + batch.size() + " vote(s)");
+            return batch.size();
+        }
+        if (isClosed() && isTransient(e)) {
+            return 0;
+        }
+        if (batch.size() == 1 || isTransient(e)) {
+            // a single bad vote, or the database has been unreachable for all the attempts
+            setAside(batch, e);
+            return batch.size();
+        }
+        SurveyLog.logException(
+                logger, e, "Saving " + batch.size() + " vote(s), will save them one by one");
+        for (int i = 0; i < batch.size(); i++) {
+            final List<Vote> one = Collections.singletonList(batch.get(i));
+            e = write(one);
+            if (e != null) {
+                if (isClosed() && isTransient(e)) {
+                    return i;
+                }
+                setAside(one, e);
+            }
+        }
+        return batch.size();
+    }
+
+    /**
+     * Write votes, retrying transient errors
+     *
+     * @return null if the votes were saved, otherwise the last error
+     */
+    private Exception write(List<Vote> votes) {
+        long delay = RETRY_MILLIS;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                writer.write(votes);
+                return null;
+            } catch (SQLException | RuntimeException e) {
+                if (!isTransient(e) || attempt >= MAX_ATTEMPTS) {
+                    return e;
+                }
+                SurveyLog.logException(
+                        logger,
+                        e,
+                        "Saving " + votes.size() + " vote(s), attempt " + attempt + ", will retry");
+                synchronized (this) {
+                    if (closed) {
+                        return e;
+                    }
+                    try {
+                        wait(delay);
+                    } catch (InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                        return e;
+                    }
+                }
+                delay *= 2;
+            }
+        }
+    }
+
+    /** Whether an error may go away if the same votes are saved again: a connection or timeout */
+    static boolean isTransient(Exception e) {
+        if (e instanceof SQLTransientException || e instanceof SQLRecoverableException) {
+            return true;
+        }
+        if (e instanceof SQLException) {
+            final String state = ((SQLException) e).getSQLState();
+            // 08: connection exception, 40: transaction rollback (deadlock, lock wait timeout)
+            return state != null && (state.startsWith("08") || state.startsWith("40"));
+        }
+        return false;
+    }
+
+    private synchronized boolean isClosed() {
+        return closed;
+    }
+
+    /** Append votes that could not be saved to the failed file, so they are not lost */
+    private void setAside(List<Vote> votes, Exception e) {
+        SurveyLog.logException(
+                logger,
+                e,
+                "Could not save "
+                        + votes.size()
+                        + " vote(s), setting them aside in "
+                        + failedFile
+                        + ": "
+                        + votes);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            DataOutputStream data = new DataOutputStream(bytes);
+            for (Vote vote : votes) {
+                vote.failed = true;
+                writeVote(data, vote);
+            }
+            synchronized (this) {
+                try (FileOutputStream failed = new FileOutputStream(failedFile, true)) {
+                    failed.write(bytes.toByteArray());
+                    failed.getChannel().force(false);
+                }
+            }
+        } catch (IOException ioe) {
+            SurveyLog.logException(logger, ioe, "Setting aside votes in " + failedFile);
+        }
+    }
+
+    private synchronized void committed(List<Vote> batch) {
+        for (int i = 0; i < batch.size(); i++) {
+            pending.remove();
+        }
+        committedSeq = batch.get(batch.size() - 1).seq;
+        try {
+            if (pending.isEmpty()) {
+                out.getChannel().truncate(0);
+            } else if (out.getChannel().size() > COMPACT_BYTES && !syncing) {
+                compact();
+            } else {
+                DataOutputStream data = new DataOutputStream(out);
+                data.writeByte(COMMITTED);
+                data.writeLong(committedSeq);
+                data.flush();
+            }
+        } catch (IOException e) {
+            // Harmless: at worst, the batch is saved again on replay.
+            SurveyLog.logException(logger, e, "Marking votes as saved in " + file);
+        }
+        notifyAll();
+    }
+
+    /**
+     * Replace the file with one holding just the pending votes. Called with the lock held, and
+     * while no voter is syncing, so that out can be replaced.
+     */
+    private void compact() throws IOException {
+        final Path temp =
+                Files.createTempFile(
+                        file.getAbsoluteFile().toPath().getParent(), file.getName(), ".tmp");
+        try (FileOutputStream compacted = new FileOutputStream(temp.toFile())) {
+            DataOutputStream data = new DataOutputStream(compacted);
+            for (Vote vote : pending) {
+                writeVote(data, vote);
+            }
+            data.flush();
+            compacted.getChannel().force(false);
+        }
+        Files.move(
+                temp,
+                file.toPath(),
+                StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        out.close();
+        out = new FileOutputStream(file, true);
+        syncedSeq = lastSeq; // every vote not yet saved was just synced
+    }
+
+    /** Save all pending votes, then stop the writer thread and close the file */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            notifyAll();
+        }
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            out.close();
+        }
+    }
+}
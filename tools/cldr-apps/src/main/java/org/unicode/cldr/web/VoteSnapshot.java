@@ -0,0 +1,180 @@
+package org.unicode.cldr.web;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The winning values of one locale, as resolved from its votes, saved so that loading the locale
+ * again only has to resolve the paths whose votes changed since.
+ *
+ * <p>Each path's winner is stored with a digest of the votes it was resolved from (see {@link
+ * #hashVote}). A winner is only reused if the digest of the path's current votes is the same. The
+ * whole snapshot is keyed by everything else resolution depends on (baseline data, parent locales,
+ * voters, code version); a snapshot with a different key is ignored.
+ */
+final class VoteSnapshot {
+    static final Logger logger = SurveyLog.forClass(VoteSnapshot.class);
+
+    /** Change this if the file format changes */
+    private static final int FORMAT_VERSION = 1;
+
+    /** The winning value of one path */
+    static final class Winner {
+        final long digest;
+        final String value;
+        final String fullPath;
+
+        Winner(long digest, String value, String fullPath) {
+            this.digest = digest;
+            this.value = value;
+            this.fullPath = fullPath;
+        }
+    }
+
+    private final Map<Integer, Winner> winners = new HashMap<>();
+
+    /**
+     * Get the winner for the path, if it was resolved from the same votes
+     *
+     * @param xpathId the path's id in the XPathTable
+     * @param digest the sum of {@link #hashVote} over the path's current votes
+     * @return the winner, or null if the path has to be resolved
+     */
+    Winner get(int xpathId, long digest) {
+        Winner winner = winners.get(xpathId);
+        return winner != null && winner.digest == digest ? winner : null;
+    }
+
+    void put(int xpathId, long digest, String value, String fullPath) {
+        winners.put(xpathId, new Winner(digest, value, fullPath));
+    }
+
+    int size() {
+        return winners.size();
+    }
+
+    /**
+     * Hash one vote. A path's digest is the sum of the hashes of its votes, so it doesn't depend on
+     * the order the votes are read in.
+     *
+     * @param submitter the voter's id
+     * @param value the value voted for, or null for abstain
+     * @param override the vote override, or null
+     * @param when the time of the vote, in milliseconds
+     * @param voteType the VoteType id
+     */
+    static long hashVote(int submitter, String value, Integer override, long when, int voteType) {
+        Hasher hasher = Hashing.murmur3_128().newHasher().putInt(submitter);
+        if (value == null) {
+            hasher.putInt(-1);
+        } else {
+            hasher.putInt(value.length()).putString(value, StandardCharsets.UTF_8);
+        }
+        return hasher.putInt(override == null ? Integer.MIN_VALUE : override)
+                .putLong(when)
+                .putInt(voteType)
+                .hash()
+                .asLong();
+    }
+
+    /**
+     * Read a snapshot
+     *
+     * @param file the file written by {@link #write(File, String)}
+     * @param key the key that the snapshot must have been written with
+     * @return the snapshot, or null if there is none for this key
+     */
+    static VoteSnapshot read(File file, String key) {
+        if (!file.isFile()) {
+            return null;
+        }
+        try (DataInputStream in =
+                new DataInputStream(
+                        new BufferedInputStream(new GZIPInputStream(new FileInputStream(file))))) {
+            if (in.readInt() != FORMAT_VERSION || !in.readUTF().equals(key)) {
+                return null;
+            }
+            VoteSnapshot snapshot = new VoteSnapshot();
+            for (int count = in.readInt(); count > 0; --count) {
+                int xpathId = in.readInt();
+                long digest = in.readLong();
+                String value = readString(in);
+                String fullPath = readString(in);
+                snapshot.put(xpathId, digest, value, fullPath);
+            }
+            return snapshot;
+        } catch (IOException e) {
+            logger.warning("Ignoring unreadable vote snapshot " + file + ": " + e);
+            return null;
+        }
+    }
+
+    /** Write the snapshot, replacing the file atomically */
+    void write(File file, String key) throws IOException {
+        File dir = file.getParentFile();
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Could not create " + dir);
+        }
+        File tmp = File.createTempFile(file.getName(), ".tmp", dir);
+        try {
+            try (DataOutputStream out =
+                    new DataOutputStream(
+                            new BufferedOutputStream(
+                                    new GZIPOutputStream(new FileOutputStream(tmp))))) {
+                out.writeInt(FORMAT_VERSION);
+                out.writeUTF(key);
+                out.writeInt(winners.size());
+                for (Map.Entry<Integer, Winner> e : winners.entrySet()) {
+                    Winner winner = e.getValue();
+                    out.writeInt(e.getKey());
+                    out.writeLong(winner.digest);
+                    writeString(out, winner.value);
+                    writeString(out, winner.fullPath);
+                }
+            }
+            Files.move(
+                    tmp.toPath(),
+                    file.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            tmp.delete();
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String string) throws IOException {
+        if (string == null) {
+            out.writeInt(-1);
+        } else {
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
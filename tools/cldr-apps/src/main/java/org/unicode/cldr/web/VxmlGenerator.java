@@ -44,14 +44,36 @@ public class VxmlGenerator {
 
     private ProgressCallback progressCallback;
 
+    /** Set when writing one of the locales failed; the others stop */
+    private volatile boolean failed = false;
+
     public void setProgressCallback(ProgressCallback newCallback) {
         progressCallback = newCallback;
     }
 
-    public void update(CLDRLocale loc) {
+    /**
+     * Note that a locale has been written. Locales are written by several threads at once, so the
+     * callback is only called by one thread at a time.
+     *
+     * @param loc the locale
+     */
+    public synchronized void update(CLDRLocale loc) {
+        checkStopped();
+        progressCallback.nudge(loc);
+    }
+
+    /** Throw if asked to stop, or if another locale failed */
+    public void checkStopped() {
+        if (failed) {
+            throw new RuntimeException("Another locale failed");
+        }
         if (progressCallback.isStopped()) {
             throw new RuntimeException("Requested to stop");
         }
-        progressCallback.nudge(loc);
+    }
+
+    /** Stop writing the remaining locales */
+    public void fail() {
+        failed = true;
     }
 }
@@ -186,6 +186,9 @@ public class VxmlQueue {
 
         public String generationMessage;
 
+        /** How many locales were written, and how fast */
+        public String throughput = "";
+
         public File directory;
 
         private int percent = 0;
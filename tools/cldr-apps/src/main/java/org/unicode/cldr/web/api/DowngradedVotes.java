@@ -167,6 +167,7 @@ public class DowngradedVotes {
         Connection conn;
         PreparedStatement ps = null;
         ResultSet rs = null;
+        CookieSession.sm.getSTFactory().flushVotes();
         try {
             conn = DBUtils.getInstance().getAConnection();
             if (conn == null) {
@@ -90,6 +90,7 @@ public class GenerateVxml {
         response.localesDone = results.getLocalesDone();
         response.localesTotal = results.getLocalesTotal();
         response.percent = results.getPercent();
+        response.throughput = results.throughput;
         response.verificationStatus = results.verificationStatus;
         response.verificationFailures = results.verificationFailures.toArray(new String[0]);
         response.verificationWarnings = results.verificationWarnings.toArray(new String[0]);
@@ -125,6 +126,9 @@ public class GenerateVxml {
         @Schema(description = "Estimated percentage complete")
         public Number percent;
 
+        @Schema(description = "Locales written, time taken and locales per minute")
+        public String throughput;
+
         @Schema(description = "Verification status enum")
         public VxmlGenerator.VerificationStatus verificationStatus;
 
@@ -25,6 +25,7 @@ import org.unicode.cldr.util.XMLSource.Listener;
 import org.unicode.cldr.web.CookieSession;
 import org.unicode.cldr.web.STFactory;
 import org.unicode.cldr.web.SurveyMain;
+import org.unicode.cldr.web.SurveyThreadManager;
 
 /**
  * "A locale has complete coverage when there are no Missing values, no Provisional values, and no
@@ -104,17 +105,16 @@ public class LocaleCompletion {
      */
     public static LocaleCompletionResponse getLocaleCompletion(CLDRLocale cldrLocale)
             throws ExecutionException {
-        return LocaleCompletionHelper.INSTANCE.cache.get(cldrLocale);
+        return LocaleCompletionHelper.INSTANCE.cache.get(cldrLocale).getResponse();
     }
 
     /**
-     * This function computes the actual locale completion given a Locale
+     * This function creates the locale completion counter for a Locale
      *
      * @param cldrLocale the locale
-     * @return the response
+     * @return the counter
      */
-    static LocaleCompletionResponse handleGetLocaleCompletion(CLDRLocale cldrLocale)
-            throws ExecutionException {
+    static LocaleCompletionCounter handleGetLocaleCompletion(CLDRLocale cldrLocale) {
         final STFactory stFactory = CookieSession.sm.getSTFactory();
         return handleGetLocaleCompletion(cldrLocale, stFactory);
     }
@@ -122,28 +122,30 @@ public class LocaleCompletion {
     static final class LocaleCompletionHelper implements Listener {
 
         PathHeader.Factory phf;
-        LoadingCache<CLDRLocale, LocaleCompletionResponse> cache;
+        LoadingCache<CLDRLocale, LocaleCompletionCounter> cache;
         LoadingCache<CLDRLocale, Integer> basecache;
 
         LocaleCompletionHelper() {
             phf = PathHeader.getFactory(CLDRConfig.getInstance().getEnglish());
             cache =
                     CacheBuilder.newBuilder()
+                            .recordStats()
                             .maximumSize(500)
                             .concurrencyLevel(
                                     5) // allow 5 threads to compute completion, uncontested
-                            .expireAfterWrite(
-                                    Duration.ofMinutes(20)) // expire 20 min after last change
+                            // Votes update the counts path by path (see valueChanged), but
+                            // checks that depend on several paths may need a full recount.
+                            .expireAfterWrite(Duration.ofMinutes(20))
                             .build(
                                     new CacheLoader<>() {
                                         @Override
-                                        public LocaleCompletionResponse load(CLDRLocale key)
-                                                throws ExecutionException {
+                                        public LocaleCompletionCounter load(CLDRLocale key) {
                                             return handleGetLocaleCompletion(key);
                                         }
                                     });
             basecache =
                     CacheBuilder.newBuilder()
+                            .recordStats()
                             .maximumSize(500)
                             .concurrencyLevel(
                                     5) // allow 5 threads to compute completion, uncontested
@@ -156,26 +158,33 @@ public class LocaleCompletion {
                                             return handleGetBaseCount(key);
                                         }
                                     });
+            SurveyMetrics.registerCache("locale_completion", cache::stats);
+            SurveyMetrics.registerCache("locale_completion_baseline", basecache::stats);
         }
 
         static LocaleCompletionHelper INSTANCE = new LocaleCompletionHelper();
 
         @Override
         public void valueChanged(String xpath, XMLSource source) {
-            // invalidate the named entry
-            cache.invalidate(CLDRLocale.getInstance(source.getLocaleID()));
+            // update the counts for just this path, off the voting thread
+            final LocaleCompletionCounter counter =
+                    cache.getIfPresent(CLDRLocale.getInstance(source.getLocaleID()));
+            if (counter != null) {
+                SurveyThreadManager.getExecutorService().submit(() -> counter.pathChanged(xpath));
+            }
         }
     }
 
     /**
-     * This function computes the actual locale completion given a Locale and STFactory
+     * This function creates the locale completion counter given a Locale and STFactory. The counts
+     * are computed on the first response.
      *
      * @param cldrLocale the locale
      * @param stFactory the STFactory
-     * @return the response
+     * @return the counter
      */
-    static LocaleCompletionResponse handleGetLocaleCompletion(
-            final CLDRLocale cldrLocale, final STFactory stFactory) throws ExecutionException {
+    static LocaleCompletionCounter handleGetLocaleCompletion(
+            final CLDRLocale cldrLocale, final STFactory stFactory) {
         // we need an XML Source to receive notification.
         // This causes LocaleCompletionHelper.INSTANCE.valueChanged(...) to be called
         // whenever a vote happens.
@@ -183,7 +192,7 @@ public class LocaleCompletion {
                 .get(cldrLocale)
                 .getSource()
                 .addListener(LocaleCompletion.LocaleCompletionHelper.INSTANCE);
-        return new LocaleCompletionCounter(cldrLocale, stFactory).getResponse();
+        return new LocaleCompletionCounter(cldrLocale, stFactory);
     }
 
     public static int getBaselineCount(CLDRLocale cldrLocale) throws ExecutionException {
@@ -7,6 +7,12 @@ import java.util.logging.Logger;
 import org.unicode.cldr.util.*;
 import org.unicode.cldr.web.*;
 
+/**
+ * Locale completion for one locale. The first response computes the notifications of every path,
+ * as {@link VettingViewer.PathNotes} like the Dashboard keeps them; after that, {@link
+ * #pathChanged(String)} updates them one path at a time, so responses don't need to go over the
+ * whole locale again.
+ */
 public class LocaleCompletionCounter {
 
     private static final Logger logger = SurveyLog.forClass(LocaleCompletionCounter.class);
@@ -18,6 +24,9 @@ public class LocaleCompletionCounter {
     private final VettingParameters args;
     private final boolean isBaseline;
 
+    /** The notifications of each path; null until first computed. Guarded by this. */
+    private VettingViewer<Organization>.PathNotes notes = null;
+
     public LocaleCompletionCounter(CLDRLocale cldrLocale, Factory factory) {
         this(cldrLocale, factory, false);
     }
@@ -42,19 +51,45 @@ public class LocaleCompletionCounter {
     }
 
     public LocaleCompletion.LocaleCompletionResponse getResponse() throws ExecutionException {
-        final String desc = description();
-        logger.info("Starting " + desc);
-        final ElapsedTimer et = new ElapsedTimer("Finishing " + desc);
-        final LocaleCompletionData lcd = vv.generateLocaleCompletion(args);
+        final LocaleCompletionData lcd;
+        synchronized (this) {
+            if (notes == null) {
+                computeAll();
+            }
+            lcd = new LocaleCompletionData(notes.getProblemCounts());
+        }
         final LocaleCompletion.LocaleCompletionResponse lcr =
                 new LocaleCompletion.LocaleCompletionResponse(level, lcd);
         if (!isBaseline) {
             lcr.setBaselineCount(LocaleCompletion.getBaselineCount(cldrLocale));
         }
-        logger.info(et.toString());
         return lcr;
     }
 
+    /** Compute the notifications of all paths. Call while synchronized. */
+    private void computeAll() {
+        final String desc = description();
+        logger.info("Starting " + desc);
+        final ElapsedTimer et = new ElapsedTimer("Finishing " + desc);
+        try (SurveyMetrics.Timing t = SurveyMetrics.time("vettingviewer_completion")) {
+            notes = vv.generatePathNotes(args);
+        }
+        logger.info(et.toString());
+    }
+
+    /**
+     * Update the counts for a path whose value or votes changed. Does nothing if the counts
+     * haven't been computed yet.
+     *
+     * <p>Only the path itself is rechecked, even though a few checks (such as collisions) also
+     * depend on other paths. The caller should recompute everything from time to time.
+     */
+    public synchronized void pathChanged(String xpath) {
+        if (notes != null) {
+            notes.update(xpath);
+        }
+    }
+
     private String description() {
         return String.format(
                 "LocaleCompletion for %s/%s %s", localeId, level, isBaseline ? "(Baseline)" : "");
@@ -0,0 +1,370 @@
+package org.unicode.cldr.web.api;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.logging.Logger;
+import org.unicode.cldr.test.CheckCLDR.InputMethod;
+import org.unicode.cldr.test.CheckCLDR.StatusAction;
+import org.unicode.cldr.util.CLDRConfig;
+import org.unicode.cldr.util.CLDRInfo.UserInfo;
+import org.unicode.cldr.util.CLDRLocale;
+import org.unicode.cldr.util.CldrUtility;
+import org.unicode.cldr.util.Organization;
+import org.unicode.cldr.util.PathHeader.PageId;
+import org.unicode.cldr.util.VoteResolver;
+import org.unicode.cldr.util.VoteResolver.VoterInfo;
+import org.unicode.cldr.util.XMLSource;
+import org.unicode.cldr.web.BallotBox;
+import org.unicode.cldr.web.CookieSession;
+import org.unicode.cldr.web.DataPage;
+import org.unicode.cldr.web.DataPage.DataRow;
+import org.unicode.cldr.web.STFactory;
+import org.unicode.cldr.web.SurveyForum;
+import org.unicode.cldr.web.SurveyLog;
+import org.unicode.cldr.web.SurveyMetrics;
+import org.unicode.cldr.web.UserRegistry.User;
+import org.unicode.cldr.web.XPathMatcher;
+import org.unicode.cldr.web.api.VoteAPI.RowResponse;
+
+/**
+ * Cache of the rows returned by {@link VoteAPIHelper#getRowsResponse}, so that loading a page does
+ * not have to build a DataPage, run the checks and resolve the votes for every row each time.
+ *
+ * <p>Only the parts of a row that are the same for every user are cached, by locale, xpath id and
+ * whether the voters' names are redacted. The user's own vote, whether they voted, the status
+ * action for TC users, the flag and the forum status are filled in for each response.
+ *
+ * <p>A vote that leaves the winning value as it was only invalidates its own row. A change to the
+ * winning value invalidates the rows of the locale and its sublocales, since checks and inherited
+ * values depend on other paths, just as the TestCache drops the locale's TestResultBundle.
+ * Changes that are not seen here, such as a voter's name, last until the entry expires.
+ */
+final class RowCache implements XMLSource.Listener, STFactory.VoteListener {
+    static final Logger logger = SurveyLog.forClass(RowCache.class);
+
+    /** Set CLDR_ROW_CACHE=false to build every row for every request */
+    private static final boolean ENABLED =
+            CLDRConfig.getInstance().getProperty("CLDR_ROW_CACHE", true);
+
+    /** A page with more invalid rows than this is built again as a whole */
+    private static final int MAX_ROWS_TO_PATCH = 8;
+
+    /** Votes are counted in this many stripes; a vote invalidates 1 in this many rows at most */
+    private static final int STRIPES = 256;
+
+    /** Any user at this level or above sees the same status action */
+    private static final UserInfo TC_USER =
+            () -> new VoterInfo(Organization.unaffiliated, VoteResolver.Level.tc, "(TC)");
+
+    private static RowCache instance = null;
+
+    /**
+     * Get the cache for this STFactory
+     *
+     * @return the cache, or null if caching is off
+     */
+    static synchronized RowCache get(STFactory factory) {
+        if (!ENABLED) {
+            return null;
+        }
+        if (instance == null || instance.factory != factory) {
+            instance = new RowCache(factory);
+        }
+        return instance;
+    }
+
+    /** The user-independent part of one row */
+    private static final class Entry {
+        final RowResponse.Row row;
+        final String fieldHash;
+        final StatusAction tcStatusAction;
+        final long generation;
+        final long votes;
+
+        Entry(DataRow r, boolean redacted, long generation, long votes) {
+            this.row = VoteAPIHelper.calculateBaseRow(r, redacted);
+            this.row.statusAction = r.getStatusAction(InputMethod.DIRECT, null);
+            this.fieldHash = r.fieldHash();
+            this.tcStatusAction = r.getStatusAction(InputMethod.DIRECT, TC_USER);
+            this.generation = generation;
+            this.votes = votes;
+        }
+    }
+
+    /** The paths of one page, and its display sets */
+    private static final class PageEntry {
+        final List<String> xpaths;
+        final RowResponse.DisplaySets displaySets;
+        final long generation;
+
+        PageEntry(Collection<DataRow> dataRows, long generation) {
+            this.xpaths = new ArrayList<>(dataRows.size());
+            for (DataRow r : dataRows) {
+                xpaths.add(r.getXpath());
+            }
+            this.displaySets = VoteAPIHelper.makeDisplaySets(dataRows);
+            this.generation = generation;
+        }
+    }
+
+    private final STFactory factory;
+    private final Cache<String, Entry> rows;
+    private final Cache<String, PageEntry> pages;
+
+    /** Bumped when a winning value of the locale changes */
+    private final Map<CLDRLocale, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    /** Bumped by each vote, by stripe of row key */
+    private final AtomicLongArray votes = new AtomicLongArray(STRIPES);
+
+    /** The sources listened to. A locale that is loaded again has a new source. */
+    private final Set<XMLSource> sources =
+            Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+    private RowCache(STFactory factory) {
+        this.factory = factory;
+        final Duration expiry =
+                Duration.ofMinutes(
+                        CLDRConfig.getInstance().getProperty("CLDR_ROW_CACHE_MINUTES", 30));
+        rows =
+                CacheBuilder.newBuilder()
+                        .recordStats()
+                        .maximumSize(
+                                CLDRConfig.getInstance().getProperty("CLDR_ROW_CACHE_MAX", 200000))
+                        .expireAfterWrite(expiry)
+                        .build();
+        pages =
+                CacheBuilder.newBuilder()
+                        .recordStats()
+                        .maximumSize(5000)
+                        .expireAfterWrite(expiry)
+                        .build();
+        factory.addVoteListener(this);
+        SurveyMetrics.registerCache("rows", rows::stats);
+        SurveyMetrics.registerCache("row_pages", pages::stats);
+    }
+
+    /**
+     * Fill in the rows of the response, and for a page, its display sets
+     *
+     * @param r the response
+     * @param pageId the page, or null for one row
+     * @param xpath the path of the one row, if pageId is null
+     * @param matcher matches the path of the one row, if pageId is null
+     */
+    void fill(
+            RowResponse r,
+            PageId pageId,
+            String xpath,
+            XPathMatcher matcher,
+            CLDRLocale locale,
+            CookieSession session,
+            boolean redacted) {
+        listen(locale);
+        final List<Entry> entries = new ArrayList<>();
+        if (pageId == null) {
+            final Entry e = getValid(locale, xpath, redacted);
+            if (e != null) {
+                entries.add(e);
+            } else {
+                build(null, xpath, matcher, locale, session, redacted, entries);
+            }
+        } else {
+            final String pageKey = locale.getBaseName() + "/" + pageId.name() + "/" + redacted;
+            PageEntry page = pages.getIfPresent(pageKey);
+            if (page == null
+                    || page.generation != generation(locale)
+                    || !getPage(page, locale, session, redacted, entries)) {
+                entries.clear();
+                page = build(pageId, null, null, locale, session, redacted, entries);
+                pages.put(pageKey, page);
+            }
+            r.displaySets = page.displaySets;
+        }
+        final BallotBox<User> ballotBox = factory.ballotBoxForLocale(locale);
+        final Map<String, RowResponse.Row> result = new HashMap<>(entries.size());
+        for (Entry e : entries) {
+            result.put(e.fieldHash, forUser(e, locale, ballotBox, session.user));
+        }
+        r.page.rows = result;
+    }
+
+    /**
+     * Get the rows of a cached page, building the few that are no longer valid one by one
+     *
+     * @param entries the list to add the rows to
+     * @return false if the page should be built again as a whole
+     */
+    private boolean getPage(
+            PageEntry page,
+            CLDRLocale locale,
+            CookieSession session,
+            boolean redacted,
+            List<Entry> entries) {
+        final List<String> missing = new ArrayList<>();
+        for (String x : page.xpaths) {
+            final Entry e = getValid(locale, x, redacted);
+            if (e != null) {
+                entries.add(e);
+            } else if (missing.size() == MAX_ROWS_TO_PATCH) {
+                return false;
+            } else {
+                missing.add(x);
+            }
+        }
+        for (String x : missing) {
+            final XPathMatcher matcher = XPathMatcher.exactMatcherForString(x);
+            build(null, x, matcher, locale, session, redacted, entries);
+        }
+        return true;
+    }
+
+    /**
+     * Build the rows through a DataPage, and cache them
+     *
+     * @param entries the list to add the rows to
+     * @return the page, or null if pageId is null
+     */
+    private PageEntry build(
+            PageId pageId,
+            String xpath,
+            XPathMatcher matcher,
+            CLDRLocale locale,
+            CookieSession session,
+            boolean redacted,
+            List<Entry> entries) {
+        // read the stamps before the votes, so that a vote during the build is not lost
+        final long generation = generation(locale);
+        final long[] votesBefore = new long[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            votesBefore[i] = votes.get(i);
+        }
+        final DataPage pageData = DataPage.make(pageId, session, locale, xpath, matcher, null);
+        final Collection<DataRow> dataRows = pageData.getAll();
+        for (DataRow d : dataRows) {
+            final String key = key(locale, d.getXpath(), redacted);
+            final Entry e = new Entry(d, redacted, generation, votesBefore[stripe(key)]);
+            rows.put(key, e);
+            entries.add(e);
+        }
+        return pageId == null ? null : new PageEntry(dataRows, generation);
+    }
+
+    private Entry getValid(CLDRLocale locale, String xpath, boolean redacted) {
+        final String key = key(locale, xpath, redacted);
+        final Entry e = rows.getIfPresent(key);
+        if (e == null
+                || e.generation != generation(locale)
+                || e.votes != votes.get(stripe(key))) {
+            return null;
+        }
+        return e;
+    }
+
+    /** Copy the row, and fill in the user's own fields */
+    private RowResponse.Row forUser(
+            Entry e, CLDRLocale locale, BallotBox<User> ballotBox, User user) {
+        final RowResponse.Row row = e.row.copy();
+        if (user != null) {
+            row.hasVoted = ballotBox.userDidVote(user, row.xpath);
+            row.voteVhash = getVoteVHash(row, ballotBox.getVoteValue(user, row.xpath));
+            final VoterInfo voterInfo = user.getVoterInfo();
+            if (voterInfo != null && voterInfo.getLevel().compareTo(VoteResolver.Level.tc) >= 0) {
+                row.statusAction = e.tcStatusAction;
+            }
+        }
+        row.flagged = row.rowFlagged = factory.getFlag(locale, row.xpathId);
+        row.forumStatus = new SurveyForum.PathForumStatus(locale, row.xpath);
+        return row;
+    }
+
+    /** As DataRow.getVoteVHash, from the items of the row */
+    private static String getVoteVHash(RowResponse.Row row, String ourVote) {
+        if (ourVote == null) {
+            return null; // abstention
+        }
+        String vhash = DataPage.getValueHash(ourVote);
+        if (!row.items.containsKey(vhash)) {
+            // inherited value matches inheritance marker and vice-versa
+            if (ourVote.equals(row.inheritedValue)) {
+                vhash = DataPage.getValueHash(CldrUtility.INHERITANCE_MARKER);
+            } else if (ourVote.equals(CldrUtility.INHERITANCE_MARKER)) {
+                vhash = DataPage.getValueHash(row.inheritedValue);
+            }
+            if (!row.items.containsKey(vhash)) {
+                logger.severe(
+                        "Found ourVote = "
+                                + ourVote
+                                + " but did not find voteItem for xpath = "
+                                + row.xpath);
+                return null;
+            }
+        }
+        return vhash;
+    }
+
+    /**
+     * Listen to the locale and its parents, and note any that were loaded again. Called on request
+     * threads while votes notify the listeners on others; XMLSource's listener list is safe for
+     * that.
+     */
+    private void listen(CLDRLocale locale) {
+        for (CLDRLocale l = locale; l != null; l = l.getParent()) {
+            final XMLSource source = factory.get(l).getSource();
+            if (sources.add(source)) {
+                source.addListener(this);
+                bump(l);
+            }
+        }
+    }
+
+    /** The sum of the generations of the locale and its parents */
+    private long generation(CLDRLocale locale) {
+        long sum = 0;
+        for (CLDRLocale l = locale; l != null; l = l.getParent()) {
+            final AtomicLong g = generations.get(l);
+            if (g != null) {
+                sum += g.get();
+            }
+        }
+        return sum;
+    }
+
+    private void bump(CLDRLocale locale) {
+        generations.computeIfAbsent(locale, l -> new AtomicLong()).incrementAndGet();
+    }
+
+    private static String key(CLDRLocale locale, String xpath, boolean redacted) {
+        return locale.getBaseName() + "/" + CookieSession.sm.xpt.getByXpath(xpath) + "/" + redacted;
+    }
+
+    private static int stripe(String key) {
+        return Math.floorMod(key.hashCode(), STRIPES);
+    }
+
+    @Override
+    public void valueChanged(String xpath, XMLSource source) {
+        bump(CLDRLocale.getInstance(source.getLocaleID()));
+    }
+
+    @Override
+    public void voteCast(CLDRLocale locale, String xpath) {
+        for (boolean redacted : new boolean[] {false, true}) {
+            final String key = key(locale, xpath, redacted);
+            votes.incrementAndGet(stripe(key));
+            rows.invalidate(key);
+        }
+    }
+}
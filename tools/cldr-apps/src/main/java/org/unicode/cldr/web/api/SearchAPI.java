@@ -1,5 +1,7 @@
 package org.unicode.cldr.web.api;
 
+import java.util.Arrays;
+import java.util.List;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
 import javax.ws.rs.GET;
@@ -53,7 +55,9 @@ public class SearchAPI {
     @Consumes(MediaType.APPLICATION_JSON)
     @Operation(
             summary = "Begin a new search",
-            description = "Searches for paths containing the given string value")
+            description =
+                    "Searches for paths whose value, label or string id contains the given"
+                            + " string, ignoring case. Results are ranked, best match first.")
     @APIResponses(
             value = {
                 @APIResponse(
@@ -71,6 +75,7 @@ public class SearchAPI {
     public Response newSearch(
             @Parameter(
                             required = false,
+                            description = "Locale to search, or several separated by commas",
                             example = "jgo",
                             schema = @Schema(type = SchemaType.STRING))
                     @QueryParam("locale")
@@ -85,12 +90,16 @@ public class SearchAPI {
 
         final SearchManager searchManager = SearchAPIHelper.getSearchManager();
 
-        if (loc == null
-                || loc.isBlank()
-                || !CookieSession.sm.isValidLocale(CLDRLocale.getInstance(loc))) {
+        if (loc == null || loc.isBlank()) {
             return Response.status(Status.NOT_FOUND).build();
         }
-        SearchResponse search = searchManager.newSearch(request, loc);
+        final List<String> locales = Arrays.asList(loc.split(","));
+        for (final String l : locales) {
+            if (l.isBlank() || !CookieSession.sm.isValidLocale(CLDRLocale.getInstance(l))) {
+                return Response.status(Status.NOT_FOUND).build();
+            }
+        }
+        SearchResponse search = searchManager.newSearch(request, locales);
         return Response.ok(search).build();
     }
 
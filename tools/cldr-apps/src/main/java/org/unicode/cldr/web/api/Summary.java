@@ -91,6 +91,10 @@ public class Summary {
                                         mediaType = "application/json",
                                         schema = @Schema(implementation = SummaryResponse.class)))
             })
+    @Timed(
+            absolute = true,
+            name = "doVettingSummaryTime",
+            description = "Time to fetch the Priority Items Summary")
     public Response doVettingSummary(
             SummaryRequest request, @HeaderParam(Auth.SESSION_HEADER) String sessionString) {
         try {
@@ -218,6 +222,10 @@ public class Summary {
                                                         implementation =
                                                                 SnapshotListResponse.class)))
             })
+    @Timed(
+            absolute = true,
+            name = "listSnapshotsTime",
+            description = "Time to list the summary snapshots")
     public Response listSnapshots(@HeaderParam(Auth.SESSION_HEADER) String sessionString) {
         CookieSession cs = Auth.getSession(sessionString);
         if (cs == null) {
@@ -430,6 +438,10 @@ public class Summary {
                                                         implementation =
                                                                 CoverageStatusResponse.class)))
             })
+    @Timed(
+            absolute = true,
+            name = "getCoverageStatusTime",
+            description = "Time to fetch the coverage status")
     public Response getCoverageStatus(@HeaderParam(Auth.SESSION_HEADER) String sessionString) {
         CookieSession cs = Auth.getSession(sessionString);
         if (cs == null) {
@@ -9,6 +9,7 @@ import java.util.Set;
 import javax.ws.rs.*;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import org.eclipse.microprofile.metrics.annotation.Timed;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.enums.SchemaType;
 import org.eclipse.microprofile.openapi.annotations.media.Content;
@@ -67,6 +68,7 @@ public class VoteAPI {
                                         mediaType = "application/json",
                                         schema = @Schema(implementation = STError.class))),
             })
+    @Timed(absolute = true, name = "getRowTime", description = "Time to fetch a row")
     public Response getRow(
             @Parameter(required = true, example = "br", schema = @Schema(type = SchemaType.STRING))
                     @PathParam("locale")
@@ -117,6 +119,7 @@ public class VoteAPI {
                                         mediaType = "application/json",
                                         schema = @Schema(implementation = STError.class))),
             })
+    @Timed(absolute = true, name = "getPageTime", description = "Time to fetch a page of rows")
     public Response getPage(
             @Parameter(required = true, example = "br", schema = @Schema(type = SchemaType.STRING))
                     @PathParam("locale")
@@ -171,7 +174,7 @@ public class VoteAPI {
 
     public static final class RowResponse {
 
-        public static final class Row {
+        public static final class Row implements Cloneable {
 
             public static final class Candidate {
                 public String displayValue;
@@ -247,6 +250,15 @@ public class VoteAPI {
 
             @Schema(description = "True if candidates are fixed (disable plus).", example = "false")
             public boolean fixedCandidates;
+
+            /** A shallow copy, for RowCache to fill in the user's own fields */
+            Row copy() {
+                try {
+                    return (Row) clone();
+                } catch (CloneNotSupportedException e) {
+                    throw new InternalError(e);
+                }
+            }
         }
 
         public static final class Page {
@@ -313,6 +325,7 @@ public class VoteAPI {
                                         mediaType = "application/json",
                                         schema = @Schema(implementation = STError.class))),
             })
+    @Timed(absolute = true, name = "voteTime", description = "Time to submit a vote")
     public Response vote(
             @Parameter(required = true, example = "br", schema = @Schema(type = SchemaType.STRING))
                     @PathParam("locale")
@@ -442,6 +455,10 @@ public class VoteAPI {
                                         mediaType = "application/json",
                                         schema = @Schema(implementation = STError.class))),
             })
+    @Timed(
+            absolute = true,
+            name = "getLocaleErrorsTime",
+            description = "Time to fetch the errors of a locale")
     public Response getLocaleErrors(
             @Parameter(required = true, example = "br", schema = @Schema(type = SchemaType.STRING))
                     @PathParam("locale")
@@ -208,8 +208,6 @@ public class VoteAPIHelper {
                     ErrorCode.E_INTERNAL, // or E_BAD_XPATH?
                     "handleGetRows: need xpstrid or page, but not both");
         }
-        final DataPage pageData = DataPage.make(pageId, mySession, locale, xp, matcher, null);
-        pageData.setUserForVotelist(mySession.user);
         r.page = new RowResponse.Page();
         if (args.xpstrid != null) {
             r.setOneRowPath(args.xpstrid);
@@ -225,10 +223,18 @@ public class VoteAPIHelper {
             r.loc = locale.getBaseName();
             r.localeDisplayName = locale.getDisplayName();
             r.page.nocontent = false;
-            Collection<DataRow> dataRows = pageData.getAll();
-            r.page.rows = makePageRows(dataRows, redacted);
-            if (args.page != null) {
-                r.displaySets = makeDisplaySets(dataRows);
+            final RowCache rowCache = RowCache.get(sm.getSTFactory());
+            if (rowCache != null) {
+                rowCache.fill(r, pageId, xp, matcher, locale, mySession, redacted);
+            } else {
+                final DataPage pageData =
+                        DataPage.make(pageId, mySession, locale, xp, matcher, null);
+                pageData.setUserForVotelist(mySession.user);
+                Collection<DataRow> dataRows = pageData.getAll();
+                r.page.rows = makePageRows(dataRows, redacted);
+                if (args.page != null) {
+                    r.displaySets = makeDisplaySets(dataRows);
+                }
             }
         }
         if (args.getDashboard) {
@@ -250,7 +256,7 @@ public class VoteAPIHelper {
         }
     }
 
-    private static RowResponse.DisplaySets makeDisplaySets(Collection<DataRow> dataRows) {
+    static RowResponse.DisplaySets makeDisplaySets(Collection<DataRow> dataRows) {
         final RowResponse.DisplaySets displaySets = new RowResponse.DisplaySets();
         final SortMode sortMode = new PathHeaderSort();
         displaySets.ph = sortMode.createDisplaySet(null, dataRows);
@@ -267,6 +273,26 @@ public class VoteAPIHelper {
     }
 
     private static RowResponse.Row calculateRow(final DataRow r, boolean redacted) {
+        final RowResponse.Row row = calculateBaseRow(r, redacted);
+        final String xpath = r.getXpath();
+        row.flagged = r.isFlagged();
+        row.forumStatus = new SurveyForum.PathForumStatus(r.getLocale(), xpath);
+        row.hasVoted = r.userHasVoted();
+        row.rowFlagged = r.isFlagged();
+        row.statusAction = r.getStatusAction();
+        row.voteVhash = r.getVoteVHash();
+        return row;
+    }
+
+    /**
+     * Calculate the fields of the row that are the same for every user; see {@link RowCache}
+     *
+     * @param r the DataRow
+     * @param redacted true to hide the voters' names
+     * @return the row, without flagged, forumStatus, hasVoted, rowFlagged, statusAction or
+     *     voteVhash
+     */
+    static RowResponse.Row calculateBaseRow(final DataRow r, boolean redacted) {
         final RowResponse.Row row = new RowResponse.Row();
         final VoteResolver<String> resolver = r.getResolver();
         final String xpath = r.getXpath();
@@ -282,9 +308,6 @@ public class VoteAPIHelper {
         row.displayName = r.getDisplayName();
         row.rawEnglish = r.getRawEnglish();
         row.extraAttributes = r.getNonDistinguishingAttributes();
-        row.flagged = r.isFlagged();
-        row.forumStatus = new SurveyForum.PathForumStatus(r.getLocale(), xpath);
-        row.hasVoted = r.userHasVoted();
         row.helpHtml = r.getHelpHTML();
         row.inheritedLocale = r.getInheritedLocaleName();
         row.inheritedValue = r.getInheritedValue();
@@ -294,10 +317,7 @@ public class VoteAPIHelper {
         row.placeholderInfo = placeholders.get(xpath);
         row.placeholderStatus = placeholders.getStatus(xpath);
         row.rdf = r.getRDFURI();
-        row.rowFlagged = r.isFlagged();
-        row.statusAction = r.getStatusAction();
         row.translationHint = r.getTranslationHint();
-        row.voteVhash = r.getVoteVHash();
         row.votingResults = getVotingResults(resolver);
         row.winningValue = r.getWinningValue();
         row.winningVhash = r.getWinningVHash();
@@ -8,6 +8,7 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import org.eclipse.microprofile.metrics.annotation.Timed;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.enums.SchemaType;
 import org.eclipse.microprofile.openapi.annotations.media.Content;
@@ -69,6 +70,10 @@ public class XPathAPI {
     @Operation(
             summary = "Fetch hex and decimal id from XPath string",
             description = "Looks up the ids for a specific XPath string.")
+    @Timed(
+            absolute = true,
+            name = "getXPathByStringTime",
+            description = "Time to look up an xpath by string")
     public Response getByString(XPathRequest request) {
         final String xpath = request.str;
         final XPathTable xpt = getXPathTable();
@@ -106,6 +111,10 @@ public class XPathAPI {
                                         mediaType = "application/json",
                                         schema = @Schema(implementation = XPathInfo.class)))
             })
+    @Timed(
+            absolute = true,
+            name = "getXPathByHexTime",
+            description = "Time to look up an xpath by hex id")
     public Response getByHex(
             @Parameter(
                             required = true,
@@ -153,6 +162,10 @@ public class XPathAPI {
                                         mediaType = "application/json",
                                         schema = @Schema(implementation = XPathInfo.class)))
             })
+    @Timed(
+            absolute = true,
+            name = "getXPathByDecimalTime",
+            description = "Time to look up an xpath by decimal id")
     public Response getByDecimal(
             @Parameter(
                             required = true,
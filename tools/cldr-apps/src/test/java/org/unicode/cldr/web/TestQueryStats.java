@@ -0,0 +1,144 @@
+package org.unicode.cldr.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+public class TestQueryStats {
+    /** A Connection whose statements only count how often they are closed */
+    private static class FakeConnection {
+        final AtomicInteger prepared = new AtomicInteger();
+        final AtomicInteger statementsClosed = new AtomicInteger();
+        final AtomicInteger closed = new AtomicInteger();
+
+        Connection make() {
+            return (Connection)
+                    Proxy.newProxyInstance(
+                            getClass().getClassLoader(),
+                            new Class<?>[] {Connection.class},
+                            (proxy, method, args) -> {
+                                switch (method.getName()) {
+                                    case "prepareStatement":
+                                        prepared.incrementAndGet();
+                                        return statement((String) args[0]);
+                                    case "close":
+                                        closed.incrementAndGet();
+                                        return null;
+                                    default:
+                                        throw new UnsupportedOperationException(method.getName());
+                                }
+                            });
+        }
+
+        private PreparedStatement statement(String sql) {
+            return (PreparedStatement)
+                    Proxy.newProxyInstance(
+                            getClass().getClassLoader(),
+                            new Class<?>[] {PreparedStatement.class},
+                            (proxy, method, args) -> {
+                                switch (method.getName()) {
+                                    case "executeUpdate":
+                                        if (sql.startsWith("FAIL")) {
+                                            throw new SQLException("failed");
+                                        }
+                                        return 1;
+                                    case "close":
+                                        statementsClosed.incrementAndGet();
+                                        return null;
+                                    case "getResultSet":
+                                    case "clearParameters":
+                                        return null;
+                                    default:
+                                        throw new UnsupportedOperationException(method.getName());
+                                }
+                            });
+        }
+    }
+
+    @Test
+    void testNameFor() {
+        assertEquals(
+                "SELECT * FROM t WHERE a=? AND b = ? AND c IN (?)",
+                QueryStats.nameFor(
+                        "SELECT *  FROM t\n WHERE a='x''y' AND b = 42 AND c IN (1, 2,3)"));
+        assertEquals(
+                "select * from cldr_vote_value_44 where locale=?",
+                QueryStats.nameFor("select * from cldr_vote_value_44 where locale='fr'"));
+    }
+
+    @Test
+    void testRecord() {
+        QueryStats stats = new QueryStats(0);
+        AtomicInteger heard = new AtomicInteger();
+        stats.setListener((name, nanos, failed) -> heard.incrementAndGet());
+        stats.record("q", "q", 500_000L, false);
+        stats.record("q", "q", 30_000_000L, true);
+        QueryStats.Stat stat = stats.get("q");
+        assertEquals(2, stat.getCount());
+        assertEquals(1, stat.getErrors());
+        assertEquals(30, stat.getMaxMillis());
+        long[] histogram = stat.getHistogram();
+        assertEquals(1, histogram[QueryStats.bucketFor(0)]);
+        assertEquals(1, histogram[QueryStats.bucketFor(30)]);
+        assertEquals(2, heard.get());
+        assertEquals(QueryStats.BUCKETS_MS.length, QueryStats.bucketFor(Long.MAX_VALUE));
+    }
+
+    @Test
+    void testTooManyNames() {
+        QueryStats stats = new QueryStats(0);
+        for (int i = 0; i < QueryStats.MAX_NAMES + 10; i++) {
+            stats.record("q" + i, "", 1L, false);
+        }
+        assertEquals(QueryStats.MAX_NAMES + 1, stats.getStats().size());
+        assertEquals(10, stats.get(QueryStats.OTHER).getCount());
+    }
+
+    @Test
+    void testInstrumentedConnection() throws SQLException {
+        QueryStats stats = new QueryStats(0);
+        FakeConnection fake = new FakeConnection();
+        Connection conn = InstrumentedConnection.wrap(fake.make(), stats, 0L);
+        assertEquals(1, stats.getOpenConnections());
+
+        PreparedStatement a = DBUtils.prepareStatement(conn, "insertA", "INSERT a");
+        a.executeUpdate();
+        a.close();
+        PreparedStatement again = DBUtils.prepareStatement(conn, "insertA", "INSERT a");
+        assertSame(a, again, "reused from the connection's cache");
+        PreparedStatement inUse = DBUtils.prepareStatement(conn, "insertA", "INSERT a");
+        assertNotSame(again, inUse, "not handed out while in use");
+        again.executeUpdate();
+        inUse.close();
+        again.close();
+        assertEquals(2, fake.prepared.get());
+        assertEquals(1, fake.statementsClosed.get(), "only the uncached one is closed");
+        assertEquals(1, stats.getStatementCacheHits());
+
+        try (PreparedStatement ps = conn.prepareStatement("FAIL where x=3")) {
+            assertThrows(SQLException.class, ps::executeUpdate);
+        }
+
+        conn.close();
+        conn.close();
+        assertEquals(1, fake.closed.get());
+        assertEquals(3, fake.statementsClosed.get(), "cached statement closed with the connection");
+        assertEquals(0, stats.getOpenConnections());
+        assertEquals(1, stats.getMaxOpenConnections());
+
+        QueryStats.Stat insert = stats.get("insertA");
+        assertNotNull(insert);
+        assertEquals(2, insert.getCount());
+        QueryStats.Stat failed = stats.get("FAIL where x=?");
+        assertEquals(1, failed.getErrors());
+    }
+}
@@ -13,13 +13,16 @@ import java.io.IOException;
 import java.io.PrintWriter;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 import net.jcip.annotations.NotThreadSafe;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
 import org.unicode.cldr.draft.FileUtilities;
 import org.unicode.cldr.test.CheckCLDR;
 import org.unicode.cldr.unittest.web.TestAll;
@@ -35,6 +38,7 @@ import org.unicode.cldr.util.FileReaders;
 import org.unicode.cldr.util.SpecialLocales;
 import org.unicode.cldr.util.StackTracker;
 import org.unicode.cldr.util.XMLFileReader;
+import org.unicode.cldr.util.XMLSource;
 import org.unicode.cldr.web.BallotBox.InvalidXPathException;
 import org.unicode.cldr.web.BallotBox.VoteNotAcceptedException;
 import org.unicode.cldr.web.UserRegistry.LogoutException;
@@ -301,6 +305,157 @@ public class TestSTFactory {
         }
     }
 
+    @Test
+    public void TestSearchIndexAfterReload()
+            throws SQLException, InvalidXPathException, VoteNotAcceptedException, LogoutException {
+        final STFactory fac = getFactory();
+        final CLDRLocale locale = CLDRLocale.getInstance("de");
+        final String somePath = "//ldml/localeDisplayNames/keys/key[@type=\"calendar\"]";
+        final SearchManager mgr = SearchManager.forFactory(fac);
+        assertTrue(mgr.getIndex(locale.getBaseName()).search("xyzzy").isEmpty());
+
+        fac.TESTING_unloadLocale(locale); // loaded again by the vote, with a new source
+        final BallotBox<User> box = fac.ballotBoxForLocale(locale);
+        try {
+            box.voteForValue(getMyUser(), somePath, "Xyzzy");
+            assertEquals(List.of(somePath), searchPaths(mgr, locale, "xyzzy"));
+            // and the index keeps up with later votes
+            box.voteForValue(getMyUser(), somePath, "Plugh");
+            assertTrue(searchPaths(mgr, locale, "xyzzy").isEmpty());
+            assertEquals(List.of(somePath), searchPaths(mgr, locale, "plugh"));
+        } finally {
+            box.voteForValue(getMyUser(), somePath, null);
+        }
+    }
+
+    private static List<String> searchPaths(SearchManager mgr, CLDRLocale locale, String query) {
+        final List<String> paths = new ArrayList<>();
+        for (SearchIndex.Hit hit : mgr.getIndex(locale.getBaseName()).search(query)) {
+            paths.add(hit.xpath);
+        }
+        return paths;
+    }
+
+    /**
+     * Load test: votes for one locale, saving each vote to the database as it is made ("before")
+     * and through the vote journal ("after"), and logs the votes per second of each
+     */
+    @Test
+    public void TestVoteThroughput(TestReporter reporter)
+            throws SQLException, InvalidXPathException, VoteNotAcceptedException, LogoutException {
+        final CLDRLocale locale = CLDRLocale.getInstance("ky");
+        final List<String> paths = new ArrayList<>();
+        for (String path : getFactory().getPathsForFile(locale)) {
+            if (path.startsWith("//ldml/localeDisplayNames/languages/") && paths.size() < 300) {
+                paths.add(path);
+            }
+        }
+
+        STFactory fac = resetFactory();
+        fac.get(locale); // set up the DB before closing the journal
+        fac.shutdown();
+        long start = System.nanoTime();
+        voteForAll(fac, locale, paths, "before");
+        reportThroughput(reporter, "votes/sec before", paths.size(), start);
+
+        fac = resetFactory();
+        start = System.nanoTime();
+        voteForAll(fac, locale, paths, "after");
+        reportThroughput(reporter, "votes/sec after", paths.size(), start);
+        assertTrue(fac.flushVotes(), "the journaled votes are saved");
+        reportThroughput(reporter, "votes/sec after, until saved", paths.size(), start);
+
+        fac = resetFactory(); // reload from the DB
+        BallotBox<User> box = fac.ballotBoxForLocale(locale);
+        for (String path : paths) {
+            assertEquals("after " + paths.indexOf(path), box.getVoteValue(getMyUser(), path));
+            box.voteForValue(getMyUser(), path, null);
+        }
+    }
+
+    private static void reportThroughput(
+            TestReporter reporter, String key, int votes, long startNanos) {
+        final double seconds = (System.nanoTime() - startNanos) / 1e9;
+        reporter.publishEntry(key, String.format("%.1f", votes / seconds));
+    }
+
+    /**
+     * The winners loaded with a vote snapshot must be the same as when they are all resolved from
+     * the votes, including after votes on other paths that a path inherits from
+     */
+    @Test
+    public void TestVoteSnapshotReload()
+            throws SQLException, InvalidXPathException, VoteNotAcceptedException, LogoutException,
+                    InterruptedException {
+        final CLDRLocale locale = CLDRLocale.getInstance("ky");
+        final List<String> paths = new ArrayList<>();
+        for (String path : getFactory().getPathsForFile(locale)) {
+            if (path.startsWith("//ldml/localeDisplayNames/territories/") && paths.size() < 4) {
+                paths.add(path);
+            }
+        }
+        STFactory fac = getFactory();
+        BallotBox<User> box = fac.ballotBoxForLocale(locale);
+        box.voteForValue(getMyUser(), paths.get(0), CldrUtility.INHERITANCE_MARKER);
+        box.voteForValue(getMyUser(), paths.get(1), "snapshot 1");
+        box.voteForValue(
+                getMyUser(), paths.get(2), fac.make(locale, false).getStringValue(paths.get(2)));
+
+        try {
+            assertEquals(
+                    getColdWinners(locale), getSnapshotWinners(locale), "after a restart");
+
+            // a vote on another path changes the locale's vote state, so nothing is reused
+            fac = resetFactory();
+            fac.ballotBoxForLocale(locale).voteForValue(getMyUser(), paths.get(3), "snapshot 2");
+            assertEquals(
+                    getColdWinners(locale), getSnapshotWinners(locale), "after another vote");
+        } finally {
+            box = getFactory().ballotBoxForLocale(locale);
+            for (String path : paths) {
+                box.voteForValue(getMyUser(), path, null);
+            }
+        }
+    }
+
+    /** Load the locale with no snapshot, then wait for its snapshot to be written */
+    private Map<String, String> getColdWinners(CLDRLocale locale)
+            throws SQLException, InterruptedException {
+        final File snapshot = getFactory().getVoteSnapshotFile(locale);
+        snapshot.delete();
+        final Map<String, String> winners = getWinners(resetFactory(), locale);
+        for (int i = 0; i < 100 && !snapshot.isFile(); i++) {
+            Thread.sleep(100);
+        }
+        assertTrue(snapshot.isFile(), "the vote snapshot is written");
+        return winners;
+    }
+
+    /** Load the locale again, with the snapshot that getColdWinners wrote */
+    private Map<String, String> getSnapshotWinners(CLDRLocale locale) throws SQLException {
+        return getWinners(resetFactory(), locale);
+    }
+
+    /** The winning value and full path of each path of the locale */
+    private static Map<String, String> getWinners(STFactory fac, CLDRLocale locale) {
+        final XMLSource source = fac.get(locale).getSource();
+        final Map<String, String> winners = new TreeMap<>();
+        for (String path : source) {
+            winners.put(path, source.getValueAtDPath(path) + " " + source.getFullPathAtDPath(path));
+        }
+        return winners;
+    }
+
+    private void voteForAll(STFactory fac, CLDRLocale locale, List<String> paths, String prefix)
+            throws InvalidXPathException, VoteNotAcceptedException, LogoutException,
+                    SQLException {
+        final BallotBox<User> box = fac.ballotBoxForLocale(locale);
+        final User user = getMyUser();
+        for (int i = 0; i < paths.size(); i++) {
+            box.voteForValue(user, paths.get(i), prefix + " " + i);
+        }
+    }
+
     @Test
     public void TestDenyVote() throws SQLException, IOException {
         STFactory fac = getFactory();
@@ -7,8 +7,11 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.unicode.cldr.util.CLDRConfig;
+import org.unicode.cldr.util.PathHeader;
+import org.unicode.cldr.util.SimpleXMLSource;
 import org.unicode.cldr.web.SearchManager.SearchRequest;
 import org.unicode.cldr.web.SearchManager.SearchResponse;
 import org.unicode.cldr.web.SearchManager.SearchResult;
@@ -69,6 +72,79 @@ public class TestSearchManager {
                 "Patience exceeded for query " + r0.token + " - did not complete in time.");
     }
 
+    @Test
+    void TestIndex() {
+        final String march =
+                "//ldml/dates/calendars/calendar[@type=\"gregorian\"]/months/monthContext[@type=\"format\"]/monthWidth[@type=\"wide\"]/month[@type=\"3\"]";
+        SearchIndex index =
+                new SearchIndex(
+                        CLDRConfig.getInstance().getCldrFactory().make("mt", false),
+                        PathHeader.getFactory());
+        assertTrue(index.size() > 1000, () -> "Indexed only " + index.size() + " values");
+
+        // case-insensitive, best match first
+        List<SearchIndex.Hit> hits = index.search("MARZU");
+        assertFalse(hits.isEmpty());
+        assertEquals(SearchIndex.Match.EXACT, hits.get(0).match);
+        assertTrue(hits.stream().anyMatch(h -> h.xpath.equals(march)));
+
+        // prefix and substring
+        assertEquals(SearchIndex.Match.PREFIX, findMatch(index, "mar", march));
+        assertEquals(SearchIndex.Match.SUBSTRING, findMatch(index, "arz", march));
+
+        // string id
+        List<SearchIndex.Hit> byId = index.search("1c7bd76a22b7472f");
+        assertEquals(1, byId.size());
+        assertEquals(SearchIndex.Match.LABEL, byId.get(0).match);
+
+        // updates
+        index.put(march, "Xyzzy Marzu");
+        assertEquals(SearchIndex.Match.WORD, findMatch(index, "marzu", march));
+        assertEquals(1, index.search("xyzzy").size());
+        index.put(march, null);
+        assertTrue(index.search("xyzzy").isEmpty());
+    }
+
+    @Test
+    void TestChangeWhileBuilding() {
+        final String march =
+                "//ldml/dates/calendars/calendar[@type=\"gregorian\"]/months/monthContext[@type=\"format\"]/monthWidth[@type=\"wide\"]/month[@type=\"3\"]";
+        final SearchIndex index = new SearchIndex("mt", PathHeader.getFactory());
+        // a vote that comes in after the index starts listening, but before it is built
+        final SimpleXMLSource source = new SimpleXMLSource("mt");
+        source.putValueAtDPath(march, "Xyzzy");
+        index.valueChanged(march, source);
+        index.build(CLDRConfig.getInstance().getCldrFactory().make("mt", false));
+        assertEquals(SearchIndex.Match.EXACT, findMatch(index, "xyzzy", march));
+        assertNull(findMatch(index, "marzu", march), "the build must not undo the change");
+    }
+
+    private static SearchIndex.Match findMatch(SearchIndex index, String query, String xpath) {
+        return index.search(query).stream()
+                .filter(h -> h.xpath.equals(xpath))
+                .map(h -> h.match)
+                .findFirst()
+                .orElse(null);
+    }
+
+    @Test
+    void TestPaging() throws Exception {
+        SearchManager mgr = SearchManager.forFactory(CLDRConfig.getInstance().getCldrFactory());
+        int total = mgr.getIndex("mt").search("a").size();
+        assertTrue(total > 20);
+
+        SearchRequest request = new SearchRequest("A");
+        request.offset = 10;
+        request.limit = 5;
+        final SearchResponse r0 = mgr.newSearch(request, List.of("mt", "mt_MT"));
+        for (int n = 0; n < 40 && !r0.isComplete; n++) {
+            Thread.sleep(100);
+        }
+        assertTrue(r0.isComplete);
+        assertTrue(r0.totalResults >= total);
+        assertEquals(5, r0.getResults().length);
+    }
+
     @Test
     void TestApi() {
         // Create a SearchManager over disk files
@@ -0,0 +1,143 @@
+package org.unicode.cldr.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.unicode.cldr.web.SurveyThreadManager.Limit;
+
+public class TestSurveyThreadManager {
+    /** Blocking tasks to run in the load test */
+    private static final int TASKS = 1000;
+
+    /** How long each task blocks, as on a DB query */
+    private static final long BLOCK_MILLIS = 5;
+
+    /** The size of the platform thread pool to compare with */
+    private static final int POOL_SIZE = 16;
+
+    @Test
+    void testLimit() throws InterruptedException, ExecutionException {
+        final Limit limit = Limit.LOCALE_LOAD;
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger most = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(limit.getPermits() * 2);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < limit.getPermits() * 4; i++) {
+                futures.add(
+                        executor.submit(
+                                () -> {
+                                    try (SurveyThreadManager.Permit p = limit.take()) {
+                                        // a nested permit of the same limit is free
+                                        try (SurveyThreadManager.Permit q = limit.take()) {
+                                            most.accumulateAndGet(
+                                                    running.incrementAndGet(), Math::max);
+                                            Thread.sleep(BLOCK_MILLIS);
+                                            running.decrementAndGet();
+                                        }
+                                    }
+                                    return null;
+                                }));
+            }
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertTrue(most.get() <= limit.getPermits(), "at most " + limit.getPermits() + " at once");
+        assertEquals(0, limit.getInUse());
+    }
+
+    /**
+     * Compare the throughput and tail latency of blocking tasks on a fixed pool of platform threads
+     * and on virtual threads. Only run with -DCLDR_THREAD_LOAD_TEST=true, and skipped before JDK
+     * 21.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "CLDR_THREAD_LOAD_TEST", matches = "true")
+    void testLoad(TestReporter reporter) throws InterruptedException, ExecutionException {
+        final ThreadFactory virtual = SurveyThreadManager.makeVirtualThreadFactory("TestVirtual");
+        assumeTrue(virtual != null, "No virtual threads in this JDK");
+        final LoadResult pool = runLoad(Executors.newFixedThreadPool(POOL_SIZE));
+        final LoadResult perTask = runLoad(SurveyThreadManager.newThreadPerTaskExecutor(virtual));
+        reporter.publishEntry("Fixed pool of " + POOL_SIZE, pool.toString());
+        reporter.publishEntry("Virtual threads", perTask.toString());
+        assertTrue(
+                perTask.tasksPerSecond > pool.tasksPerSecond,
+                "Blocking tasks should not queue on virtual threads");
+        assertTrue(
+                perTask.p99Millis <= pool.p99Millis,
+                "Tail latency should be no worse on virtual threads");
+    }
+
+    @Test
+    void testLimitsOnlyWithVirtualThreads() {
+        assumeFalse(SurveyThreadManager.isUsingVirtualThreads());
+        final Limit limit = Limit.LOCALE_LOAD;
+        try (SurveyThreadManager.Permit p = limit.acquire()) {
+            assertEquals(0, limit.getInUse(), "the container's pools bound the threads");
+        }
+    }
+
+    private static final class LoadResult {
+        double tasksPerSecond;
+        long p50Millis;
+        long p99Millis;
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "%.0f tasks/s, latency p50 %d ms, p99 %d ms",
+                    tasksPerSecond, p50Millis, p99Millis);
+        }
+    }
+
+    /** Run TASKS tasks that each block for BLOCK_MILLIS, then shut the executor down */
+    private static LoadResult runLoad(ExecutorService executor)
+            throws InterruptedException, ExecutionException {
+        final long[] latencies = new long[TASKS];
+        final List<Future<?>> futures = new ArrayList<>(TASKS);
+        final long start = System.nanoTime();
+        try {
+            for (int i = 0; i < TASKS; i++) {
+                final int n = i;
+                final long submitted = System.nanoTime();
+                futures.add(
+                        executor.submit(
+                                () -> {
+                                    Thread.sleep(BLOCK_MILLIS);
+                                    latencies[n] = System.nanoTime() - submitted;
+                                    return null;
+                                }));
+            }
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        final long elapsed = System.nanoTime() - start;
+        Arrays.sort(latencies);
+        final LoadResult r = new LoadResult();
+        r.tasksPerSecond = TASKS * 1e9 / elapsed;
+        r.p50Millis = TimeUnit.NANOSECONDS.toMillis(latencies[TASKS / 2]);
+        r.p99Millis = TimeUnit.NANOSECONDS.toMillis(latencies[TASKS * 99 / 100]);
+        return r;
+    }
+}
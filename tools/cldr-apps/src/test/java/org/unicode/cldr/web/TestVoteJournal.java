@@ -0,0 +1,205 @@
+package org.unicode.cldr.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TestVoteJournal {
+    @TempDir Path tempDir;
+
+    /** How long to wait for the votes to be saved */
+    private static final long FLUSH_MILLIS = 60000;
+
+    /** Collects the votes written, or fails if told to */
+    private static class RecordingWriter implements VoteJournal.Writer {
+        final List<VoteJournal.Vote> votes = Collections.synchronizedList(new ArrayList<>());
+        final AtomicInteger batches = new AtomicInteger();
+        volatile boolean fail = false;
+
+        /** A batch with a vote for this path is refused, as if the vote were bad data */
+        volatile int badXpathId = -1;
+
+        @Override
+        public void write(List<VoteJournal.Vote> batch) throws SQLException {
+            if (fail) {
+                throw new SQLTransientConnectionException("database is down");
+            }
+            for (VoteJournal.Vote vote : batch) {
+                if (vote.xpathId == badXpathId) {
+                    throw new SQLIntegrityConstraintViolationException("bad vote " + vote);
+                }
+            }
+            batches.incrementAndGet();
+            votes.addAll(batch);
+        }
+    }
+
+    private static VoteJournal.Vote vote(int i) {
+        return new VoteJournal.Vote(
+                "fr", i, 1000 + i % 3, i % 5 == 0 ? null : "value " + i, null, 0, false, null);
+    }
+
+    private VoteJournal open(File file, RecordingWriter writer) throws Exception {
+        return open(file, writer, false);
+    }
+
+    private VoteJournal open(File file, RecordingWriter writer, boolean sync) throws Exception {
+        return new VoteJournal(file, writer, sync, 100, Executors.defaultThreadFactory());
+    }
+
+    @Test
+    void testWriteBehind() throws Exception {
+        File file = tempDir.resolve("journal.dat").toFile();
+        RecordingWriter writer = new RecordingWriter();
+        AtomicInteger committed = new AtomicInteger();
+        try (VoteJournal journal = open(file, writer)) {
+            for (int i = 0; i < 1000; i++) {
+                journal.append(
+                        new VoteJournal.Vote(
+                                "fr", i, 1, "v" + i, null, 0, false, committed::incrementAndGet));
+            }
+            assertTrue(journal.awaitFlushed(FLUSH_MILLIS));
+            assertEquals(0, journal.getPendingCount());
+            assertEquals(0, file.length(), "journal is emptied once nothing is pending");
+        }
+        assertEquals(1000, writer.votes.size());
+        assertEquals(1000, committed.get());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, writer.votes.get(i).xpathId, "votes are written in order");
+        }
+        assertTrue(writer.batches.get() >= 10, "at most 100 votes per batch");
+    }
+
+    @Test
+    void testReplay() throws Exception {
+        File file = tempDir.resolve("journal.dat").toFile();
+        RecordingWriter down = new RecordingWriter();
+        down.fail = true;
+        try (VoteJournal journal = open(file, down)) {
+            for (int i = 0; i < 10; i++) {
+                journal.append(vote(i));
+            }
+            journal.append(new VoteJournal.Vote("de", 99, 7, "x\ny", 1000, 2, true, null));
+            assertEquals(11, journal.getPendingCount());
+        }
+        // a crash while appending leaves a partial record
+        try (FileOutputStream out = new FileOutputStream(file, true)) {
+            out.write(new byte[] {'V', 0, 0, 0});
+        }
+
+        RecordingWriter up = new RecordingWriter();
+        try (VoteJournal journal = open(file, up)) {
+            assertEquals(11, up.votes.size(), "replayed before the journal opens");
+            assertEquals(0, journal.getPendingCount());
+        }
+        for (int i = 0; i < 10; i++) {
+            VoteJournal.Vote expected = vote(i);
+            VoteJournal.Vote actual = up.votes.get(i);
+            assertEquals(expected.toString(), actual.toString());
+            assertNull(actual.withVote);
+        }
+        VoteJournal.Vote last = up.votes.get(10);
+        assertEquals("x\ny", last.value);
+        assertEquals(Integer.valueOf(1000), last.withVote);
+        assertEquals(2, last.voteType);
+        assertTrue(last.clearFlag);
+        assertTrue(!file.exists() || file.length() == 0);
+    }
+
+    @Test
+    void testReadSkipsCommitted() throws Exception {
+        File file = tempDir.resolve("journal.dat").toFile();
+        RecordingWriter writer = new RecordingWriter();
+        try (VoteJournal journal = open(file, writer)) {
+            journal.append(vote(1));
+            assertTrue(journal.awaitFlushed(FLUSH_MILLIS));
+            writer.fail = true;
+            journal.append(vote(2));
+            journal.append(vote(3));
+            List<VoteJournal.Vote> unsaved = VoteJournal.read(file);
+            assertEquals(2, unsaved.size());
+            assertEquals(2, unsaved.get(0).xpathId);
+        }
+    }
+
+    @Test
+    void testBadVoteSetAside() throws Exception {
+        File file = tempDir.resolve("journal.dat").toFile();
+        RecordingWriter writer = new RecordingWriter();
+        writer.badXpathId = 5;
+        AtomicInteger committed = new AtomicInteger();
+        try (VoteJournal journal = open(file, writer)) {
+            for (int i = 0; i < 10; i++) {
+                journal.append(
+                        new VoteJournal.Vote(
+                                "fr", i, 1, "v" + i, null, 0, false, committed::incrementAndGet));
+            }
+            assertTrue(journal.awaitFlushed(FLUSH_MILLIS), "a bad vote doesn't hold up others");
+            assertEquals(0, journal.getPendingCount());
+        }
+        assertEquals(9, writer.votes.size());
+        assertEquals(9, committed.get());
+        List<VoteJournal.Vote> failed = VoteJournal.read(VoteJournal.getFailedFile(file));
+        assertEquals(1, failed.size());
+        assertEquals(5, failed.get(0).xpathId);
+    }
+
+    @Test
+    void testFlushTimesOut() throws Exception {
+        File file = tempDir.resolve("journal.dat").toFile();
+        RecordingWriter down = new RecordingWriter();
+        down.fail = true;
+        try (VoteJournal journal = open(file, down)) {
+            journal.append(vote(1));
+            assertFalse(journal.awaitFlushed(100), "doesn't wait for the database forever");
+            assertEquals(1, journal.getPendingCount());
+        }
+        assertEquals(1, VoteJournal.read(file).size(), "left in the journal, not set aside");
+        assertFalse(VoteJournal.getFailedFile(file).exists());
+    }
+
+    @Test
+    void testConcurrentAppend() throws Exception {
+        File file = tempDir.resolve("journal.dat").toFile();
+        RecordingWriter writer = new RecordingWriter();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try (VoteJournal journal = open(file, writer, true)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                final int thread = t;
+                futures.add(
+                        executor.submit(
+                                () -> {
+                                    for (int i = 0; i < 100; i++) {
+                                        journal.append(vote(thread * 100 + i));
+                                    }
+                                    return null;
+                                }));
+            }
+            for (Future<?> f : futures) {
+                f.get();
+            }
+            assertTrue(journal.awaitFlushed(FLUSH_MILLIS));
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(800, writer.votes.size());
+    }
+}
@@ -0,0 +1,50 @@
+package org.unicode.cldr.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.File;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TestVoteSnapshot {
+    @TempDir Path tempDir;
+
+    @Test
+    void testDigest() {
+        long a = VoteSnapshot.hashVote(1, "a", null, 1000L, 1);
+        long b = VoteSnapshot.hashVote(2, null, 4, 2000L, 1);
+        assertEquals(a + b, b + a, "order of votes doesn't matter");
+        assertNotEquals(a, VoteSnapshot.hashVote(1, "a", null, 1001L, 1), "a re-vote changes it");
+        assertNotEquals(a, VoteSnapshot.hashVote(1, "b", null, 1000L, 1));
+        assertNotEquals(
+                VoteSnapshot.hashVote(1, null, null, 1000L, 1),
+                VoteSnapshot.hashVote(1, "", null, 1000L, 1),
+                "abstain differs from an empty value");
+    }
+
+    @Test
+    void testRoundTrip() throws Exception {
+        File file = tempDir.resolve("snapshots/fr.dat").toFile();
+        VoteSnapshot snapshot = new VoteSnapshot();
+        snapshot.put(1, 100L, "un", "//ldml/x[@draft=\"contributed\"]");
+        snapshot.put(2, 200L, null, null);
+        snapshot.write(file, "key1");
+
+        assertNull(VoteSnapshot.read(file, "key2"), "another key");
+        assertNull(VoteSnapshot.read(tempDir.resolve("missing.dat").toFile(), "key1"));
+
+        VoteSnapshot read = VoteSnapshot.read(file, "key1");
+        assertNotNull(read);
+        assertEquals(2, read.size());
+        VoteSnapshot.Winner winner = read.get(1, 100L);
+        assertEquals("un", winner.value);
+        assertEquals("//ldml/x[@draft=\"contributed\"]", winner.fullPath);
+        assertNull(read.get(1, 101L), "votes changed since the snapshot");
+        assertNull(read.get(2, 200L).value);
+        assertNull(read.get(3, 300L));
+    }
+}
@@ -0,0 +1,44 @@
+package org.unicode.cldr.bench;
+
+import com.google.common.collect.ImmutableList;
+import java.io.File;
+import java.util.List;
+import org.unicode.cldr.util.CLDRConfig;
+import org.unicode.cldr.util.CLDRFile;
+import org.unicode.cldr.util.CLDRPaths;
+import org.unicode.cldr.util.Factory;
+import org.unicode.cldr.util.SimpleFactory;
+
+/** Shared fixtures for the benchmarks, so that each suite measures only its own hot path. */
+final class BenchmarkData {
+    private BenchmarkData() {}
+
+    /** The factory over common/main and common/annotations used by the tools. */
+    static Factory getFactory() {
+        return CLDRConfig.getInstance().getMainAndAnnotationsFactory();
+    }
+
+    /** A factory that is not shared with anything else, so its caches start out empty. */
+    static Factory makeFreshFactory() {
+        return SimpleFactory.make(
+                new File[] {
+                    new File(CLDRPaths.MAIN_DIRECTORY), new File(CLDRPaths.ANNOTATIONS_DIRECTORY)
+                },
+                ".*");
+    }
+
+    /** All distinguishing paths of the resolved file, in the file's iteration order */
+    static List<String> getPaths(CLDRFile file) {
+        return ImmutableList.copyOf(file.fullIterable());
+    }
+
+    /** All full paths of the resolved file, matching the order of {@link #getPaths(CLDRFile)} */
+    static List<String> getFullPaths(CLDRFile file) {
+        ImmutableList.Builder<String> result = ImmutableList.builder();
+        for (String path : file.fullIterable()) {
+            String fullPath = file.getFullXPath(path);
+            result.add(fullPath == null ? path : fullPath);
+        }
+        return result.build();
+    }
+}
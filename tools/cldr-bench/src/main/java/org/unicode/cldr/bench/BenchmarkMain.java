@@ -0,0 +1,131 @@
+package org.unicode.cldr.bench;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the CLDR benchmarks and records the results as JSON.
+ *
+ * <p>All the usual JMH command line options are accepted (for example a regex to pick the suites,
+ * or -p locale=en). The results are always written in JMH's JSON format to the file given by
+ * -Dcldr.bench.result (default target/jmh-result.json). If -Dcldr.bench.baseline names an earlier
+ * result file, each benchmark is compared against it, and benchmarks that became slower by more
+ * than -Dcldr.bench.threshold (default 0.10, that is 10%) are reported as regressions, with a
+ * non-zero exit status. With -Dcldr.bench.updateBaseline=true the new results replace the
+ * baseline.
+ */
+public class BenchmarkMain {
+    private static final String RESULT =
+            System.getProperty("cldr.bench.result", "target/jmh-result.json");
+    private static final String BASELINE = System.getProperty("cldr.bench.baseline");
+    private static final double THRESHOLD =
+            Double.parseDouble(System.getProperty("cldr.bench.threshold", "0.10"));
+    private static final boolean UPDATE_BASELINE = Boolean.getBoolean("cldr.bench.updateBaseline");
+
+    public static void main(String[] args)
+            throws RunnerException, CommandLineOptionException, IOException {
+        Path resultFile = Paths.get(RESULT);
+        if (resultFile.getParent() != null) {
+            Files.createDirectories(resultFile.getParent());
+        }
+        new Runner(
+                        new OptionsBuilder()
+                                .parent(new CommandLineOptions(args))
+                                .resultFormat(ResultFormatType.JSON)
+                                .result(resultFile.toString())
+                                .build())
+                .run();
+        System.out.println("Results written to " + resultFile.toAbsolutePath());
+
+        if (BASELINE == null) {
+            return;
+        }
+        Path baselineFile = Paths.get(BASELINE);
+        int regressions = 0;
+        if (Files.exists(baselineFile)) {
+            regressions = compare(readScores(baselineFile), readScores(resultFile));
+        } else {
+            System.out.println("No baseline at " + baselineFile.toAbsolutePath());
+        }
+        if (UPDATE_BASELINE) {
+            if (baselineFile.getParent() != null) {
+                Files.createDirectories(baselineFile.getParent());
+            }
+            Files.copy(resultFile, baselineFile, StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("Baseline updated: " + baselineFile.toAbsolutePath());
+        } else if (regressions > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Print the change of each benchmark relative to the baseline.
+     *
+     * @return the number of regressions beyond the threshold
+     */
+    private static int compare(Map<String, Double> baseline, Map<String, Double> current) {
+        int regressions = 0;
+        for (Entry<String, Double> entry : current.entrySet()) {
+            Double old = baseline.get(entry.getKey());
+            if (old == null || old == 0) {
+                System.out.println("NEW\t" + entry.getKey() + "\t" + entry.getValue());
+                continue;
+            }
+            // all the suites measure time per operation, so larger is slower
+            double change = (entry.getValue() - old) / old;
+            String status =
+                    change > THRESHOLD ? "SLOWER" : change < -THRESHOLD ? "FASTER" : "SAME";
+            if (change > THRESHOLD) {
+                ++regressions;
+            }
+            System.out.println(
+                    String.format(
+                            "%s\t%s\t%.3f -> %.3f\t%+.1f%%",
+                            status, entry.getKey(), old, entry.getValue(), change * 100));
+        }
+        return regressions;
+    }
+
+    /** Read a JMH JSON result file into a map from benchmark name + parameters to score */
+    private static Map<String, Double> readScores(Path file) throws IOException {
+        Map<String, Double> result = new TreeMap<>();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            JsonArray runs = JsonParser.parseReader(reader).getAsJsonArray();
+            for (JsonElement element : runs) {
+                JsonObject run = element.getAsJsonObject();
+                StringBuilder key = new StringBuilder(run.get("benchmark").getAsString());
+                if (run.has("params")) {
+                    for (Entry<String, JsonElement> param :
+                            new TreeMap<>(run.getAsJsonObject("params").asMap()).entrySet()) {
+                        key.append(' ')
+                                .append(param.getKey())
+                                .append('=')
+                                .append(param.getValue().getAsString());
+                    }
+                }
+                result.put(
+                        key.toString(),
+                        run.getAsJsonObject("primaryMetric").get("score").getAsDouble());
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,61 @@
+package org.unicode.cldr.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.unicode.cldr.util.CLDRFile;
+
+/** Resolved value lookup (XMLSource.ResolvingSource) over every path of a large locale. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CLDRFileBenchmark {
+
+    @Param({"en", "de", "ja", "ar"})
+    public String locale;
+
+    private CLDRFile file;
+    private List<String> paths;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        file = BenchmarkData.getFactory().make(locale, true);
+        paths = BenchmarkData.getPaths(file);
+    }
+
+    @Benchmark
+    public void getStringValue(Blackhole bh) {
+        for (String path : paths) {
+            bh.consume(file.getStringValue(path));
+        }
+    }
+
+    @Benchmark
+    public void getFullXPath(Blackhole bh) {
+        for (String path : paths) {
+            bh.consume(file.getFullXPath(path));
+        }
+    }
+
+    @Benchmark
+    public void getSourceLocaleID(Blackhole bh) {
+        for (String path : paths) {
+            bh.consume(file.getSourceLocaleID(path, null));
+        }
+    }
+}
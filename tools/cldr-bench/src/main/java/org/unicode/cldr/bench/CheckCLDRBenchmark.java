@@ -0,0 +1,66 @@
+package org.unicode.cldr.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.unicode.cldr.test.CheckCLDR;
+import org.unicode.cldr.test.CheckCLDR.CheckStatus;
+import org.unicode.cldr.test.CheckCLDR.Options;
+import org.unicode.cldr.util.CLDRConfig;
+import org.unicode.cldr.util.CLDRFile;
+import org.unicode.cldr.util.CLDRLocale;
+import org.unicode.cldr.util.Factory;
+
+/** The full CheckCLDR suite over a whole locale, as ConsoleCheckCLDR runs it. */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CheckCLDRBenchmark {
+
+    @Param({"en", "de", "ja", "ar"})
+    public String locale;
+
+    private Factory factory;
+    private CLDRFile file;
+    private List<String> paths;
+    private Options options;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        factory = BenchmarkData.getFactory();
+        CheckCLDR.setDisplayInformation(CLDRConfig.getInstance().getEnglish());
+        file = factory.make(locale, true);
+        paths = BenchmarkData.getPaths(file);
+        options = new Options(CLDRLocale.getInstance(locale));
+    }
+
+    @Benchmark
+    public void checkLocale(Blackhole bh) {
+        CheckCLDR checkCldr = CheckCLDR.getCheckAll(factory, ".*");
+        List<CheckStatus> possibleErrors = new ArrayList<>();
+        checkCldr.setCldrFileToCheck(file, options, possibleErrors);
+        bh.consume(possibleErrors);
+        List<CheckStatus> result = new ArrayList<>();
+        for (String path : paths) {
+            checkCldr.check(
+                    path, file.getFullXPath(path), file.getStringValue(path), options, result);
+            bh.consume(result);
+        }
+    }
+}
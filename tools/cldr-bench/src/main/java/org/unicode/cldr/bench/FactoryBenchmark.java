@@ -0,0 +1,70 @@
+package org.unicode.cldr.bench;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.unicode.cldr.util.CLDRFile;
+import org.unicode.cldr.util.CLDRFile.DraftStatus;
+import org.unicode.cldr.util.Factory;
+import org.unicode.cldr.util.XMLNormalizingLoader;
+
+/**
+ * Loading of CLDRFiles through the Factory.
+ *
+ * <p>"cold" parses the locale's XML files every time, which is what a miss in the
+ * XMLNormalizingLoader cache costs; "warm" goes through Factory.make with the caches populated.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FactoryBenchmark {
+
+    @Param({"en", "de", "ja", "ar"})
+    public String locale;
+
+    @Param({"false", "true"})
+    public boolean resolved;
+
+    private Factory factory;
+    private List<File> files;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        factory = BenchmarkData.getFactory();
+        files = new ArrayList<>();
+        for (File dir : factory.getSourceDirectoriesForLocale(locale)) {
+            files.add(new File(dir, locale + ".xml"));
+        }
+        // populate the caches for the warm case
+        factory.make(locale, resolved);
+    }
+
+    @Benchmark
+    public void cold(Blackhole bh) {
+        for (File file : files) {
+            bh.consume(XMLNormalizingLoader.loadXMLFile(file, locale, DraftStatus.unconfirmed));
+        }
+    }
+
+    @Benchmark
+    public CLDRFile warm() {
+        return factory.make(locale, resolved);
+    }
+}
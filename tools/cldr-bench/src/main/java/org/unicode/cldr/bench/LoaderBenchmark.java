@@ -0,0 +1,57 @@
+package org.unicode.cldr.bench;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.unicode.cldr.util.CLDRFile.DraftStatus;
+import org.unicode.cldr.util.CLDRPaths;
+import org.unicode.cldr.util.XMLNormalizingLoader;
+import org.unicode.cldr.util.XMLSource;
+
+/**
+ * Parsing one XML file with XMLNormalizingLoader, comparing the default loader (distinguishing
+ * paths from reparsing each full path) with the streaming one (distinguishing paths from the
+ * element stack). Run with {@code -prof gc} to see the allocation per file.
+ *
+ * <p>The default loader memoizes distinguishing paths process-wide, so after the first iteration it
+ * measures the memoized case, as in a long-running process that has already seen the paths.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoaderBenchmark {
+
+    @Param({"main/en", "annotations/en"})
+    public String file;
+
+    @Param({"false", "true"})
+    public boolean streaming;
+
+    private File xml;
+    private String localeId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        xml = new File(CLDRPaths.COMMON_DIRECTORY, file + ".xml");
+        localeId = xml.getName().replace(".xml", "");
+    }
+
+    @Benchmark
+    public XMLSource load() {
+        return XMLNormalizingLoader.loadXMLFile(xml, localeId, DraftStatus.unconfirmed, streaming);
+    }
+}
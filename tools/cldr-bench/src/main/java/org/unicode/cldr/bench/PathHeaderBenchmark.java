@@ -0,0 +1,63 @@
+package org.unicode.cldr.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.unicode.cldr.util.CLDRConfig;
+import org.unicode.cldr.util.PathHeader;
+
+/**
+ * PathHeader.Factory.fromPath over every path of en. "lookup" clears the PathHeader cache before
+ * each invocation so that the RegexLookup over PathHeader.txt is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PathHeaderBenchmark {
+
+    private PathHeader.Factory pathHeaderFactory;
+    private List<String> paths;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pathHeaderFactory = PathHeader.getFactory(CLDRConfig.getInstance().getEnglish());
+        paths = BenchmarkData.getPaths(BenchmarkData.getFactory().make("en", true));
+    }
+
+    /** State that starts every invocation with an empty PathHeader cache */
+    @State(Scope.Thread)
+    public static class ClearedCache {
+        @Setup(Level.Invocation)
+        public void clear(PathHeaderBenchmark benchmark) {
+            benchmark.pathHeaderFactory.clearCache();
+        }
+    }
+
+    @Benchmark
+    public void lookup(ClearedCache cleared, Blackhole bh) {
+        for (String path : paths) {
+            bh.consume(pathHeaderFactory.fromPath(path));
+        }
+    }
+
+    @Benchmark
+    public void cached(Blackhole bh) {
+        for (String path : paths) {
+            bh.consume(pathHeaderFactory.fromPath(path));
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package org.unicode.cldr.bench;
+
+import com.ibm.icu.util.Output;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.unicode.cldr.util.PathHeader;
+import org.unicode.cldr.util.RegexLookup;
+import org.unicode.cldr.util.RegexLookup.LookupType;
+
+/** RegexLookup.get over every path of en, with the PathHeader.txt patterns, for each LookupType. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RegexLookupBenchmark {
+
+    @Param({"OPTIMIZED_DIRECTORY_PATTERN_LOOKUP", "COMPILED_PATTERN_LOOKUP", "STANDARD"})
+    public LookupType lookupType;
+
+    private RegexLookup<String> lookup;
+    private List<String> paths;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        lookup =
+                RegexLookup.<String>of(lookupType, RegexLookup.RegexFinderTransformPath)
+                        .loadFromFile(PathHeader.class, "data/PathHeader.txt");
+        paths = BenchmarkData.getPaths(BenchmarkData.getFactory().make("en", true));
+    }
+
+    @Benchmark
+    public void get(Blackhole bh) {
+        Output<String[]> arguments = new Output<>();
+        for (String path : paths) {
+            bh.consume(lookup.get(path, null, arguments));
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package org.unicode.cldr.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.unicode.cldr.util.CLDRFile;
+
+/**
+ * Several threads resolving every path of the same resolved locale, as Survey Tool requests do.
+ * Each operation is one pass over all paths, so with no contention the total throughput grows
+ * linearly with the thread count.
+ *
+ * <p>The cold variants start each iteration with an empty resolution cache, so they include the
+ * threads filling it concurrently.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResolutionContentionBenchmark {
+
+    @Param({"de"})
+    public String locale;
+
+    private CLDRFile warmFile;
+    private CLDRFile coldFile;
+    private List<String> paths;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        warmFile = BenchmarkData.getFactory().make(locale, true);
+        paths = BenchmarkData.getPaths(warmFile);
+        for (String path : paths) {
+            warmFile.getStringValue(path);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void makeColdFile() {
+        // a new resolved file from a new factory, so none of the resolution caches are shared
+        coldFile = BenchmarkData.makeFreshFactory().make(locale, true);
+    }
+
+    private void resolveAll(CLDRFile file, Blackhole bh) {
+        for (String path : paths) {
+            bh.consume(file.getStringValue(path));
+            bh.consume(file.getFullXPath(path));
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void warm1(Blackhole bh) {
+        resolveAll(warmFile, bh);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void warm4(Blackhole bh) {
+        resolveAll(warmFile, bh);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void warm8(Blackhole bh) {
+        resolveAll(warmFile, bh);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void cold1(Blackhole bh) {
+        resolveAll(coldFile, bh);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void cold8(Blackhole bh) {
+        resolveAll(coldFile, bh);
+    }
+}
@@ -0,0 +1,63 @@
+package org.unicode.cldr.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.unicode.cldr.util.CLDRFile;
+import org.unicode.cldr.util.XPathParts;
+
+/**
+ * XPath parsing over the full paths of en. "parse" bypasses the XPathParts cache; "frozen" is the
+ * cache hit that most callers see.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class XPathPartsBenchmark {
+
+    private List<String> fullPaths;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        CLDRFile english = BenchmarkData.getFactory().make("en", true);
+        fullPaths = BenchmarkData.getFullPaths(english);
+        for (String path : fullPaths) {
+            XPathParts.getFrozenInstance(path);
+        }
+    }
+
+    @Benchmark
+    public void parse(Blackhole bh) {
+        for (String path : fullPaths) {
+            bh.consume(new XPathParts().addRelative(path));
+        }
+    }
+
+    @Benchmark
+    public void frozen(Blackhole bh) {
+        for (String path : fullPaths) {
+            bh.consume(XPathParts.getFrozenInstance(path));
+        }
+    }
+
+    @Benchmark
+    public void distinguishing(Blackhole bh) {
+        for (String path : fullPaths) {
+            bh.consume(CLDRFile.getDistinguishingXPath(path, null));
+        }
+    }
+}
@@ -19,6 +19,7 @@ import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.io.UncheckedIOException;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -42,6 +43,7 @@ import java.util.stream.Collectors;
 import org.unicode.cldr.draft.FileUtilities;
 import org.unicode.cldr.draft.ScriptMetadata;
 import org.unicode.cldr.draft.ScriptMetadata.Info;
+import org.unicode.cldr.tool.Option;
 import org.unicode.cldr.tool.Option.Options;
 import org.unicode.cldr.util.Annotations;
 import org.unicode.cldr.util.CLDRConfig;
@@ -277,7 +279,13 @@ public class Ldml2JsonConverter {
                             'L',
                             ".*",
                             "",
-                            "Override the license file included in the bundle");
+                            "Override the license file included in the bundle")
+                    .add(
+                            "incremental",
+                            'I',
+                            "(true|false)",
+                            "false",
+                            "Only convert the files whose inputs changed since the last incremental run");
 
     public static void main(String[] args) throws Exception {
         System.out.println(GEAR_ICON + " " + Ldml2JsonConverter.class.getName() + " options:");
@@ -332,6 +340,7 @@ public class Ldml2JsonConverter {
                         Optional.ofNullable(options.get("license-file").getValue())
                                 .filter(s -> !s.isEmpty()));
 
+        l2jc.setIncremental(Boolean.parseBoolean(options.get("incremental").getValue()));
         DraftStatus status = DraftStatus.valueOf(options.get("draftstatus").getValue());
         l2jc.processDirectory(runType, status);
     }
@@ -355,6 +364,8 @@ public class Ldml2JsonConverter {
     private final RunType type;
     // include Redundant data such as apc="apc", en_US="en (US)"
     private boolean includeRedundant;
+    // Whether to only convert the files whose inputs changed, see Ldml2JsonManifest
+    private boolean incremental = false;
 
     static class JSONSection implements Comparable<JSONSection> {
         public String section;
@@ -423,6 +434,14 @@ public class Ldml2JsonConverter {
         this.licenseFile = licenseFile;
     }
 
+    /**
+     * Only convert the files whose inputs changed since the last incremental run, and remove the
+     * outputs that are no longer written. See {@link Ldml2JsonManifest}.
+     */
+    public void setIncremental(boolean incremental) {
+        this.incremental = incremental;
+    }
+
     /**
      * @see XPathParts#addInternal
      */
@@ -701,6 +720,13 @@ public class Ldml2JsonConverter {
     }
 
     static final Pattern VERSION_INFO_PATTERN = PatternCache.get(".*/(identity|version).*");
+
+    /**
+     * Passed to convertCldrItems for a file whose inputs are unchanged, so that it only does the
+     * bookkeeping for the packaging files, such as the list of available locales
+     */
+    private static final Map<JSONSection, List<CldrItem>> UNCHANGED_ITEMS =
+            Collections.unmodifiableMap(new TreeMap<>());
     static final Pattern HAS_SUBTAG = PatternCache.get(".*-[a-z]-.*");
 
     /**
@@ -710,6 +736,7 @@ public class Ldml2JsonConverter {
      * @param outFilename The file name used to save JSON data.
      * @throws IOException
      * @throws ParseException
+     * @param outputFiles if not null, gets the files written, relative to the output directory
      * @return total items written in all files. (if 0, file had no effect)
      */
     private int convertCldrItems(
@@ -718,7 +745,8 @@ public class Ldml2JsonConverter {
             String dirName,
             String filename,
             String pathPrefix,
-            final Map<JSONSection, List<CldrItem>> sectionItems)
+            final Map<JSONSection, List<CldrItem>> sectionItems,
+            final Set<String> outputFiles)
             throws IOException, ParseException {
         // zone and timezone items are queued for sorting first before they are
         // processed.
@@ -821,9 +849,9 @@ public class Ldml2JsonConverter {
                     packages.add(CLDR_PKG_PREFIX + js.packageName + FULL_TIER_SUFFIX);
                 }
 
-                for (String outputDir : outputDirs) {
-                    List<CldrItem> theItems = sectionItems.get(js);
-                    if (theItems == null || theItems.size() == 0) {
+                List<CldrItem> theItems = sectionItems.get(js);
+                if (theItems == null || theItems.size() == 0) {
+                    for (String outputDir : outputDirs) {
                         logger.fine(
                                 () ->
                                         ">"
@@ -831,8 +859,10 @@ public class Ldml2JsonConverter {
                                                 + outputDir
                                                 + " - no items to write in "
                                                 + js.section); // mostly noise
-                        continue;
                     }
+                    continue;
+                }
+                for (String outputDir : outputDirs) {
                     logger.fine(
                             () ->
                                     ("?"
@@ -847,163 +877,177 @@ public class Ldml2JsonConverter {
                     if (!dir.exists()) {
                         dir.mkdirs();
                     }
-                    JsonObject out = new JsonObject(); // root object for writing
-
-                    ArrayList<CldrItem> sortingItems = new ArrayList<>();
-                    ArrayList<CldrItem> arrayItems = new ArrayList<>();
-
-                    ArrayList<CldrNode> nodesForLastItem = new ArrayList<>();
-                    String lastLeadingArrayItemPath = null;
-                    String leadingArrayItemPath = "";
-                    int valueCount = 0;
-                    String previousIdentityPath = null;
-                    for (CldrItem item : theItems) {
-                        if (item.getPath().isEmpty()) {
-                            throw new IllegalArgumentException(
-                                    "empty xpath in "
-                                            + filename
-                                            + " section "
-                                            + js.packageName
-                                            + "/"
-                                            + js.section);
-                        }
-                        if (type == RunType.rbnf) {
-                            item.adjustRbnfPath();
-                        }
+                }
+                // The section is the same in each output dir, so it is built once.
+                JsonObject out = new JsonObject(); // root object for writing
+
+                ArrayList<CldrItem> sortingItems = new ArrayList<>();
+                ArrayList<CldrItem> arrayItems = new ArrayList<>();
+
+                ArrayList<CldrNode> nodesForLastItem = new ArrayList<>();
+                String lastLeadingArrayItemPath = null;
+                String leadingArrayItemPath = "";
+                int valueCount = 0;
+                String previousIdentityPath = null;
+                for (CldrItem item : theItems) {
+                    if (item.getPath().isEmpty()) {
+                        throw new IllegalArgumentException(
+                                "empty xpath in "
+                                        + filename
+                                        + " section "
+                                        + js.packageName
+                                        + "/"
+                                        + js.section);
+                    }
+                    if (type == RunType.rbnf) {
+                        item.adjustRbnfPath();
+                    }
 
-                        // items in the identity section of a file should only ever contain the
-                        // lowest level, even if using
-                        // resolving source, so if we have duplicates ( caused by attributes used as
-                        // a value ) then suppress
-                        // them here.
-                        if (item.getPath().contains("/identity/")) {
-                            String[] parts = item.getPath().split("\\[");
-                            if (parts[0].equals(previousIdentityPath)) {
+                    // items in the identity section of a file should only ever contain the
+                    // lowest level, even if using
+                    // resolving source, so if we have duplicates ( caused by attributes used as
+                    // a value ) then suppress
+                    // them here.
+                    if (item.getPath().contains("/identity/")) {
+                        String[] parts = item.getPath().split("\\[");
+                        if (parts[0].equals(previousIdentityPath)) {
+                            continue;
+                        } else {
+                            XPathParts xpp = XPathParts.getFrozenInstance(item.getPath());
+                            String territory = xpp.findAttributeValue("territory", "type");
+                            LocaleIDParser lp = new LocaleIDParser().set(filename);
+                            if (territory != null
+                                    && territory.length() > 0
+                                    && !territory.equals(lp.getRegion())) {
                                 continue;
-                            } else {
-                                XPathParts xpp = XPathParts.getFrozenInstance(item.getPath());
-                                String territory = xpp.findAttributeValue("territory", "type");
-                                LocaleIDParser lp = new LocaleIDParser().set(filename);
-                                if (territory != null
-                                        && territory.length() > 0
-                                        && !territory.equals(lp.getRegion())) {
-                                    continue;
-                                }
-                                previousIdentityPath = parts[0];
                             }
+                            previousIdentityPath = parts[0];
                         }
+                    }
 
-                        if (item.getUntransformedPath()
-                                .startsWith("//supplementalData/transforms")) {
-                            // here, write the raw data
-                            final String rawTransformFile = filename + TRANSFORM_RAW_SUFFIX;
+                    if (item.getUntransformedPath()
+                            .startsWith("//supplementalData/transforms")) {
+                        // here, write the raw data
+                        final String rawTransformFile = filename + TRANSFORM_RAW_SUFFIX;
+                        for (String outputDir : outputDirs) {
                             try (PrintWriter outf =
                                     FileUtilities.openUTF8Writer(outputDir, rawTransformFile)) {
                                 outf.println(item.getValue().trim());
                                 // note: not logging the write here- it will be logged when the
                                 // .json file is written.
                             }
-                            final String path = item.getPath();
-                            item.setPath(fixTransformPath(path));
-                            final String fullPath = item.getFullPath();
-                            item.setFullPath(fixTransformPath(fullPath));
-                            // the value is now the raw filename
-                            item.setValue(rawTransformFile);
+                            if (outputFiles != null) {
+                                outputFiles.add(
+                                        new File(
+                                                        outputDir.substring(
+                                                                this.outputDir.length()),
+                                                        rawTransformFile)
+                                                .getPath());
+                            }
                         }
+                        final String path = item.getPath();
+                        item.setPath(fixTransformPath(path));
+                        final String fullPath = item.getFullPath();
+                        item.setFullPath(fixTransformPath(fullPath));
+                        // the value is now the raw filename
+                        item.setValue(rawTransformFile);
+                    }
 
-                        // some items need to be split to multiple item before processing. None
-                        // of those items need to be sorted.
-                        // Applies to SPLITTABLE_ATTRS attributes.
-                        CldrItem[] items = item.split();
-                        if (items == null) {
-                            // Nothing to split. Make it a 1-element array.
-                            items = new CldrItem[1];
-                            items[0] = item;
-                        }
-                        valueCount += items.length;
+                    // some items need to be split to multiple item before processing. None
+                    // of those items need to be sorted.
+                    // Applies to SPLITTABLE_ATTRS attributes.
+                    CldrItem[] items = item.split();
+                    if (items == null) {
+                        // Nothing to split. Make it a 1-element array.
+                        items = new CldrItem[1];
+                        items[0] = item;
+                    }
+                    valueCount += items.length;
 
-                        // Hard code this part.
-                        if (item.getUntransformedPath().contains("unitPreference")) {
-                            // Need to do more transforms on this one, so just output version/etc
-                            // here.
-                            continue;
-                        }
+                    // Hard code this part.
+                    if (item.getUntransformedPath().contains("unitPreference")) {
+                        // Need to do more transforms on this one, so just output version/etc
+                        // here.
+                        continue;
+                    }
 
-                        for (CldrItem newItem : items) {
-                            // alias will be dropped in conversion, don't count it.
-                            if (newItem.isAliasItem()) {
-                                valueCount--;
-                            }
+                    for (CldrItem newItem : items) {
+                        // alias will be dropped in conversion, don't count it.
+                        if (newItem.isAliasItem()) {
+                            valueCount--;
+                        }
 
-                            // Items like zone items need to be sorted first before write them out.
-                            if (newItem.needsSort()) {
-                                resolveArrayItems(out, nodesForLastItem, arrayItems);
-                                sortingItems.add(newItem);
-                            } else {
-                                Matcher matcher =
-                                        LdmlConvertRules.ARRAY_ITEM_PATTERN.matcher(
-                                                newItem.getPath());
-                                if (matcher.matches()) {
-                                    resolveSortingItems(out, nodesForLastItem, sortingItems);
-                                    leadingArrayItemPath = matcher.group(1);
-                                    if (lastLeadingArrayItemPath != null
-                                            && !lastLeadingArrayItemPath.equals(
-                                                    leadingArrayItemPath)) {
-                                        resolveArrayItems(out, nodesForLastItem, arrayItems);
-                                    }
-                                    lastLeadingArrayItemPath = leadingArrayItemPath;
-                                    arrayItems.add(newItem);
-                                } else {
-                                    // output a single item
-                                    resolveSortingItems(out, nodesForLastItem, sortingItems);
+                        // Items like zone items need to be sorted first before write them out.
+                        if (newItem.needsSort()) {
+                            resolveArrayItems(out, nodesForLastItem, arrayItems);
+                            sortingItems.add(newItem);
+                        } else {
+                            Matcher matcher =
+                                    LdmlConvertRules.ARRAY_ITEM_PATTERN.matcher(
+                                            newItem.getPath());
+                            if (matcher.matches()) {
+                                resolveSortingItems(out, nodesForLastItem, sortingItems);
+                                leadingArrayItemPath = matcher.group(1);
+                                if (lastLeadingArrayItemPath != null
+                                        && !lastLeadingArrayItemPath.equals(
+                                                leadingArrayItemPath)) {
                                     resolveArrayItems(out, nodesForLastItem, arrayItems);
-                                    outputCldrItem(out, nodesForLastItem, newItem);
-                                    lastLeadingArrayItemPath = "";
                                 }
+                                lastLeadingArrayItemPath = leadingArrayItemPath;
+                                arrayItems.add(newItem);
+                            } else {
+                                // output a single item
+                                resolveSortingItems(out, nodesForLastItem, sortingItems);
+                                resolveArrayItems(out, nodesForLastItem, arrayItems);
+                                outputCldrItem(out, nodesForLastItem, newItem);
+                                lastLeadingArrayItemPath = "";
                             }
                         }
                     }
+                }
 
-                    resolveSortingItems(out, nodesForLastItem, sortingItems);
-                    resolveArrayItems(out, nodesForLastItem, arrayItems);
-                    if (js.section.contains("unitPreferenceData")) {
-                        outputUnitPreferenceData(js, theItems, out, nodesForLastItem);
-                    }
+                resolveSortingItems(out, nodesForLastItem, sortingItems);
+                resolveArrayItems(out, nodesForLastItem, arrayItems);
+                if (js.section.contains("unitPreferenceData")) {
+                    outputUnitPreferenceData(js, theItems, out, nodesForLastItem);
+                }
 
-                    // Special processing for transforms.
-                    if (type == RunType.transforms) {
-                        final JsonObject jo = out.getAsJsonObject("transforms");
-                        if (jo == null || jo.isEmpty()) {
-                            throw new RuntimeException(
-                                    "Could not get transforms object in " + filename);
-                        }
-                        @SuppressWarnings("unchecked")
-                        final Entry<String, JsonElement>[] s = jo.entrySet().toArray(new Entry[0]);
-                        if (s == null || s.length != 1) {
-                            throw new RuntimeException(
-                                    "Could not get 1 subelement of transforms in " + filename);
-                        }
-                        // key doesn't matter.
-                        // move subitem up
-                        out = s[0].getValue().getAsJsonObject();
-                        final Entry<String, JsonElement>[] s2 =
-                                out.entrySet().toArray(new Entry[0]);
-                        if (s2 == null || s2.length != 1) {
-                            throw new RuntimeException(
-                                    "Could not get 1 sub-subelement of transforms in " + filename);
-                        }
-                        // move sub-subitem up.
-                        out = s2[0].getValue().getAsJsonObject();
+                // Special processing for transforms.
+                if (type == RunType.transforms) {
+                    final JsonObject jo = out.getAsJsonObject("transforms");
+                    if (jo == null || jo.isEmpty()) {
+                        throw new RuntimeException(
+                                "Could not get transforms object in " + filename);
                     }
+                    @SuppressWarnings("unchecked")
+                    final Entry<String, JsonElement>[] s = jo.entrySet().toArray(new Entry[0]);
+                    if (s == null || s.length != 1) {
+                        throw new RuntimeException(
+                                "Could not get 1 subelement of transforms in " + filename);
+                    }
+                    // key doesn't matter.
+                    // move subitem up
+                    out = s[0].getValue().getAsJsonObject();
+                    final Entry<String, JsonElement>[] s2 =
+                            out.entrySet().toArray(new Entry[0]);
+                    if (s2 == null || s2.length != 1) {
+                        throw new RuntimeException(
+                                "Could not get 1 sub-subelement of transforms in " + filename);
+                    }
+                    // move sub-subitem up.
+                    out = s2[0].getValue().getAsJsonObject();
+                }
 
+                for (String outputDir : outputDirs) {
                     // write JSON
-                    try (PrintWriter outf = FileUtilities.openUTF8Writer(outputDir, outFilename)) {
-                        outf.println(gson.toJson(out));
-                    }
+                    writeJson(outputDir, outFilename, out);
 
                     String outPath =
                             new File(outputDir.substring(this.outputDir.length()), outFilename)
                                     .getPath();
+                    if (outputFiles != null) {
+                        outputFiles.add(outPath);
+                    }
                     outputProgress.add(
                             Pair.of(String.format("%20s %s", js.section, outPath), valueCount));
                     logger.fine(
@@ -1028,6 +1072,12 @@ public class Ldml2JsonConverter {
                             progressPrefix(readCount, totalCount),
                             filename,
                             valueSectionsFormat(totalItemsInFile, outputProgress.size())));
+        } else if (sectionItems == UNCHANGED_ITEMS) {
+            outStr.append(
+                    String.format(
+                            "%s%-12s\t  (unchanged)\n",
+                            progressPrefix(readCount, totalCount),
+                            filename));
         } else {
             outStr.append(
                     String.format(
@@ -1041,6 +1091,18 @@ public class Ldml2JsonConverter {
         return totalItemsInFile;
     }
 
+    /**
+     * Write JSON straight to a file through a JsonWriter, without making a String of it first. The
+     * output is the same as println(gson.toJson(out)).
+     */
+    private void writeJson(String outputDir, String outFilename, JsonElement out)
+            throws IOException {
+        try (PrintWriter outf = FileUtilities.openUTF8Writer(outputDir, outFilename)) {
+            gson.toJson(out, outf);
+            outf.println();
+        }
+    }
+
     /**
      * Fixup an XPathParts with a specific transform element
      *
@@ -2197,6 +2259,9 @@ public class Ldml2JsonConverter {
         final int total = files.size();
         AtomicInteger readCount = new AtomicInteger(0);
         Map<String, Throwable> errs = new TreeMap<>();
+        final Ldml2JsonManifest manifest =
+                incremental ? openManifest(dirName, minimalDraftStatus) : null;
+        final File inputDir = new File(cldrCommonDir + dirName);
 
         // This takes a long time (minutes, in 2020), so run it in parallel forkJoinPool threads.
         // The result of this pipeline is an array of toString()-able filenames of XML files which
@@ -2214,6 +2279,24 @@ public class Ldml2JsonConverter {
                         .map(
                                 filename -> {
                                     String pathPrefix;
+                                    String inputs = null;
+                                    if (manifest != null) {
+                                        try {
+                                            inputs =
+                                                    Ldml2JsonManifest.hashInputs(
+                                                            inputDir, filename);
+                                        } catch (IOException e) {
+                                            throw new UncheckedIOException(e);
+                                        }
+                                        final Ldml2JsonManifest.Entry unchanged =
+                                                manifest.getUnchanged(filename, inputs);
+                                        if (unchanged != null) {
+                                            readCount.incrementAndGet();
+                                            skipUnchanged(readCount, total, dirName, filename);
+                                            return new Pair<>(
+                                                    dirName + "/" + filename, unchanged.count);
+                                        }
+                                    }
                                     CLDRFile file =
                                             cldrFactory.make(
                                                     filename,
@@ -2232,17 +2315,10 @@ public class Ldml2JsonConverter {
                                                                     filename)
                                                             + "\r");
 
-                                    if (type == RunType.main) {
-                                        pathPrefix =
-                                                "/cldr/"
-                                                        + dirName
-                                                        + "/"
-                                                        + unicodeLocaleToString(filename)
-                                                        + "/";
-                                    } else {
-                                        pathPrefix = "/cldr/" + dirName + "/";
-                                    }
+                                    pathPrefix = getPathPrefix(dirName, filename);
                                     int totalForThisFile = 0;
+                                    final Set<String> outputFiles =
+                                            manifest == null ? null : new TreeSet<>();
                                     try {
                                         totalForThisFile =
                                                 convertCldrItems(
@@ -2256,8 +2332,20 @@ public class Ldml2JsonConverter {
                                                                 total,
                                                                 file,
                                                                 pathPrefix,
-                                                                sdi));
+                                                                sdi),
+                                                        outputFiles);
+                                        if (manifest != null) {
+                                            final Ldml2JsonManifest.Entry entry =
+                                                    new Ldml2JsonManifest.Entry();
+                                            entry.inputs = inputs;
+                                            entry.count = totalForThisFile;
+                                            entry.outputs = outputFiles;
+                                            manifest.put(filename, entry);
+                                        }
                                     } catch (IOException | ParseException t) {
+                                        if (manifest != null) {
+                                            manifest.fail(filename);
+                                        }
                                         t.printStackTrace();
                                         System.err.println(
                                                 "!"
@@ -2289,6 +2377,9 @@ public class Ldml2JsonConverter {
                         + MessageFormat.format(
                                 "Completed parallel process of {0, plural, one {# file} other {# files}}",
                                 total));
+        if (manifest != null) {
+            manifest.finish(outputDir, cldrFactory.getAvailable());
+        }
         if (noOutputFiles.length > 0) {
             System.err.println(
                     WARN_ICON
@@ -2346,6 +2437,72 @@ public class Ldml2JsonConverter {
         }
     }
 
+    /** The prefix of the JSON paths of a file */
+    private String getPathPrefix(String dirName, String filename) {
+        if (type == RunType.main) {
+            return "/cldr/" + dirName + "/" + unicodeLocaleToString(filename) + "/";
+        } else {
+            return "/cldr/" + dirName + "/";
+        }
+    }
+
+    /**
+     * Open the manifest of an incremental run
+     *
+     * @param dirName the input directory, such as main
+     */
+    private Ldml2JsonManifest openManifest(String dirName, DraftStatus minimalDraftStatus)
+            throws IOException {
+        // everything that affects the output of all the files
+        final StringBuilder config = new StringBuilder();
+        for (Option option : options) {
+            final String tag = option.getTag();
+            if (!tag.equals("match") && !tag.equals("incremental")) {
+                config.append(tag).append('=').append(option.getValue()).append('\n');
+            }
+        }
+        config.append("draftstatus=").append(minimalDraftStatus).append('\n');
+        for (JSONSection js : sections) {
+            config.append(js.section)
+                    .append('\t')
+                    .append(js.pattern.pattern())
+                    .append('\t')
+                    .append(js.packageName)
+                    .append('\n');
+        }
+        config.append(new TreeMap<>(dependencies)).append('\n');
+        final String shared =
+                Ldml2JsonManifest.hashShared(
+                        config.toString(),
+                        new File(cldrCommonDir + "supplemental"),
+                        new File(cldrCommonDir + "properties"),
+                        new File(cldrCommonDir + "dtd"));
+        return new Ldml2JsonManifest(
+                new File(outputDir, ".ldml2json-" + dirName + ".manifest.json"), shared);
+    }
+
+    /**
+     * Account for a file whose inputs are unchanged since the last incremental run: its outputs
+     * are already there, but it still goes into the packaging files.
+     */
+    private void skipUnchanged(
+            AtomicInteger readCount, int total, String dirName, String filename) {
+        try {
+            convertCldrItems(
+                    readCount,
+                    total,
+                    dirName,
+                    filename,
+                    getPathPrefix(dirName, filename),
+                    UNCHANGED_ITEMS,
+                    null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ParseException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
     /** Replacement pattern for escaping. */
     private static final Pattern escapePattern = PatternCache.get("\\\\(?!u)");
 
@@ -0,0 +1,244 @@
+package org.unicode.cldr.json;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.unicode.cldr.util.CLDRFile;
+import org.unicode.cldr.util.CodeHashes;
+import org.unicode.cldr.util.LocaleIDParser;
+import org.unicode.cldr.util.SupplementalDataInfo.ParentLocaleComponent;
+
+/**
+ * The manifest of an incremental Ldml2JsonConverter run (-I true), kept in the output directory.
+ *
+ * <p>For each XML file, it records a hash of the file's inputs (the file and its parent locales'
+ * files in the same directory), how many values were written, and the output files. A file whose
+ * inputs are unchanged is not converted again. If the inputs that all files share change (the
+ * supplemental data, the DTDs, the options, the JSON config or the code of the converter and of
+ * the rest of cldr-code), every file is converted again. Outputs that a file no longer writes,
+ * and the outputs of files that are gone, are removed.
+ */
+final class Ldml2JsonManifest {
+    private static final Logger logger = Logger.getLogger(Ldml2JsonManifest.class.getName());
+
+    /** Bump if the manifest or the hashes change */
+    private static final int FORMAT_VERSION = 3;
+
+    /**
+     * The classes whose code determines the output, hashed if the cldr-code jar or class directory
+     * can't be read
+     */
+    private static final Class<?>[] CONVERTER_CLASSES = {
+        Ldml2JsonConverter.class,
+        LdmlConvertRules.class,
+        LdmlConfigFileReader.class,
+        CldrItem.class,
+        CldrNode.class
+    };
+
+    /** What one XML file was converted from and into */
+    static final class Entry {
+        /** The hash of the file's own inputs, see {@link #hashInputs} */
+        String inputs;
+        /** The number of values written, 0 if none */
+        int count;
+        /** The output files, relative to the output directory */
+        Set<String> outputs = new TreeSet<>();
+    }
+
+    /** The manifest file's contents */
+    private static final class Contents {
+        int version = FORMAT_VERSION;
+        String shared;
+        Map<String, Entry> files = new TreeMap<>();
+    }
+
+    private static final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+
+    private final File file;
+    private final String shared;
+    private final boolean sharedChanged;
+
+    /** From the last run. Guarded by this. */
+    private final Map<String, Entry> previous;
+
+    /** Converted in this run. Guarded by this. */
+    private final Map<String, Entry> current = new TreeMap<>();
+
+    /** Files that failed in this run, whose outputs are left alone. Guarded by this. */
+    private final Set<String> failed = new HashSet<>();
+
+    /**
+     * Read the manifest, if any
+     *
+     * @param file the manifest file
+     * @param shared the hash of the shared inputs of this run, see {@link #hashShared}
+     */
+    Ldml2JsonManifest(File file, String shared) {
+        this.file = file;
+        this.shared = shared;
+        Contents contents = null;
+        if (file.isFile()) {
+            try (Reader r = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+                contents = gson.fromJson(r, Contents.class);
+            } catch (IOException | JsonParseException e) {
+                logger.warning("Ignoring unreadable manifest " + file + ": " + e);
+            }
+        }
+        if (contents == null || contents.version != FORMAT_VERSION || contents.files == null) {
+            contents = new Contents();
+        }
+        this.previous = contents.files;
+        this.sharedChanged = !shared.equals(contents.shared);
+        if (sharedChanged && !previous.isEmpty()) {
+            System.out.println("Shared inputs changed, converting all files: " + file.getName());
+        }
+    }
+
+    /**
+     * Get the entry of a file from the last run, if its inputs are the same
+     *
+     * @param filename the XML file name, without .xml
+     * @param inputs the hash of its inputs now
+     * @return the entry, or null if the file must be converted
+     */
+    synchronized Entry getUnchanged(String filename, String inputs) {
+        final Entry e = previous.get(filename);
+        if (sharedChanged || e == null || !inputs.equals(e.inputs)) {
+            return null;
+        }
+        current.put(filename, e);
+        return e;
+    }
+
+    /** Record a file converted in this run */
+    synchronized void put(String filename, Entry e) {
+        current.put(filename, e);
+    }
+
+    /** Record a file that failed to convert in this run */
+    synchronized void fail(String filename) {
+        failed.add(filename);
+    }
+
+    /**
+     * Remove the stale outputs, and write the manifest
+     *
+     * @param outputDir the output directory
+     * @param available all the XML files in the input directory, whether converted in this run or
+     *     not
+     */
+    synchronized void finish(String outputDir, Collection<String> available) throws IOException {
+        final Set<String> written = new HashSet<>();
+        for (Entry e : current.values()) {
+            written.addAll(e.outputs);
+        }
+        final Contents contents = new Contents();
+        contents.shared = shared;
+        contents.files.putAll(current);
+        int removed = 0;
+        for (Map.Entry<String, Entry> p : previous.entrySet()) {
+            final String filename = p.getKey();
+            if (failed.contains(filename)) {
+                continue; // convert it again next time
+            }
+            final boolean gone = !available.contains(filename);
+            if (!gone && !current.containsKey(filename)) {
+                // not matched in this run: keep it for the next run, if still valid
+                if (!sharedChanged) {
+                    contents.files.put(filename, p.getValue());
+                }
+                continue;
+            }
+            for (String output : p.getValue().outputs) {
+                if (!written.contains(output) && new File(outputDir, output).delete()) {
+                    removed++;
+                }
+            }
+        }
+        if (removed > 0) {
+            System.out.println("Removed " + removed + " stale output file(s)");
+        }
+        file.getParentFile().mkdirs();
+        try (Writer w = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            gson.toJson(contents, w);
+        }
+    }
+
+    /**
+     * Hash the inputs of one XML file: the file and its parent locales' files in the same
+     * directory
+     *
+     * @param dir the input directory, such as common/main
+     * @param filename the file name, without .xml
+     */
+    static String hashInputs(File dir, String filename) throws IOException {
+        final Hasher hasher = Hashing.sha256().newHasher();
+        for (String loc = filename;
+                loc != null;
+                loc = LocaleIDParser.getParent(loc, ParentLocaleComponent.main)) {
+            final Path path = new File(dir, loc + ".xml").toPath();
+            putString(hasher, loc);
+            if (Files.isRegularFile(path)) {
+                hasher.putBytes(Files.readAllBytes(path));
+            }
+        }
+        return hasher.hash().toString();
+    }
+
+    /**
+     * Hash the inputs shared by all the files
+     *
+     * @param config the options and JSON config of the converter, as a string
+     * @param dataDirs directories whose files are read for every file, such as supplemental and
+     *     dtd
+     */
+    static String hashShared(String config, File... dataDirs) throws IOException {
+        final Hasher hasher = Hashing.sha256().newHasher();
+        hasher.putInt(FORMAT_VERSION);
+        putString(hasher, CLDRFile.GEN_VERSION);
+        putString(hasher, config);
+        // the converter depends on much of cldr-code (CLDRFile, XPathParts, the supplemental
+        // data...), so hash all of it
+        putString(hasher, CodeHashes.getCodeFingerprint(CONVERTER_CLASSES));
+        for (File dir : dataDirs) {
+            if (!dir.isDirectory()) {
+                continue;
+            }
+            try (Stream<Path> files = Files.walk(dir.toPath())) {
+                for (Path path :
+                        files.filter(Files::isRegularFile).sorted().collect(Collectors.toList())) {
+                    putString(hasher, path.getFileName().toString());
+                    hasher.putBytes(Files.readAllBytes(path));
+                }
+            }
+        }
+        return hasher.hash().toString();
+    }
+
+    private static void putString(Hasher hasher, String string) {
+        if (string == null) {
+            hasher.putInt(-1);
+        } else {
+            hasher.putInt(string.length()).putString(string, StandardCharsets.UTF_8);
+        }
+    }
+}
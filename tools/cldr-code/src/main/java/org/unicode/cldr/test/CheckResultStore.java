@@ -0,0 +1,429 @@
+package org.unicode.cldr.test;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.unicode.cldr.test.CheckCLDR.CheckStatus;
+import org.unicode.cldr.test.CheckCLDR.CheckStatus.Subtype;
+import org.unicode.cldr.test.CheckCLDR.CompoundCheckCLDR;
+import org.unicode.cldr.test.CheckCLDR.Options;
+import org.unicode.cldr.util.CLDRFile;
+import org.unicode.cldr.util.CLDRLocale;
+import org.unicode.cldr.util.CodeHashes;
+import org.unicode.cldr.util.Factory;
+import org.unicode.cldr.util.LocaleIDParser;
+import org.unicode.cldr.util.Pair;
+
+/**
+ * Persistent, on-disk store of the CheckCLDR results of a {@link TestCache.TestResultBundle}, so
+ * that a later run (of ConsoleCheckCLDR, for example) only has to recheck the locales that
+ * changed.
+ *
+ * <p>Results are stored per locale and options, under a key that hashes everything they depend on:
+ * the checks that are run, the code (the cldr-code jar or class directory, and that of any check
+ * loaded from elsewhere), the options, the supplemental data, the display (English) file, every
+ * path, full path and value of the resolved locale, the source files of the other locales that
+ * checks read (the parent locales up to root, and the sub-locales), and the list of available
+ * locales. If anything changes, the key changes, and the locale is checked from scratch. Reuse is
+ * all-or-nothing per locale, because many checks (such as display name collisions) look at more
+ * than the path being checked.
+ *
+ * <p>Only plain {@link CheckStatus} results are stored, with their message already formatted and
+ * their parameters as strings. Thread-safe.
+ */
+public class CheckResultStore {
+    private static final Logger logger = Logger.getLogger(CheckResultStore.class.getName());
+
+    /** Change whenever the file format or the key changes */
+    private static final int FORMAT_VERSION = 2;
+
+    private static final String SUFFIX = ".bin.gz";
+
+    private final File directory;
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+
+    // computed at most once, then reused for every locale
+    private volatile String supplementalFingerprint = null;
+    private volatile Pair<CLDRFile, String> displayFingerprint = null;
+
+    /**
+     * @param directory where the results are stored; created if needed
+     */
+    public CheckResultStore(File directory) {
+        this.directory = directory;
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IllegalArgumentException("Can't create directory " + directory);
+        }
+    }
+
+    /**
+     * Get the key under which the results of the checks for this file and options are stored
+     *
+     * @param factory the factory that the checks read other locales from
+     */
+    String getKey(CompoundCheckCLDR checks, Options options, Factory factory, CLDRFile file) {
+        Hasher hasher = Hashing.sha256().newHasher();
+        hasher.putInt(FORMAT_VERSION);
+        putString(hasher, CLDRFile.GEN_VERSION);
+        for (Options.Option option : Options.Option.values()) {
+            putString(hasher, options.get(option)); // toString() can omit some options
+        }
+        List<Class<?>> classes = new ArrayList<>();
+        classes.add(CheckCLDR.class);
+        for (CheckCLDR check : checks.getFilteredTestList()) {
+            putString(hasher, check.getClass().getName());
+            classes.add(check.getClass());
+        }
+        putString(hasher, CodeHashes.getCodeFingerprint(classes.toArray(new Class<?>[0])));
+        putString(hasher, getSupplementalFingerprint(file));
+        putString(hasher, getDisplayFingerprint());
+        putString(hasher, getFileFingerprint(file));
+        putString(hasher, getRelatedFingerprint(factory, file.getLocaleID()));
+        return file.getLocaleID() + "_" + hasher.hash();
+    }
+
+    /**
+     * Load the results stored under the key, adding them to pathResults (keyed by path and value)
+     * and possibleProblems.
+     *
+     * @param checks the checks that produced the results, used as the cause of each status
+     * @return false if there is nothing stored under the key, or it couldn't be read
+     */
+    boolean load(
+            String key,
+            CompoundCheckCLDR checks,
+            Map<Pair<String, String>, List<CheckStatus>> pathResults,
+            List<CheckStatus> possibleProblems) {
+        Path file = getFile(key);
+        try (DataInputStream in =
+                new DataInputStream(
+                        new BufferedInputStream(
+                                new GZIPInputStream(Files.newInputStream(file))))) {
+            if (in.readInt() != FORMAT_VERSION) {
+                misses.incrementAndGet();
+                return false;
+            }
+            List<CheckStatus> problems = readStatuses(in, checks);
+            int count = in.readInt();
+            for (int i = 0; i < count; ++i) {
+                String path = readString(in);
+                String value = readString(in);
+                pathResults.put(new Pair<>(path, value), readStatuses(in, checks));
+            }
+            possibleProblems.addAll(problems);
+            hits.incrementAndGet();
+            return true;
+        } catch (NoSuchFileException e) {
+            misses.incrementAndGet();
+            return false;
+        } catch (IOException | RuntimeException e) {
+            logger.log(Level.WARNING, e, () -> "Ignoring unreadable results " + file);
+            misses.incrementAndGet();
+            return false;
+        }
+    }
+
+    /**
+     * Store results under the key, replacing any that are there. Path results that contain
+     * statuses that can't be stored are skipped (so they are recomputed next time); if any of the
+     * possibleProblems can't be stored, nothing is.
+     */
+    void save(
+            String key,
+            Map<Pair<String, String>, List<CheckStatus>> pathResults,
+            List<CheckStatus> possibleProblems) {
+        if (!possibleProblems.stream().allMatch(CheckResultStore::isStorable)) {
+            return;
+        }
+        List<Entry<Pair<String, String>, List<CheckStatus>>> entries = new ArrayList<>();
+        for (Entry<Pair<String, String>, List<CheckStatus>> entry : pathResults.entrySet()) {
+            if (entry.getValue().stream().allMatch(CheckResultStore::isStorable)) {
+                entries.add(entry);
+            }
+        }
+        Path target = getFile(key);
+        try {
+            Path temp = Files.createTempFile(directory.toPath(), key, ".tmp");
+            try (DataOutputStream out =
+                    new DataOutputStream(
+                            new BufferedOutputStream(
+                                    new GZIPOutputStream(Files.newOutputStream(temp))))) {
+                out.writeInt(FORMAT_VERSION);
+                writeStatuses(out, possibleProblems);
+                out.writeInt(entries.size());
+                for (Entry<Pair<String, String>, List<CheckStatus>> entry : entries) {
+                    writeString(out, entry.getKey().getFirst());
+                    writeString(out, entry.getKey().getSecond());
+                    writeStatuses(out, entry.getValue());
+                }
+            }
+            Files.move(
+                    temp,
+                    target,
+                    StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.log(Level.WARNING, e, () -> "Couldn't store results " + target);
+        }
+    }
+
+    /** Remove everything in the store */
+    public void clear() throws IOException {
+        try (Stream<Path> files = Files.list(directory.toPath())) {
+            for (Path file : files.collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    public int getHits() {
+        return hits.get();
+    }
+
+    public int getMisses() {
+        return misses.get();
+    }
+
+    @Override
+    public String toString() {
+        return "CheckResultStore " + directory + ": " + hits + " hits, " + misses + " misses";
+    }
+
+    private Path getFile(String key) {
+        return directory.toPath().resolve(key + SUFFIX);
+    }
+
+    /** Statuses are stored with their formatted message, so only plain CheckStatus are storable */
+    private static boolean isStorable(CheckStatus status) {
+        return status.getClass() == CheckStatus.class || status instanceof StoredCheckStatus;
+    }
+
+    private static void writeStatuses(DataOutputStream out, List<CheckStatus> statuses)
+            throws IOException {
+        out.writeInt(statuses.size());
+        for (CheckStatus status : statuses) {
+            out.writeUTF(status.getType().name());
+            out.writeUTF(status.getSubtype().name());
+            CheckCLDR cause = status.getCause();
+            out.writeUTF(cause == null ? "" : cause.getClass().getName());
+            out.writeBoolean(status.isCheckOnSubmit());
+            out.writeBoolean(status.getEntireLocale());
+            writeString(out, status.getMessage());
+            Object[] parameters = status.getParameters();
+            out.writeInt(parameters == null ? -1 : parameters.length);
+            if (parameters != null) {
+                for (Object parameter : parameters) {
+                    writeString(out, parameter == null ? null : parameter.toString());
+                }
+            }
+        }
+    }
+
+    private static List<CheckStatus> readStatuses(DataInputStream in, CompoundCheckCLDR checks)
+            throws IOException {
+        int count = in.readInt();
+        List<CheckStatus> result = new ArrayList<>(count);
+        for (int i = 0; i < count; ++i) {
+            CheckStatus.Type type = CheckStatus.Type.valueOf(in.readUTF());
+            Subtype subtype = Subtype.valueOf(in.readUTF());
+            String causeClass = in.readUTF();
+            boolean checkOnSubmit = in.readBoolean();
+            boolean entireLocale = in.readBoolean();
+            String message = readString(in);
+            int parameterCount = in.readInt();
+            String[] parameters = parameterCount < 0 ? null : new String[parameterCount];
+            for (int j = 0; j < parameterCount; ++j) {
+                parameters[j] = readString(in);
+            }
+            CheckCLDR cause = checks;
+            for (CheckCLDR check : checks.getFilteredTestList()) {
+                if (check.getClass().getName().equals(causeClass)) {
+                    cause = check;
+                    break;
+                }
+            }
+            CheckStatus status = new StoredCheckStatus(message, parameters);
+            status.setMainType(type).setSubtype(subtype).setCause(cause);
+            status.setCheckOnSubmit(checkOnSubmit);
+            if (entireLocale) {
+                status.setEntireLocale();
+            }
+            result.add(status);
+        }
+        return result;
+    }
+
+    /** Strings may be null, and longer than writeUTF allows */
+    private static void writeString(DataOutputStream out, String string) throws IOException {
+        if (string == null) {
+            out.writeInt(-1);
+        } else {
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void putString(Hasher hasher, String string) {
+        if (string == null) {
+            hasher.putInt(-1);
+        } else {
+            hasher.putInt(string.length()).putString(string, StandardCharsets.UTF_8);
+        }
+    }
+
+    private String getSupplementalFingerprint(CLDRFile file) {
+        String result = supplementalFingerprint;
+        if (result == null) {
+            File supplementalDirectory = file.getSupplementalDirectory();
+            Hasher hasher = Hashing.sha256().newHasher();
+            if (supplementalDirectory != null) {
+                try (Stream<Path> files = Files.walk(supplementalDirectory.toPath())) {
+                    for (Path path :
+                            files.filter(Files::isRegularFile)
+                                    .sorted()
+                                    .collect(Collectors.toList())) {
+                        putString(hasher, path.getFileName().toString());
+                        hasher.putBytes(Files.readAllBytes(path));
+                    }
+                } catch (IOException e) {
+                    throw new IllegalArgumentException(
+                            "Can't read supplemental data in " + supplementalDirectory, e);
+                }
+            }
+            supplementalFingerprint = result = hasher.hash().toString();
+        }
+        return result;
+    }
+
+    private String getDisplayFingerprint() {
+        CLDRFile display = CheckCLDR.getDisplayInformation();
+        if (display == null) {
+            return "";
+        }
+        Pair<CLDRFile, String> cached = displayFingerprint;
+        if (cached == null || cached.getFirst() != display) {
+            cached = new Pair<>(display, getFileFingerprint(display));
+            displayFingerprint = cached;
+        }
+        return cached.getSecond();
+    }
+
+    /** A hash over every path of the file, with its full path and value, in path order */
+    private static String getFileFingerprint(CLDRFile file) {
+        Set<String> paths = new TreeSet<>();
+        file.forEach(paths::add);
+        Hasher hasher = Hashing.sha256().newHasher();
+        for (String path : paths) {
+            putString(hasher, path);
+            putString(hasher, file.getFullXPath(path));
+            putString(hasher, file.getStringValue(path));
+        }
+        return hasher.hash().toString();
+    }
+
+    /**
+     * A hash over the source files of the other locales that checks read (the parent locales up to
+     * root, such as in CheckDates, and the sub-locales, in CheckChildren), and over the list of
+     * available locales (CheckPlaceHolders)
+     */
+    static String getRelatedFingerprint(Factory factory, String localeID) {
+        Set<String> locales = new TreeSet<>();
+        for (String parent = LocaleIDParser.getParent(localeID);
+                parent != null;
+                parent = LocaleIDParser.getParent(parent)) {
+            locales.add(parent);
+        }
+        Set<CLDRLocale> subLocales = factory.subLocalesOf(CLDRLocale.getInstance(localeID));
+        if (subLocales != null) {
+            for (CLDRLocale subLocale : subLocales) {
+                locales.add(subLocale.getBaseName());
+            }
+        }
+        Hasher hasher = Hashing.sha256().newHasher();
+        for (String locale : locales) {
+            putString(hasher, locale);
+            List<File> directories = factory.getSourceDirectoriesForLocale(locale);
+            if (directories == null) {
+                continue;
+            }
+            for (File directory : directories) {
+                Path path = new File(directory, locale + ".xml").toPath();
+                try {
+                    hasher.putBytes(Files.readAllBytes(path));
+                } catch (NoSuchFileException e) {
+                    hasher.putInt(-1);
+                } catch (IOException e) {
+                    throw new IllegalArgumentException("Can't read " + path, e);
+                }
+            }
+        }
+        for (String locale : new TreeSet<>(factory.getAvailable())) {
+            putString(hasher, locale);
+        }
+        return hasher.hash().toString();
+    }
+
+    /**
+     * A CheckStatus read back from the store: its message is already formatted, and its
+     * parameters are strings.
+     */
+    private static class StoredCheckStatus extends CheckStatus {
+        private final String message;
+        private final Object[] parameters;
+
+        StoredCheckStatus(String message, String[] parameters) {
+            this.message = message;
+            this.parameters = parameters;
+        }
+
+        @Override
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public Object[] getParameters() {
+            return parameters;
+        }
+
+        @Override
+        public Exception[] getExceptionParameters() {
+            return null;
+        }
+    }
+}
@@ -117,7 +117,8 @@ public class ConsoleCheckCLDR {
             ID_VIEW = 18,
             SUBTYPE_FILTER = 19,
             BAILEY = 21,
-            SINGLE_THREAD = 24;
+            SINGLE_THREAD = 24,
+            RESULT_CACHE = 25;
 
     static final String SOURCE_DIRS =
             CLDRPaths.MAIN_DIRECTORY
@@ -126,6 +127,9 @@ public class ConsoleCheckCLDR {
                     + ","
                     + CLDRPaths.SEED_DIRECTORY;
 
+    static final String RESULT_CACHE_DIR =
+            CldrUtility.getPath(CLDRPaths.TMP_DIRECTORY, "check-results/");
+
     enum MyOptions {
         coverage(
                 new Params()
@@ -217,7 +221,14 @@ public class ConsoleCheckCLDR {
                 new Params()
                         .setHelp(
                                 "include to show missing and provisional paths, at the specified level")),
-        singleThread(new Params().setHelp("Run in single-thread mode.").setFlag('1'));
+        singleThread(new Params().setHelp("Run in single-thread mode.").setFlag('1')),
+        resultCache(
+                new Params()
+                        .setHelp(
+                                "Reuse the results of earlier runs for locales that haven't changed, stored in the given directory")
+                        .setMatch(".*")
+                        .setFlag('r')
+                        .setDefault(RESULT_CACHE_DIR));
 
         // BOILERPLATE TO COPY
         final Option option;
@@ -267,7 +278,8 @@ public class ConsoleCheckCLDR {
         UOption.create("bailey", 'b', UOption.NO_ARG),
         UOption.create("exemplarError", 'E', UOption.NO_ARG),
         UOption.create("missingPaths", 'm', UOption.NO_ARG),
-        UOption.create("singleThread", '1', UOption.NO_ARG)
+        UOption.create("singleThread", '1', UOption.NO_ARG),
+        UOption.create("resultCache", 'r', UOption.OPTIONAL_ARG).setDefault(RESULT_CACHE_DIR)
     };
 
     private static final Comparator<CLDRLocale> baseFirstCollator =
@@ -480,6 +492,9 @@ public class ConsoleCheckCLDR {
                         .setSupplementalDirectory(new File(CLDRPaths.SUPPLEMENTAL_DIRECTORY));
         final TestCache testCache = cldrFactory.getTestCache();
         testCache.setNameMatcher(checkFilter);
+        if (options[RESULT_CACHE].doesOccur) {
+            testCache.setResultStore(new CheckResultStore(new File(options[RESULT_CACHE].value)));
+        }
 
         {
             // we create an extraneous CompoundCheckCLDR here just to check the filters
@@ -972,10 +987,15 @@ public class ConsoleCheckCLDR {
                             showExamples(file, prettyPath, localeID, path, null, fullPath, example);
                         }
                     }
+                    bundle.saveResults();
                     System.out.println("# " + localeID + " Elapsed time: " + timer);
                     System.out.flush();
                 });
 
+        if (testCache.getResultStore() != null) {
+            System.out.println("# " + testCache.getResultStore());
+        }
+
         if (ErrorFile.errorFileWriter != null) {
             ErrorFile.closeErrorFile();
         }
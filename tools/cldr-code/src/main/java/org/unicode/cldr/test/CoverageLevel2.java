@@ -5,6 +5,7 @@ import static java.util.Collections.disjoint;
 import com.ibm.icu.util.Output;
 import com.ibm.icu.util.VersionInfo;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
@@ -24,6 +25,7 @@ import org.unicode.cldr.util.CLDRPaths;
 import org.unicode.cldr.util.CldrUtility.VariableReplacer;
 import org.unicode.cldr.util.Level;
 import org.unicode.cldr.util.PathHeader;
+import org.unicode.cldr.util.PathIdDictionary;
 import org.unicode.cldr.util.PatternCache;
 import org.unicode.cldr.util.RegexLookup;
 import org.unicode.cldr.util.RegexLookup.Finder;
@@ -44,6 +46,19 @@ public class CoverageLevel2 {
 
     private RegexLookup<Level> lookup = null;
 
+    private static final Level[] LEVELS = Level.values();
+
+    /**
+     * Memo for getLevel, indexed by PathIdDictionary ID: the Level's ordinal + 1, or 0 if not known
+     * yet. Reads and writes are deliberately unsynchronized. A byte is either 0 or the right value,
+     * so a write that is lost (to a concurrent resize) or not yet visible only costs a recomputation.
+     * It grows with the highest ID looked up, up to {@link #MEMO_LIMIT}.
+     */
+    private volatile byte[] levelMemo = new byte[0];
+
+    /** Paths with IDs at or above this are not memoized, which bounds each memo to 256KB */
+    private static final int MEMO_LIMIT = 1 << 18;
+
     enum SetMatchType {
         Target_Language,
         Target_Scripts,
@@ -157,6 +172,12 @@ public class CoverageLevel2 {
         lookup = sdi.getCoverageLookup();
     }
 
+    private CoverageLevel2(SupplementalDataInfo sdi, String locale, RegexLookup<Level> lookup) {
+        myInfo.targetLanguage = CLDRLocale.getInstance(locale).getLanguage();
+        myInfo.cvi = sdi.getCoverageVariableInfo(myInfo.targetLanguage);
+        this.lookup = lookup;
+    }
+
     private CoverageLevel2(SupplementalDataInfo sdi, String locale, String ruleFile) {
         myInfo.targetLanguage = CLDRLocale.getInstance(locale).getLanguage();
         myInfo.cvi = sdi.getCoverageVariableInfo(myInfo.targetLanguage);
@@ -188,27 +209,56 @@ public class CoverageLevel2 {
         return new CoverageLevel2(sdi, locale, ruleFile);
     }
 
+    /** Get an instance with the given lookup, such as one with another type of storage */
+    static CoverageLevel2 getInstance(
+            SupplementalDataInfo sdi, String locale, RegexLookup<Level> lookup) {
+        return new CoverageLevel2(sdi, locale, lookup);
+    }
+
+    /**
+     * Get the coverage level of the path for this locale. Thread-safe without locking: the lookup
+     * is only read, and its RegexFinders are stateless. Results are memoized for paths that already
+     * have a PathIdDictionary ID; other paths are looked up each time, and are not given an ID.
+     */
     public Level getLevel(String path) {
         if (path == null) {
             return Level.UNDETERMINED;
         }
-        synchronized (
-                lookup) { // synchronize on the class, since the Matchers are changed during the
-            // matching process
-            Level result;
-            if (DEBUG_LOOKUP) { // for testing
-                Output<String[]> checkItems = new Output<>();
-                Output<Finder> matcherFound = new Output<>();
-                List<String> failures = new ArrayList<>();
-                result = lookup.get(path, myInfo, checkItems, matcherFound, failures);
-                for (String s : failures) {
-                    System.out.println(s);
+        int id = PathIdDictionary.peekId(path);
+        byte[] memo = levelMemo;
+        if (id >= 0 && id < memo.length && memo[id] != 0) {
+            return LEVELS[memo[id] - 1];
+        }
+        Level result;
+        if (DEBUG_LOOKUP) { // for testing
+            Output<String[]> checkItems = new Output<>();
+            Output<Finder> matcherFound = new Output<>();
+            List<String> failures = new ArrayList<>();
+            result = lookup.get(path, myInfo, checkItems, matcherFound, failures);
+            for (String s : failures) {
+                System.out.println(s);
+            }
+        } else {
+            result = lookup.get(path, myInfo, null);
+        }
+        if (result == null) {
+            result = Level.COMPREHENSIVE;
+        }
+        if (id == PathIdDictionary.NO_ID || id >= MEMO_LIMIT) {
+            return result;
+        }
+        if (id >= memo.length) {
+            synchronized (this) {
+                memo = levelMemo;
+                if (id >= memo.length) {
+                    int size = Math.max(id + 1, memo.length * 2);
+                    memo = Arrays.copyOf(memo, Math.min(size, MEMO_LIMIT));
+                    levelMemo = memo;
                 }
-            } else {
-                result = lookup.get(path, myInfo, null);
             }
-            return result == null ? Level.COMPREHENSIVE : result;
         }
+        memo[id] = (byte) (result.ordinal() + 1);
+        return result;
     }
 
     public int getIntLevel(String path) {
@@ -299,7 +349,7 @@ public class CoverageLevel2 {
 
         public RegexLookup<Level> makeCoverageLookup() {
             RegexLookup<Level> lookup =
-                    new RegexLookup<>(RegexLookup.LookupType.STAR_PATTERN_LOOKUP);
+                    new RegexLookup<>(RegexLookup.LookupType.COMPILED_PATTERN_LOOKUP);
 
             Matcher variable = PatternCache.get("\\$\\{[A-Za-z][\\-A-Za-z]*\\}").matcher("");
 
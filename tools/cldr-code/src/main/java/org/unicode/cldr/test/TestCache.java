@@ -3,6 +3,7 @@ package org.unicode.cldr.test;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
 import com.google.common.cache.LoadingCache;
 import java.util.ArrayList;
 import java.util.List;
@@ -12,6 +13,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.unicode.cldr.test.CheckCLDR.CheckStatus;
+import org.unicode.cldr.test.CheckCLDR.CompoundCheckCLDR;
 import org.unicode.cldr.test.CheckCLDR.Options;
 import org.unicode.cldr.util.CLDRConfig;
 import org.unicode.cldr.util.CLDRFile;
@@ -38,12 +40,43 @@ public class TestCache implements XMLSource.Listener {
         private final ConcurrentHashMap<Pair<String, String>, List<CheckStatus>> pathCache;
         protected final List<CheckStatus> possibleProblems = new ArrayList<>();
 
+        /** Key in the resultStore, or null if there is no store */
+        private final String storeKey;
+        /** True if possibleProblems and pathCache were loaded from the resultStore */
+        private final boolean loaded;
+        /** Guarded by cc */
+        private boolean fileSet = false;
+
+        private volatile boolean changed = false;
+
         protected TestResultBundle(CheckCLDR.Options cldrOptions) {
             options = cldrOptions;
             pathCache = new ConcurrentHashMap<>();
             file = getFactory().make(options.getLocale().getBaseName(), true);
-            synchronized (cc) {
-                cc.setCldrFileToCheck(file, options, possibleProblems);
+            CheckResultStore store = resultStore;
+            if (store != null) {
+                storeKey = store.getKey((CompoundCheckCLDR) cc, options, getFactory(), file);
+                loaded = store.load(storeKey, (CompoundCheckCLDR) cc, pathCache, possibleProblems);
+            } else {
+                storeKey = null;
+                loaded = false;
+            }
+            if (!loaded) {
+                synchronized (cc) {
+                    setFileToCheck();
+                }
+            }
+        }
+
+        /**
+         * Set up cc for the file. Deferred when the results were loaded from the store, until a
+         * path that wasn't stored needs to be checked. Call while synchronized on cc.
+         */
+        private void setFileToCheck() {
+            if (!fileSet) {
+                // if loaded, possibleProblems already came from the store
+                cc.setCldrFileToCheck(file, options, loaded ? new ArrayList<>() : possibleProblems);
+                fileSet = true;
             }
         }
 
@@ -70,7 +103,9 @@ public class TestCache implements XMLSource.Listener {
                             key,
                             (Pair<String, String> k) -> {
                                 List<CheckStatus> l = new ArrayList<CheckStatus>();
+                                changed = true;
                                 synchronized (cc) {
+                                    setFileToCheck();
                                     cc.check(
                                             k.getFirst(),
                                             file.getFullXPath(k.getFirst()),
@@ -87,6 +122,7 @@ public class TestCache implements XMLSource.Listener {
 
         public void getExamples(String path, String value, List<CheckStatus> result) {
             synchronized (cc) {
+                setFileToCheck();
                 cc.getExamples(path, file.getFullXPath(path), value, options, result);
             }
         }
@@ -94,6 +130,17 @@ public class TestCache implements XMLSource.Listener {
         public List<CheckStatus> getPossibleProblems() {
             return possibleProblems;
         }
+
+        /**
+         * Write the results so far to the result store, if there is one and there are new results.
+         * See {@link TestCache#setResultStore(CheckResultStore)}.
+         */
+        public void saveResults() {
+            if (storeKey != null && (changed || !loaded)) {
+                resultStore.save(storeKey, pathCache, possibleProblems);
+                changed = false;
+            }
+        }
     }
 
     private static final boolean DEBUG = false;
@@ -105,6 +152,7 @@ public class TestCache implements XMLSource.Listener {
      */
     private LoadingCache<CheckCLDR.Options, TestResultBundle> testResultCache =
             CacheBuilder.newBuilder()
+                    .recordStats()
                     .maximumSize(CLDRConfig.getInstance().getProperty("CLDR_TESTCACHE_SIZE", 12))
                     .softValues()
                     .build(
@@ -120,6 +168,8 @@ public class TestCache implements XMLSource.Listener {
 
     private String nameMatcher = ".*";
 
+    private volatile CheckResultStore resultStore = null;
+
     /** Get the bundle for this test */
     public TestResultBundle getBundle(final CheckCLDR.Options options) {
         TestResultBundle b;
@@ -132,6 +182,20 @@ public class TestCache implements XMLSource.Listener {
         return b;
     }
 
+    /**
+     * Get the bundle for this test only if it is already made
+     *
+     * @return the bundle, or null
+     */
+    public TestResultBundle getBundleIfPresent(final CheckCLDR.Options options) {
+        return testResultCache.getIfPresent(options);
+    }
+
+    /** Hit and miss counts of the TestResultBundle cache */
+    public CacheStats getStats() {
+        return testResultCache.stats();
+    }
+
     protected Factory getFactory() {
         return factory;
     }
@@ -149,6 +213,22 @@ public class TestCache implements XMLSource.Listener {
         invalidateAllCached();
     }
 
+    /**
+     * Use a persistent store for the results of checks, or null for none (the default). With a
+     * store, each new TestResultBundle reuses the results stored for an identical locale (see
+     * {@link CheckResultStore}), and {@link TestResultBundle#saveResults()} stores them. Only for
+     * batch tools such as ConsoleCheckCLDR: the store is not updated as values change. Invalidates
+     * all caches.
+     */
+    public void setResultStore(CheckResultStore resultStore) {
+        this.resultStore = resultStore;
+        invalidateAllCached();
+    }
+
+    public CheckResultStore getResultStore() {
+        return resultStore;
+    }
+
     /**
      * Convert this TestCache to a string
      *
@@ -270,7 +350,12 @@ public class TestCache implements XMLSource.Listener {
      * <p>Reference: https://unicode-org.atlassian.net/browse/CLDR-12020
      */
     private static Cache<String, ExampleGenerator> exampleGeneratorCache =
-            CacheBuilder.newBuilder().softValues().build();
+            CacheBuilder.newBuilder().recordStats().softValues().build();
+
+    /** Hit and miss counts of the ExampleGenerator cache */
+    public static CacheStats getExampleGeneratorStats() {
+        return exampleGeneratorCache.stats();
+    }
 
     /**
      * Get an ExampleGenerator for the given locale, etc.
@@ -0,0 +1,126 @@
+package org.unicode.cldr.tool;
+
+import java.io.File;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import org.unicode.cldr.tool.Option.Options;
+import org.unicode.cldr.tool.Option.Params;
+import org.unicode.cldr.util.CLDRConfig;
+import org.unicode.cldr.util.CLDRFile.DraftStatus;
+import org.unicode.cldr.util.CLDRPaths;
+import org.unicode.cldr.util.CLDRTool;
+import org.unicode.cldr.util.SupplementalDataSnapshot;
+import org.unicode.cldr.util.XMLNormalizingLoader;
+import org.unicode.cldr.util.XMLSource;
+import org.unicode.cldr.util.XMLSourceSnapshot;
+
+@CLDRTool(
+        alias = "snapshot",
+        description =
+                "Write pre-parsed binary snapshots of locale XML files and of the supplemental data, for fast loading with -DCLDR_SNAPSHOT_DIR")
+public class GenerateLocaleSnapshots {
+
+    private enum MyOptions {
+        target(
+                new Params()
+                        .setHelp("Directory to write the snapshots to.")
+                        .setMatch(".*")
+                        .setDefault(CLDRPaths.GEN_DIRECTORY + "snapshots")),
+        source(
+                new Params()
+                        .setHelp(
+                                "Comma-separated CLDR data directories, eg common,seed or common/main")
+                        .setMatch(".*")
+                        .setDefault("common")),
+        fileFilter(new Params().setHelp("Regex filter on locale IDs.").setMatch(".*")),
+        draftStatus(
+                new Params()
+                        .setHelp("Minimal draft status the snapshots are loaded with.")
+                        .setMatch("unconfirmed|provisional|contributed|approved")
+                        .setDefault("unconfirmed")),
+        verbose(new Params().setMatch(null)),
+        ;
+
+        // BOILERPLATE TO COPY
+        final Option option;
+
+        private MyOptions(Params params) {
+            option = new Option(this, params);
+        }
+
+        private static Options myOptions = new Options();
+
+        static {
+            for (MyOptions option : MyOptions.values()) {
+                myOptions.add(option, option.option);
+            }
+        }
+
+        private static void parse(String[] args) {
+            myOptions.parse(MyOptions.values()[0], args, true);
+        }
+    }
+
+    public static void main(String[] args) {
+        MyOptions.parse(args);
+        File target = new File(MyOptions.target.option.getValue());
+        DraftStatus draftStatus = DraftStatus.valueOf(MyOptions.draftStatus.option.getValue());
+        String filter = MyOptions.fileFilter.option.getValue();
+        Pattern filePattern = filter == null ? null : Pattern.compile(filter);
+        boolean verbose = MyOptions.verbose.option.doesOccur();
+
+        CLDRConfig config = CLDRConfig.getInstance();
+        File[] dirs =
+                config.addStandardSubdirectories(
+                        config.getCLDRDataDirectories(MyOptions.source.option.getValue()));
+
+        long start = System.nanoTime();
+        AtomicInteger written = new AtomicInteger();
+        for (File dir : dirs) {
+            File[] files = dir.listFiles((d, name) -> name.endsWith(".xml"));
+            if (files == null) {
+                continue;
+            }
+            Stream.of(files)
+                    .parallel()
+                    .forEach(
+                            file -> {
+                                String localeId = file.getName().replace(".xml", "");
+                                if (filePattern != null
+                                        && !filePattern.matcher(localeId).matches()) {
+                                    return;
+                                }
+                                write(file, localeId, draftStatus, target, verbose);
+                                written.incrementAndGet();
+                            });
+        }
+
+        File supplemental = new File(CLDRPaths.DEFAULT_SUPPLEMENTAL_DIRECTORY);
+        File supplementalSnapshot = SupplementalDataSnapshot.getSnapshotFile(target, supplemental);
+        SupplementalDataSnapshot.write(supplemental, supplementalSnapshot);
+        if (verbose) {
+            System.out.println(supplemental + "\t→\t" + supplementalSnapshot);
+        }
+        written.incrementAndGet();
+
+        System.out.println(
+                "Wrote "
+                        + written
+                        + " snapshots to "
+                        + target.getAbsolutePath()
+                        + " in "
+                        + (System.nanoTime() - start) / 1_000_000
+                        + " ms");
+    }
+
+    private static void write(
+            File file, String localeId, DraftStatus draftStatus, File target, boolean verbose) {
+        XMLSource source = XMLNormalizingLoader.loadXMLFile(file, localeId, draftStatus);
+        File snapshotFile = XMLSourceSnapshot.getSnapshotFile(target, file, draftStatus);
+        XMLSourceSnapshot.write(source, file, draftStatus, snapshotFile);
+        if (verbose) {
+            System.out.println(file + "\t→\t" + snapshotFile);
+        }
+    }
+}
@@ -1,5 +1,9 @@
 package org.unicode.cldr.tool;
 
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableMap;
 import com.ibm.icu.impl.Row;
 import com.ibm.icu.impl.Row.R2;
@@ -9,6 +13,8 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
 import org.unicode.cldr.util.Builder;
@@ -21,14 +27,67 @@ import org.unicode.cldr.util.SupplementalDataInfo.BasicLanguageData.Type;
 import org.unicode.cldr.util.SupplementalDataInfo.CurrencyDateInfo;
 import org.unicode.cldr.util.SupplementalDataInfo.PopulationData;
 
+/**
+ * Maximize and minimize language tags with the likely subtags data. Thread-safe: the data is
+ * immutable, each call parses into its own LanguageTagParser, and the results of maximize(String)
+ * and minimize(String) are kept in bounded concurrent caches.
+ */
 public class LikelySubtags {
     static final boolean DEBUG = true;
     static final String TAG_SEPARATOR = "_";
     private static final boolean SKIP_UND = true;
 
-    private boolean favorRegion = false;
+    /** The most results of maximize(String), or of minimize(String), to keep */
+    private static final int MEMO_SIZE = 20000;
+
+    private volatile boolean favorRegion = false;
     private final Map<String, String> toMaximized;
 
+    /** Results of maximize(String), empty if it can't be maximized. Made when first used. */
+    private final Supplier<Cache<String, Optional<String>>> maximizeMemo =
+            Suppliers.memoize(LikelySubtags::newMemo);
+
+    /**
+     * Results of minimize(String, OutputOption), empty if it can't be minimized. They depend on
+     * favorRegion, so it is part of the key: changing it doesn't race with a minimize already under
+     * way. Made when first used.
+     */
+    private final Supplier<Cache<MinimizeKey, Optional<String>>> minimizeMemo =
+            Suppliers.memoize(LikelySubtags::newMemo);
+
+    private static final class MinimizeKey {
+        final String input;
+        final OutputOption oo;
+        final boolean favorRegion;
+
+        MinimizeKey(String input, OutputOption oo, boolean favorRegion) {
+            this.input = input;
+            this.oo = oo;
+            this.favorRegion = favorRegion;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof MinimizeKey)) {
+                return false;
+            }
+            final MinimizeKey other = (MinimizeKey) o;
+            return input.equals(other.input) && oo == other.oo && favorRegion == other.favorRegion;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(input, oo, favorRegion);
+        }
+    }
+
+    /** Shared instances for the static methods, by the (identity of the) immutable map */
+    private static final Cache<Map<String, String>, LikelySubtags> SHARED =
+            CacheBuilder.newBuilder().weakKeys().softValues().build();
+
+    private static final Cache<Map<String, String>, LikelySubtags> SHARED_FAVOR_REGION =
+            CacheBuilder.newBuilder().weakKeys().softValues().build();
+
     /**
      * Create the likely subtags.
      *
@@ -41,6 +100,31 @@ public class LikelySubtags {
                         : ImmutableMap.copyOf(toMaximized);
     }
 
+    private static <K> Cache<K, Optional<String>> newMemo() {
+        return CacheBuilder.newBuilder().maximumSize(MEMO_SIZE).build();
+    }
+
+    /**
+     * Get an instance for the static methods, so that their results are kept too. Only for an
+     * immutable map, such as SupplementalDataInfo.getLikelySubtags(): the caller might change
+     * another map between calls.
+     */
+    private static LikelySubtags getShared(Map<String, String> toMaximized, boolean favorRegion) {
+        if (toMaximized == null) {
+            toMaximized = LikelySubtagsData.getInstance().defaultToMaximized;
+        } else if (!(toMaximized instanceof ImmutableMap)) {
+            return new LikelySubtags(toMaximized).setFavorRegion(favorRegion);
+        }
+        final Cache<Map<String, String>, LikelySubtags> shared =
+                favorRegion ? SHARED_FAVOR_REGION : SHARED;
+        LikelySubtags result = shared.getIfPresent(toMaximized);
+        if (result == null) {
+            result = new LikelySubtags(toMaximized).setFavorRegion(favorRegion);
+            shared.put(toMaximized, result);
+        }
+        return result;
+    }
+
     /** thread-safe data loading. Retooled so that the constant data is shared across instances. */
     private static class LikelySubtagsData {
         private static final LikelySubtagsData SINGLETON = new LikelySubtagsData();
@@ -52,7 +136,7 @@ public class LikelySubtags {
         private final SupplementalDataInfo supplementalDataInfo =
                 CLDRConfig.getInstance().getSupplementalDataInfo();
         private final Map<String, String> defaultToMaximized =
-                supplementalDataInfo.getLikelySubtags();
+                ImmutableMap.copyOf(supplementalDataInfo.getLikelySubtags());
         private final Map<String, String> currencyToLikelyTerritory;
 
         private LikelySubtagsData() {
@@ -108,19 +192,29 @@ public class LikelySubtags {
     }
 
     public static String maximize(String languageTag, Map<String, String> toMaximized) {
-        return new LikelySubtags(toMaximized).maximize(languageTag);
+        return getShared(toMaximized, false).maximize(languageTag);
     }
 
     public static String minimize(
             String input, Map<String, String> toMaximized, boolean favorRegion) {
-        return new LikelySubtags(toMaximized).setFavorRegion(favorRegion).minimize(input);
+        return getShared(toMaximized, favorRegion).minimize(input);
     }
 
-    // TODO Old, crufty code, needs reworking.
-    public synchronized String maximize(String languageTag) {
+    public String maximize(String languageTag) {
         if (languageTag == null) {
             return null;
         }
+        final Cache<String, Optional<String>> memo = maximizeMemo.get();
+        Optional<String> result = memo.getIfPresent(languageTag);
+        if (result == null) {
+            result = Optional.ofNullable(computeMaximize(languageTag));
+            memo.put(languageTag, result);
+        }
+        return result.orElse(null);
+    }
+
+    // TODO Old, crufty code, needs reworking.
+    private String computeMaximize(String languageTag) {
         LanguageTagParser ltp = new LanguageTagParser();
         if (DEBUG && languageTag.equals("es" + TAG_SEPARATOR + "Hans" + TAG_SEPARATOR + "CN")) {
             System.out.print(""); // debug
@@ -248,8 +342,23 @@ public class LikelySubtags {
         return minimize(input, OutputOption.ICU_LCVARIANT);
     }
 
-    public synchronized String minimize(String input, OutputOption oo) {
-        String maximized = maximize(input, toMaximized);
+    public String minimize(String input, OutputOption oo) {
+        if (input == null) {
+            return null;
+        }
+        final boolean favorRegion = this.favorRegion;
+        final Cache<MinimizeKey, Optional<String>> memo = minimizeMemo.get();
+        final MinimizeKey key = new MinimizeKey(input, oo, favorRegion);
+        Optional<String> result = memo.getIfPresent(key);
+        if (result == null) {
+            result = Optional.ofNullable(computeMinimize(input, oo, favorRegion));
+            memo.put(key, result);
+        }
+        return result.orElse(null);
+    }
+
+    private String computeMinimize(String input, OutputOption oo, boolean favorRegion) {
+        String maximized = maximize(input);
         if (maximized == null) {
             return null;
         }
@@ -278,7 +387,7 @@ public class LikelySubtags {
             language + TAG_SEPARATOR + (!favorRegion ? region : script)
         };
         for (String trial : trials) {
-            String newMaximized = maximize(trial, toMaximized);
+            String newMaximized = maximize(trial);
             if (maximizedCheck.equals(newMaximized)) {
                 if (variants.isEmpty() && extensions.isEmpty() && localeExtensions.isEmpty()) {
                     return trial;
@@ -0,0 +1,146 @@
+package org.unicode.cldr.util;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSortedMap;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import org.unicode.cldr.util.LocaleInheritanceInfo.Reason;
+
+/**
+ * The alias rewriting that resolution applies to a path when no locale in the chain has a value
+ * for it, built once from root's aliases and shared by every resolved locale over that root.
+ *
+ * <p>A path is rewritten by, in order of preference: an alias in root for the path or its longest
+ * aliased ancestor; removing an alt attribute; or replacing count attributes with "other" (or, for
+ * currency displayNames with count="other", removing them). The rewrite for each path is computed
+ * at most once, then memoized.
+ *
+ * <p>Get the table with {@link XMLSource#getAliasTable()} on root (or any resolved source, which
+ * uses root's). Thread-safe.
+ */
+public final class AliasTable {
+    static final Pattern COUNT_EQUALS = PatternCache.get("\\[@count=\"[^\"]*\"]");
+
+    /** Bounds alias chains, to catch cycles in the alias data */
+    private static final int MAX_CHAIN = 100;
+
+    /** Memoized "no rewrite" */
+    private static final LocaleInheritanceInfo NONE =
+            new LocaleInheritanceInfo(null, null, Reason.none);
+
+    private final NavigableMap<String, String> aliases;
+    private final Map<String, LocaleInheritanceInfo> steps = new ConcurrentHashMap<>();
+
+    /**
+     * @param aliases root's aliases, from the old (aliased) path to the new path
+     */
+    AliasTable(Map<String, String> aliases) {
+        this.aliases = ImmutableSortedMap.copyOf(aliases);
+    }
+
+    /** The root aliases the table was built from, from old path to new path. */
+    public NavigableMap<String, String> getAliases() {
+        return aliases;
+    }
+
+    /**
+     * Get the path that resolution tries next for the given path, or null if there is none.
+     *
+     * @param xpath a distinguishing path
+     */
+    public String getAliasedPath(String xpath) {
+        LocaleInheritanceInfo step = getStep(xpath);
+        return step == null ? null : step.getPath();
+    }
+
+    /**
+     * Get the single rewrite step for the given path, as the inheritance info that a trace of the
+     * lookup should show for it, or null if there is none. The info's path is the rewritten path.
+     *
+     * @param xpath a distinguishing path
+     */
+    public LocaleInheritanceInfo getStep(String xpath) {
+        LocaleInheritanceInfo step = steps.get(xpath);
+        if (step == null) {
+            step = computeStep(xpath);
+            steps.putIfAbsent(xpath, step);
+        }
+        return step == NONE ? null : step;
+    }
+
+    /**
+     * Get all the paths that resolution would try after the given path, in order, following
+     * aliases (and alt and count fallbacks) until there are no more. The last element is the final
+     * target. Empty if the path is not rewritten at all.
+     *
+     * @throws IllegalArgumentException if the aliases form a cycle
+     */
+    public List<String> getClosure(String xpath) {
+        Set<String> result = new LinkedHashSet<>();
+        for (String path = getAliasedPath(xpath); path != null; path = getAliasedPath(path)) {
+            if (!result.add(path) || result.size() > MAX_CHAIN) {
+                throw new IllegalArgumentException(
+                        "Alias cycle for " + xpath + ": " + new ArrayList<>(result));
+            }
+        }
+        return ImmutableList.copyOf(result);
+    }
+
+    /** Get the last path of {@link #getClosure(String)}, or the path itself if it is not rewritten */
+    public String getFinalTarget(String xpath) {
+        List<String> closure = getClosure(xpath);
+        return closure.isEmpty() ? xpath : closure.get(closure.size() - 1);
+    }
+
+    private LocaleInheritanceInfo computeStep(String xpath) {
+        String aliasedPath = aliases.get(xpath);
+        if (aliasedPath != null) {
+            // explicit, exact alias at this location
+            return new LocaleInheritanceInfo(XMLSource.ROOT_ID, aliasedPath, Reason.alias);
+        }
+        // Check if there is an alias for a subset xpath.
+        // If there are one or more matching aliases, lowerKey() will
+        // return the alias with the longest matching prefix since the
+        // map is sorted according to xpath.
+        String possibleSubpath = aliases.lowerKey(xpath);
+        if (possibleSubpath != null && xpath.startsWith(possibleSubpath)) {
+            aliasedPath =
+                    (aliases.get(possibleSubpath) + xpath.substring(possibleSubpath.length()))
+                            .intern();
+            // It's an explicit alias, just at a parent element (subset xpath)
+            return new LocaleInheritanceInfo(XMLSource.ROOT_ID, aliasedPath, Reason.alias);
+        }
+
+        // alts are special; they act like there is a root alias to the path without the alt.
+        if (xpath.contains("[@alt=")) {
+            aliasedPath = XPathParts.getPathWithoutAlt(xpath).intern();
+            return new LocaleInheritanceInfo(null, aliasedPath, Reason.removedAttribute, "alt");
+        }
+
+        // counts are special; they act like there is a root alias to 'other'
+        // and in the special case of currencies, other => null
+        // //ldml/numbers/currencies/currency[@type="BRZ"]/displayName[@count="other"] =>
+        // //ldml/numbers/currencies/currency[@type="BRZ"]/displayName
+        if (xpath.contains("[@count=")) {
+            aliasedPath = COUNT_EQUALS.matcher(xpath).replaceAll("[@count=\"other\"]").intern();
+            if (aliasedPath.equals(xpath)) {
+                if (!xpath.contains("/displayName")) {
+                    // the replacement failed, do not alias
+                    return NONE;
+                }
+                aliasedPath = COUNT_EQUALS.matcher(xpath).replaceAll("").intern();
+                if (aliasedPath.equals(xpath)) {
+                    throw new RuntimeException("Internal error");
+                }
+            }
+            return new LocaleInheritanceInfo(null, aliasedPath, Reason.changedAttribute, "count");
+        }
+        return NONE;
+    }
+}
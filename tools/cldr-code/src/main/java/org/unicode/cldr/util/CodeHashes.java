@@ -0,0 +1,115 @@
+package org.unicode.cldr.util;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.CodeSource;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Hashes of the running code, for keys of stored results (snapshots, manifests, caches) that must
+ * not be reused once the code that made them has changed.
+ *
+ * <p>The hash of a class is the hash of the whole jar, or directory of class files, that it was
+ * loaded from, since its results usually depend on much more than its own class file. Each jar or
+ * directory is only read once.
+ */
+public final class CodeHashes {
+    private static final Logger logger = Logger.getLogger(CodeHashes.class.getName());
+
+    /** Hash of each jar or class directory read so far; empty if it could not be read */
+    private static final Map<Path, Optional<String>> LOCATION_TO_HASH = new ConcurrentHashMap<>();
+
+    private CodeHashes() {}
+
+    /**
+     * A hash of the code that the classes were loaded from: the jar or class directory of each
+     * class, or where that can't be read, the class file itself. Classes from the same jar or
+     * directory only count once.
+     */
+    public static String getCodeFingerprint(Class<?>... classes) {
+        Set<String> parts = new LinkedHashSet<>();
+        for (Class<?> c : classes) {
+            parts.add(getCodeSourceHash(c).orElseGet(() -> getClassFingerprint(c)));
+        }
+        Hasher hasher = Hashing.sha256().newHasher();
+        for (String part : parts) {
+            hasher.putInt(part.length()).putString(part, StandardCharsets.UTF_8);
+        }
+        return hasher.hash().toString();
+    }
+
+    /**
+     * A hash of the jar, or the directory of class files, that the class was loaded from
+     *
+     * @return empty if it could not be read
+     */
+    public static Optional<String> getCodeSourceHash(Class<?> c) {
+        final Path location;
+        try {
+            final CodeSource source = c.getProtectionDomain().getCodeSource();
+            if (source == null || source.getLocation() == null) {
+                return Optional.empty();
+            }
+            location = Paths.get(source.getLocation().toURI());
+        } catch (URISyntaxException | SecurityException | IllegalArgumentException e) {
+            logger.warning("Could not find the code of " + c.getName() + ": " + e);
+            return Optional.empty();
+        }
+        return LOCATION_TO_HASH.computeIfAbsent(location, CodeHashes::hashLocation);
+    }
+
+    /** The class name and a hash of its class file, if it can be found */
+    public static String getClassFingerprint(Class<?> c) {
+        String name = c.getName();
+        String resource = name.substring(name.lastIndexOf('.') + 1) + ".class";
+        try (InputStream in = c.getResourceAsStream(resource)) {
+            if (in == null) {
+                return name;
+            }
+            return name + ":" + Hashing.sha256().hashBytes(in.readAllBytes());
+        } catch (IOException e) {
+            return name;
+        }
+    }
+
+    private static Optional<String> hashLocation(Path location) {
+        Hasher hasher = Hashing.sha256().newHasher();
+        try {
+            if (Files.isRegularFile(location)) {
+                hasher.putBytes(Files.readAllBytes(location));
+            } else if (Files.isDirectory(location)) {
+                try (Stream<Path> files = Files.walk(location)) {
+                    for (Path path :
+                            files.filter(f -> f.toString().endsWith(".class"))
+                                    .sorted()
+                                    .collect(Collectors.toList())) {
+                        String name = location.relativize(path).toString();
+                        hasher.putInt(name.length())
+                                .putString(name, StandardCharsets.UTF_8)
+                                .putBytes(Files.readAllBytes(path));
+                    }
+                }
+            } else {
+                return Optional.empty();
+            }
+        } catch (IOException | SecurityException e) {
+            logger.warning("Could not read the code in " + location + ": " + e);
+            return Optional.empty();
+        }
+        return Optional.of(hasher.hash().toString());
+    }
+}
@@ -1,8 +1,11 @@
 package org.unicode.cldr.util;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.ibm.icu.impl.Row.R2;
 import com.ibm.icu.text.StringTransform;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -12,6 +15,11 @@ import org.unicode.cldr.tool.LikelySubtags;
 import org.unicode.cldr.util.LanguageTagParser.OutputOption;
 import org.unicode.cldr.util.StandardCodes.LstrType;
 
+/**
+ * Canonicalizes language tags. Thread-safe: each call parses into its own LanguageTagParsers, and
+ * the results of transform(String) are kept in bounded concurrent caches, shared by the instances
+ * with the same minimization.
+ */
 public class LanguageTagCanonicalizer implements StringTransform {
 
     private static final SupplementalDataInfo info = SupplementalDataInfo.getInstance();
@@ -22,12 +30,25 @@ public class LanguageTagCanonicalizer implements StringTransform {
     private static final Map<String, Map<String, R2<List<String>, String>>> ALIASES =
             info.getLocaleAliasInfo();
 
+    /** The most results of transform(String) to keep, per minimization and OutputOption */
+    private static final int MEMO_SIZE = 20000;
+
+    private static final Map<OutputOption, Cache<String, String>> MEMO_NONE = newMemo();
+    private static final Map<OutputOption, Cache<String, String>> MEMO_SCRIPT = newMemo();
+    private static final Map<OutputOption, Cache<String, String>> MEMO_REGION = newMemo();
+
     private final LikelySubtags likely;
 
-    // instance variables, since they can change. The transform call is synchronized, however.
+    /** The results of transform(String, OutputOption), for this instance's minimization */
+    private final Map<OutputOption, Cache<String, String>> memo;
 
-    private final LanguageTagParser ltp1 = new LanguageTagParser();
-    private final LanguageTagParser ltp2 = new LanguageTagParser();
+    private static Map<OutputOption, Cache<String, String>> newMemo() {
+        final Map<OutputOption, Cache<String, String>> result = new EnumMap<>(OutputOption.class);
+        for (OutputOption oo : OutputOption.values()) {
+            result.put(oo, CacheBuilder.newBuilder().maximumSize(MEMO_SIZE).build());
+        }
+        return Collections.unmodifiableMap(result);
+    }
 
     /** Use a parameter to specify LIKELY_FAVOR_SCRIPT or no minimization */
     public LanguageTagCanonicalizer() {
@@ -59,6 +80,10 @@ public class LanguageTagCanonicalizer implements StringTransform {
                     likely = null;
             }
         }
+        memo =
+                likely == LIKELY_FAVOR_REGION
+                        ? MEMO_REGION
+                        : likely == LIKELY_FAVOR_SCRIPT ? MEMO_SCRIPT : MEMO_NONE;
     }
 
     /**
@@ -69,43 +94,25 @@ public class LanguageTagCanonicalizer implements StringTransform {
      */
     // TODO, handle variants
     @Override
-    public synchronized String transform(String locale) {
+    public String transform(String locale) {
         return transform(locale, OutputOption.ICU_LCVARIANT);
     }
 
-    public synchronized String transform(String locale, OutputOption oo) {
-        ltp1.set(locale);
-
-        copyFields2(
-                LanguageTagField.language,
-                getReplacement(
-                        LanguageTagField.language, LanguageTagField.language.get(ltp1), locale));
-        copyFields2(
-                LanguageTagField.script,
-                getReplacement(LanguageTagField.script, LanguageTagField.script.get(ltp1), locale));
-        copyFields2(
-                LanguageTagField.region,
-                getReplacement(LanguageTagField.region, LanguageTagField.region.get(ltp1), locale));
-
-        // special code for variants
-
-        List<String> originalVariants = ltp1.getVariants();
-        if (originalVariants.size() != 0) {
-            Set<String> newVariants = new TreeSet<>();
-            for (String item : originalVariants) {
-                String replacement = getReplacement(LanguageTagField.variant, item, locale);
-                if (replacement == null) {
-                    newVariants.add(item);
-                } else {
-                    copyFields2(LanguageTagField.variant, replacement);
-                    List<String> otherVariants = ltp2.getVariants();
-                    newVariants.addAll(otherVariants);
-                }
-            }
-            ltp1.setVariants(newVariants);
+    public String transform(String locale, OutputOption oo) {
+        final Cache<String, String> cache = memo.get(oo);
+        String result = cache.getIfPresent(locale);
+        if (result == null) {
+            result = computeTransform(locale, oo);
+            cache.put(locale, result);
         }
-        final String result = ltp1.toString(oo);
-        if ("und".equals(ltp1.getLanguage())) return result;
+        return result;
+    }
+
+    private String computeTransform(String locale, OutputOption oo) {
+        final LanguageTagParser ltp = new LanguageTagParser().set(locale);
+        transform(ltp, locale);
+        final String result = ltp.toString(oo);
+        if ("und".equals(ltp.getLanguage())) return result;
         if (likely == null) {
             return result;
         }
@@ -179,43 +186,65 @@ public class LanguageTagCanonicalizer implements StringTransform {
     /**
      * Copy fields from one language tag into another.
      *
+     * @param target the language tag to change
      * @param otherField
      * @param mainField - for this field, force a copy. For other fields, only copy if target is
      *     empty
+     * @return the parsed otherField, or null if there is none
      */
-    private void copyFields2(LanguageTagField mainField, String otherField) {
+    private static LanguageTagParser copyFields2(
+            LanguageTagParser target, LanguageTagField mainField, String otherField) {
         if (otherField == null) {
-            return;
+            return null;
         }
         // Note: could be optimized to only parts if there is an "_" in the replacement.
-        ltp2.set(mainField == LanguageTagField.language ? otherField : "und-" + otherField);
-        if (mainField == LanguageTagField.language || ltp1.getLanguage().length() == 0) {
-            ltp1.setLanguage(ltp2.getLanguage());
+        final LanguageTagParser other =
+                new LanguageTagParser()
+                        .set(
+                                mainField == LanguageTagField.language
+                                        ? otherField
+                                        : "und-" + otherField);
+        if (mainField == LanguageTagField.language || target.getLanguage().length() == 0) {
+            target.setLanguage(other.getLanguage());
         }
-        if (mainField == LanguageTagField.script || ltp1.getScript().length() == 0) {
-            ltp1.setScript(ltp2.getScript());
+        if (mainField == LanguageTagField.script || target.getScript().length() == 0) {
+            target.setScript(other.getScript());
         }
-        if (mainField == LanguageTagField.region || ltp1.getRegion().length() == 0) {
-            ltp1.setRegion(ltp2.getRegion());
+        if (mainField == LanguageTagField.region || target.getRegion().length() == 0) {
+            target.setRegion(other.getRegion());
         }
+        return other;
+    }
+
+    /** Canonicalize a language tag in place, without minimizing it */
+    public void transform(LanguageTagParser ltp) {
+        transform(ltp, ltp.toString(OutputOption.BCP47));
     }
 
-    public void transform(LanguageTagParser ltp1) {
-        String locale = ltp1.toString(OutputOption.BCP47);
+    /**
+     * Canonicalize a language tag in place
+     *
+     * @param ltp the parsed language tag
+     * @param locale the language tag as a string, for the regions that split
+     */
+    private void transform(LanguageTagParser ltp, String locale) {
         copyFields2(
+                ltp,
                 LanguageTagField.language,
                 getReplacement(
-                        LanguageTagField.language, LanguageTagField.language.get(ltp1), locale));
+                        LanguageTagField.language, LanguageTagField.language.get(ltp), locale));
         copyFields2(
+                ltp,
                 LanguageTagField.script,
-                getReplacement(LanguageTagField.script, LanguageTagField.script.get(ltp1), locale));
+                getReplacement(LanguageTagField.script, LanguageTagField.script.get(ltp), locale));
         copyFields2(
+                ltp,
                 LanguageTagField.region,
-                getReplacement(LanguageTagField.region, LanguageTagField.region.get(ltp1), locale));
+                getReplacement(LanguageTagField.region, LanguageTagField.region.get(ltp), locale));
 
         // special code for variants
 
-        List<String> originalVariants = ltp1.getVariants();
+        List<String> originalVariants = ltp.getVariants();
         if (originalVariants.size() != 0) {
             Set<String> newVariants = new TreeSet<>();
             for (String item : originalVariants) {
@@ -223,12 +252,12 @@ public class LanguageTagCanonicalizer implements StringTransform {
                 if (replacement == null) {
                     newVariants.add(item);
                 } else {
-                    copyFields2(LanguageTagField.variant, replacement);
-                    List<String> otherVariants = ltp2.getVariants();
-                    newVariants.addAll(otherVariants);
+                    LanguageTagParser other =
+                            copyFields2(ltp, LanguageTagField.variant, replacement);
+                    newVariants.addAll(other.getVariants());
                 }
             }
-            ltp1.setVariants(newVariants);
+            ltp.setVariants(newVariants);
         }
     }
 }
@@ -863,7 +863,12 @@ public class PathDescription {
             STANDARD_CODES.zoneParser.getZoneToCounty();
 
     static RegexLookup<String> parseLookupString() {
-        return new RegexLookup<String>().loadFromString(pathDescriptionString);
+        return parseLookupString(RegexLookup.LookupType.COMPILED_PATTERN_LOOKUP);
+    }
+
+    /** Parse the descriptions into a lookup of the given type, to compare the types */
+    static RegexLookup<String> parseLookupString(RegexLookup.LookupType type) {
+        return new RegexLookup<String>(type).loadFromString(pathDescriptionString);
     }
 
     private static final RegexLookup<String> pathHandling = parseLookupString();
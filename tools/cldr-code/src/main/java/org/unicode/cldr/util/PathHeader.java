@@ -616,8 +616,10 @@ public class PathHeader implements Comparable<PathHeader> {
 
     public static class Factory implements Transform<String, PathHeader> {
         static final RegexLookup<RawData> lookup =
-                RegexLookup.of(new PathHeaderTransform())
-                        .setPatternTransform(RegexLookup.RegexFinderTransformPath)
+                RegexLookup.<RawData>of(
+                                RegexLookup.LookupType.COMPILED_PATTERN_LOOKUP,
+                                RegexLookup.RegexFinderTransformPath)
+                        .setValueTransform(new PathHeaderTransform())
                         .loadFromFile(PathHeader.class, "data/PathHeader.txt");
         // synchronized with lookup
         static final Output<String[]> args = new Output<>();
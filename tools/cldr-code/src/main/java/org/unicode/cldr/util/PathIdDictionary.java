@@ -0,0 +1,81 @@
+package org.unicode.cldr.util;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide dictionary that gives each distinct xpath a small, dense int ID, so that the many
+ * per-locale structures over the same paths can be keyed by int instead of holding their own map
+ * entries keyed by String.
+ *
+ * <p>IDs start at 0, are assigned in order of first use, and are never removed or reused. Unlike
+ * {@link StringId}, they are only meaningful within one process, so they must not be persisted.
+ * Every path returned by {@link #getPath(int)} is the single canonical (interned) instance of that
+ * path. Thread-safe; lookups of known paths don't lock.
+ */
+public final class PathIdDictionary {
+    /** Returned by {@link #peekId(String)} for paths that have no ID. */
+    public static final int NO_ID = -1;
+
+    private static final ConcurrentHashMap<String, Integer> PATH_TO_ID =
+            new ConcurrentHashMap<>(1 << 16);
+    private static final Object ASSIGN_LOCK = new Object();
+    // written only under ASSIGN_LOCK, and always before the new ID is put into PATH_TO_ID
+    private static volatile String[] idToPath = new String[1 << 16];
+    private static volatile int size = 0;
+
+    private PathIdDictionary() {}
+
+    /** Get the ID for the path, assigning a new one if the path has not been seen before. */
+    public static int getId(String path) {
+        Integer id = PATH_TO_ID.get(path);
+        if (id != null) {
+            return id;
+        }
+        synchronized (ASSIGN_LOCK) {
+            id = PATH_TO_ID.get(path);
+            if (id != null) {
+                return id;
+            }
+            int newId = size;
+            String[] table = idToPath;
+            if (newId == table.length) {
+                table = Arrays.copyOf(table, table.length * 2);
+            }
+            path = path.intern();
+            table[newId] = path;
+            idToPath = table;
+            size = newId + 1;
+            PATH_TO_ID.put(path, newId);
+            return newId;
+        }
+    }
+
+    /** Get the ID for the path, or {@link #NO_ID} if it does not have one yet. */
+    public static int peekId(String path) {
+        Integer id = PATH_TO_ID.get(path);
+        return id == null ? NO_ID : id;
+    }
+
+    /**
+     * Get the canonical path for an ID returned by {@link #getId(String)}.
+     *
+     * @throws IllegalArgumentException if no such ID has been assigned
+     */
+    public static String getPath(int id) {
+        if (id < 0 || id >= size) {
+            throw new IllegalArgumentException("No path with id " + id);
+        }
+        return idToPath[id];
+    }
+
+    /** Get the canonical instance of the path, assigning an ID if needed. */
+    public static String getCanonical(String path) {
+        return getPath(getId(path));
+    }
+
+    /** The number of IDs assigned so far; all IDs are less than this. */
+    public static int size() {
+        return size;
+    }
+}
@@ -0,0 +1,122 @@
+package org.unicode.cldr.util;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Immutable map from paths to values, stored as parallel arrays keyed by {@link PathIdDictionary}
+ * ID (open addressing, linear probing). An entry costs two array slots rather than a map node, and
+ * the keys are the dictionary's canonical path instances, shared by every map over the same paths.
+ *
+ * <p>Immutable, so safe for concurrent reads. Used for the contents of frozen XMLSources.
+ */
+final class PathIdMap<V> extends AbstractMap<String, V> {
+    private static final int EMPTY = -1;
+
+    private final int[] ids;
+    private final Object[] values;
+    private final int mask;
+    private final int size;
+
+    PathIdMap(Map<String, V> source) {
+        int capacity = Integer.highestOneBit(Math.max(4, source.size() * 3 / 2)) << 1;
+        ids = new int[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        Arrays.fill(ids, EMPTY);
+        int count = 0;
+        for (Entry<String, V> entry : source.entrySet()) {
+            if (entry.getValue() == null) {
+                continue;
+            }
+            int id = PathIdDictionary.getId(entry.getKey());
+            int slot = slotFor(id);
+            if (ids[slot] == EMPTY) {
+                ids[slot] = id;
+                ++count;
+            }
+            values[slot] = entry.getValue();
+        }
+        size = count;
+    }
+
+    /** The slot holding id, or the empty slot where it would go */
+    private int slotFor(int id) {
+        int hash = id * 0x9E3779B9; // spread the dense ids over the table
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        while (ids[slot] != EMPTY && ids[slot] != id) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V get(Object key) {
+        if (!(key instanceof String)) {
+            return null;
+        }
+        int id = PathIdDictionary.peekId((String) key);
+        if (id == PathIdDictionary.NO_ID) {
+            return null;
+        }
+        return (V) values[slotFor(id)];
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Set<Entry<String, V>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, V>> iterator() {
+                return new Iterator<>() {
+                    private int slot = advance(0);
+
+                    private int advance(int from) {
+                        while (from < ids.length && ids[from] == EMPTY) {
+                            ++from;
+                        }
+                        return from;
+                    }
+
+                    @Override
+                    public boolean hasNext() {
+                        return slot < ids.length;
+                    }
+
+                    @SuppressWarnings("unchecked")
+                    @Override
+                    public Entry<String, V> next() {
+                        if (slot >= ids.length) {
+                            throw new NoSuchElementException();
+                        }
+                        Entry<String, V> result =
+                                new SimpleImmutableEntry<>(
+                                        PathIdDictionary.getPath(ids[slot]), (V) values[slot]);
+                        slot = advance(slot + 1);
+                        return result;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+}
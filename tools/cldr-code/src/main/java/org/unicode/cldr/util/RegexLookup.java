@@ -4,9 +4,11 @@ import com.google.common.base.Splitter;
 import com.ibm.icu.text.Transform;
 import com.ibm.icu.util.Output;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -37,12 +39,15 @@ public class RegexLookup<T> implements Iterable<Map.Entry<Finder, T>> {
     private Transform<String, ? extends T> valueTransform;
     private Merger<T> valueMerger;
     private final boolean allowNull = false;
-    private static PathStarrer pathStarrer = new PathStarrer().setSubstitutionPattern("*");
+    // PathStarrer keeps state between calls, so each thread needs its own
+    private static final ThreadLocal<PathStarrer> pathStarrer =
+            ThreadLocal.withInitial(() -> new PathStarrer().setSubstitutionPattern("*"));
 
     public enum LookupType {
         STAR_PATTERN_LOOKUP,
         OPTIMIZED_DIRECTORY_PATTERN_LOOKUP,
-        STANDARD
+        STANDARD,
+        COMPILED_PATTERN_LOOKUP
     }
 
     private LookupType _lookupType;
@@ -67,6 +72,17 @@ public class RegexLookup<T> implements Iterable<Map.Entry<Finder, T>> {
      * However regex's no longer need to follow any specific format (Slower but more versatile).
      */
 
+    /*
+     * COMPILED_PATTERN_LOOKUP
+     *
+     * Same results as STANDARD (the first pattern added that finds a match wins), for any patterns.
+     * Each RegexFinder's pattern is analyzed for a literal that any match must contain: a prefix for
+     * patterns starting with ^, which go into a trie, otherwise a substring, which go into an
+     * Aho-Corasick automaton. A lookup walks both along the source, so only the patterns whose
+     * literal is present are actually run; the cost depends on the length of the source and the
+     * number of real candidates, not on the number of patterns.
+     */
+
     public RegexLookup(LookupType type) {
         _lookupType = type;
         switch (type) {
@@ -78,6 +94,9 @@ public class RegexLookup<T> implements Iterable<Map.Entry<Finder, T>> {
                 //   RTEntries = new RegexTree<T>();
                 storage = new RegexTree<>();
                 break;
+            case COMPILED_PATTERN_LOOKUP:
+                storage = new CompiledPatternIndex<>();
+                break;
             default:
                 MEntries = new LinkedHashMap<>();
                 break;
@@ -109,16 +128,16 @@ public class RegexLookup<T> implements Iterable<Map.Entry<Finder, T>> {
         // must also define toString
     }
 
+    /**
+     * A Finder for a regex (compiled with Pattern.COMMENTS). Stateless: each call uses its own
+     * Matcher, so a RegexFinder can be used from many threads at once without locking.
+     */
     public static class RegexFinder extends Finder {
-        /** The matcher used by this RegexFinder */
-        private final Matcher matcher;
-
         /** The Pattern used by this RegexFinder */
         protected final Pattern pattern;
 
         public RegexFinder(String pattern) {
             this.pattern = Pattern.compile(pattern, Pattern.COMMENTS);
-            matcher = this.pattern.matcher("");
         }
 
         /**
@@ -127,22 +146,21 @@ public class RegexLookup<T> implements Iterable<Map.Entry<Finder, T>> {
          */
         @Override
         public boolean matches(String item, Object context, Info info) {
-            synchronized (matcher) {
-                try {
-                    boolean result = matcher.reset(item).matches();
-                    extractInfo(info, result);
-                    return result;
-                } catch (StringIndexOutOfBoundsException e) {
-                    // We don't know what causes this error (cldrbug 5051) so
-                    // make the exception message more detailed.
-                    throw new IllegalArgumentException(
-                            "Matching error caused by pattern: ["
-                                    + matcher.toString()
-                                    + "] on text: ["
-                                    + item
-                                    + "]",
-                            e);
-                }
+            Matcher matcher = pattern.matcher(item);
+            try {
+                boolean result = matcher.matches();
+                extractInfo(matcher, info, result);
+                return result;
+            } catch (StringIndexOutOfBoundsException e) {
+                // We don't know what causes this error (cldrbug 5051) so
+                // make the exception message more detailed.
+                throw new IllegalArgumentException(
+                        "Matching error caused by pattern: ["
+                                + matcher.toString()
+                                + "] on text: ["
+                                + item
+                                + "]",
+                        e);
             }
         }
 
@@ -150,10 +168,11 @@ public class RegexLookup<T> implements Iterable<Map.Entry<Finder, T>> {
          * Extract match related information into the info field, if result is true, and info is not
          * null.
          *
+         * @param matcher
          * @param info
          * @param result
          */
-        private void extractInfo(Info info, boolean result) {
+        private static void extractInfo(Matcher matcher, Info info, boolean result) {
             if (result && info != null) {
                 int limit = matcher.groupCount() + 1;
                 String[] value = new String[limit];
@@ -170,28 +189,26 @@ public class RegexLookup<T> implements Iterable<Map.Entry<Finder, T>> {
          */
         @Override
         public boolean find(String item, Object context, Info info) {
-            synchronized (matcher) {
-                try {
-                    boolean result = matcher.reset(item).find();
-                    extractInfo(info, result);
-                    return result;
-                } catch (StringIndexOutOfBoundsException e) {
-                    // We don't know what causes this error (cldrbug 5051) so
-                    // make the exception message more detailed.
-                    throw new IllegalArgumentException(
-                            "Matching error caused by pattern: ["
-                                    + matcher.toString()
-                                    + "] on text: ["
-                                    + item
-                                    + "]",
-                            e);
-                }
+            Matcher matcher = pattern.matcher(item);
+            try {
+                boolean result = matcher.find();
+                extractInfo(matcher, info, result);
+                return result;
+            } catch (StringIndexOutOfBoundsException e) {
+                // We don't know what causes this error (cldrbug 5051) so
+                // make the exception message more detailed.
+                throw new IllegalArgumentException(
+                        "Matching error caused by pattern: ["
+                                + matcher.toString()
+                                + "] on text: ["
+                                + item
+                                + "]",
+                        e);
             }
         }
 
         @Override
         public String toString() {
-            // Use pattern here, to avoid having to synchronize on matcher
             return pattern.pattern();
         }
 
@@ -211,9 +228,7 @@ public class RegexLookup<T> implements Iterable<Map.Entry<Finder, T>> {
 
         @Override
         public int getFailPoint(String source) {
-            synchronized (matcher) {
-                return RegexUtilities.findMismatch(matcher, source);
-            }
+            return RegexUtilities.findMismatch(pattern.matcher(""), source);
         }
     }
 
@@ -281,23 +296,14 @@ public class RegexLookup<T> implements Iterable<Map.Entry<Finder, T>> {
                 Output<String[]> firstInfo) {
             List<RTNode> list = new ArrayList<>();
             List<T> retList = new ArrayList<>();
+            // the arguments are per call, since the tree is shared between threads
+            Map<RTNode, String[]> arguments = new IdentityHashMap<>();
 
-            root.addToList(pattern, context, list);
+            root.addToList(pattern, context, list, arguments);
             Collections.sort(list, rankComparator);
 
-            boolean isFirst = true;
             if (firstInfo != null && !list.isEmpty()) {
-                RTNode firstNode = list.get(0);
-                if (firstNode._info != null) {
-                    firstInfo.value = firstNode._info.value;
-                }
-            }
-
-            for (RTNode n : list) {
-                if (isFirst) {
-                    firstInfo.value = n._info.value;
-                    isFirst = false;
-                }
+                firstInfo.value = arguments.get(list.get(0));
             }
 
             for (RTNode n : list) {
@@ -374,7 +380,6 @@ public class RegexLookup<T> implements Iterable<Map.Entry<Finder, T>> {
                 //                _finder = new RegexFinder(key);
                 //                _val = val;
                 //                _rank = -1;
-                _info = new Info();
             }
 
             public void put(RTNode node) {
@@ -536,38 +541,27 @@ public class RegexLookup<T> implements Iterable<Map.Entry<Finder, T>> {
                 }
             }
 
-            // traverse tree to get list of all values who's key matcher matches pattern
-            public void addToList(String pattern, Object context, List<RTNode> list) {
+            // traverse tree to get list of all values who's key matcher matches pattern, with the
+            // arguments of each match
+            public void addToList(
+                    String pattern,
+                    Object context,
+                    List<RTNode> list,
+                    Map<RTNode, String[]> arguments) {
                 if (_children.size() == 0) {
                     return;
                 } else {
                     Info firstInfo = new Info();
                     for (RTNode child : _children) {
-                        boolean found;
-                        synchronized (child._finder) {
-                            found = child._finder.find(pattern, context, firstInfo);
-                        }
-
                         // check if child matches pattern
-                        if (found) {
+                        if (child._finder.find(pattern, context, firstInfo)) {
                             if (child._rank != -1) {
                                 list.add(child);
                             }
-                            // if this node's info value is unset, set it to the result of the
-                            // lookup
-                            //                            if (child._info!=null &&
-                            // child._info.value==null) {
-                            if (child._info != null) {
-                                // set the value to the result of the last find
-                                child._info.value = firstInfo.value;
-                            } else {
-                                // for some reason, child._info is null, so simply initialize it.
-                                child._info = new Info();
-                                // set the value to the result of the last find
-                                child._info.value = firstInfo.value;
-                            }
+                            // the result of the last find
+                            arguments.put(child, firstInfo.value);
                             // check if child is the parent of node then enter that node
-                            child.addToList(pattern, context, list);
+                            child.addToList(pattern, context, list, arguments);
                         }
                     }
                 }
@@ -641,7 +635,7 @@ public class RegexLookup<T> implements Iterable<Map.Entry<Finder, T>> {
         public void put(Finder pattern, T value) {
             // System.out.println("pattern.toString() is => "+pattern.toString());
             String starPattern =
-                    pathStarrer.transform2(
+                    pathStarrer.get().transform2(
                             pattern.toString().replaceAll("\\(\\[\\^\"\\]\\*\\)", "*"));
             // System.out.println("Putting => "+starPattern);
             List<SPNode> candidates = _spmap.get(starPattern);
@@ -656,7 +650,7 @@ public class RegexLookup<T> implements Iterable<Map.Entry<Finder, T>> {
 
         @Override
         public T get(Finder finder) {
-            String starPattern = pathStarrer.transform2(finder.toString());
+            String starPattern = pathStarrer.get().transform2(finder.toString());
             List<SPNode> candidates = _spmap.get(starPattern);
             if (candidates == null) {
                 return null;
@@ -678,7 +672,7 @@ public class RegexLookup<T> implements Iterable<Map.Entry<Finder, T>> {
             List<SPNode> list = new ArrayList<>();
             List<T> retList = new ArrayList<>();
 
-            String starPattern = pathStarrer.transform2(pattern);
+            String starPattern = pathStarrer.get().transform2(pattern);
             List<SPNode> candidates = _spmap.get(starPattern);
             if (candidates == null) {
                 return retList;
@@ -765,7 +759,341 @@ public class RegexLookup<T> implements Iterable<Map.Entry<Finder, T>> {
     }
 
     /**
-     * The basic class of an information node, featuring a Finder, a value and an Info
+     * Storage for COMPILED_PATTERN_LOOKUP. Entries are kept in the order added (their rank). Each
+     * RegexFinder's pattern is analyzed for a literal that every match must contain: if the pattern
+     * starts with ^ it is a prefix, and the entry is indexed in a trie under it; otherwise it is
+     * a substring, and the entry is indexed in an Aho-Corasick automaton, which finds all the
+     * substrings in the source in one pass. Entries with no usable literal (or other Finders) are
+     * always candidates. A lookup gathers the candidates, then runs them in rank order.
+     */
+    static class CompiledPatternIndex<T> implements StorageInterfaceBase<T> {
+        private final List<NodeBase<T>> entries = new ArrayList<>();
+        private final Map<Finder, Integer> finderToRank = new HashMap<>();
+        private final TrieNode prefixTrie = new TrieNode();
+        // the automaton over the literals of the unanchored entries; its fail links are set by
+        // linkSubstrings before the next lookup after an entry is added
+        private final TrieNode substringTrie = new TrieNode();
+        private int substringCount = 0;
+        private volatile boolean substringsLinked = true;
+
+        /**
+         * A node of a trie, with the ranks of the entries whose literal ends here. In the substring
+         * automaton, fail is the node of the longest proper suffix of this node's string that is in
+         * the trie, and output the nearest node on the fail chain that has ranks.
+         */
+        private static class TrieNode {
+            char[] keys = new char[0];
+            TrieNode[] children = new TrieNode[0];
+            final IntList ranks = new IntList();
+            TrieNode fail;
+            TrieNode output;
+
+            TrieNode getChild(char ch) {
+                for (int i = 0; i < keys.length; ++i) {
+                    if (keys[i] == ch) {
+                        return children[i];
+                    }
+                }
+                return null;
+            }
+
+            TrieNode addChild(char ch) {
+                TrieNode result = getChild(ch);
+                if (result == null) {
+                    result = new TrieNode();
+                    keys = Arrays.copyOf(keys, keys.length + 1);
+                    children = Arrays.copyOf(children, children.length + 1);
+                    keys[keys.length - 1] = ch;
+                    children[children.length - 1] = result;
+                }
+                return result;
+            }
+        }
+
+        /** Minimal growable int array, to avoid boxing ranks. */
+        private static class IntList {
+            int[] items = new int[4];
+            int size;
+
+            void add(int item) {
+                if (size == items.length) {
+                    items = Arrays.copyOf(items, size * 2);
+                }
+                items[size++] = item;
+            }
+
+            void addAll(IntList other) {
+                for (int i = 0; i < other.size; ++i) {
+                    add(other.items[i]);
+                }
+            }
+        }
+
+        @Override
+        public int size() {
+            return entries.size();
+        }
+
+        @Override
+        public void put(Finder pattern, T value) {
+            Integer old = finderToRank.get(pattern);
+            if (old != null) {
+                NodeBase<T> node = entries.get(old);
+                node._finder = pattern;
+                node._val = value;
+                return;
+            }
+            int rank = entries.size();
+            entries.add(new NodeBase<>(pattern, value));
+            finderToRank.put(pattern, rank);
+
+            String source = pattern instanceof RegexFinder ? pattern.toString() : null;
+            boolean anchored = source != null && source.startsWith("^");
+            String literal = source == null ? "" : getRequiredLiteral(source, anchored ? 1 : 0);
+            if (anchored || literal.isEmpty()) {
+                // an empty prefix leaves it at the root, so it is always a candidate
+                TrieNode node = prefixTrie;
+                for (int i = 0; i < literal.length(); ++i) {
+                    node = node.addChild(literal.charAt(i));
+                }
+                node.ranks.add(rank);
+            } else {
+                TrieNode node = substringTrie;
+                for (int i = 0; i < literal.length(); ++i) {
+                    node = node.addChild(literal.charAt(i));
+                }
+                node.ranks.add(rank);
+                ++substringCount;
+                substringsLinked = false;
+            }
+        }
+
+        /** Set the fail and output links of the substring automaton, breadth first */
+        private synchronized void linkSubstrings() {
+            if (substringsLinked) {
+                return;
+            }
+            substringTrie.fail = null;
+            List<TrieNode> queue = new ArrayList<>();
+            for (TrieNode child : substringTrie.children) {
+                child.fail = substringTrie;
+                child.output = null;
+                queue.add(child);
+            }
+            for (int head = 0; head < queue.size(); ++head) {
+                TrieNode node = queue.get(head);
+                for (int i = 0; i < node.keys.length; ++i) {
+                    char ch = node.keys[i];
+                    TrieNode child = node.children[i];
+                    TrieNode fail = node.fail;
+                    while (fail != substringTrie && fail.getChild(ch) == null) {
+                        fail = fail.fail;
+                    }
+                    TrieNode next = fail.getChild(ch);
+                    child.fail = next == null ? substringTrie : next;
+                    child.output = child.fail.ranks.size > 0 ? child.fail : child.fail.output;
+                    queue.add(child);
+                }
+            }
+            substringsLinked = true;
+        }
+
+        @Override
+        public T get(Finder finder) {
+            Integer rank = finderToRank.get(finder);
+            return rank == null ? null : entries.get(rank)._val;
+        }
+
+        /** The ranks of all entries that could match source, in ascending order */
+        private int[] getCandidates(String source) {
+            IntList result = new IntList();
+            TrieNode node = prefixTrie;
+            result.addAll(node.ranks);
+            for (int i = 0; i < source.length(); ++i) {
+                node = node.getChild(source.charAt(i));
+                if (node == null) {
+                    break;
+                }
+                result.addAll(node.ranks);
+            }
+            if (substringCount > 0) {
+                if (!substringsLinked) {
+                    linkSubstrings();
+                }
+                int prefixCount = result.size;
+                node = substringTrie;
+                for (int i = 0; i < source.length(); ++i) {
+                    char ch = source.charAt(i);
+                    while (node != substringTrie && node.getChild(ch) == null) {
+                        node = node.fail;
+                    }
+                    TrieNode next = node.getChild(ch);
+                    node = next == null ? substringTrie : next;
+                    for (TrieNode found = node.ranks.size > 0 ? node : node.output;
+                            found != null;
+                            found = found.output) {
+                        result.addAll(found.ranks);
+                    }
+                }
+                if (result.size > prefixCount) {
+                    // a literal that occurs more than once is found more than once
+                    return sortUnique(result);
+                }
+            }
+            int[] candidates = Arrays.copyOf(result.items, result.size);
+            Arrays.sort(candidates);
+            return candidates;
+        }
+
+        private static int[] sortUnique(IntList list) {
+            int[] items = Arrays.copyOf(list.items, list.size);
+            Arrays.sort(items);
+            int size = 0;
+            for (int i = 0; i < items.length; ++i) {
+                if (size == 0 || items[size - 1] != items[i]) {
+                    items[size++] = items[i];
+                }
+            }
+            return size == items.length ? items : Arrays.copyOf(items, size);
+        }
+
+        @Override
+        public List<T> getAll(
+                String pattern,
+                Object context,
+                List<Finder> matcherList,
+                Output<String[]> firstInfo) {
+            List<T> retList = new ArrayList<>();
+            for (int rank : getCandidates(pattern)) {
+                NodeBase<T> node = entries.get(rank);
+                Info info = new Info();
+                if (node._finder.find(pattern, context, info)) {
+                    if (retList.isEmpty() && firstInfo != null) {
+                        firstInfo.value = info.value;
+                    }
+                    retList.add(node._val);
+                    if (matcherList != null) {
+                        matcherList.add(node._finder);
+                    }
+                }
+            }
+            return retList;
+        }
+
+        @Override
+        public T get(
+                String pattern,
+                Object context,
+                Output<String[]> arguments,
+                Output<Finder> matcherFound) {
+            for (int rank : getCandidates(pattern)) {
+                NodeBase<T> node = entries.get(rank);
+                Info info = new Info();
+                if (node._finder.find(pattern, context, info)) {
+                    if (arguments != null) {
+                        arguments.value = info.value;
+                    }
+                    if (matcherFound != null) {
+                        matcherFound.value = node._finder;
+                    }
+                    return node._val;
+                }
+            }
+            if (arguments != null) {
+                arguments.value = null;
+            }
+            if (matcherFound != null) {
+                matcherFound.value = null;
+            }
+            return null;
+        }
+
+        @Override
+        public Set<Entry<Finder, T>> entrySet() {
+            LinkedHashMap<Finder, T> ret = new LinkedHashMap<>();
+            for (NodeBase<T> node : entries) {
+                ret.put(node._finder, node._val);
+            }
+            return ret.entrySet();
+        }
+
+        @Override
+        public String toString() {
+            return "CompiledPatternIndex: "
+                    + entries.size()
+                    + " patterns, "
+                    + substringCount
+                    + " unanchored with literals";
+        }
+
+        /**
+         * Get a literal that every match of the (Pattern.COMMENTS) regex must contain: the run of
+         * literal characters starting at start, up to the first metacharacter. Returns "" if the
+         * pattern has a top-level alternation (which would make the run optional), or if it is too
+         * complex to be sure.
+         */
+        static String getRequiredLiteral(String regex, int start) {
+            if (regex.contains("\\Q") || hasTopLevelAlternation(regex)) {
+                return "";
+            }
+            StringBuilder result = new StringBuilder();
+            int i = start;
+            while (i < regex.length()) {
+                char ch = regex.charAt(i);
+                int width = 1;
+                if (ch == '\\') {
+                    if (i + 1 >= regex.length()) {
+                        break;
+                    }
+                    ch = regex.charAt(i + 1);
+                    if (ch < 0x80 && Character.isLetterOrDigit(ch)) {
+                        break; // a class like \d, a back reference, etc.
+                    }
+                    width = 2;
+                } else if ("[](){}.*+?|^$#".indexOf(ch) >= 0 || Character.isWhitespace(ch)) {
+                    break; // whitespace and # are not literal in COMMENTS mode
+                }
+                char next = i + width < regex.length() ? regex.charAt(i + width) : 0;
+                if (next == '*' || next == '?' || next == '{') {
+                    break; // ch is optional
+                }
+                result.append(ch);
+                i += width;
+                if (next == '+') {
+                    break;
+                }
+            }
+            return result.toString();
+        }
+
+        /** Is there a | outside of any group or character class? */
+        private static boolean hasTopLevelAlternation(String regex) {
+            int depth = 0;
+            boolean inClass = false;
+            for (int i = 0; i < regex.length(); ++i) {
+                char ch = regex.charAt(i);
+                if (ch == '\\') {
+                    ++i;
+                } else if (inClass) {
+                    if (ch == ']') {
+                        inClass = false;
+                    }
+                } else if (ch == '[') {
+                    inClass = true;
+                } else if (ch == '(') {
+                    ++depth;
+                } else if (ch == ')') {
+                    --depth;
+                } else if (ch == '|' && depth == 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * The basic class of an information node, featuring a Finder and a value
      *
      * @author ribnitz
      * @param <T>
@@ -773,7 +1101,6 @@ public class RegexLookup<T> implements Iterable<Map.Entry<Finder, T>> {
     private static class NodeBase<T> {
         Finder _finder;
         T _val;
-        Info _info = new Info();
 
         public NodeBase(Finder finder, T value) {
             this._finder = finder;
@@ -873,19 +1200,18 @@ public class RegexLookup<T> implements Iterable<Map.Entry<Finder, T>> {
                 for (Map.Entry<Finder, T> entry : storage.entrySet()) {
                     //                for (Map.Entry<Finder, T> entry : SPEntries.entrySet()) {
                     Finder matcher = entry.getKey();
-                    synchronized (matcher) {
-                        int failPoint = matcher.getFailPoint(source);
-                        String show =
-                                source.substring(0, failPoint)
-                                        + "☹"
-                                        + source.substring(failPoint)
-                                        + "\t"
-                                        + matcher.toString();
-                        failures.add(show);
-                    }
+                    int failPoint = matcher.getFailPoint(source);
+                    String show =
+                            source.substring(0, failPoint)
+                                    + "☹"
+                                    + source.substring(failPoint)
+                                    + "\t"
+                                    + matcher.toString();
+                    failures.add(show);
                 }
             }
-        } else if (_lookupType == RegexLookup.LookupType.OPTIMIZED_DIRECTORY_PATTERN_LOOKUP) {
+        } else if (_lookupType == RegexLookup.LookupType.OPTIMIZED_DIRECTORY_PATTERN_LOOKUP
+                || _lookupType == RegexLookup.LookupType.COMPILED_PATTERN_LOOKUP) {
             //      T ret = RTEntries.get(source, context, arguments, matcherFound);
             T ret = storage.get(source, context, arguments, matcherFound);
             if (ret != null) {
@@ -896,43 +1222,39 @@ public class RegexLookup<T> implements Iterable<Map.Entry<Finder, T>> {
                 for (Map.Entry<Finder, T> entry : storage.entrySet()) {
                     //                for (Map.Entry<Finder, T> entry : RTEntries.entrySet()) {
                     Finder matcher = entry.getKey();
-                    synchronized (matcher) {
-                        int failPoint = matcher.getFailPoint(source);
-                        String show =
-                                source.substring(0, failPoint)
-                                        + "☹"
-                                        + source.substring(failPoint)
-                                        + "\t"
-                                        + matcher.toString();
-                        failures.add(show);
-                    }
+                    int failPoint = matcher.getFailPoint(source);
+                    String show =
+                            source.substring(0, failPoint)
+                                    + "☹"
+                                    + source.substring(failPoint)
+                                    + "\t"
+                                    + matcher.toString();
+                    failures.add(show);
                 }
             }
         } else {
             // slow but versatile implementation
             for (Map.Entry<Finder, T> entry : MEntries.entrySet()) {
                 Finder matcher = entry.getKey();
-                synchronized (matcher) {
-                    Info firstInfo = new Info();
-                    if (matcher.find(source, context, firstInfo)) {
-                        if (arguments != null) {
-                            //                            arguments.value = matcher.getInfo();
-                            arguments.value = firstInfo.value;
-                        }
-                        if (matcherFound != null) {
-                            matcherFound.value = matcher;
-                        }
-                        return entry.getValue();
-                    } else if (failures != null) {
-                        int failPoint = matcher.getFailPoint(source);
-                        String show =
-                                source.substring(0, failPoint)
-                                        + "☹"
-                                        + source.substring(failPoint)
-                                        + "\t"
-                                        + matcher.toString();
-                        failures.add(show);
+                Info firstInfo = new Info();
+                if (matcher.find(source, context, firstInfo)) {
+                    if (arguments != null) {
+                        //                            arguments.value = matcher.getInfo();
+                        arguments.value = firstInfo.value;
                     }
+                    if (matcherFound != null) {
+                        matcherFound.value = matcher;
+                    }
+                    return entry.getValue();
+                } else if (failures != null) {
+                    int failPoint = matcher.getFailPoint(source);
+                    String show =
+                            source.substring(0, failPoint)
+                                    + "☹"
+                                    + source.substring(failPoint)
+                                    + "\t"
+                                    + matcher.toString();
+                    failures.add(show);
                 }
             }
         }
@@ -970,20 +1292,19 @@ public class RegexLookup<T> implements Iterable<Map.Entry<Finder, T>> {
                 for (Map.Entry<Finder, T> entry : storage.entrySet()) {
                     //                for (Map.Entry<Finder, T> entry : SPEntries.entrySet()) {
                     Finder matcher = entry.getKey();
-                    synchronized (matcher) {
-                        int failPoint = matcher.getFailPoint(source);
-                        String show =
-                                source.substring(0, failPoint)
-                                        + "☹"
-                                        + source.substring(failPoint)
-                                        + "\t"
-                                        + matcher.toString();
-                        failures.add(show);
-                    }
+                    int failPoint = matcher.getFailPoint(source);
+                    String show =
+                            source.substring(0, failPoint)
+                                    + "☹"
+                                    + source.substring(failPoint)
+                                    + "\t"
+                                    + matcher.toString();
+                    failures.add(show);
                 }
             }
             return null;
-        } else if (_lookupType == RegexLookup.LookupType.OPTIMIZED_DIRECTORY_PATTERN_LOOKUP) {
+        } else if (_lookupType == RegexLookup.LookupType.OPTIMIZED_DIRECTORY_PATTERN_LOOKUP
+                || _lookupType == RegexLookup.LookupType.COMPILED_PATTERN_LOOKUP) {
             Output<String[]> info = new Output<>();
             //            List<T> matches = RTEntries.getAll(source, context, matcherList,info);
             List<T> matches = storage.getAll(source, context, matcherList, info);
@@ -995,16 +1316,14 @@ public class RegexLookup<T> implements Iterable<Map.Entry<Finder, T>> {
                 for (Map.Entry<Finder, T> entry : storage.entrySet()) {
                     //                for (Map.Entry<Finder, T> entry : RTEntries.entrySet()) {
                     Finder matcher = entry.getKey();
-                    synchronized (matcher) {
-                        int failPoint = matcher.getFailPoint(source);
-                        String show =
-                                source.substring(0, failPoint)
-                                        + "☹"
-                                        + source.substring(failPoint)
-                                        + "\t"
-                                        + matcher.toString();
-                        failures.add(show);
-                    }
+                    int failPoint = matcher.getFailPoint(source);
+                    String show =
+                            source.substring(0, failPoint)
+                                    + "☹"
+                                    + source.substring(failPoint)
+                                    + "\t"
+                                    + matcher.toString();
+                    failures.add(show);
                 }
             }
             return null;
@@ -1051,6 +1370,7 @@ public class RegexLookup<T> implements Iterable<Map.Entry<Finder, T>> {
                 entrySet = storage.entrySet();
                 break;
             case OPTIMIZED_DIRECTORY_PATTERN_LOOKUP:
+            case COMPILED_PATTERN_LOOKUP:
                 //            entrySet = RTEntries.entrySet();
                 entrySet = storage.entrySet();
                 break;
@@ -1223,6 +1543,7 @@ public class RegexLookup<T> implements Iterable<Map.Entry<Finder, T>> {
         switch (_lookupType) {
             case STAR_PATTERN_LOOKUP: // fallthrough
             case OPTIMIZED_DIRECTORY_PATTERN_LOOKUP:
+            case COMPILED_PATTERN_LOOKUP:
                 old = storage.get(pattern);
                 //            old = SPEntries.get(pattern);
                 break;
@@ -1239,6 +1560,7 @@ public class RegexLookup<T> implements Iterable<Map.Entry<Finder, T>> {
             switch (_lookupType) {
                 case STAR_PATTERN_LOOKUP: // fallthrough
                 case OPTIMIZED_DIRECTORY_PATTERN_LOOKUP:
+                case COMPILED_PATTERN_LOOKUP:
                     storage.put(pattern, target);
                     //                SPEntries.put(pattern, target);
                     break;
@@ -1269,6 +1591,7 @@ public class RegexLookup<T> implements Iterable<Map.Entry<Finder, T>> {
         switch (_lookupType) {
             case STAR_PATTERN_LOOKUP: // fall through
             case OPTIMIZED_DIRECTORY_PATTERN_LOOKUP:
+            case COMPILED_PATTERN_LOOKUP:
                 //            return
                 // Collections.unmodifiableCollection(SPEntries.entrySet()).iterator();
                 return Collections.unmodifiableCollection(storage.entrySet()).iterator();
@@ -1315,6 +1638,7 @@ public class RegexLookup<T> implements Iterable<Map.Entry<Finder, T>> {
         switch (_lookupType) {
             case STAR_PATTERN_LOOKUP: // fall through
             case OPTIMIZED_DIRECTORY_PATTERN_LOOKUP:
+            case COMPILED_PATTERN_LOOKUP:
                 //            return SPEntries.size();
                 return storage.size();
                 //        case OPTIMIZED_DIRECTORY_PATTERN_LOOKUP:
@@ -92,6 +92,12 @@ public class SimpleXMLSource extends XMLSource {
 
     @Override
     public XMLSource freeze() {
+        if (!locked) {
+            // A frozen source never changes, so its maps can be compacted into arrays keyed by path
+            // ID. cloneAsThawed() copies them back into concurrent maps.
+            xpath_value = new PathIdMap<>(xpath_value);
+            xpath_fullXPath = new PathIdMap<>(xpath_fullXPath);
+        }
         locked = true;
         return this;
     }
@@ -108,12 +114,12 @@ public class SimpleXMLSource extends XMLSource {
 
     @Override
     public void putFullPathAtDPath(String distinguishingXPath, String fullxpath) {
-        xpath_fullXPath.put(distinguishingXPath.intern(), fullxpath.intern());
+        xpath_fullXPath.put(PathIdDictionary.getCanonical(distinguishingXPath), fullxpath.intern());
     }
 
     @Override
     public void putValueAtDPath(String distinguishingXPath, String value) {
-        distinguishingXPath = distinguishingXPath.intern();
+        distinguishingXPath = PathIdDictionary.getCanonical(distinguishingXPath);
         String oldValue = xpath_value.get(distinguishingXPath);
         xpath_value.put(distinguishingXPath, value);
         updateValuePathMapping(distinguishingXPath, oldValue, value);
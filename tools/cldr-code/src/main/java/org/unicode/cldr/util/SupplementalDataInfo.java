@@ -6,7 +6,10 @@ import com.google.common.base.Joiner;
 import com.google.common.base.Splitter;
 import com.google.common.base.Supplier;
 import com.google.common.base.Suppliers;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.ImmutableSetMultimap;
 import com.google.common.collect.Multimap;
@@ -44,7 +47,6 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
-import java.util.Deque;
 import java.util.EnumMap;
 import java.util.EnumSet;
 import java.util.HashMap;
@@ -979,8 +981,14 @@ public class SupplementalDataInfo {
     public Map<Row.R2<String, String>, String> bcp47Preferred = new TreeMap<>();
     public Map<Row.R2<String, String>, String> bcp47Deprecated = new TreeMap<>();
 
-    Map<String, Map<String, Bcp47KeyInfo>> bcp47KeyToSubtypeToInfo = new TreeMap<>();
-    Map<String, Map<String, String>> bcp47KeyToAliasToSubtype = new TreeMap<>();
+    /** The info for each BCP47 key and subtype, built on first use from the maps above */
+    private static final class Bcp47KeyInfoMaps {
+        Map<String, Map<String, Bcp47KeyInfo>> keyToSubtypeToInfo = new TreeMap<>();
+        Map<String, Map<String, String>> keyToAliasToSubtype = new TreeMap<>();
+    }
+
+    private final Supplier<Bcp47KeyInfoMaps> bcp47KeyInfoMaps =
+            Suppliers.memoize(this::makeBcp47KeyInfoMaps);
 
     public Map<String, String> bcp47ValueType = new TreeMap<>();
 
@@ -1085,67 +1093,252 @@ public class SupplementalDataInfo {
             }
             // reaching here means we have not cached the entry
             File directory = new File(normalizedPath);
-            instance = new SupplementalDataInfo(directory);
-            MyHandler myHandler = instance.new MyHandler();
+            instance = load(directory, readSnapshot(directory));
+            // cache
+            //            directory_instance.put(supplementalDirectory, instance);
+            directory_instance.put(normalizedPath, instance);
+            //            if (!normalizedPath.equals(supplementalDirectory)) {
+            //                directory_instance.put(normalizedPath, instance);
+            //            }
+            return instance;
+        }
+    }
+
+    /**
+     * The snapshot of the directory's files (see {@link SupplementalDataSnapshot}), if
+     * CLDR_SNAPSHOT_DIR is set and there is an up-to-date one there, otherwise null.
+     */
+    private static SupplementalDataSnapshot readSnapshot(File directory) {
+        File snapshots = XMLNormalizingLoader.getSnapshotDirectory();
+        if (snapshots == null) {
+            return null;
+        }
+        return SupplementalDataSnapshot.read(
+                SupplementalDataSnapshot.getSnapshotFile(snapshots, directory), directory);
+    }
+
+    /**
+     * Build a new instance from the files of a supplemental directory
+     *
+     * @param snapshot if not null, the snapshot of the files to read instead of parsing them
+     */
+    static SupplementalDataInfo load(File directory, SupplementalDataSnapshot snapshot) {
+        SupplementalDataInfo instance = new SupplementalDataInfo(directory);
+        instance.snapshot = snapshot;
+        MyHandler myHandler = instance.new MyHandler(null);
+        if (snapshot != null) {
+            for (String file : snapshot.getFiles()) {
+                myHandler.file = file;
+                snapshot.replay(file, myHandler);
+                myHandler.cleanup();
+            }
+        } else {
             XMLFileReader xfr = new XMLFileReader().setHandler(myHandler);
-            File files1[] = directory.listFiles();
-            if (files1 == null || files1.length == 0) {
-                throw new ICUUncheckedIOException(
-                        "Error: Supplemental files missing from " + directory.getAbsolutePath());
-            }
-            // get bcp47 files also
-            File bcp47dir = instance.getBcp47Directory();
-            if (!bcp47dir.isDirectory()) {
-                throw new ICUUncheckedIOException(
-                        "Error: BCP47 dir is not a directory: " + bcp47dir.getAbsolutePath());
-            }
-            File files2[] = bcp47dir.listFiles();
-            if (files2 == null || files2.length == 0) {
-                throw new ICUUncheckedIOException(
-                        "Error: BCP47 files missing from " + bcp47dir.getAbsolutePath());
-            }
-
-            CBuilder<File, ArrayList<File>> builder = Builder.with(new ArrayList<File>());
-            builder.addAll(files1);
-            builder.addAll(files2);
-            for (File file : builder.get()) {
+            for (File file : getSupplementalFiles(directory)) {
                 if (DEBUG) {
                     System.out.println(getNormalizedPathString(file));
                 }
-                String name = file.toString();
-                String shortName = file.getName();
-                if (!shortName.endsWith(".xml")
-                        || // skip non-XML
-                        shortName.startsWith("#")
-                        || // skip other junk files
-                        shortName.startsWith(".")) continue; // skip dot files (backups, etc)
-                xfr.read(name, -1, true);
+                myHandler.file = getFileName(file);
+                xfr.read(file.toString(), -1, true);
                 myHandler.cleanup();
             }
+        }
 
-            // xfr = new XMLFileReader().setHandler(instance.new MyHandler());
-            // .xfr.read(normalizedPath + "/supplementalMetadata.xml", -1, true);
+        // xfr = new XMLFileReader().setHandler(instance.new MyHandler());
+        // .xfr.read(normalizedPath + "/supplementalMetadata.xml", -1, true);
 
-            instance.makeStuffSafe();
-            // cache
-            //            directory_instance.put(supplementalDirectory, instance);
-            directory_instance.put(normalizedPath, instance);
-            //            if (!normalizedPath.equals(supplementalDirectory)) {
-            //                directory_instance.put(normalizedPath, instance);
-            //            }
-            return instance;
+        instance.makeStuffSafe();
+        return instance;
+    }
+
+    /**
+     * Fill the tables of a section (see {@link Section}) from the files that have its paths
+     *
+     * @return true, so that it can be memoized
+     */
+    private Boolean loadSection(Section section) {
+        MyHandler myHandler = new MyHandler(section);
+        if (snapshot != null) {
+            for (String file : sectionToFiles.get(section)) {
+                myHandler.file = file;
+                snapshot.replay(file, myHandler);
+                myHandler.cleanup();
+            }
+        } else {
+            // the pairs kept when the files were parsed, so they are not parsed again
+            final ArrayList<String> pairs = sectionToPairs.get(section);
+            for (int i = 0; i < pairs.size(); i += 2) {
+                myHandler.handlePathValue(pairs.get(i), pairs.get(i + 1));
+            }
+            pairs.clear();
+            pairs.trimToSize();
+        }
+        finishSection(section);
+        return Boolean.TRUE;
+    }
+
+    /** Make sure that the tables of a section are filled, before reading them */
+    private void ensureLoaded(Section section) {
+        sectionLoaded.get(section).get();
+    }
+
+    /**
+     * The name of a supplemental file relative to the common directory, such as
+     * supplemental/plurals.xml, as in the snapshot
+     */
+    static String getFileName(File file) {
+        return file.getParentFile().getName() + "/" + file.getName();
+    }
+
+    /** The XML files read from a supplemental directory and the bcp47 directory next to it */
+    static List<File> getSupplementalFiles(File directory) {
+        File files1[] = directory.listFiles();
+        if (files1 == null || files1.length == 0) {
+            throw new ICUUncheckedIOException(
+                    "Error: Supplemental files missing from " + directory.getAbsolutePath());
+        }
+        // get bcp47 files also
+        File bcp47dir = getBcp47Directory(directory);
+        if (!bcp47dir.isDirectory()) {
+            throw new ICUUncheckedIOException(
+                    "Error: BCP47 dir is not a directory: " + bcp47dir.getAbsolutePath());
+        }
+        File files2[] = bcp47dir.listFiles();
+        if (files2 == null || files2.length == 0) {
+            throw new ICUUncheckedIOException(
+                    "Error: BCP47 files missing from " + bcp47dir.getAbsolutePath());
+        }
+
+        CBuilder<File, ArrayList<File>> builder = Builder.with(new ArrayList<File>());
+        builder.addAll(files1);
+        builder.addAll(files2);
+        List<File> result = new ArrayList<>();
+        for (File file : builder.get()) {
+            String shortName = file.getName();
+            if (!shortName.endsWith(".xml")
+                    || // skip non-XML
+                    shortName.startsWith("#")
+                    || // skip other junk files
+                    shortName.startsWith(".")) continue; // skip dot files (backups, etc)
+            result.add(file);
+        }
+        return result;
+    }
+
+    /** Create clean structure */
+    private Bcp47KeyInfoMaps makeBcp47KeyInfoMaps() {
+        final Bcp47KeyInfoMaps result = new Bcp47KeyInfoMaps();
+        for (Entry<String, Set<String>> entry : bcp47Extension2Keys.keyValuesSet()) {
+            for (String key : entry.getValue()) {
+                Map<String, Bcp47KeyInfo> subtypeToInfo = result.keyToSubtypeToInfo.get(key);
+                if (subtypeToInfo == null) {
+                    result.keyToSubtypeToInfo.put(key, subtypeToInfo = new TreeMap<>());
+                }
+                Map<String, String> aliasToRegular = result.keyToAliasToSubtype.get(key);
+                if (aliasToRegular == null) {
+                    result.keyToAliasToSubtype.put(key, aliasToRegular = new TreeMap<>());
+                }
+                for (String subtype : bcp47Key2Subtypes.get(key)) {
+                    final R2<String, String> pair = R2.of(key, subtype);
+                    final Set<String> aliases = bcp47Aliases.get(pair);
+                    final Bcp47KeyInfo info =
+                            new Bcp47KeyInfo(
+                                    aliases,
+                                    bcp47Descriptions.get(pair),
+                                    bcp47Since.get(pair),
+                                    bcp47Preferred.get(pair),
+                                    bcp47Deprecated.get(pair));
+                    subtypeToInfo.put(subtype, info);
+                    final Map<String, String> aliasToRegularFinal = aliasToRegular;
+                    if (aliases != null) {
+                        aliases.forEach(x -> aliasToRegularFinal.put(x, subtype));
+                    }
+                }
+            }
         }
+        result.keyToSubtypeToInfo = CldrUtility.protectCollection(result.keyToSubtypeToInfo);
+        result.keyToAliasToSubtype = CldrUtility.protectCollection(result.keyToAliasToSubtype);
+        return result;
     }
 
     private File getBcp47Directory() {
-        return new File(getDirectory().getParent(), "bcp47");
+        return getBcp47Directory(getDirectory());
+    }
+
+    /** The bcp47 directory next to a supplemental directory */
+    private static File getBcp47Directory(File supplementalDirectory) {
+        return new File(supplementalDirectory.getParent(), "bcp47");
     }
 
     private SupplementalDataInfo(File directory) {
         this.directory = directory;
         this.validity = Validity.getInstance(directory.toString() + "/../validity/");
+        for (Section section : Section.values()) {
+            sectionToFiles.put(section, new LinkedHashSet<>());
+            sectionToPairs.put(section, new ArrayList<>());
+            sectionLoaded.put(section, Suppliers.memoize(() -> loadSection(section)));
+        }
     } // hide
 
+    /**
+     * Groups of tables that are filled from the files on first use rather than when the instance
+     * is loaded, since most tools only need a few of them. When the instance is loaded, the paths
+     * of a section are not handled. If it is loaded from a snapshot, only the files that have them
+     * are noted, and the first call to a getter of the section replays those files, passing only
+     * the section's paths to the handler. Otherwise the parsed paths and values are kept until
+     * that first call, so that no file is parsed twice.
+     */
+    private enum Section {
+        /** territoryInfo: the population of territories and of languages in them */
+        POPULATION,
+        /** metazoneInfo and mapTimezones: metazones, and the metazone and Windows zone maps */
+        METAZONES,
+        /** dayPeriodRuleSet */
+        DAY_PERIODS,
+        /** unit constants, conversions, quantities, preferences, prefixes and components */
+        UNITS;
+
+        private static final Set<String> UNIT_ELEMENTS =
+                ImmutableSet.of(
+                        "unitIdComponents",
+                        "unitPrefixes",
+                        "unitConstants",
+                        "unitQuantities",
+                        "convertUnits",
+                        "unitPreferenceData");
+
+        /** The section of a path, or null if it is handled when the instance is loaded */
+        static Section of(String level1, String level2) {
+            if (level1.equals("territoryInfo")) {
+                return POPULATION;
+            } else if ("metazoneInfo".equals(level2) || "mapTimezones".equals(level2)) {
+                return METAZONES;
+            } else if (level1.equals("dayPeriodRuleSet")) {
+                return DAY_PERIODS;
+            } else if (UNIT_ELEMENTS.contains(level1)) {
+                return UNITS;
+            }
+            return null;
+        }
+    }
+
+    /** The snapshot the instance was loaded from, to replay the sections from, or null */
+    private SupplementalDataSnapshot snapshot;
+
+    /**
+     * The files that have paths of each section, see {@link #getFileName(File)}; only when loaded
+     * from a snapshot
+     */
+    private final Map<Section, Set<String>> sectionToFiles = new EnumMap<>(Section.class);
+
+    /**
+     * The paths and values of each section, alternating, until the section is filled; only when
+     * loaded from the XML files
+     */
+    private final Map<Section, ArrayList<String>> sectionToPairs = new EnumMap<>(Section.class);
+
+    private final Map<Section, Supplier<Boolean>> sectionLoaded = new EnumMap<>(Section.class);
+
     public static class Bcp47KeyInfo {
         public Bcp47KeyInfo(
                 Set<String> aliases,
@@ -1176,25 +1369,19 @@ public class SupplementalDataInfo {
 
     private void makeStuffSafe() {
         // now make stuff safe
-        allLanguages.addAll(languageToPopulation.keySet());
-        allLanguages.addAll(baseLanguageToPopulation.keySet());
-        allLanguages = Collections.unmodifiableSet(allLanguages);
         skippedElements = Collections.unmodifiableSet(skippedElements);
         zone_territory = Collections.unmodifiableMap(zone_territory);
         alias_zone = Collections.unmodifiableMap(alias_zone);
         references = Collections.unmodifiableMap(references);
-        likelySubtags = Collections.unmodifiableMap(likelySubtags);
+        likelySubtags = ImmutableMap.copyOf(likelySubtags);
         likelyOrigins = Collections.unmodifiableMap(likelyOrigins);
         currencyToCurrencyNumberInfo = Collections.unmodifiableMap(currencyToCurrencyNumberInfo);
         territoryToCurrencyDateInfo.freeze();
         // territoryToTelephoneCodeInfo.freeze();
         territoryToTelephoneCodeInfo = Collections.unmodifiableMap(territoryToTelephoneCodeInfo);
 
-        typeToZoneToRegionToZone = CldrUtility.protectCollection(typeToZoneToRegionToZone);
         typeToTagToReplacement = CldrUtility.protectCollection(typeToTagToReplacement);
 
-        zoneToMetaZoneRanges.freeze();
-
         containment.freeze();
         containmentCore.freeze();
         //        containmentNonDeprecated.freeze();
@@ -1204,38 +1391,12 @@ public class SupplementalDataInfo {
         containerToSubdivision.freeze();
 
         CldrUtility.protectCollection(languageToBasicLanguageData);
-        for (String language : languageToTerritories2.keySet()) {
-            for (Pair<Boolean, Pair<Double, String>> pair :
-                    languageToTerritories2.getAll(language)) {
-                languageToTerritories.put(language, pair.getSecond().getSecond());
-            }
-        }
-        languageToTerritories2 = null; // free up the memory.
-        languageToTerritories.freeze();
         zone_aliases.freeze();
-        languageToScriptVariants.freeze();
 
         numericTerritoryMapping.freeze();
         alpha3TerritoryMapping.freeze();
         numericCurrencyCodeMapping.freeze();
 
-        // freeze contents
-        for (String language : languageToPopulation.keySet()) {
-            languageToPopulation.get(language).freeze();
-        }
-        for (String language : baseLanguageToPopulation.keySet()) {
-            baseLanguageToPopulation.get(language).freeze();
-        }
-        for (String territory : territoryToPopulationData.keySet()) {
-            territoryToPopulationData.get(territory).freeze();
-        }
-        for (String territory : territoryToLanguageToPopulationData.keySet()) {
-            Map<String, PopulationData> languageToPopulationDataTemp =
-                    territoryToLanguageToPopulationData.get(territory);
-            for (String language : languageToPopulationDataTemp.keySet()) {
-                languageToPopulationDataTemp.get(language).freeze();
-            }
-        }
         localeToPluralInfo2.put(
                 PluralType.cardinal,
                 Collections.unmodifiableMap(localeToPluralInfo2.get(PluralType.cardinal)));
@@ -1248,10 +1409,6 @@ public class SupplementalDataInfo {
             pluralRanges.freeze();
         }
 
-        if (lastDayPeriodLocales != null) {
-            addDayPeriodInfo();
-        }
-        typeToLocaleToDayPeriodInfo = CldrUtility.protectCollection(typeToLocaleToDayPeriodInfo);
         languageMatch = CldrUtility.protectCollection(languageMatch);
 
         bcp47Extension2Keys.freeze();
@@ -1269,57 +1426,11 @@ public class SupplementalDataInfo {
         CldrUtility.protectCollection(bcp47Preferred);
         CldrUtility.protectCollection(bcp47Deprecated);
 
-        // create clean structure
-
-        for (Entry<String, Set<String>> entry : bcp47Extension2Keys.keyValuesSet()) {
-            for (String key : entry.getValue()) {
-                Map<String, Bcp47KeyInfo> subtypeToInfo = bcp47KeyToSubtypeToInfo.get(key);
-                if (subtypeToInfo == null) {
-                    bcp47KeyToSubtypeToInfo.put(key, subtypeToInfo = new TreeMap<>());
-                }
-                Map<String, String> aliasToRegular = bcp47KeyToAliasToSubtype.get(key);
-                if (aliasToRegular == null) {
-                    bcp47KeyToAliasToSubtype.put(key, aliasToRegular = new TreeMap<>());
-                }
-                for (String subtype : bcp47Key2Subtypes.get(key)) {
-                    final R2<String, String> pair = R2.of(key, subtype);
-                    final Set<String> aliases = bcp47Aliases.get(pair);
-                    final Bcp47KeyInfo info =
-                            new Bcp47KeyInfo(
-                                    aliases,
-                                    bcp47Descriptions.get(pair),
-                                    bcp47Since.get(pair),
-                                    bcp47Preferred.get(pair),
-                                    bcp47Deprecated.get(pair));
-                    subtypeToInfo.put(subtype, info);
-                    final Map<String, String> aliasToRegularFinal = aliasToRegular;
-                    if (aliases != null) {
-                        aliases.forEach(x -> aliasToRegularFinal.put(x, subtype));
-                    }
-                }
-            }
-        }
-        bcp47KeyToSubtypeToInfo = CldrUtility.protectCollection(bcp47KeyToSubtypeToInfo);
-        bcp47KeyToAliasToSubtype = CldrUtility.protectCollection(bcp47KeyToAliasToSubtype);
-
         CoverageLevelInfo.fixEU(coverageLevels, this);
         coverageLevels = CldrUtility.protectCollection(coverageLevels);
 
         measurementData = CldrUtility.protectCollection(measurementData);
 
-        final Map<String, R2<List<String>, String>> unitAliases =
-                typeToTagToReplacement.get("unit");
-        if (unitAliases != null) { // don't load unless the information is there (for old releases);
-            unitConverter.addAliases(unitAliases);
-        }
-        unitConverter.freeze();
-        rationalParser.freeze();
-        unitPreferences.freeze();
-
-        unitIdComponentType = CldrUtility.protectCollection(unitIdComponentType);
-
-        unitPrefixInfo = CldrUtility.protectCollection(unitPrefixInfo);
-
         timeData = CldrUtility.protectCollection(timeData);
 
         validityInfo = CldrUtility.protectCollection(validityInfo);
@@ -1333,25 +1444,74 @@ public class SupplementalDataInfo {
         localeToGrammarDerivation = CldrUtility.protectCollection(localeToGrammarDerivation);
         personNameOrder = CldrUtility.protectCollection(personNameOrder);
 
-        ImmutableSet.Builder<String> newScripts = ImmutableSet.<String>builder();
-        Map<Validity.Status, Set<String>> scripts =
-                Validity.getInstance().getStatusToCodes(LstrType.script);
-        for (Entry<Status, Set<String>> e : scripts.entrySet()) {
-            switch (e.getKey()) {
-                case regular:
-                case special:
-                case unknown:
-                    newScripts.addAll(e.getValue());
-                    break;
-                default:
-                    break; // do nothing
-            }
-        }
-        CLDRScriptCodes = newScripts.build();
         CLDRLanguageCodes = CldrUtility.protectCollection(CLDRLanguageCodes);
         languageNonTcLtBasic = CldrUtility.protectCollection(languageNonTcLtBasic);
     }
 
+    /** Make the tables of a section safe, once they are filled */
+    private void finishSection(Section section) {
+        switch (section) {
+            case POPULATION:
+                allLanguages.addAll(languageToPopulation.keySet());
+                allLanguages.addAll(baseLanguageToPopulation.keySet());
+                allLanguages = Collections.unmodifiableSet(allLanguages);
+                for (String language : languageToTerritories2.keySet()) {
+                    for (Pair<Boolean, Pair<Double, String>> pair :
+                            languageToTerritories2.getAll(language)) {
+                        languageToTerritories.put(language, pair.getSecond().getSecond());
+                    }
+                }
+                languageToTerritories2 = null; // free up the memory.
+                languageToTerritories.freeze();
+                languageToScriptVariants.freeze();
+
+                // freeze contents
+                for (String language : languageToPopulation.keySet()) {
+                    languageToPopulation.get(language).freeze();
+                }
+                for (String language : baseLanguageToPopulation.keySet()) {
+                    baseLanguageToPopulation.get(language).freeze();
+                }
+                for (String territory : territoryToPopulationData.keySet()) {
+                    territoryToPopulationData.get(territory).freeze();
+                }
+                for (String territory : territoryToLanguageToPopulationData.keySet()) {
+                    Map<String, PopulationData> languageToPopulationDataTemp =
+                            territoryToLanguageToPopulationData.get(territory);
+                    for (String language : languageToPopulationDataTemp.keySet()) {
+                        languageToPopulationDataTemp.get(language).freeze();
+                    }
+                }
+                break;
+            case METAZONES:
+                typeToZoneToRegionToZone = CldrUtility.protectCollection(typeToZoneToRegionToZone);
+                zoneToMetaZoneRanges.freeze();
+                break;
+            case DAY_PERIODS:
+                if (lastDayPeriodLocales != null) {
+                    addDayPeriodInfo();
+                }
+                typeToLocaleToDayPeriodInfo =
+                        CldrUtility.protectCollection(typeToLocaleToDayPeriodInfo);
+                break;
+            case UNITS:
+                final Map<String, R2<List<String>, String>> unitAliases =
+                        typeToTagToReplacement.get("unit");
+                // don't load unless the information is there (for old releases);
+                if (unitAliases != null && unitConverter != null) {
+                    unitConverter.addAliases(unitAliases);
+                }
+                // unitConverter is frozen on first use, see getUnitConverter()
+                rationalParser.freeze();
+                unitPreferences.freeze();
+
+                unitIdComponentType = CldrUtility.protectCollection(unitIdComponentType);
+
+                unitPrefixInfo = CldrUtility.protectCollection(unitPrefixInfo);
+                break;
+        }
+    }
+
     /**
      * Core function used to process each of the paths, and add the data to the appropriate data
      * member.
@@ -1359,6 +1519,16 @@ public class SupplementalDataInfo {
     class MyHandler extends XMLFileReader.SimpleHandler {
         private static final double MAX_POPULATION = 3000000000.0;
 
+        /** The section whose paths are handled, or null for those of no section */
+        private final Section section;
+
+        /** The file being read, see {@link #getFileName(File)} */
+        String file;
+
+        MyHandler(Section section) {
+            this.section = section;
+        }
+
         LanguageTagParser languageTagParser =
                 null; // postpone assignment until needed, to avoid re-entrance of
 
@@ -1398,6 +1568,20 @@ public class SupplementalDataInfo {
                     }
                     return;
                 }
+                final Section pathSection = Section.of(level1, level2);
+                if (pathSection != section) {
+                    if (section == null) {
+                        // filled on first use
+                        if (snapshot != null) {
+                            sectionToFiles.get(pathSection).add(file);
+                        } else {
+                            final ArrayList<String> pairs = sectionToPairs.get(pathSection);
+                            pairs.add(path);
+                            pairs.add(value);
+                        }
+                    }
+                    return;
+                }
 
                 // copy the rest from ShowLanguages later
                 if (level0.equals("ldmlBCP47")) {
@@ -1521,7 +1705,8 @@ public class SupplementalDataInfo {
                 // this helps for updates
 
                 final String skipKey = level1 + (level2 == null ? "" : "/" + level2);
-                if (!skippedElements.contains(skipKey)) {
+                // sections are filled after skippedElements is made unmodifiable
+                if (section == null && !skippedElements.contains(skipKey)) {
                     skippedElements.add(skipKey);
                 }
                 // System.out.println("Skipped Element: " + path);
@@ -1700,7 +1885,8 @@ public class SupplementalDataInfo {
             final String status = parts.getAttributeValue(-1, "status");
             if (unitConverter == null) {
                 unitConverter =
-                        new UnitConverter(rationalParser, validity, x -> getUnitIdComponentType(x));
+                        new UnitConverter(
+                                rationalParser, validity, x -> lookupUnitIdComponentType(x));
             }
             unitConverter.addQuantityInfo(baseUnit, quantity, status);
             return true;
@@ -2499,17 +2685,62 @@ public class SupplementalDataInfo {
     private Set<ParentLocaleComponent> parentLocalesSkipNonLikely =
             EnumSet.noneOf(ParentLocaleComponent.class);
     private Map<String, List<String>> calendarPreferences = new HashMap<>();
-    private Map<String, CoverageVariableInfo> localeSpecificVariables = new TreeMap<>();
+    private final Map<String, CoverageVariableInfo> localeSpecificVariables =
+            new ConcurrentHashMap<>();
     private VariableReplacer coverageVariables = new VariableReplacer();
     private Map<String, NumberingSystemInfo> numberingSystems = new HashMap<>();
     private Set<String> numericSystems = new TreeSet<>();
     private Set<String> defaultContentLocales;
-    public Map<CLDRLocale, CLDRLocale> baseToDefaultContent; // wo -> wo_Arab_SN
-    public Map<CLDRLocale, CLDRLocale> defaultContentToBase; // wo_Arab_SN -> wo
+
+    /** The default content locales and their bases, as CLDRLocales */
+    private static final class DefaultContentMaps {
+        Map<CLDRLocale, CLDRLocale> baseToDefaultContent; // wo -> wo_Arab_SN
+        Map<CLDRLocale, CLDRLocale> defaultContentToBase; // wo_Arab_SN -> wo
+    }
+
+    private final Supplier<DefaultContentMaps> defaultContentMaps =
+            Suppliers.memoize(this::makeDefaultContentMaps);
+
+    /**
+     * The same as {@link DefaultContentMaps#baseToDefaultContent}; null until the default content
+     * is first queried.
+     *
+     * @deprecated use {@link #getDefaultContentFromBase(CLDRLocale)}
+     */
+    @Deprecated
+    public volatile Map<CLDRLocale, CLDRLocale> baseToDefaultContent; // wo -> wo_Arab_SN
+
+    /**
+     * The same as {@link DefaultContentMaps#defaultContentToBase}; null until the default content
+     * is first queried.
+     *
+     * @deprecated use {@link #getBaseFromDefaultContent(CLDRLocale)}
+     */
+    @Deprecated
+    public volatile Map<CLDRLocale, CLDRLocale> defaultContentToBase; // wo_Arab_SN -> wo
+
     private Set<String> CLDRLanguageCodes = new TreeSet<>();
     private Set<String> languageNonTcLtBasic = new TreeSet<>();
 
-    private Set<String> CLDRScriptCodes;
+    private final Supplier<Set<String>> CLDRScriptCodes =
+            Suppliers.memoize(
+                    () -> {
+                        ImmutableSet.Builder<String> newScripts = ImmutableSet.<String>builder();
+                        Map<Validity.Status, Set<String>> scripts =
+                                Validity.getInstance().getStatusToCodes(LstrType.script);
+                        for (Entry<Status, Set<String>> e : scripts.entrySet()) {
+                            switch (e.getKey()) {
+                                case regular:
+                                case special:
+                                case unknown:
+                                    newScripts.addAll(e.getValue());
+                                    break;
+                                default:
+                                    break; // do nothing
+                            }
+                        }
+                        return newScripts.build();
+                    });
 
     /**
      * Get the population data for a language. Warning: if the language has script variants, cycle
@@ -2519,18 +2750,22 @@ public class SupplementalDataInfo {
      * @return
      */
     public PopulationData getLanguagePopulationData(String language) {
+        ensureLoaded(Section.POPULATION);
         return languageToPopulation.get(language);
     }
 
     public PopulationData getBaseLanguagePopulationData(String language) {
+        ensureLoaded(Section.POPULATION);
         return baseLanguageToPopulation.get(language);
     }
 
     public Set<String> getLanguages() {
+        ensureLoaded(Section.POPULATION);
         return allLanguages;
     }
 
     public Set<String> getTerritoryToLanguages(String territory) {
+        ensureLoaded(Section.POPULATION);
         Map<String, PopulationData> result = territoryToLanguageToPopulationData.get(territory);
         if (result == null) {
             return Collections.emptySet();
@@ -2539,6 +2774,7 @@ public class SupplementalDataInfo {
     }
 
     public PopulationData getLanguageAndTerritoryPopulationData(String language, String territory) {
+        ensureLoaded(Section.POPULATION);
         Map<String, PopulationData> result = territoryToLanguageToPopulationData.get(territory);
         if (result == null) {
             return null;
@@ -2547,10 +2783,12 @@ public class SupplementalDataInfo {
     }
 
     public Set<String> getTerritoriesWithPopulationData() {
+        ensureLoaded(Section.POPULATION);
         return territoryToLanguageToPopulationData.keySet();
     }
 
     public Set<String> getLanguagesForTerritoryWithPopulationData(String territory) {
+        ensureLoaded(Section.POPULATION);
         Map<String, PopulationData> languageToPopulationMap =
                 territoryToLanguageToPopulationData.get(territory);
         return languageToPopulationMap == null
@@ -2644,10 +2882,12 @@ public class SupplementalDataInfo {
     }
 
     public Set<String> getTerritoriesForPopulationData(String language) {
+        ensureLoaded(Section.POPULATION);
         return languageToTerritories.getAll(language);
     }
 
     public Set<String> getLanguagesForTerritoriesPopulationData() {
+        ensureLoaded(Section.POPULATION);
         return languageToTerritories.keySet();
     }
 
@@ -2686,8 +2926,7 @@ public class SupplementalDataInfo {
      * @return
      */
     public Set<CLDRLocale> getDefaultContentCLDRLocales() {
-        initCLDRLocaleBasedData();
-        return defaultContentToBase.keySet();
+        return defaultContentMaps.get().defaultContentToBase.keySet();
     }
 
     /**
@@ -2732,8 +2971,7 @@ public class SupplementalDataInfo {
      * @return
      */
     public CLDRLocale getBaseFromDefaultContent(CLDRLocale dcLocale) {
-        initCLDRLocaleBasedData();
-        return defaultContentToBase.get(dcLocale);
+        return defaultContentMaps.get().defaultContentToBase.get(dcLocale);
     }
 
     /**
@@ -2744,8 +2982,7 @@ public class SupplementalDataInfo {
      * @return
      */
     public CLDRLocale getDefaultContentFromBase(CLDRLocale baseLocale) {
-        initCLDRLocaleBasedData();
-        return baseToDefaultContent.get(baseLocale);
+        return defaultContentMaps.get().baseToDefaultContent.get(baseLocale);
     }
 
     /**
@@ -2755,9 +2992,8 @@ public class SupplementalDataInfo {
      * @return
      */
     public boolean isDefaultContent(CLDRLocale dcLocale) {
-        initCLDRLocaleBasedData();
         if (dcLocale == null) throw new NullPointerException("null locale");
-        return (defaultContentToBase.get(dcLocale) != null);
+        return (defaultContentMaps.get().defaultContentToBase.get(dcLocale) != null);
     }
 
     public Set<String> getNumberingSystems() {
@@ -2793,109 +3029,13 @@ public class SupplementalDataInfo {
      * @return
      */
     public Level getCoverageLevel(String xpath, String loc) {
-        Level result = null;
-        result = coverageCache.get(xpath, loc);
-        if (result == null) {
-            CoverageLevel2 cov = localeToCoverageLevelInfo.get(loc);
-            if (cov == null) {
-                cov = CoverageLevel2.getInstance(this, loc);
-                localeToCoverageLevelInfo.put(loc, cov);
-            }
-
-            result = cov.getLevel(xpath);
-            coverageCache.put(xpath, loc, result);
-        }
-        return result;
-    }
-
-    /**
-     * Cache Data structure with object expiry, List that can hold up to MAX_LOCALES caches of
-     * locales, when one locale hasn't been used for a while it will removed and GC'd
-     */
-    private class CoverageCache {
-        private final Deque<Node> localeList = new LinkedList<>();
-        private final int MAX_LOCALES = 10;
-
-        /** Object to sync on for modifying the locale list */
-        private final Object LOCALE_LIST_ITER_SYNC = new Object();
-
-        /*
-         * constructor
-         */
-        public CoverageCache() {
-            //            localeList = new LinkedList<Node>();
-        }
-
-        /*
-         * retrieves coverage level associated with two keys if it exists in the cache, otherwise returns null
-         * @param xpath
-         * @param loc
-         * @return the coverage level of the above two keys
-         */
-        public Level get(String xpath, String loc) {
-            synchronized (LOCALE_LIST_ITER_SYNC) {
-                Iterator<Node> it = localeList.iterator();
-                Node reAddNode = null;
-                while (it.hasNext()) {
-                    //            for (Iterator<Node> it = localeList.iterator(); it.hasNext();) {
-                    Node node = it.next();
-                    if (node.loc.equals(loc)) {
-                        reAddNode = node;
-                        it.remove();
-                        break;
-                    }
-                }
-                if (reAddNode != null) {
-                    localeList.addFirst(reAddNode);
-                    return reAddNode.map.get(xpath);
-                }
-                return null;
-            }
-        }
-
-        /*
-         * places a coverage level into the cache, with two keys
-         * @param xpath
-         * @param loc
-         * @param covLevel    the coverage level of the above two keys
-         */
-        public void put(String xpath, String loc, Level covLevel) {
-            synchronized (LOCALE_LIST_ITER_SYNC) {
-                // if locale's map is already in the cache add to it
-                //            for (Iterator<Node> it = localeList.iterator(); it.hasNext();) {
-                for (Node node : localeList) {
-                    //                Node node = it.next();
-                    if (node.loc.equals(loc)) {
-                        node.map.put(xpath, covLevel);
-                        return;
-                    }
-                }
-
-                // if it is not, add a new map with the coverage level, and remove the last map in
-                // the list (used most seldom) if the list is too large
-                Map<String, Level> newMap = new ConcurrentHashMap<>();
-                newMap.put(xpath, covLevel);
-                localeList.addFirst(new Node(loc, newMap));
-
-                if (localeList.size() > MAX_LOCALES) {
-                    localeList.removeLast();
-                }
-            }
-        }
-
-        /*
-         * node to hold a location and a Map
-         */
-        private class Node {
-            // public fields to emulate a C/C++ struct
-            public String loc;
-            public Map<String, Level> map;
-
-            public Node(String _loc, Map<String, Level> _map) {
-                loc = _loc;
-                map = _map;
-            }
+        CoverageLevel2 cov = localeToCoverageLevelInfo.getIfPresent(loc);
+        if (cov == null) {
+            cov = CoverageLevel2.getInstance(this, loc);
+            localeToCoverageLevelInfo.put(loc, cov);
         }
+        // CoverageLevel2 memoizes the level of each path itself
+        return cov.getLevel(xpath);
     }
 
     /**
@@ -2910,44 +3050,50 @@ public class SupplementalDataInfo {
         return getCoverageLevel(xpath, loc).getLevel();
     }
 
-    private RegexLookup<Level> coverageLookup = null;
-
-    public synchronized RegexLookup<Level> getCoverageLookup() {
-        if (coverageLookup == null) {
-            RegexLookup<Level> lookup =
-                    new RegexLookup<>(RegexLookup.LookupType.STAR_PATTERN_LOOKUP);
+    private final Supplier<RegexLookup<Level>> coverageLookup =
+            Suppliers.memoize(
+                    () -> makeCoverageLookup(RegexLookup.LookupType.COMPILED_PATTERN_LOOKUP));
 
-            Matcher variable = PatternCache.get("\\$\\{[A-Za-z][\\-A-Za-z]*\\}").matcher("");
+    public RegexLookup<Level> getCoverageLookup() {
+        return coverageLookup.get();
+    }
 
-            for (CoverageLevelInfo ci : getCoverageLevelInfo()) {
-                String pattern =
-                        ci.match
-                                .replace('\'', '"')
-                                .replace("[@", "\\[@") // make sure that attributes are quoted
-                                .replace("(", "(?:") // make sure that there are no capturing groups
-                                // (beyond what we generate
-                                .replace("(?:?!", "(?!"); // Allow negative lookahead
-                pattern = "^//ldml/" + pattern + "$"; // for now, force a complete match
-                String variableType = null;
-                variable.reset(pattern);
+    /**
+     * Make a new coverage lookup with the given type of storage. {@link #getCoverageLookup()} is
+     * the one to use; this is for comparing the types.
+     */
+    public RegexLookup<Level> makeCoverageLookup(RegexLookup.LookupType type) {
+        RegexLookup<Level> lookup = new RegexLookup<>(type);
+
+        Matcher variable = PatternCache.get("\\$\\{[A-Za-z][\\-A-Za-z]*\\}").matcher("");
+
+        for (CoverageLevelInfo ci : getCoverageLevelInfo()) {
+            String pattern =
+                    ci.match
+                            .replace('\'', '"')
+                            .replace("[@", "\\[@") // make sure that attributes are quoted
+                            .replace("(", "(?:") // make sure that there are no capturing groups
+                            // (beyond what we generate
+                            .replace("(?:?!", "(?!"); // Allow negative lookahead
+            pattern = "^//ldml/" + pattern + "$"; // for now, force a complete match
+            String variableType = null;
+            variable.reset(pattern);
+            if (variable.find()) {
+                pattern =
+                        pattern.substring(0, variable.start())
+                                + "([^\"]*)"
+                                + pattern.substring(variable.end());
+                variableType = variable.group();
                 if (variable.find()) {
-                    pattern =
-                            pattern.substring(0, variable.start())
-                                    + "([^\"]*)"
-                                    + pattern.substring(variable.end());
-                    variableType = variable.group();
-                    if (variable.find()) {
-                        throw new IllegalArgumentException(
-                                "We can only handle a single variable on a line");
-                    }
+                    throw new IllegalArgumentException(
+                            "We can only handle a single variable on a line");
                 }
-
-                // .replaceAll("\\]","\\\\]");
-                lookup.add(new CoverageLevel2.MyRegexFinder(pattern, variableType, ci), ci.value);
             }
-            coverageLookup = lookup;
+
+            // .replaceAll("\\]","\\\\]");
+            lookup.add(new CoverageLevel2.MyRegexFinder(pattern, variableType, ci), ci.value);
         }
-        return coverageLookup;
+        return lookup;
     }
 
     /**
@@ -3056,20 +3202,16 @@ public class SupplementalDataInfo {
         return Collections.unmodifiableMap(langToScriptsRegions);
     }
 
-    private static Map<String, BasicLanguageData> languageToScriptsAndRegions = null;
+    private final Supplier<Map<String, BasicLanguageData>> languageToScriptsAndRegions =
+            Suppliers.memoize(this::doMapLanguagesToScriptsRegion);
 
-    private synchronized Map<String, BasicLanguageData> getLanguageToScriptsAndRegions() {
-        if (languageToScriptsAndRegions == null) {
-            languageToScriptsAndRegions = doMapLanguagesToScriptsRegion();
-        }
-        return languageToScriptsAndRegions;
+    private Map<String, BasicLanguageData> getLanguageToScriptsAndRegions() {
+        return languageToScriptsAndRegions.get();
     }
 
     public CoverageVariableInfo getCoverageVariableInfo(String targetLanguage) {
-        CoverageVariableInfo cvi;
-        if (localeSpecificVariables.containsKey(targetLanguage)) {
-            cvi = localeSpecificVariables.get(targetLanguage);
-        } else {
+        CoverageVariableInfo cvi = localeSpecificVariables.get(targetLanguage);
+        if (cvi == null) {
             cvi = new CoverageVariableInfo();
             cvi.targetScripts = getTargetScripts(targetLanguage);
             cvi.targetTerritories = getTargetTerritories(targetLanguage);
@@ -3077,7 +3219,11 @@ public class SupplementalDataInfo {
             cvi.targetCurrencies = getCurrentCurrencies(cvi.targetTerritories);
             cvi.targetTimeZones = getCurrentTimeZones(cvi.targetTerritories);
             cvi.targetPlurals = getTargetPlurals(targetLanguage);
-            localeSpecificVariables.put(targetLanguage, cvi);
+            final CoverageVariableInfo old =
+                    localeSpecificVariables.putIfAbsent(targetLanguage, cvi);
+            if (old != null) {
+                cvi = old;
+            }
         }
         return cvi;
     }
@@ -3467,10 +3613,12 @@ public class SupplementalDataInfo {
     }
 
     public PopulationData getPopulationDataForTerritory(String territory) {
+        ensureLoaded(Section.POPULATION);
         return territoryToPopulationData.get(territory);
     }
 
     public Set<String> getScriptVariantsForPopulationData(String language) {
+        ensureLoaded(Section.POPULATION);
         return languageToScriptVariants.getAll(language);
     }
 
@@ -3479,6 +3627,7 @@ public class SupplementalDataInfo {
     }
 
     public Map<String, Map<String, String>> getMetazoneToRegionToZone() {
+        ensureLoaded(Section.METAZONES);
         return typeToZoneToRegionToZone.get("metazones");
     }
 
@@ -3501,6 +3650,7 @@ public class SupplementalDataInfo {
     }
 
     public Map<String, Map<String, Map<String, String>>> getTypeToZoneToRegionToZone() {
+        ensureLoaded(Section.METAZONES);
         return typeToZoneToRegionToZone;
     }
 
@@ -3508,10 +3658,12 @@ public class SupplementalDataInfo {
      * @deprecated, use PathHeader.getMetazonePageTerritory
      */
     public Map<String, String> getMetazoneToContinentMap() {
+        ensureLoaded(Section.METAZONES);
         return metazoneContinentMap;
     }
 
     public Set<String> getAllMetazones() {
+        ensureLoaded(Section.METAZONES);
         return allMetazones;
     }
 
@@ -3588,8 +3740,10 @@ public class SupplementalDataInfo {
 
     private Map<DayPeriodInfo.Type, Map<String, DayPeriodInfo>> typeToLocaleToDayPeriodInfo =
             new EnumMap<>(DayPeriodInfo.Type.class);
-    private Map<String, CoverageLevel2> localeToCoverageLevelInfo = new ConcurrentHashMap<>();
-    private CoverageCache coverageCache = new CoverageCache();
+    private static final int MAX_COVERAGE_LOCALES = 50;
+    // bounded, since each CoverageLevel2 holds a memo of the levels of the paths it has seen
+    private final Cache<String, CoverageLevel2> localeToCoverageLevelInfo =
+            CacheBuilder.newBuilder().maximumSize(MAX_COVERAGE_LOCALES).build();
     private transient String lastPluralLocales = "";
     private transient PluralType lastPluralWasOrdinal = null;
     private transient Map<Count, String> lastPluralMap = new EnumMap<>(Count.class);
@@ -4551,6 +4705,7 @@ public class SupplementalDataInfo {
     }
 
     public DayPeriodInfo getDayPeriods(DayPeriodInfo.Type type, String locale) {
+        ensureLoaded(Section.DAY_PERIODS);
         Map<String, DayPeriodInfo> map1 = typeToLocaleToDayPeriodInfo.get(type);
         while (locale != null) {
             DayPeriodInfo result = map1.get(locale);
@@ -4563,6 +4718,7 @@ public class SupplementalDataInfo {
     }
 
     public Set<String> getDayPeriodLocales(DayPeriodInfo.Type type) {
+        ensureLoaded(Section.DAY_PERIODS);
         return typeToLocaleToDayPeriodInfo.get(type).keySet();
     }
 
@@ -4721,7 +4877,20 @@ public class SupplementalDataInfo {
         return bcp47ValueType;
     }
 
-    static Set<String> MainTimeZones;
+    private final Supplier<Set<String>> mainTimeZones =
+            Suppliers.memoize(
+                    () -> {
+                        Set<String> result = new TreeSet<>();
+                        for (Entry<R2<String, String>, Set<String>> entry :
+                                getBcp47Aliases().keyValuesSet()) {
+                            R2<String, String> subtype_aliases = entry.getKey();
+                            if (!subtype_aliases.get0().equals("timezone")) {
+                                continue;
+                            }
+                            result.add(entry.getValue().iterator().next());
+                        }
+                        return Collections.unmodifiableSet(result);
+                    });
 
     /**
      * Return canonical timezones
@@ -4729,25 +4898,11 @@ public class SupplementalDataInfo {
      * @return
      */
     public Set<String> getCanonicalTimeZones() {
-        synchronized (SupplementalDataInfo.class) {
-            if (MainTimeZones == null) {
-                MainTimeZones = new TreeSet<>();
-                SupplementalDataInfo info = SupplementalDataInfo.getInstance();
-                for (Entry<R2<String, String>, Set<String>> entry :
-                        info.getBcp47Aliases().keyValuesSet()) {
-                    R2<String, String> subtype_aliases = entry.getKey();
-                    if (!subtype_aliases.get0().equals("timezone")) {
-                        continue;
-                    }
-                    MainTimeZones.add(entry.getValue().iterator().next());
-                }
-                MainTimeZones = Collections.unmodifiableSet(MainTimeZones);
-            }
-            return MainTimeZones;
-        }
+        return mainTimeZones.get();
     }
 
     public Set<MetaZoneRange> getMetaZoneRanges(String zone) {
+        ensureLoaded(Section.METAZONES);
         return zoneToMetaZoneRanges.get(zone);
     }
 
@@ -4759,6 +4914,7 @@ public class SupplementalDataInfo {
      * @return
      */
     public MetaZoneRange getMetaZoneRange(String zone, long date) {
+        ensureLoaded(Section.METAZONES);
         Set<MetaZoneRange> metazoneRanges = zoneToMetaZoneRanges.get(zone);
         if (metazoneRanges != null) {
             for (MetaZoneRange metazoneRange : metazoneRanges) {
@@ -4827,77 +4983,79 @@ public class SupplementalDataInfo {
     }
 
     public Set<String> getCLDRScriptCodes() {
-        return CLDRScriptCodes;
+        return CLDRScriptCodes.get();
     }
 
     public boolean isCLDRScriptCode(String code) {
-        return CLDRScriptCodes.contains(code);
+        return CLDRScriptCodes.get().contains(code);
     }
 
-    private synchronized void initCLDRLocaleBasedData() throws InternalError {
+    private DefaultContentMaps makeDefaultContentMaps() throws InternalError {
         // This initialization depends on SDI being initialized.
-        if (defaultContentToBase == null) {
-            Map<CLDRLocale, CLDRLocale> p2c = new TreeMap<>();
-            Map<CLDRLocale, CLDRLocale> c2p = new TreeMap<>();
-            TreeSet<CLDRLocale> tmpAllLocales = new TreeSet<>();
-            // copied from SupplementalData.java - CLDRLocale based
-            for (String l : defaultContentLocales) {
-                CLDRLocale child = CLDRLocale.getInstance(l);
-                tmpAllLocales.add(child);
-            }
-
-            for (CLDRLocale child : tmpAllLocales) {
-                // Find a parent of this locale which is NOT itself also a defaultContent
-                CLDRLocale nextParent = child.getParent();
-                // /System.err.println(">> considering " + child + " with parent " + nextParent);
-                while (nextParent != null) {
-                    if (!tmpAllLocales.contains(
-                            nextParent)) { // Did we find a parent that's also not itself a
-                        // defaultContent?
-                        // /System.err.println(">>>> Got 1? considering " + child + " with parent "
-                        // + nextParent);
-                        break;
-                    }
-                    // /System.err.println(">>>>> considering " + child + " with parent " +
-                    // nextParent);
-                    nextParent = nextParent.getParent();
+        Map<CLDRLocale, CLDRLocale> p2c = new TreeMap<>();
+        Map<CLDRLocale, CLDRLocale> c2p = new TreeMap<>();
+        TreeSet<CLDRLocale> tmpAllLocales = new TreeSet<>();
+        // copied from SupplementalData.java - CLDRLocale based
+        for (String l : defaultContentLocales) {
+            CLDRLocale child = CLDRLocale.getInstance(l);
+            tmpAllLocales.add(child);
+        }
+
+        for (CLDRLocale child : tmpAllLocales) {
+            // Find a parent of this locale which is NOT itself also a defaultContent
+            CLDRLocale nextParent = child.getParent();
+            // /System.err.println(">> considering " + child + " with parent " + nextParent);
+            while (nextParent != null) {
+                if (!tmpAllLocales.contains(
+                        nextParent)) { // Did we find a parent that's also not itself a
+                    // defaultContent?
+                    // /System.err.println(">>>> Got 1? considering " + child + " with parent "
+                    // + nextParent);
+                    break;
                 }
-                // parent
-                if (nextParent == null) {
-                    throw new InternalError(
-                            "SupplementalDataInfo.defaultContentToChild(): No valid parent for "
-                                    + child);
-                } else if (nextParent == CLDRLocale.ROOT
-                        || nextParent == CLDRLocale.getInstance(LocaleNames.ROOT)) {
-                    throw new InternalError(
-                            "SupplementalDataInfo.defaultContentToChild(): Parent is root for default content locale "
-                                    + child);
-                } else {
-                    c2p.put(child, nextParent); // wo_Arab_SN -> wo
-                    CLDRLocale oldChild = p2c.get(nextParent);
-                    if (oldChild != null) {
-                        CLDRLocale childParent = child.getParent();
-                        if (!childParent.equals(oldChild)) {
-                            throw new InternalError(
-                                    "SupplementalData.defaultContentToChild(): defaultContent list in wrong order? Tried to map "
-                                            + nextParent
-                                            + " -> "
-                                            + child
-                                            + ", replacing "
-                                            + oldChild
-                                            + " (should have been "
-                                            + childParent
-                                            + ")");
-                        }
+                // /System.err.println(">>>>> considering " + child + " with parent " +
+                // nextParent);
+                nextParent = nextParent.getParent();
+            }
+            // parent
+            if (nextParent == null) {
+                throw new InternalError(
+                        "SupplementalDataInfo.defaultContentToChild(): No valid parent for "
+                                + child);
+            } else if (nextParent == CLDRLocale.ROOT
+                    || nextParent == CLDRLocale.getInstance(LocaleNames.ROOT)) {
+                throw new InternalError(
+                        "SupplementalDataInfo.defaultContentToChild(): Parent is root for default content locale "
+                                + child);
+            } else {
+                c2p.put(child, nextParent); // wo_Arab_SN -> wo
+                CLDRLocale oldChild = p2c.get(nextParent);
+                if (oldChild != null) {
+                    CLDRLocale childParent = child.getParent();
+                    if (!childParent.equals(oldChild)) {
+                        throw new InternalError(
+                                "SupplementalData.defaultContentToChild(): defaultContent list in wrong order? Tried to map "
+                                        + nextParent
+                                        + " -> "
+                                        + child
+                                        + ", replacing "
+                                        + oldChild
+                                        + " (should have been "
+                                        + childParent
+                                        + ")");
                     }
-                    p2c.put(nextParent, child); // wo -> wo_Arab_SN
                 }
+                p2c.put(nextParent, child); // wo -> wo_Arab_SN
             }
-
-            // done, save the hashtables..
-            baseToDefaultContent = Collections.unmodifiableMap(p2c); // wo -> wo_Arab_SN
-            defaultContentToBase = Collections.unmodifiableMap(c2p); // wo_Arab_SN -> wo
         }
+
+        // done, save the hashtables..
+        DefaultContentMaps result = new DefaultContentMaps();
+        result.baseToDefaultContent = Collections.unmodifiableMap(p2c); // wo -> wo_Arab_SN
+        result.defaultContentToBase = Collections.unmodifiableMap(c2p); // wo_Arab_SN -> wo
+        baseToDefaultContent = result.baseToDefaultContent;
+        defaultContentToBase = result.defaultContentToBase;
+        return result;
     }
 
     public Map<String, PreferredAndAllowedHour> getTimeData() {
@@ -4918,12 +5076,11 @@ public class SupplementalDataInfo {
         }
     }
 
-    private XEquivalenceClass<String, String> equivalentLocales = null;
+    private final Supplier<XEquivalenceClass<String, String>> equivalentLocales =
+            Suppliers.memoize(this::getEquivalentsForLocale);
 
     public Set<String> getEquivalentsForLocale(String localeId) {
-        if (equivalentLocales == null) {
-            equivalentLocales = getEquivalentsForLocale();
-        }
+        XEquivalenceClass<String, String> equivalentLocales = this.equivalentLocales.get();
         Set<String> result = new TreeSet(LENGTH_FIRST);
         result.add(localeId);
         Set<String> equiv = equivalentLocales.getEquivalences(localeId);
@@ -4974,7 +5131,7 @@ public class SupplementalDataInfo {
 
     public static final LengthFirstComparator LENGTH_FIRST = new LengthFirstComparator();
 
-    private synchronized XEquivalenceClass<String, String> getEquivalentsForLocale() {
+    private XEquivalenceClass<String, String> getEquivalentsForLocale() {
         SupplementalDataInfo sdi = this;
         Relation<String, String> localeToDefaultContents =
                 Relation.of(new HashMap<String, Set<String>>(), LinkedHashSet.class);
@@ -5185,19 +5342,38 @@ public class SupplementalDataInfo {
         return languageGroups;
     }
 
+    /**
+     * Freezing builds the converter's tables of all the units, which most tools don't need, so it
+     * is done on first use.
+     */
+    private final Supplier<UnitConverter> frozenUnitConverter =
+            Suppliers.memoize(
+                    () -> {
+                        ensureLoaded(Section.UNITS);
+                        return unitConverter == null ? null : unitConverter.freeze();
+                    });
+
     public UnitConverter getUnitConverter() {
-        return unitConverter;
+        return frozenUnitConverter.get();
     }
 
     public RationalParser getRationalParser() {
+        ensureLoaded(Section.UNITS);
         return rationalParser;
     }
 
     public UnitPreferences getUnitPreferences() {
+        ensureLoaded(Section.UNITS);
         return unitPreferences;
     }
 
     public UnitIdComponentType getUnitIdComponentType(String component) {
+        ensureLoaded(Section.UNITS);
+        return lookupUnitIdComponentType(component);
+    }
+
+    /** For the UnitConverter, which is built while the units are loaded */
+    private UnitIdComponentType lookupUnitIdComponentType(String component) {
         UnitIdComponentType result = unitIdComponentType.get(component);
         return result == null ? UnitIdComponentType.base : result;
     }
@@ -5277,10 +5453,12 @@ public class SupplementalDataInfo {
     }
 
     public UnitPrefixInfo getUnitPrefixInfo(String prefix) {
+        ensureLoaded(Section.UNITS);
         return unitPrefixInfo.get(prefix);
     }
 
     public Set<String> getUnitPrefixes() {
+        ensureLoaded(Section.UNITS);
         return unitPrefixInfo.keySet();
     }
 
@@ -5317,10 +5495,11 @@ public class SupplementalDataInfo {
                                                 "Pacific/Johnston");
                                 result = Set.copyOf(Sets.difference(availableLongTz, hack));
                             } else { // TODO restore when CLDR-17412 is fixed
+                                Bcp47KeyInfoMaps maps = bcp47KeyInfoMaps.get();
                                 Map<String, String> aliasToRegular =
-                                        bcp47KeyToAliasToSubtype.get("tz");
+                                        maps.keyToAliasToSubtype.get("tz");
                                 Map<String, Bcp47KeyInfo> subtypeToInfo =
-                                        bcp47KeyToSubtypeToInfo.get("tz");
+                                        maps.keyToSubtypeToInfo.get("tz");
                                 result =
                                         availableLongTz.stream()
                                                 .filter(
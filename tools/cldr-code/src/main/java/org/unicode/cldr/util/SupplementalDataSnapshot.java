@@ -0,0 +1,351 @@
+package org.unicode.cldr.util;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.ibm.icu.util.ICUUncheckedIOException;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.BiPredicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A pre-parsed binary form of the supplemental data files (common/supplemental and common/bcp47),
+ * so that SupplementalDataInfo can be built without SAX parsing and validating them.
+ *
+ * <p>A snapshot has one section per XML file, holding the path/value pairs that the parser passes
+ * to {@link XMLFileReader.SimpleHandler#handlePathValue}, in order, with a table of the distinct
+ * strings of that file. An index at the start gives the offset of each section, so any one file can
+ * be replayed without decoding the others. The snapshot records a hash of all the XML files and
+ * DTDs it was made from: {@link #read(File, String)} only returns a snapshot if the hash still
+ * matches, so a stale snapshot is never used. It also records the size and modification time of
+ * each of those files, so that {@link #read(File, File)} only needs to hash them when one of those
+ * changed.
+ *
+ * <p>Snapshots are written by {@link org.unicode.cldr.tool.GenerateLocaleSnapshots} and read by
+ * SupplementalDataInfo when CLDR_SNAPSHOT_DIR is set.
+ */
+public class SupplementalDataSnapshot {
+    private static final Logger logger = Logger.getLogger(SupplementalDataSnapshot.class.getName());
+
+    private static final int MAGIC = 0x434c4450; // "CLDP"
+    /** Increment whenever the format, or the way the XML is read, changes. */
+    private static final int FORMAT_VERSION = 2;
+
+    public static final String SUFFIX = ".snapshot";
+
+    /** The whole snapshot, mapped. Only read through duplicates, so it can be shared. */
+    private final ByteBuffer buffer;
+
+    /** The offset of each file's section, in the order the files were read */
+    private final Map<String, Integer> fileToOffset;
+
+    private SupplementalDataSnapshot(ByteBuffer buffer, Map<String, Integer> fileToOffset) {
+        this.buffer = buffer;
+        this.fileToOffset = fileToOffset;
+    }
+
+    /**
+     * The hash that a snapshot must carry to stand in for the files of a supplemental directory. It
+     * covers the names and contents of the XML files that SupplementalDataInfo reads, the DTDs
+     * (which supply default attribute values), and the snapshot format.
+     */
+    public static String getContentHash(File supplementalDirectory) {
+        Hasher hasher = Hashing.sha256().newHasher().putInt(FORMAT_VERSION);
+        for (Map.Entry<String, File> entry : getInputFiles(supplementalDirectory).entrySet()) {
+            try {
+                byte[] bytes = Files.readAllBytes(entry.getValue().toPath());
+                hasher.putInt(entry.getKey().length())
+                        .putString(entry.getKey(), StandardCharsets.UTF_8)
+                        .putInt(bytes.length)
+                        .putBytes(bytes);
+            } catch (IOException e) {
+                throw new ICUUncheckedIOException("Cannot read the file " + entry.getValue(), e);
+            }
+        }
+        return hasher.hash().toString();
+    }
+
+    /**
+     * The name, size and modification time of each file that {@link #getContentHash} covers. This
+     * only needs the directory listings, so it is much cheaper than the hash; if it is the same as
+     * when the snapshot was written, the files are taken to be unchanged.
+     */
+    static String getManifest(File supplementalDirectory) {
+        StringBuilder result = new StringBuilder();
+        for (Map.Entry<String, File> entry : getInputFiles(supplementalDirectory).entrySet()) {
+            result.append(entry.getKey())
+                    .append('\t')
+                    .append(entry.getValue().length())
+                    .append('\t')
+                    .append(entry.getValue().lastModified())
+                    .append('\n');
+        }
+        return result.toString();
+    }
+
+    /**
+     * The XML files that SupplementalDataInfo reads and the DTDs, by their names relative to the
+     * common directory, sorted so that the hash doesn't depend on the order the directories are
+     * listed in
+     */
+    private static Map<String, File> getInputFiles(File supplementalDirectory) {
+        Map<String, File> files = new TreeMap<>();
+        for (File file : SupplementalDataInfo.getSupplementalFiles(supplementalDirectory)) {
+            files.put(file.getParentFile().getName() + "/" + file.getName(), file);
+        }
+        File[] dtds = new File(supplementalDirectory.getParentFile(), "dtd").listFiles();
+        if (dtds != null) {
+            for (File dtd : dtds) {
+                if (dtd.isFile()) {
+                    files.put("dtd/" + dtd.getName(), dtd);
+                }
+            }
+        }
+        return files;
+    }
+
+    /**
+     * The location of the snapshot for a supplemental directory, in the same tree as the locale
+     * snapshots (see {@link XMLSourceSnapshot#getSnapshotFile}): common/supplemental.snapshot for
+     * common/supplemental.
+     */
+    public static File getSnapshotFile(File snapshotDirectory, File supplementalDirectory) {
+        File directory = supplementalDirectory.getAbsoluteFile().toPath().normalize().toFile();
+        return snapshotDirectory
+                .toPath()
+                .resolve(XMLSourceSnapshot.getRelativeDirectory(directory.getParentFile()))
+                .resolve(directory.getName() + SUFFIX)
+                .toFile();
+    }
+
+    /**
+     * Parse the files of a supplemental directory, as SupplementalDataInfo does, and write their
+     * snapshot. The file is written under a temporary name and then moved into place, so readers
+     * never see a partial snapshot.
+     */
+    public static void write(File supplementalDirectory, File snapshotFile) {
+        String manifest = getManifest(supplementalDirectory);
+        String contentHash = getContentHash(supplementalDirectory);
+        Map<String, byte[]> sections = new LinkedHashMap<>();
+        for (File file : SupplementalDataInfo.getSupplementalFiles(supplementalDirectory)) {
+            List<String> pairs = new ArrayList<>();
+            new XMLFileReader()
+                    .setHandler(
+                            new XMLFileReader.SimpleHandler() {
+                                @Override
+                                public void handlePathValue(String path, String value) {
+                                    pairs.add(path);
+                                    pairs.add(value);
+                                }
+                            })
+                    .read(file.toString(), -1, true);
+            sections.put(file.getParentFile().getName() + "/" + file.getName(), encode(pairs));
+        }
+
+        File parent = snapshotFile.getAbsoluteFile().getParentFile();
+        try {
+            Files.createDirectories(parent.toPath());
+            Path temp = Files.createTempFile(parent.toPath(), snapshotFile.getName(), ".tmp");
+            try (DataOutputStream out =
+                    new DataOutputStream(
+                            new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                writeString(out, contentHash);
+                writeString(out, manifest);
+                out.writeInt(sections.size());
+                int offset = 0; // from the end of the index
+                for (Map.Entry<String, byte[]> section : sections.entrySet()) {
+                    writeString(out, section.getKey());
+                    out.writeInt(offset);
+                    out.writeInt(section.getValue().length);
+                    offset += section.getValue().length;
+                }
+                for (byte[] section : sections.values()) {
+                    out.write(section);
+                }
+            }
+            Files.move(
+                    temp,
+                    snapshotFile.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new ICUUncheckedIOException("Cannot write the snapshot " + snapshotFile, e);
+        }
+    }
+
+    /** One file's section: its string table, then the path/value pairs as indexes */
+    private static byte[] encode(List<String> pairs) {
+        Map<String, Integer> stringToIndex = new HashMap<>();
+        List<String> strings = new ArrayList<>();
+        int[] indexes = new int[pairs.size()];
+        for (int i = 0; i < indexes.length; ++i) {
+            indexes[i] =
+                    stringToIndex.computeIfAbsent(
+                            pairs.get(i),
+                            k -> {
+                                strings.add(k);
+                                return strings.size() - 1;
+                            });
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(strings.size());
+            for (String s : strings) {
+                writeString(out, s);
+            }
+            out.writeInt(indexes.length / 2);
+            for (int index : indexes) {
+                out.writeInt(index);
+            }
+        } catch (IOException e) {
+            throw new ICUUncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Read the snapshot of a supplemental directory, or return null if there is no snapshot or if
+     * it is stale. The files are only hashed if their sizes or modification times are not the same
+     * as when the snapshot was written. A damaged snapshot is also treated as missing, so the
+     * caller can always fall back to parsing the XML.
+     */
+    public static SupplementalDataSnapshot read(File snapshotFile, File supplementalDirectory) {
+        return read(
+                snapshotFile,
+                (hash, manifest) ->
+                        manifest.equals(getManifest(supplementalDirectory))
+                                || hash.equals(getContentHash(supplementalDirectory)));
+    }
+
+    /**
+     * Read a snapshot, or return null if there is no snapshot or if it was not made from files with
+     * the expected hash. A damaged snapshot is also treated as missing, so the caller can always
+     * fall back to parsing the XML.
+     */
+    public static SupplementalDataSnapshot read(File snapshotFile, String expectedHash) {
+        return read(snapshotFile, (hash, manifest) -> expectedHash.equals(hash));
+    }
+
+    /**
+     * Read a snapshot, if it is current
+     *
+     * @param isCurrent given the content hash and the manifest that the snapshot was written with
+     */
+    private static SupplementalDataSnapshot read(
+            File snapshotFile, BiPredicate<String, String> isCurrent) {
+        if (!snapshotFile.canRead()) {
+            return null;
+        }
+        try (FileChannel channel =
+                FileChannel.open(snapshotFile.toPath(), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer =
+                    channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                return null;
+            }
+            String hash = readString(buffer);
+            String manifest = readString(buffer);
+            if (hash == null || manifest == null || !isCurrent.test(hash, manifest)) {
+                return null;
+            }
+            int fileCount = buffer.getInt();
+            Map<String, Integer> fileToOffset = new LinkedHashMap<>();
+            List<int[]> extents = new ArrayList<>();
+            for (int i = 0; i < fileCount; ++i) {
+                String name = readString(buffer);
+                int offset = buffer.getInt();
+                int length = buffer.getInt();
+                fileToOffset.put(name, offset);
+                extents.add(new int[] {offset, length});
+            }
+            int start = buffer.position();
+            for (int[] extent : extents) {
+                if (extent[0] < 0
+                        || extent[1] < 0
+                        || start + extent[0] + extent[1] > buffer.limit()) {
+                    throw new IllegalArgumentException("Section out of bounds");
+                }
+            }
+            ByteBuffer sections = buffer.slice();
+            return new SupplementalDataSnapshot(sections, ImmutableMap.copyOf(fileToOffset));
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+            logger.log(Level.WARNING, e, () -> "Ignoring unreadable snapshot " + snapshotFile);
+            return null;
+        }
+    }
+
+    /** The files in the snapshot, such as supplemental/plurals.xml, in the order they were read */
+    public Set<String> getFiles() {
+        return fileToOffset.keySet();
+    }
+
+    /**
+     * Pass the path/value pairs of one file to a handler, as parsing the file would
+     *
+     * @param file one of {@link #getFiles()}
+     */
+    public void replay(String file, XMLFileReader.SimpleHandler handler) {
+        Integer offset = fileToOffset.get(file);
+        if (offset == null) {
+            throw new IllegalArgumentException("No such file in the snapshot: " + file);
+        }
+        ByteBuffer section = buffer.duplicate();
+        section.position(offset);
+        try {
+            String[] strings = new String[section.getInt()];
+            for (int i = 0; i < strings.length; ++i) {
+                strings[i] = readString(section);
+            }
+            int pairCount = section.getInt();
+            for (int i = 0; i < pairCount; ++i) {
+                String path = strings[section.getInt()];
+                handler.handlePathValue(path, strings[section.getInt()]);
+            }
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new ICUUncheckedIOException("Damaged snapshot section " + file, e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        if (s == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -8,7 +8,10 @@ import com.ibm.icu.text.UnicodeSet;
 import com.ibm.icu.util.ICUUncheckedIOException;
 import com.ibm.icu.util.Output;
 import com.ibm.icu.util.ULocale;
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -343,6 +346,219 @@ public class VettingViewer<T> {
         return new LocaleCompletionData(fileInfo.vc.problemCounter);
     }
 
+    /**
+     * Get the notifications of each path of a locale that are the same for all the users of an
+     * organization, so that the Dashboard of each user can be made from them with {@link
+     * #generateDashboard(VettingParameters, PathNotes)}, the counts of the Priority Items Summary
+     * and of locale completion taken from {@link PathNotes#getProblemCounts()}, and all of them
+     * kept up to date one path at a time with {@link PathNotes#update(String)}.
+     *
+     * @param args the parameters, with a resolved source file; the user is ignored
+     * @return the notes
+     */
+    public PathNotes generatePathNotes(VettingParameters args) {
+        if (!args.sourceFile.isResolved()) {
+            throw new IllegalArgumentException("File must be resolved for path notes");
+        }
+        PathNotes notes = new PathNotes(args);
+        FileInfo fileInfo = notes.makeFileInfo();
+        fileInfo.getFileInfo();
+        return notes;
+    }
+
+    /**
+     * Read notes written by {@link PathNotes#write(DataOutput)}
+     *
+     * @param args the parameters the notes were made with
+     * @param in where the notes were written
+     * @return the notes
+     */
+    public PathNotes readPathNotes(VettingParameters args, DataInput in) throws IOException {
+        final NotificationCategory[] categories = NotificationCategory.values();
+        PathNotes notes = new PathNotes(args);
+        for (int count = in.readInt(); count > 0; --count) {
+            final String path = in.readUTF();
+            WritingInfo info = null;
+            if (in.readBoolean()) {
+                final EnumSet<NotificationCategory> problems =
+                        EnumSet.noneOf(NotificationCategory.class);
+                final long bits = in.readLong();
+                for (NotificationCategory category : categories) {
+                    if ((bits & (1L << category.ordinal())) != 0) {
+                        problems.add(category);
+                    }
+                }
+                final byte[] message = new byte[in.readInt()];
+                in.readFully(message);
+                final Subtype subtype = Subtype.valueOf(in.readUTF());
+                info =
+                        new WritingInfo(
+                                pathTransform.fromPath(path),
+                                problems,
+                                new String(message, StandardCharsets.UTF_8),
+                                subtype);
+            }
+            notes.put(path, info);
+        }
+        return notes;
+    }
+
+    /**
+     * Generate the Dashboard of the user in args from notes made for the same locale, coverage
+     * level, choices and organization, adding the user's own abstained paths and progress.
+     *
+     * @param args the DashboardArgs, for the whole locale
+     * @param notes from {@link #generatePathNotes(VettingParameters)}
+     * @return the DashboardData, the same as {@link #generateDashboard(VettingParameters)}
+     */
+    public DashboardData generateDashboard(VettingParameters args, PathNotes notes) {
+        DashboardData dd = new DashboardData();
+        final boolean withUser = args.userId != 0;
+        final boolean addAbstained =
+                withUser && args.choices.contains(NotificationCategory.abstained);
+        final CLDRLocale locale = args.locale;
+        for (Entry<String, WritingInfo> e : notes.getPaths().entrySet()) {
+            final String path = e.getKey();
+            WritingInfo info = e.getValue();
+            if (withUser) {
+                dd.voterProgress.incrementVotablePathCount();
+                if (userVoteStatus.userDidVote(args.userId, locale, path)) {
+                    VoteType voteType = userVoteStatus.getUserVoteType(args.userId, locale, path);
+                    dd.voterProgress.incrementVotedPathCount(voteType);
+                } else if (addAbstained) {
+                    final EnumSet<NotificationCategory> problems =
+                            EnumSet.of(NotificationCategory.abstained);
+                    if (info == null) {
+                        info =
+                                new WritingInfo(
+                                        pathTransform.fromPath(path), problems, "", Subtype.none);
+                    } else {
+                        problems.addAll(info.problems);
+                        info =
+                                new WritingInfo(
+                                        info.codeOutput, problems, info.htmlMessage, info.subtype);
+                    }
+                }
+            }
+            if (info != null && !info.problems.isEmpty()) {
+                dd.sorted.put(
+                        Row.of(info.codeOutput.getSectionId(), info.codeOutput.getPageId()), info);
+            }
+        }
+        return dd;
+    }
+
+    /**
+     * The notifications of each path of one locale for one organization, without the ones that
+     * depend on the user, such as abstained. Each path that the Dashboard counts for voter progress
+     * is kept, with its WritingInfo only if it has any notifications or a subtype, so that most
+     * paths cost only their map entry. Thread safe.
+     */
+    public class PathNotes {
+        private final VettingParameters args;
+
+        /** The paths, with their notifications or null if none. Guarded by this. */
+        private final Map<String, WritingInfo> paths = new HashMap<>();
+
+        /** The number of paths with each notification. Guarded by this. */
+        private final Counter<NotificationCategory> problemCounter = new Counter<>();
+
+        private PathNotes(VettingParameters args) {
+            this.args = args;
+        }
+
+        private FileInfo makeFileInfo() {
+            FileInfo fileInfo =
+                    new FileInfo(
+                            args.locale.getBaseName(),
+                            args.coverageLevel,
+                            args.choices,
+                            (T) args.organization);
+            fileInfo.setFiles(args.sourceFile, args.baselineFile);
+            fileInfo.setNotes(this);
+            return fileInfo;
+        }
+
+        /**
+         * Recalculate one path, as after a vote on it or a change to its value
+         *
+         * @param path the xpath
+         */
+        public void update(String path) {
+            FileInfo fileInfo = makeFileInfo();
+            fileInfo.setSinglePath(path);
+            synchronized (this) {
+                remove(path);
+                fileInfo.getFileInfo();
+            }
+        }
+
+        private synchronized void put(String path, WritingInfo info) {
+            remove(path);
+            paths.put(path, info);
+            if (info != null) {
+                for (NotificationCategory category : info.problems) {
+                    problemCounter.add(category, 1);
+                }
+            }
+        }
+
+        private synchronized void remove(String path) {
+            final WritingInfo old = paths.remove(path);
+            if (old != null) {
+                for (NotificationCategory category : old.problems) {
+                    problemCounter.add(category, -1);
+                }
+            }
+        }
+
+        /** A copy of the paths, with their notifications or null if none */
+        private synchronized Map<String, WritingInfo> getPaths() {
+            return new HashMap<>(paths);
+        }
+
+        /**
+         * Get the number of paths with each notification, as the Priority Items Summary counts them
+         *
+         * @return a copy of the counts
+         */
+        public synchronized Counter<NotificationCategory> getProblemCounts() {
+            final Counter<NotificationCategory> counts = new Counter<>();
+            counts.addAll(problemCounter);
+            return counts;
+        }
+
+        /** The number of paths kept */
+        public synchronized int size() {
+            return paths.size();
+        }
+
+        /**
+         * Write the notes compactly, to be read back with {@link #readPathNotes}: each path, with
+         * its notifications as bits, its message and its subtype
+         */
+        public void write(DataOutput out) throws IOException {
+            final Map<String, WritingInfo> copy = getPaths();
+            out.writeInt(copy.size());
+            for (Entry<String, WritingInfo> e : copy.entrySet()) {
+                out.writeUTF(e.getKey());
+                final WritingInfo info = e.getValue();
+                out.writeBoolean(info != null);
+                if (info != null) {
+                    long bits = 0;
+                    for (NotificationCategory category : info.problems) {
+                        bits |= 1L << category.ordinal();
+                    }
+                    out.writeLong(bits);
+                    final byte[] message = info.htmlMessage.getBytes(StandardCharsets.UTF_8);
+                    out.writeInt(message.length);
+                    out.write(message);
+                    out.writeUTF(info.subtype.name());
+                }
+            }
+        }
+    }
+
     private class VettingCounters {
         private final Counter<NotificationCategory> problemCounter = new Counter<>();
         private final Counter<Subtype> errorSubtypeCounter = new Counter<>();
@@ -430,6 +646,13 @@ public class VettingViewer<T> {
             this.specificSinglePath = path;
         }
 
+        /** If not null, getFileInfo records each path the Dashboard counts, for all users */
+        private PathNotes notes = null;
+
+        private void setNotes(PathNotes notes) {
+            this.notes = notes;
+        }
+
         /**
          * Loop through paths for the Dashboard or the Priority Items Summary
          *
@@ -510,6 +733,15 @@ public class VettingViewer<T> {
                 return;
             }
             updateVotedOrAbstained(path);
+            if (notes != null) {
+                // the subtype is shown if a user abstained, even without other problems
+                final Subtype subtype = firstSubtype();
+                notes.put(
+                        path,
+                        problems.isEmpty() && subtype == Subtype.none
+                                ? null
+                                : new WritingInfo(ph, problems, htmlMessage, subtype));
+            }
 
             if (!problems.isEmpty() && sorted != null) {
                 reasonsToPaths.clear();
@@ -945,6 +1177,25 @@ public class VettingViewer<T> {
             }
         }
 
+        /**
+         * Get the counts of a locale from the localeProblemCounts, if set and usable
+         *
+         * @return the counts, or null if the locale's paths must be gone through
+         */
+        private Counter<NotificationCategory> getKeptProblemCounts(String localeID, Level level) {
+            if (localeProblemCounts == null || context.localeNameToFileInfo != null) {
+                return null; // the subtypes are only counted by going through the paths
+            }
+            try {
+                return localeProblemCounts.getProblemCounts(
+                        CLDRLocale.getInstance(localeID), level);
+            } catch (ExecutionException e) {
+                System.err.println(
+                        "writeAction.compute - kept counts failed for " + localeID + ": " + e);
+                return null;
+            }
+        }
+
         /** Compute this entire task. Can call this to run this step as a single thread. */
         private void computeAll() {
             // do this many at once
@@ -975,17 +1226,6 @@ public class VettingViewer<T> {
             if (output == null) {
                 throw new NullPointerException("output " + n + " null");
             }
-            // Initialize
-            CLDRFile sourceFile = cldrFactory.make(localeID, true);
-            CLDRFile baselineFile = null;
-            if (!context.ourChoicesThatRequireOldFile.isEmpty()) {
-                try {
-                    Factory baselineFactory =
-                            CLDRConfig.getInstance().getCommonAndSeedAndMainAndAnnotationsFactory();
-                    baselineFile = baselineFactory.make(localeID, true);
-                } catch (Exception e) {
-                }
-            }
             Level level = Level.MODERN;
             if (context.organization != null) {
                 StandardCodes sc = StandardCodes.make();
@@ -995,21 +1235,39 @@ public class VettingViewer<T> {
                     level = sc.getLocaleCoverageLevel(context.organization.toString(), localeID);
                 }
             }
-            FileInfo fileInfo = new FileInfo(localeID, level, choices, context.organization);
-            fileInfo.setFiles(sourceFile, baselineFile);
-            fileInfo.getFileInfo();
+            Counter<NotificationCategory> problemCounter = getKeptProblemCounts(localeID, level);
+            if (problemCounter != null) {
+                context.totals.problemCounter.addAll(problemCounter);
+            } else {
+                // Initialize
+                CLDRFile sourceFile = cldrFactory.make(localeID, true);
+                CLDRFile baselineFile = null;
+                if (!context.ourChoicesThatRequireOldFile.isEmpty()) {
+                    try {
+                        Factory baselineFactory =
+                                CLDRConfig.getInstance()
+                                        .getCommonAndSeedAndMainAndAnnotationsFactory();
+                        baselineFile = baselineFactory.make(localeID, true);
+                    } catch (Exception e) {
+                    }
+                }
+                FileInfo fileInfo = new FileInfo(localeID, level, choices, context.organization);
+                fileInfo.setFiles(sourceFile, baselineFile);
+                fileInfo.getFileInfo();
 
-            if (context.localeNameToFileInfo != null) {
-                context.localeNameToFileInfo.put(name, fileInfo);
-            }
+                if (context.localeNameToFileInfo != null) {
+                    context.localeNameToFileInfo.put(name, fileInfo);
+                }
 
-            context.totals.addAll(fileInfo.vc);
+                context.totals.addAll(fileInfo.vc);
+                problemCounter = fileInfo.vc.problemCounter;
+            }
             if (DEBUG_THREADS) {
                 System.out.println(
                         "writeAction.compute(" + n + ") - got fileinfo " + name + ": " + localeID);
             }
             try {
-                writeSummaryRow(output, choices, fileInfo.vc.problemCounter, name, localeID, level);
+                writeSummaryRow(output, choices, problemCounter, name, localeID, level);
                 if (DEBUG_THREADS) {
                     System.out.println(
                             "writeAction.compute(" + n + ") - wrote " + name + ": " + localeID);
@@ -1731,6 +1989,27 @@ public class VettingViewer<T> {
         int getBaselineProblemCount(CLDRLocale cldrLocale) throws ExecutionException;
     }
 
+    private LocaleProblemCounts localeProblemCounts = null;
+
+    /**
+     * Let the Priority Items Summary take the counts of each locale from counts that are kept up to
+     * date, such as from {@link PathNotes}, instead of going through all its paths
+     */
+    public void setLocaleProblemCounts(LocaleProblemCounts localeProblemCounts) {
+        this.localeProblemCounts = localeProblemCounts;
+    }
+
+    public interface LocaleProblemCounts {
+        /**
+         * Get the number of paths with each notification in a locale, for the organization and
+         * choices of the Priority Items Summary
+         *
+         * @return the counts, or null to go through the paths of the locale instead
+         */
+        Counter<NotificationCategory> getProblemCounts(CLDRLocale cldrLocale, Level level)
+                throws ExecutionException;
+    }
+
     private boolean summarizeAllLocales = false;
 
     public void setSummarizeAllLocales(boolean b) {
@@ -121,11 +121,39 @@ public class XMLNormalizingLoader {
         return cache.getUnchecked(key);
     }
 
+    /**
+     * Directory of pre-parsed snapshots (see {@link XMLSourceSnapshot}), or null to always parse the
+     * XML. Set from the CLDR_SNAPSHOT_DIR property on first use.
+     */
+    private static volatile File snapshotDirectory = null;
+
+    private static volatile boolean snapshotDirectoryInitialized = false;
+
+    /**
+     * Use pre-parsed snapshots from the given directory when they match the XML files, or stop using
+     * snapshots if null. Only affects sources that are not already cached.
+     */
+    public static void setSnapshotDirectory(File directory) {
+        snapshotDirectory = directory;
+        snapshotDirectoryInitialized = true;
+    }
+
+    public static File getSnapshotDirectory() {
+        if (!snapshotDirectoryInitialized) {
+            String dir = CLDRConfig.getInstance().getProperty("CLDR_SNAPSHOT_DIR");
+            if (dir != null && !dir.isEmpty()) {
+                snapshotDirectory = new File(dir);
+            }
+            snapshotDirectoryInitialized = true;
+        }
+        return snapshotDirectory;
+    }
+
     private static XMLSource makeXMLSource(XMLSourceCacheKey key) {
         XMLSource source = null;
         if (key.dirs.size() == 1) {
             File file = new File(key.dirs.iterator().next(), key.localeId + ".xml");
-            source = loadXMLFile(file, key.localeId, key.minimalDraftStatus);
+            source = loadSnapshotOrXMLFile(file, key.localeId, key.minimalDraftStatus);
             source.freeze();
             return source;
         }
@@ -154,13 +182,52 @@ public class XMLNormalizingLoader {
         return source;
     }
 
+    /**
+     * Load from the snapshot of the file if there is an up-to-date one, otherwise parse the file.
+     */
+    private static XMLSource loadSnapshotOrXMLFile(
+            File f, String localeId, DraftStatus minimalDraftStatus) {
+        File snapshots = getSnapshotDirectory();
+        if (snapshots != null) {
+            XMLSource source =
+                    XMLSourceSnapshot.read(
+                            XMLSourceSnapshot.getSnapshotFile(snapshots, f, minimalDraftStatus),
+                            f,
+                            minimalDraftStatus);
+            if (source != null) {
+                return source;
+            }
+        }
+        return loadXMLFile(f, localeId, minimalDraftStatus);
+    }
+
+    /**
+     * If true, the loader builds the distinguishing path of each leaf directly from its stack of
+     * elements as it parses, instead of reparsing each full path through XPathParts. Set with
+     * -DCLDR_STREAMING_LOADER=true.
+     */
+    private static final boolean STREAMING =
+            CldrUtility.getProperty("CLDR_STREAMING_LOADER", false);
+
     public static XMLSource loadXMLFile(File f, String localeId, DraftStatus minimalDraftStatus) {
+        return loadXMLFile(f, localeId, minimalDraftStatus, STREAMING);
+    }
+
+    /**
+     * Parse the file into a new (not frozen) XMLSource.
+     *
+     * @param streaming if true, build distinguishing paths from the parser's element stack; if
+     *     false, derive them from each full path with {@link CLDRFile#getDistinguishingXPath}. The
+     *     results are the same.
+     */
+    public static XMLSource loadXMLFile(
+            File f, String localeId, DraftStatus minimalDraftStatus, boolean streaming) {
         // use try-with-resources statement
         try (InputStream fis = new FileInputStream(f); ) {
             String fullFileName = PathUtilities.getNormalizedPathString(f);
             XMLSource source = new SimpleXMLSource(localeId);
             XMLNormalizingHandler XML_HANDLER =
-                    new XMLNormalizingHandler(source, minimalDraftStatus);
+                    new XMLNormalizingHandler(source, minimalDraftStatus, streaming);
             XMLFileReader.read(fullFileName, fis, -1, true, XML_HANDLER);
             if (XML_HANDLER.supplementalStatus == SupplementalStatus.NEVER_SET) {
                 throw new IllegalArgumentException(
@@ -201,6 +268,13 @@ public class XMLNormalizingLoader {
         private int[] orderedCounter = new int[MAX_DEPTH];
         private String[] orderedString = new String[MAX_DEPTH];
         private int level = 0;
+        // Streaming mode: for each level, the element with only its distinguishing attributes,
+        // and whether it has draft, alt or references (which getDistinguishingXPath moves down
+        // to the leaf when they are on a parent element).
+        private final boolean streaming;
+        private final String[] distinguishingElement = new String[MAX_DEPTH];
+        private final boolean[] hasMovableAttributes = new boolean[MAX_DEPTH];
+        private final StringBuilder pathBuilder = new StringBuilder();
         private int overrideCount = 0;
         // Types which changed from 'type' to 'choice', but not in supplemental data.
         private static final Set<String> CHANGED_TYPES =
@@ -221,9 +295,10 @@ public class XMLNormalizingLoader {
         private static final UnicodeSet WHITESPACE = new UnicodeSet("[:whitespace:]").freeze();
         private Locator documentLocator = null;
 
-        XMLNormalizingHandler(XMLSource source, DraftStatus minimalDraftStatus) {
+        XMLNormalizingHandler(XMLSource source, DraftStatus minimalDraftStatus, boolean streaming) {
             this.source = source;
             this.minimalDraftStatus = minimalDraftStatus;
+            this.streaming = streaming;
         }
 
         private String show(Attributes attributes) {
@@ -255,9 +330,11 @@ public class XMLNormalizingLoader {
                                     + lastChars);
             }
 
-            currentFullXPathSb.append("/" + qName);
+            currentFullXPathSb.append('/').append(qName);
+            String ordering = null;
             if (dtdData.isOrdered(qName)) {
-                currentFullXPathSb.append(orderingAttribute());
+                ordering = orderingAttribute();
+                currentFullXPathSb.append(ordering);
             }
             if (attributes.getLength() > 0) {
                 attributeOrder.clear();
@@ -275,11 +352,17 @@ public class XMLNormalizingLoader {
                 for (Entry<String, String> entry : attributeOrder.entrySet()) {
                     String attribute = entry.getKey();
                     String value = entry.getValue();
-                    String both =
-                            "[@" + attribute + "=\"" + value + "\"]"; // TODO quote the value??
-                    currentFullXPathSb.append(both);
+                    currentFullXPathSb
+                            .append("[@")
+                            .append(attribute)
+                            .append("=\"")
+                            .append(value) // TODO quote the value??
+                            .append("\"]");
                 }
             }
+            if (streaming) {
+                pushDistinguishingElement(qName, ordering, attributes.getLength() > 0);
+            }
             if (comment != null) {
                 String currentFullXPath = currentFullXPathSb.toString();
                 if (currentFullXPath.equals("//ldml")
@@ -296,6 +379,57 @@ public class XMLNormalizingLoader {
             Log.logln(LOG_PROGRESS, "currentFullXPath\t" + currentFullXPathSb.toString());
         }
 
+        /**
+         * Record the distinguishing form of the element just pushed. This matches what
+         * getDistinguishingXPath produces for it, since "_q" sorts before every other attribute.
+         */
+        private void pushDistinguishingElement(
+                String qName, String ordering, boolean hasAttributes) {
+            pathBuilder.setLength(0);
+            pathBuilder.append('/').append(qName);
+            if (ordering != null) {
+                pathBuilder.append(ordering);
+            }
+            boolean movable = false;
+            if (hasAttributes) {
+                for (Entry<String, String> entry : attributeOrder.entrySet()) {
+                    String attribute = entry.getKey();
+                    if (attribute.equals("draft")
+                            || attribute.equals("alt")
+                            || attribute.equals("references")) {
+                        movable = true;
+                    }
+                    if (dtdData.isDistinguishing(qName, attribute)) {
+                        pathBuilder
+                                .append("[@")
+                                .append(attribute)
+                                .append("=\"")
+                                .append(entry.getValue())
+                                .append("\"]");
+                    }
+                }
+            }
+            distinguishingElement[level] = pathBuilder.toString();
+            hasMovableAttributes[level] = movable;
+        }
+
+        /**
+         * Get the distinguishing path for the leaf at the given depth from the element stack, or
+         * null if it needs the general getDistinguishingXPath (a draft, alt or references
+         * attribute on a parent element, which that moves to the leaf).
+         */
+        private String getDistinguishingXPath(int depth, String fullXPath) {
+            pathBuilder.setLength(0);
+            pathBuilder.append('/');
+            for (int i = 1; i <= depth; ++i) {
+                if (i < depth && hasMovableAttributes[i]) {
+                    return null;
+                }
+                pathBuilder.append(distinguishingElement[i]);
+            }
+            return fullXPath.contentEquals(pathBuilder) ? fullXPath : pathBuilder.toString();
+        }
+
         private String orderingAttribute() {
             return "[@_q=\"" + (orderedCounter[level]++) + "\"]";
         }
@@ -328,9 +462,26 @@ public class XMLNormalizingLoader {
          * @param value
          */
         private void addPath(String fullXPath, String value) {
-            String former = source.getValueAtPath(fullXPath);
+            addPath(fullXPath, null, value);
+        }
+
+        /**
+         * Adds a parsed XPath to the CLDRFile.
+         *
+         * @param fullXPath
+         * @param distinguishingXPath the distinguishing path if already known, else null
+         * @param value
+         */
+        private void addPath(String fullXPath, String distinguishingXPath, String value) {
+            String former =
+                    distinguishingXPath == null
+                            ? source.getValueAtPath(fullXPath)
+                            : source.getValueAtDPath(distinguishingXPath);
             if (former != null) {
-                String formerPath = source.getFullXPath(fullXPath);
+                String formerPath =
+                        distinguishingXPath == null
+                                ? source.getFullXPath(fullXPath)
+                                : source.getFullPathAtDPath(distinguishingXPath);
                 if (!former.equals(value) || !fullXPath.equals(formerPath)) {
                     if (!fullXPath.startsWith("//ldml/identity/version")
                             && !fullXPath.startsWith("//ldml/identity/generation")) {
@@ -339,8 +490,12 @@ public class XMLNormalizingLoader {
                 }
             }
             value = trimWhitespaceSpecial(value);
-            source.add(fullXPath, value)
-                    .addSourceLocation(fullXPath, new XMLSource.SourceLocation(documentLocator));
+            if (distinguishingXPath == null) {
+                source.add(fullXPath, value);
+            } else {
+                source.add(fullXPath, distinguishingXPath, value);
+            }
+            source.addSourceLocation(fullXPath, new XMLSource.SourceLocation(documentLocator));
         }
 
         private void pop(String qName) {
@@ -380,7 +535,12 @@ public class XMLNormalizingLoader {
                         }
                     }
                     if (!skipAdd) {
-                        addPath(currentFullXPath, lastChars);
+                        addPath(
+                                currentFullXPath,
+                                streaming
+                                        ? getDistinguishingXPath(level + 1, currentFullXPath)
+                                        : null,
+                                lastChars);
                     }
                     lastLeafNode = lastActiveLeafNode = currentFullXPath;
                 }
@@ -27,7 +27,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
-import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.unicode.cldr.util.CLDRFile.DraftStatus;
@@ -50,6 +52,7 @@ public abstract class XMLSource implements Freezable<XMLSource>, Iterable<String
     private String localeID;
     private boolean nonInheriting;
     private TreeMap<String, String> aliasCache;
+    private volatile AliasTable aliasTable;
     private LinkedHashMap<String, List<String>> reverseAliasCache;
     protected boolean locked;
     transient String[] fixedPath = new String[1];
@@ -153,7 +156,7 @@ public abstract class XMLSource implements Freezable<XMLSource>, Iterable<String
 
     /*
      * For testing, make it possible to disable multiple caches:
-     * getFullPathAtDPathCache, getSourceLocaleIDCache, aliasCache, reverseAliasCache
+     * getFullPathAtDPathCache, getSourceLocaleIDCache, aliasCache, aliasTable, reverseAliasCache
      */
     protected boolean cachingIsEnabled = true;
 
@@ -172,7 +175,8 @@ public abstract class XMLSource implements Freezable<XMLSource>, Iterable<String
     }
 
     // Listeners are stored using weak references so that they can be garbage collected.
-    private List<WeakReference<Listener>> listeners = new ArrayList<>();
+    // Listeners may be added on one thread while votes notify them on others.
+    private final List<WeakReference<Listener>> listeners = new CopyOnWriteArrayList<>();
 
     public String getLocaleID() {
         return localeID;
@@ -506,6 +510,24 @@ public abstract class XMLSource implements Freezable<XMLSource>, Iterable<String
         return aliasMap;
     }
 
+    /**
+     * Get the table of alias rewrites built from this source's aliases. Since root is the only
+     * locale with aliases, this is only useful on root, or on a resolving source (which returns
+     * root's table).
+     *
+     * @return the table, shared by all callers until the aliases change
+     */
+    public AliasTable getAliasTable() {
+        AliasTable result = aliasTable;
+        if (result == null) {
+            result = new AliasTable(getAliases());
+            if (cachingIsEnabled) {
+                aliasTable = result;
+            }
+        }
+        return result;
+    }
+
     /**
      * @return a reverse mapping of aliases
      */
@@ -543,6 +565,7 @@ public abstract class XMLSource implements Freezable<XMLSource>, Iterable<String
      */
     private void clearCache() {
         aliasCache = null;
+        aliasTable = null;
     }
 
     /**
@@ -851,7 +874,38 @@ public abstract class XMLSource implements Freezable<XMLSource>, Iterable<String
             return source == null ? constructedItems : source;
         }
 
-        Map<String, String> getFullPathAtDPathCache = new HashMap<>();
+        /*
+         * Resolution caches. These are read by many threads at once (eg Survey Tool requests for
+         * the same locale), so they are concurrent maps rather than maps guarded by a monitor.
+         * Entries are computed outside the map (resolution recurses through aliases, which
+         * computeIfAbsent does not allow), so two threads may occasionally compute the same
+         * entry; the results are identical, so either one may win.
+         */
+        private final transient Map<String, String> getFullPathAtDPathCache =
+                new ConcurrentHashMap<>();
+
+        private final transient Map<String, AliasLocation> getSourceLocaleIDCache =
+                new ConcurrentHashMap<>();
+
+        /**
+         * Incremented by valueChanged before it removes entries. A thread that computed an entry
+         * while an invalidation was in progress may have computed it from the old value, so it
+         * removes its entry again; see {@link #cacheIfUnchanged}.
+         */
+        private final transient AtomicLong invalidationCount = new AtomicLong();
+
+        /**
+         * Put the value in the cache, unless there has been an invalidation since stamp (the
+         * invalidationCount read before the value was computed).
+         */
+        private <V> void cacheIfUnchanged(Map<String, V> cache, String xpath, V value, long stamp) {
+            cache.put(xpath, value);
+            // Checked after the put: if valueChanged ran its removal before our put, then it
+            // also incremented the count before our put, and we see that here.
+            if (invalidationCount.get() != stamp) {
+                cache.remove(xpath, value);
+            }
+        }
 
         @Override
         public String getFullPathAtDPath(String xpath) {
@@ -895,7 +949,7 @@ public abstract class XMLSource implements Freezable<XMLSource>, Iterable<String
         private String getFullPath(
                 String xpath, AliasLocation fullStatus, String fullPathWhereFound) {
             String result = null;
-            xpath = xpath.intern();
+            long stamp = invalidationCount.get();
             if (this.cachingIsEnabled) {
                 result = getFullPathAtDPathCache.get(xpath);
             }
@@ -927,7 +981,7 @@ public abstract class XMLSource implements Freezable<XMLSource>, Iterable<String
                 }
                 result = xpathParts.toString();
                 if (cachingIsEnabled) {
-                    getFullPathAtDPathCache.put(xpath, result);
+                    cacheIfUnchanged(getFullPathAtDPathCache, xpath, result, stamp);
                 }
             }
             return result;
@@ -985,16 +1039,14 @@ public abstract class XMLSource implements Freezable<XMLSource>, Iterable<String
             if (!skipInheritanceMarker || !cachingIsEnabled || (list != null)) {
                 return getPathLocation(xpath, false /* skipFirst */, skipInheritanceMarker, list);
             }
-            synchronized (getSourceLocaleIDCache) {
-                AliasLocation fullStatus = getSourceLocaleIDCache.get(xpath);
-                if (fullStatus == null) {
-                    fullStatus =
-                            getPathLocation(
-                                    xpath, false /* skipFirst */, skipInheritanceMarker, null);
-                    getSourceLocaleIDCache.put(xpath, fullStatus); // cache copy
-                }
-                return fullStatus;
+            AliasLocation fullStatus = getSourceLocaleIDCache.get(xpath);
+            if (fullStatus == null) {
+                long stamp = invalidationCount.get();
+                fullStatus =
+                        getPathLocation(xpath, false /* skipFirst */, skipInheritanceMarker, null);
+                cacheIfUnchanged(getSourceLocaleIDCache, xpath, fullStatus, stamp);
             }
+            return fullStatus;
         }
 
         @Override
@@ -1011,8 +1063,6 @@ public abstract class XMLSource implements Freezable<XMLSource>, Iterable<String
             return result;
         }
 
-        private transient Map<String, AliasLocation> getSourceLocaleIDCache = new WeakHashMap<>();
-
         /**
          * Get the source locale ID for the given path, for this ResolvingSource.
          *
@@ -1049,8 +1099,6 @@ public abstract class XMLSource implements Freezable<XMLSource>, Iterable<String
             return fullStatus.localeWhereFound;
         }
 
-        static final Pattern COUNT_EQUALS = PatternCache.get("\\[@count=\"[^\"]*\"]");
-
         /**
          * Get the AliasLocation, containing path and locale where found, for the given path, for
          * this ResolvingSource.
@@ -1131,76 +1179,13 @@ public abstract class XMLSource implements Freezable<XMLSource>, Iterable<String
                     list.add(new LocaleInheritanceInfo(localeID, xpath, Reason.none));
                 }
             }
-            // Path not found, check if an alias exists
-            final String rootAliasLocale = XMLSource.ROOT_ID; // Locale ID for aliases
-            TreeMap<String, String> aliases = sources.get(rootAliasLocale).getAliases();
-            String aliasedPath = aliases.get(xpath);
-
-            if (aliasedPath == null) {
-                // Check if there is an alias for a subset xpath.
-                // If there are one or more matching aliases, lowerKey() will
-                // return the alias with the longest matching prefix since the
-                // hashmap is sorted according to xpath.
-
-                //                // The following is a work in progress
-                //                // We need to recurse, since we might have a chain of aliases
-                //                while (true) {
-                String possibleSubpath = aliases.lowerKey(xpath);
-                if (possibleSubpath != null && xpath.startsWith(possibleSubpath)) {
-                    aliasedPath =
-                            aliases.get(possibleSubpath)
-                                    + xpath.substring(possibleSubpath.length());
-                    aliasedPath = aliasedPath.intern();
-                    if (list != null) {
-                        // It's an explicit alias, just at a parent element (subset xpath)
-                        list.add(
-                                new LocaleInheritanceInfo(
-                                        rootAliasLocale, aliasedPath, Reason.alias));
-                    }
-                    //                        xpath = aliasedPath;
-                    //                    } else {
-                    //                        break;
-                    //                    }
-                }
-            } else {
-                if (list != null) {
-                    // explicit, exact alias at this location
-                    list.add(new LocaleInheritanceInfo(rootAliasLocale, aliasedPath, Reason.alias));
-                }
-            }
-
-            // alts are special; they act like there is a root alias to the path without the alt.
-            if (aliasedPath == null && xpath.contains("[@alt=")) {
-                aliasedPath = XPathParts.getPathWithoutAlt(xpath).intern();
+            // Path not found, check if an alias (or alt or count fallback) applies
+            LocaleInheritanceInfo aliasStep = getAliasTable().getStep(xpath);
+            String aliasedPath = null;
+            if (aliasStep != null) {
+                aliasedPath = aliasStep.getPath();
                 if (list != null) {
-                    list.add(
-                            new LocaleInheritanceInfo(
-                                    null, aliasedPath, Reason.removedAttribute, "alt"));
-                }
-            }
-
-            // counts are special; they act like there is a root alias to 'other'
-            // and in the special case of currencies, other => null
-            // //ldml/numbers/currencies/currency[@type="BRZ"]/displayName[@count="other"] =>
-            // //ldml/numbers/currencies/currency[@type="BRZ"]/displayName
-            if (aliasedPath == null && xpath.contains("[@count=")) {
-                aliasedPath = COUNT_EQUALS.matcher(xpath).replaceAll("[@count=\"other\"]").intern();
-                if (aliasedPath.equals(xpath)) {
-                    if (xpath.contains("/displayName")) {
-                        aliasedPath = COUNT_EQUALS.matcher(xpath).replaceAll("").intern();
-                        if (aliasedPath.equals(xpath)) {
-                            throw new RuntimeException("Internal error");
-                        }
-                    } else {
-                        // the replacement failed, do not alias
-                        aliasedPath = null;
-                    }
-                }
-                if (list != null && aliasedPath != null) {
-                    // two different paths above reach here
-                    list.add(
-                            new LocaleInheritanceInfo(
-                                    null, aliasedPath, Reason.changedAttribute, "count"));
+                    list.add(aliasStep);
                 }
             }
 
@@ -1347,6 +1332,11 @@ public abstract class XMLSource implements Freezable<XMLSource>, Iterable<String
             return sources.get("root").getReverseAliases();
         }
 
+        @Override
+        public AliasTable getAliasTable() {
+            return sources.get(XMLSource.ROOT_ID).getAliasTable();
+        }
+
         private transient Set<String> cachedKeySet = null;
 
         /**
@@ -1405,21 +1395,21 @@ public abstract class XMLSource implements Freezable<XMLSource>, Iterable<String
             if (!cachingIsEnabled) {
                 return;
             }
-            synchronized (getSourceLocaleIDCache) {
-                AliasLocation location = getSourceLocaleIDCache.remove(xpath);
-                if (location == null) {
-                    return;
-                }
-                // Paths aliasing to this path (directly or indirectly) may be affected,
-                // so clear them as well.
-                // There's probably a more elegant way to fix the paths than simply
-                // throwing everything out.
-                Set<String> dependentPaths = getDirectAliases(new String[] {xpath});
-                if (dependentPaths.size() > 0) {
-                    for (String path : dependentPaths) {
-                        getSourceLocaleIDCache.remove(path);
-                    }
-                }
+            // Must come before the removals; see cacheIfUnchanged
+            invalidationCount.incrementAndGet();
+            getFullPathAtDPathCache.remove(xpath);
+            AliasLocation location = getSourceLocaleIDCache.remove(xpath);
+            if (location == null) {
+                return;
+            }
+            // Paths aliasing to this path (directly or indirectly) may be affected,
+            // so clear them as well.
+            // There's probably a more elegant way to fix the paths than simply
+            // throwing everything out.
+            Set<String> dependentPaths = getDirectAliases(new String[] {xpath});
+            for (String path : dependentPaths) {
+                getSourceLocaleIDCache.remove(path);
+                getFullPathAtDPathCache.remove(path);
             }
         }
 
@@ -1867,16 +1857,18 @@ public abstract class XMLSource implements Freezable<XMLSource>, Iterable<String
      * @param xpath the xpath where the change occurred.
      */
     public void notifyListeners(String xpath) {
-        int i = 0;
-        while (i < listeners.size()) {
-            Listener listener = listeners.get(i).get();
+        boolean collected = false;
+        for (WeakReference<Listener> reference : listeners) {
+            Listener listener = reference.get();
             if (listener == null) { // listener has been garbage-collected.
-                listeners.remove(i);
+                collected = true;
             } else {
                 listener.valueChanged(xpath, this);
-                i++;
             }
         }
+        if (collected) {
+            listeners.removeIf(reference -> reference.get() == null);
+        }
     }
 
     /**
@@ -1988,6 +1980,26 @@ public abstract class XMLSource implements Freezable<XMLSource>, Iterable<String
         return this;
     }
 
+    /**
+     * Same as {@link #add(String, String)}, for a caller that already has the distinguishing path
+     * of currentFullXPath, and knows that currentFullXPath needs no normalization (as it would if
+     * it had a draft, alt or references attribute before the last element).
+     */
+    XMLSource add(String currentFullXPath, String distinguishingXPath, String value) {
+        if (locked) throw new UnsupportedOperationException("Attempt to modify locked object");
+        try {
+            putValueAtDPath(distinguishingXPath, value);
+            if (!currentFullXPath.equals(distinguishingXPath)) {
+                clearCache();
+                putFullPathAtDPath(distinguishingXPath, currentFullXPath);
+            }
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException(
+                    "failed adding " + currentFullXPath + ",\t" + value, e);
+        }
+        return this;
+    }
+
     /**
      * Get frozen normalized XMLSource
      *
@@ -0,0 +1,386 @@
+package org.unicode.cldr.util;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.ibm.icu.util.ICUUncheckedIOException;
+import com.ibm.icu.util.VersionInfo;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.BiPredicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.unicode.cldr.util.CLDRFile.DraftStatus;
+import org.unicode.cldr.util.XPathParts.Comments;
+import org.unicode.cldr.util.XPathParts.Comments.CommentType;
+
+/**
+ * A pre-parsed binary form of a single locale XML file, so that its XMLSource can be loaded without
+ * SAX parsing.
+ *
+ * <p>A snapshot holds a table of all the distinct strings in the file (paths, full paths, values
+ * and comments), followed by the path/full path/value triples and the comments as indexes into
+ * that table. It also records a hash of the XML file it was made from, and the file's size and
+ * modification time: {@link #read(File, File, DraftStatus)} only returns a source if the size and
+ * time, or else the hash, still match, so a stale snapshot is never used. Both also cover the DTDs
+ * and the cldr-code code (the loader, CLDRFile, DtdData...), so snapshots are remade when either
+ * changes.
+ *
+ * <p>Source locations (line numbers in the XML) are not kept, so tools that report them should
+ * parse the XML. Snapshots are written by {@link org.unicode.cldr.tool.GenerateLocaleSnapshots} and
+ * read by XMLNormalizingLoader when CLDR_SNAPSHOT_DIR is set.
+ */
+public class XMLSourceSnapshot {
+    private static final Logger logger = Logger.getLogger(XMLSourceSnapshot.class.getName());
+
+    private static final int MAGIC = 0x434c4453; // "CLDS"
+    /** Increment whenever the format changes */
+    private static final int FORMAT_VERSION = 3;
+
+    /**
+     * A hash of the code that loads and normalizes the XML (all of cldr-code, since that includes
+     * CLDRFile and DtdData as well as XMLNormalizingLoader), and of the DTDs that it is validated
+     * and normalized against, so that a change to either makes the existing snapshots stale
+     */
+    private static final String LOADER_VERSION = getLoaderVersion();
+
+    public static final String SUFFIX = ".snapshot";
+
+    private static final CommentType[] COMMENT_TYPES = CommentType.values();
+
+    private XMLSourceSnapshot() {}
+
+    /**
+     * The hash that a snapshot must carry to stand in for the given XML file. It covers the file's
+     * contents, the draft status used for loading, the snapshot format and the loader.
+     */
+    public static String getContentHash(File xmlFile, DraftStatus minimalDraftStatus) {
+        try {
+            return Hashing.sha256()
+                    .newHasher()
+                    .putInt(FORMAT_VERSION)
+                    .putString(LOADER_VERSION, StandardCharsets.UTF_8)
+                    .putString(minimalDraftStatus.name(), StandardCharsets.UTF_8)
+                    .putBytes(Files.readAllBytes(xmlFile.toPath()))
+                    .hash()
+                    .toString();
+        } catch (IOException e) {
+            throw new ICUUncheckedIOException("Cannot read the file " + xmlFile, e);
+        }
+    }
+
+    /**
+     * The size and modification time of the XML file, with the loader version. This is much cheaper
+     * than {@link #getContentHash}; if it is the same as when the snapshot was written, the file is
+     * taken to be unchanged.
+     */
+    static String getManifest(File xmlFile, DraftStatus minimalDraftStatus) {
+        return xmlFile.length()
+                + "\t"
+                + xmlFile.lastModified()
+                + "\t"
+                + minimalDraftStatus
+                + "\t"
+                + LOADER_VERSION;
+    }
+
+    private static String getLoaderVersion() {
+        Hasher hasher = Hashing.sha256().newHasher();
+        hasher.putString(
+                CodeHashes.getCodeFingerprint(XMLNormalizingLoader.class, XMLSourceSnapshot.class),
+                StandardCharsets.UTF_8);
+        // the DTD directories, such as common/dtd and keyboards/dtd, in name order
+        Map<String, File> dtdDirectories = new TreeMap<>();
+        for (DtdType type : DtdType.values()) {
+            if (type.dtdPath != null) {
+                String directory = type.dtdPath.substring(0, type.dtdPath.lastIndexOf('/'));
+                dtdDirectories.put(directory, new File(CLDRPaths.BASE_DIRECTORY, directory));
+            }
+        }
+        for (Entry<String, File> dtdDirectory : dtdDirectories.entrySet()) {
+            File[] dtds = dtdDirectory.getValue().listFiles();
+            if (dtds == null) {
+                continue;
+            }
+            Arrays.sort(dtds);
+            for (File dtd : dtds) {
+                if (!dtd.isFile()) {
+                    continue;
+                }
+                String name = dtdDirectory.getKey() + "/" + dtd.getName();
+                try {
+                    hasher.putInt(name.length())
+                            .putString(name, StandardCharsets.UTF_8)
+                            .putBytes(Files.readAllBytes(dtd.toPath()));
+                } catch (IOException e) {
+                    throw new ICUUncheckedIOException("Cannot read the file " + dtd, e);
+                }
+            }
+        }
+        return hasher.hash().toString();
+    }
+
+    /**
+     * The location of the snapshot for an XML file. Snapshots are kept in a tree that mirrors the
+     * XML directories (relative to the CLDR base directory when possible), so that for example
+     * main/en.xml and annotations/en.xml don't collide.
+     */
+    public static File getSnapshotFile(
+            File snapshotDirectory, File xmlFile, DraftStatus minimalDraftStatus) {
+        File dir = xmlFile.getAbsoluteFile().toPath().normalize().getParent().toFile();
+        String name = xmlFile.getName();
+        if (name.endsWith(".xml")) {
+            name = name.substring(0, name.length() - 4);
+        }
+        return snapshotDirectory
+                .toPath()
+                .resolve(getRelativeDirectory(dir))
+                .resolve(name + "." + minimalDraftStatus + SUFFIX)
+                .toFile();
+    }
+
+    /**
+     * Where a directory's snapshots go under the snapshot directory: its path relative to the CLDR
+     * base directory when possible, otherwise relative to its root.
+     */
+    static Path getRelativeDirectory(File dir) {
+        Path path = dir.getAbsoluteFile().toPath().normalize();
+        Path base = Paths.get(CLDRPaths.BASE_DIRECTORY).toAbsolutePath().normalize();
+        return path.startsWith(base) ? base.relativize(path) : path.getRoot().relativize(path);
+    }
+
+    /**
+     * Write the snapshot of an unresolved source loaded from an XML file, with the file's hash,
+     * size and modification time.
+     */
+    public static void write(
+            XMLSource source, File xmlFile, DraftStatus minimalDraftStatus, File snapshotFile) {
+        write(
+                source,
+                getContentHash(xmlFile, minimalDraftStatus),
+                getManifest(xmlFile, minimalDraftStatus),
+                snapshotFile);
+    }
+
+    /**
+     * Write the snapshot of an unresolved source, with just the hash of the XML it was loaded from.
+     * The file is written under a temporary name and then moved into place, so readers never see a
+     * partial snapshot.
+     */
+    public static void write(XMLSource source, String contentHash, File snapshotFile) {
+        write(source, contentHash, null, snapshotFile);
+    }
+
+    private static void write(
+            XMLSource source, String contentHash, String manifest, File snapshotFile) {
+        if (source instanceof XMLSource.ResolvingSource) {
+            throw new IllegalArgumentException("Only unresolved sources can be snapshotted");
+        }
+        Map<String, Integer> stringToIndex = new HashMap<>();
+        List<String> strings = new ArrayList<>();
+        Set<String> paths = new TreeSet<>();
+        source.forEach(paths::add);
+
+        int[] triples = new int[paths.size() * 3];
+        int i = 0;
+        for (String path : paths) {
+            String fullPath = source.getFullPathAtDPath(path);
+            triples[i++] = index(path, stringToIndex, strings);
+            triples[i++] =
+                    fullPath == null || fullPath.equals(path)
+                            ? -1
+                            : index(fullPath, stringToIndex, strings);
+            triples[i++] = index(source.getValueAtDPath(path), stringToIndex, strings);
+        }
+        Comments comments = source.getXpathComments();
+        List<int[]> commentIndexes = new ArrayList<>();
+        for (CommentType type : COMMENT_TYPES) {
+            // sorted, so that snapshots of the same data are identical
+            Map<String, String> sorted = new TreeMap<>(comments.getComments(type));
+            int[] pairs = new int[sorted.size() * 2];
+            int j = 0;
+            for (Entry<String, String> entry : sorted.entrySet()) {
+                pairs[j++] = index(entry.getKey(), stringToIndex, strings);
+                pairs[j++] = index(entry.getValue(), stringToIndex, strings);
+            }
+            commentIndexes.add(pairs);
+        }
+        int initialComment = index(comments.getInitialComment(), stringToIndex, strings);
+        int finalComment = index(comments.getFinalComment(), stringToIndex, strings);
+
+        File parent = snapshotFile.getAbsoluteFile().getParentFile();
+        try {
+            Files.createDirectories(parent.toPath());
+            Path temp = Files.createTempFile(parent.toPath(), snapshotFile.getName(), ".tmp");
+            try (DataOutputStream out =
+                    new DataOutputStream(
+                            new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                writeString(out, contentHash);
+                writeString(out, manifest);
+                writeString(out, source.getLocaleID());
+                writeString(out, source.getXMLNormalizingDtdType().name());
+                out.writeBoolean(source.isNonInheriting());
+                VersionInfo dtdVersion = source.getDtdVersionInfo();
+                writeString(out, dtdVersion == null ? null : dtdVersion.toString());
+
+                out.writeInt(strings.size());
+                for (String s : strings) {
+                    writeString(out, s);
+                }
+                out.writeInt(paths.size());
+                for (int value : triples) {
+                    out.writeInt(value);
+                }
+                for (int[] pairs : commentIndexes) {
+                    out.writeInt(pairs.length / 2);
+                    for (int value : pairs) {
+                        out.writeInt(value);
+                    }
+                }
+                out.writeInt(initialComment);
+                out.writeInt(finalComment);
+            }
+            Files.move(
+                    temp,
+                    snapshotFile.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new ICUUncheckedIOException("Cannot write the snapshot " + snapshotFile, e);
+        }
+    }
+
+    /**
+     * Read the snapshot of an XML file, returning a thawed source, or null if there is no snapshot
+     * or if it is stale. The file is only hashed if its size or modification time is not the same
+     * as when the snapshot was written. A damaged snapshot is also treated as missing, so the
+     * caller can always fall back to parsing the XML.
+     */
+    public static XMLSource read(File snapshotFile, File xmlFile, DraftStatus minimalDraftStatus) {
+        return read(
+                snapshotFile,
+                (hash, manifest) ->
+                        getManifest(xmlFile, minimalDraftStatus).equals(manifest)
+                                || hash.equals(getContentHash(xmlFile, minimalDraftStatus)));
+    }
+
+    /**
+     * Read a snapshot, returning a thawed source, or null if there is no snapshot or if it was not
+     * made from XML with the expected hash. A damaged snapshot is also treated as missing, so the
+     * caller can always fall back to parsing the XML.
+     */
+    public static XMLSource read(File snapshotFile, String expectedHash) {
+        return read(snapshotFile, (hash, manifest) -> expectedHash.equals(hash));
+    }
+
+    /**
+     * Read a snapshot, if it is current. The snapshot is read into the heap rather than mapped: it
+     * is only used while the source is built, and a mapping would stay open until the buffer is
+     * garbage collected.
+     *
+     * @param isCurrent given the content hash and the manifest (null if none) that the snapshot was
+     *     written with
+     */
+    private static XMLSource read(File snapshotFile, BiPredicate<String, String> isCurrent) {
+        if (!snapshotFile.canRead()) {
+            return null;
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(snapshotFile.toPath()));
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                return null;
+            }
+            String hash = readString(buffer);
+            String manifest = readString(buffer);
+            if (hash == null || !isCurrent.test(hash, manifest)) {
+                return null;
+            }
+            SimpleXMLSource source = new SimpleXMLSource(readString(buffer));
+            source.setXMLNormalizingDtdType(DtdType.valueOf(readString(buffer)));
+            source.setNonInheriting(buffer.get() != 0);
+            String dtdVersion = readString(buffer);
+            if (dtdVersion != null) {
+                source.setDtdVersionInfo(VersionInfo.getInstance(dtdVersion));
+            }
+
+            String[] strings = new String[buffer.getInt()];
+            for (int i = 0; i < strings.length; ++i) {
+                strings[i] = readString(buffer);
+            }
+            int pathCount = buffer.getInt();
+            for (int i = 0; i < pathCount; ++i) {
+                String path = strings[buffer.getInt()];
+                int fullPath = buffer.getInt();
+                source.putValueAtDPath(path, strings[buffer.getInt()]);
+                if (fullPath >= 0) {
+                    source.putFullPathAtDPath(path, strings[fullPath]);
+                }
+            }
+            Comments comments = source.getXpathComments();
+            for (CommentType type : COMMENT_TYPES) {
+                int count = buffer.getInt();
+                for (int i = 0; i < count; ++i) {
+                    String path = strings[buffer.getInt()];
+                    comments.addComment(type, path, strings[buffer.getInt()]);
+                }
+            }
+            comments.setInitialComment(strings[buffer.getInt()]);
+            comments.setFinalComment(strings[buffer.getInt()]);
+            return source;
+        } catch (IOException
+                | BufferUnderflowException
+                | IndexOutOfBoundsException
+                | IllegalArgumentException e) {
+            logger.log(Level.WARNING, e, () -> "Ignoring unreadable snapshot " + snapshotFile);
+            return null;
+        }
+    }
+
+    private static int index(String s, Map<String, Integer> stringToIndex, List<String> strings) {
+        return stringToIndex.computeIfAbsent(
+                s,
+                k -> {
+                    strings.add(k);
+                    return strings.size() - 1;
+                });
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        if (s == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
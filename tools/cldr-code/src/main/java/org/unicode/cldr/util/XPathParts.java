@@ -203,6 +203,11 @@ public final class XPathParts extends XPathParser
             return this;
         }
 
+        /** The comments of the given style, keyed by distinguishing path. Read-only. */
+        Map<String, String> getComments(CommentType style) {
+            return Collections.unmodifiableMap(comments.get(style));
+        }
+
         public String removeComment(CommentType style, String xPath) {
             String result = comments.get(style).get(xPath);
             if (result != null) comments.get(style).remove(xPath);
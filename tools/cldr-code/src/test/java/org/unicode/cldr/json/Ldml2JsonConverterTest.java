@@ -0,0 +1,73 @@
+package org.unicode.cldr.json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import java.io.File;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.unicode.cldr.util.CLDRFile;
+import org.unicode.cldr.util.CLDRFile.DraftStatus;
+import org.unicode.cldr.util.CLDRPaths;
+
+/** The JSON files that Ldml2JsonConverter streams out */
+class Ldml2JsonConverterTest {
+    @TempDir File dir;
+
+    @Test
+    void testStreamedSameAsToJson() throws Exception {
+        final Ldml2JsonConverter converter =
+                new Ldml2JsonConverter(
+                        CLDRPaths.COMMON_DIRECTORY,
+                        dir.getPath(),
+                        "main",
+                        false,
+                        false,
+                        "optional",
+                        "fr",
+                        false,
+                        null,
+                        CLDRFile.GEN_VERSION,
+                        true,
+                        true,
+                        false,
+                        false,
+                        Optional.empty());
+        converter.processDirectory("main", DraftStatus.unconfirmed);
+
+        final List<Path> files;
+        try (Stream<Path> paths = Files.walk(dir.toPath())) {
+            files =
+                    paths.filter(p -> p.toString().endsWith(".json"))
+                            .sorted()
+                            .collect(Collectors.toList());
+        }
+        assertFalse(files.isEmpty(), "no JSON written");
+
+        // the same Gson settings as the converter's
+        final Gson gson = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
+        for (Path file : files) {
+            final String streamed = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+            final JsonElement tree = JsonParser.parseString(streamed);
+            // as the converter wrote the tree before: all of it made into a String, then printed
+            final StringWriter old = new StringWriter();
+            try (PrintWriter out = new PrintWriter(old)) {
+                out.println(gson.toJson(tree));
+            }
+            assertEquals(old.toString(), streamed, file.toString());
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package org.unicode.cldr.json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Runs of an incremental conversion, as Ldml2JsonConverter.processDirectory does them */
+class Ldml2JsonManifestTest {
+    private static final String SHARED = "shared";
+
+    @TempDir File dir;
+    private File inputDir;
+    private File outputDir;
+    private File manifestFile;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        inputDir = new File(dir, "main");
+        outputDir = new File(dir, "out");
+        manifestFile = new File(outputDir, ".ldml2json-main.manifest.json");
+        inputDir.mkdirs();
+        outputDir.mkdirs();
+        write(new File(inputDir, "root.xml"), "root");
+        write(new File(inputDir, "en.xml"), "en");
+        write(new File(inputDir, "en_GB.xml"), "en_GB");
+        write(new File(inputDir, "fr.xml"), "fr");
+    }
+
+    @Test
+    void testUnchangedSkipped() throws IOException {
+        assertEquals(available(), run(SHARED));
+        assertEquals(Set.of(), run(SHARED));
+        for (String loc : available()) {
+            assertTrue(new File(outputDir, output(loc)).isFile(), loc);
+        }
+    }
+
+    @Test
+    void testChangedRebuilt() throws IOException {
+        run(SHARED);
+        write(new File(inputDir, "fr.xml"), "fr, changed");
+        assertEquals(Set.of("fr"), run(SHARED));
+        // a change to a parent changes its children
+        write(new File(inputDir, "en.xml"), "en, changed");
+        assertEquals(Set.of("en", "en_GB"), run(SHARED));
+        assertEquals(Set.of(), run(SHARED));
+    }
+
+    @Test
+    void testSharedChangedRebuildsAll() throws IOException {
+        run(SHARED);
+        assertEquals(available(), run("other"));
+        assertEquals(Set.of(), run("other"));
+    }
+
+    @Test
+    void testRemovedDeletesOutputs() throws IOException {
+        run(SHARED);
+        assertTrue(new File(inputDir, "fr.xml").delete());
+        assertEquals(Set.of(), run(SHARED));
+        assertFalse(new File(outputDir, output("fr")).exists());
+        assertTrue(new File(outputDir, output("en")).isFile());
+        // and it is gone from the manifest
+        write(new File(inputDir, "fr.xml"), "fr");
+        assertEquals(Set.of("fr"), run(SHARED));
+    }
+
+    @Test
+    void testFailedRetried() throws IOException {
+        run(SHARED);
+        write(new File(inputDir, "fr.xml"), "fr, changed");
+        final Ldml2JsonManifest manifest = new Ldml2JsonManifest(manifestFile, SHARED);
+        for (String loc : available()) {
+            final String inputs = Ldml2JsonManifest.hashInputs(inputDir, loc);
+            if (manifest.getUnchanged(loc, inputs) == null) {
+                manifest.fail(loc);
+            }
+        }
+        manifest.finish(outputDir.getPath(), available());
+        // the outputs of the last good run are kept
+        assertTrue(new File(outputDir, output("fr")).isFile());
+        assertEquals(Set.of("fr"), run(SHARED));
+    }
+
+    @Test
+    void testHashInputs() throws IOException {
+        final String en = Ldml2JsonManifest.hashInputs(inputDir, "en");
+        assertEquals(en, Ldml2JsonManifest.hashInputs(inputDir, "en"));
+        assertNotEquals(en, Ldml2JsonManifest.hashInputs(inputDir, "fr"));
+        write(new File(inputDir, "root.xml"), "root, changed");
+        assertNotEquals(en, Ldml2JsonManifest.hashInputs(inputDir, "en"));
+    }
+
+    @Test
+    void testHashShared() throws IOException {
+        final File dtd = new File(dir, "dtd");
+        dtd.mkdirs();
+        write(new File(dtd, "ldml.dtd"), "<!ELEMENT ldml ANY >");
+        final String shared = Ldml2JsonManifest.hashShared("config", dtd);
+        assertNotNull(shared);
+        assertEquals(shared, Ldml2JsonManifest.hashShared("config", dtd));
+        assertNotEquals(shared, Ldml2JsonManifest.hashShared("other config", dtd));
+        write(new File(dtd, "ldml.dtd"), "<!ELEMENT ldml EMPTY >");
+        assertNotEquals(shared, Ldml2JsonManifest.hashShared("config", dtd));
+    }
+
+    /**
+     * One incremental run over the input directory, writing one output file per converted input
+     *
+     * @return the files converted
+     */
+    private Set<String> run(String shared) throws IOException {
+        final Ldml2JsonManifest manifest = new Ldml2JsonManifest(manifestFile, shared);
+        final Set<String> converted = new HashSet<>();
+        for (String loc : available()) {
+            final String inputs = Ldml2JsonManifest.hashInputs(inputDir, loc);
+            if (manifest.getUnchanged(loc, inputs) != null) {
+                continue;
+            }
+            write(new File(outputDir, output(loc)), loc);
+            final Ldml2JsonManifest.Entry entry = new Ldml2JsonManifest.Entry();
+            entry.inputs = inputs;
+            entry.count = 1;
+            entry.outputs.add(output(loc));
+            manifest.put(loc, entry);
+            converted.add(loc);
+        }
+        manifest.finish(outputDir.getPath(), available());
+        assertTrue(manifestFile.isFile());
+        return converted;
+    }
+
+    private Collection<String> available() {
+        final Set<String> result = new HashSet<>();
+        for (String name : Arrays.asList(inputDir.list())) {
+            result.add(name.substring(0, name.length() - ".xml".length()));
+        }
+        return result;
+    }
+
+    private static String output(String loc) {
+        return new File(loc, "data.json").getPath();
+    }
+
+    private static void write(File file, String contents) throws IOException {
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), contents.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,120 @@
+package org.unicode.cldr.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.unicode.cldr.test.CheckCLDR.CheckStatus;
+import org.unicode.cldr.test.CheckCLDR.Options;
+import org.unicode.cldr.test.CheckCLDR.Phase;
+import org.unicode.cldr.test.TestCache.TestResultBundle;
+import org.unicode.cldr.util.CLDRConfig;
+import org.unicode.cldr.util.CLDRFile;
+import org.unicode.cldr.util.CLDRLocale;
+import org.unicode.cldr.util.CLDRPaths;
+import org.unicode.cldr.util.Factory;
+import org.unicode.cldr.util.SimpleFactory;
+
+public class TestCheckResultStore {
+    private static final int MAX_PATHS = 2000;
+
+    @Test
+    void testStoredResultsMatch(@TempDir File directory) {
+        CLDRConfig config = CLDRConfig.getInstance();
+        TestCache testCache = config.getCldrFactory().getTestCache();
+        Options options =
+                new Options(CLDRLocale.getInstance("fr"), Phase.SUBMISSION, "default", "modern");
+        CLDRFile file = config.getCLDRFile("fr", true);
+        try {
+            CheckResultStore store = new CheckResultStore(directory);
+            testCache.setResultStore(store);
+            TestResultBundle bundle = testCache.getBundle(options);
+            Map<String, String> expected = checkAll(bundle, file);
+            String expectedProblems = bundle.getPossibleProblems().toString();
+            bundle.saveResults();
+            assertEquals(0, store.getHits());
+
+            testCache.setResultStore(store); // clears the bundles
+            TestResultBundle reloaded = testCache.getBundle(options);
+            assertEquals(1, store.getHits());
+            assertEquals(expectedProblems, reloaded.getPossibleProblems().toString());
+            assertEquals(expected, checkAll(reloaded, file));
+        } finally {
+            testCache.setResultStore(null);
+        }
+    }
+
+    @Test
+    void testRelatedLocalesInKey(@TempDir File directory) throws IOException {
+        for (String locale : new String[] {"root", "fr", "fr_CA", "de"}) {
+            Files.copy(
+                    new File(CLDRPaths.MAIN_DIRECTORY, locale + ".xml").toPath(),
+                    new File(directory, locale + ".xml").toPath(),
+                    StandardCopyOption.REPLACE_EXISTING);
+        }
+        String fr = CheckResultStore.getRelatedFingerprint(makeFactory(directory), "fr");
+        String frCA = CheckResultStore.getRelatedFingerprint(makeFactory(directory), "fr_CA");
+        assertEquals(fr, CheckResultStore.getRelatedFingerprint(makeFactory(directory), "fr"));
+
+        // a change to a sub-locale (read by CheckChildren) changes the key of its parent
+        touch(new File(directory, "fr_CA.xml"));
+        String changed = CheckResultStore.getRelatedFingerprint(makeFactory(directory), "fr");
+        assertNotEquals(fr, changed);
+
+        // a change to a parent (read by CheckDates) changes the key of its children
+        touch(new File(directory, "fr.xml"));
+        assertNotEquals(
+                frCA, CheckResultStore.getRelatedFingerprint(makeFactory(directory), "fr_CA"));
+
+        // but a change to an unrelated locale doesn't
+        touch(new File(directory, "de.xml"));
+        assertEquals(
+                changed, CheckResultStore.getRelatedFingerprint(makeFactory(directory), "fr"));
+    }
+
+    private static Factory makeFactory(File directory) {
+        return SimpleFactory.make(directory.getPath(), ".*");
+    }
+
+    /** Change the file without changing its data */
+    private static void touch(File file) throws IOException {
+        Files.write(
+                file.toPath(),
+                "\n<!-- changed -->\n".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+    }
+
+    /** Check the first paths of the file, returning the results as text */
+    private static Map<String, String> checkAll(TestResultBundle bundle, CLDRFile file) {
+        Map<String, String> result = new LinkedHashMap<>();
+        List<CheckStatus> statuses = new ArrayList<>();
+        for (String path : file) {
+            bundle.check(path, statuses, file.getStringValue(path));
+            StringBuilder text = new StringBuilder();
+            for (CheckStatus status : statuses) {
+                text.append(status.getSubtype())
+                        .append(' ')
+                        .append(status)
+                        .append(' ')
+                        .append(status.getCause().getClass().getSimpleName())
+                        .append('\n');
+            }
+            result.put(path, text.toString());
+            if (result.size() == MAX_PATHS) {
+                break;
+            }
+        }
+        return result;
+    }
+}
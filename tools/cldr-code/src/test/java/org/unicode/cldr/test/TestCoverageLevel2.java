@@ -0,0 +1,69 @@
+package org.unicode.cldr.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.unicode.cldr.util.CLDRConfig;
+import org.unicode.cldr.util.CLDRFile;
+import org.unicode.cldr.util.Level;
+import org.unicode.cldr.util.PathIdDictionary;
+import org.unicode.cldr.util.RegexLookup;
+import org.unicode.cldr.util.RegexLookup.LookupType;
+import org.unicode.cldr.util.SupplementalDataInfo;
+
+public class TestCoverageLevel2 {
+    @Test
+    void testConcurrentLevels() {
+        SupplementalDataInfo sdi = CLDRConfig.getInstance().getSupplementalDataInfo();
+        CLDRFile english = CLDRConfig.getInstance().getEnglish();
+        List<String> paths = new ArrayList<>();
+        english.fullIterable().forEach(paths::add);
+
+        CoverageLevel2 sequential = CoverageLevel2.getInstance(sdi, "de");
+        Map<String, Level> expected = new HashMap<>();
+        for (String path : paths) {
+            expected.put(path, sequential.getLevel(path));
+        }
+
+        CoverageLevel2 concurrent = CoverageLevel2.getInstance(sdi, "de");
+        for (int round = 0; round < 2; ++round) { // the second round is memoized
+            paths.parallelStream()
+                    .forEach(
+                            path ->
+                                    assertEquals(
+                                            expected.get(path), concurrent.getLevel(path), path));
+        }
+        assertEquals(expected.get(paths.get(0)), sdi.getCoverageLevel(paths.get(0), "de"));
+    }
+
+    @Test
+    void testUnknownPathGetsNoId() {
+        SupplementalDataInfo sdi = CLDRConfig.getInstance().getSupplementalDataInfo();
+        CoverageLevel2 coverage = CoverageLevel2.getInstance(sdi, "de");
+        String path = "//ldml/localeDisplayNames/languages/language[@type=\"xx_unknown\"]";
+        for (int round = 0; round < 2; ++round) {
+            assertNotNull(coverage.getLevel(path));
+        }
+        assertEquals(PathIdDictionary.NO_ID, PathIdDictionary.peekId(path));
+    }
+
+    @Test
+    void testCompiledLookupMatchesStar() {
+        SupplementalDataInfo sdi = CLDRConfig.getInstance().getSupplementalDataInfo();
+        RegexLookup<Level> star = sdi.makeCoverageLookup(LookupType.STAR_PATTERN_LOOKUP);
+        RegexLookup<Level> compiled = sdi.makeCoverageLookup(LookupType.COMPILED_PATTERN_LOOKUP);
+        CLDRFile english = CLDRConfig.getInstance().getEnglish();
+        for (String locale : new String[] {"de", "ja"}) {
+            CoverageLevel2 expected = CoverageLevel2.getInstance(sdi, locale, star);
+            CoverageLevel2 actual = CoverageLevel2.getInstance(sdi, locale, compiled);
+            for (String path : english.fullIterable()) {
+                assertEquals(expected.getLevel(path), actual.getLevel(path), locale + " " + path);
+            }
+        }
+    }
+}
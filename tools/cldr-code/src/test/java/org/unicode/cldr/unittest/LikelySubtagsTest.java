@@ -297,6 +297,23 @@ public class LikelySubtagsTest extends TestFmwk {
         }
     }
 
+    /** Minimize results are kept per favorRegion, so switching it back and forth is safe */
+    public void TestFavorRegionMemo() {
+        final LikelySubtags byScript = new LikelySubtags().setFavorRegion(false);
+        final LikelySubtags byRegion = new LikelySubtags().setFavorRegion(true);
+        final LikelySubtags toggled = new LikelySubtags();
+        for (String tag :
+                Arrays.asList("zh_Hant_TW", "zh_Hant_HK", "sr_Latn_RS", "pa_Arab_PK", "en_US")) {
+            for (boolean favorRegion : new boolean[] {false, true, false, true}) {
+                toggled.setFavorRegion(favorRegion);
+                assertEquals(
+                        tag + " " + favorRegion,
+                        (favorRegion ? byRegion : byScript).minimize(tag),
+                        toggled.minimize(tag));
+            }
+        }
+    }
+
     public void TestForMissingScriptMetadata() {
         TreeSet<String> metadataScripts = new TreeSet<>(ScriptMetadata.getScripts());
         UnicodeSet current = new UnicodeSet(0, 0x10FFFF);
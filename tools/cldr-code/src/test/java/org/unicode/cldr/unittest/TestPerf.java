@@ -1,18 +1,29 @@
 package org.unicode.cldr.unittest;
 
 import com.ibm.icu.util.Output;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map.Entry;
+import java.util.Random;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.unicode.cldr.util.CLDRConfig;
 import org.unicode.cldr.util.CLDRFile;
 import org.unicode.cldr.util.DtdData;
 import org.unicode.cldr.util.DtdData.AttributeValueComparator;
 import org.unicode.cldr.util.DtdType;
+import org.unicode.cldr.util.LanguageTagCanonicalizer;
+import org.unicode.cldr.util.StandardCodes.LstrType;
 import org.unicode.cldr.util.Timer;
+import org.unicode.cldr.util.Validity;
 import org.unicode.cldr.util.XPathParts;
 
 public class TestPerf extends TestFmwkPlus {
@@ -192,5 +203,89 @@ public class TestPerf extends TestFmwkPlus {
         return timer.getSeconds() / iterations;
     }
 
+    /**
+     * Canonicalize every code in the validity data from many threads at once, check that they all
+     * get the same results, and log the time taken.
+     */
+    public void TestCanonicalizeThreads() throws InterruptedException, ExecutionException {
+        final List<String> tags = new ArrayList<>();
+        for (LstrType type :
+                Arrays.asList(
+                        LstrType.language, LstrType.script, LstrType.region, LstrType.variant)) {
+            for (Set<String> codes : Validity.getInstance().getStatusToCodes(type).values()) {
+                for (String code : codes) {
+                    switch (type) {
+                        case language:
+                            tags.add(code);
+                            break;
+                        case variant:
+                            tags.add("en-" + code);
+                            break;
+                        default:
+                            tags.add("und-" + code);
+                    }
+                }
+            }
+        }
+        // the expected results, on one thread with its own canonicalizer
+        final String[] expected = new String[tags.size()];
+        final LanguageTagCanonicalizer single = new LanguageTagCanonicalizer();
+        for (int j = 0; j < tags.size(); ++j) {
+            expected[j] = canonicalize(single, tags.get(j));
+        }
+
+        final LanguageTagCanonicalizer canonicalizer = new LanguageTagCanonicalizer();
+        final int threads = Math.max(4, Runtime.getRuntime().availableProcessors());
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final List<Future<String[]>> futures = new ArrayList<>();
+        final Timer timer = new Timer();
+        try {
+            for (int i = 0; i < threads; ++i) {
+                // each thread goes through all the tags, in its own order
+                final List<Integer> order = new ArrayList<>();
+                for (int j = 0; j < tags.size(); ++j) {
+                    order.add(j);
+                }
+                Collections.shuffle(order, new Random(i));
+                futures.add(
+                        executor.submit(
+                                () -> {
+                                    final String[] results = new String[tags.size()];
+                                    for (int j : order) {
+                                        results[j] = canonicalize(canonicalizer, tags.get(j));
+                                    }
+                                    return results;
+                                }));
+            }
+            for (Future<String[]> f : futures) {
+                // an exception on any thread fails the test here
+                final String[] results = f.get();
+                for (int j = 0; j < tags.size(); ++j) {
+                    assertEquals(tags.get(j), expected[j], results[j]);
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+        timer.stop();
+        logln(tags.size() + " tags on " + threads + " threads:\t" + timer);
+
+        // again on one thread, with the results kept
+        timer.start();
+        for (String tag : tags) {
+            canonicalize(canonicalizer, tag);
+        }
+        timer.stop();
+        logln(tags.size() + " tags again on 1 thread:\t" + timer);
+    }
+
+    private static String canonicalize(LanguageTagCanonicalizer canonicalizer, String tag) {
+        try {
+            return canonicalizer.transform(tag);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Canonicalizing " + tag, e);
+        }
+    }
+
     public void TestUnused() {}
 }
@@ -0,0 +1,60 @@
+package org.unicode.cldr.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.unicode.cldr.util.LocaleInheritanceInfo.Reason;
+
+public class TestAliasTable {
+    private static final String BUDDHIST_MONTH =
+            "//ldml/dates/calendars/calendar[@type=\"buddhist\"]/months/monthContext[@type=\"format\"]/monthWidth[@type=\"wide\"]/month[@type=\"1\"]";
+    private static final String GREGORIAN_MONTH =
+            "//ldml/dates/calendars/calendar[@type=\"gregorian\"]/months/monthContext[@type=\"format\"]/monthWidth[@type=\"wide\"]/month[@type=\"1\"]";
+
+    private static AliasTable getTable() {
+        return CLDRConfig.getInstance().getEnglish().dataSource.getAliasTable();
+    }
+
+    @Test
+    void testSharedWithRoot() {
+        Factory factory = CLDRConfig.getInstance().getCldrFactory();
+        assertSame(
+                factory.make("root", false).dataSource.getAliasTable(),
+                factory.make("de", true).dataSource.getAliasTable());
+    }
+
+    @Test
+    void testAliasSteps() {
+        AliasTable table = getTable();
+        LocaleInheritanceInfo step = table.getStep(BUDDHIST_MONTH);
+        assertEquals(Reason.alias, step.getReason());
+        assertEquals(GREGORIAN_MONTH, step.getPath());
+
+        step = table.getStep(GREGORIAN_MONTH + "[@alt=\"variant\"]");
+        assertEquals(Reason.removedAttribute, step.getReason());
+        assertEquals(GREGORIAN_MONTH, step.getPath());
+
+        step =
+                table.getStep(
+                        "//ldml/numbers/currencies/currency[@type=\"BRZ\"]/displayName[@count=\"other\"]");
+        assertEquals(Reason.changedAttribute, step.getReason());
+        assertEquals("//ldml/numbers/currencies/currency[@type=\"BRZ\"]/displayName", step.getPath());
+
+        assertNull(table.getStep("//ldml/localeDisplayNames/languages/language[@type=\"de\"]"));
+    }
+
+    @Test
+    void testClosure() {
+        AliasTable table = getTable();
+        List<String> closure = table.getClosure(BUDDHIST_MONTH + "[@alt=\"variant\"]");
+        assertTrue(closure.size() >= 2, closure::toString);
+        assertEquals(GREGORIAN_MONTH, table.getFinalTarget(BUDDHIST_MONTH));
+        String plain = "//ldml/localeDisplayNames/languages/language[@type=\"de\"]";
+        assertTrue(table.getClosure(plain).isEmpty());
+        assertEquals(plain, table.getFinalTarget(plain));
+    }
+}
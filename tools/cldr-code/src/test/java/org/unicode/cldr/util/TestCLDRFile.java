@@ -14,7 +14,9 @@ import java.nio.file.Path;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
@@ -375,6 +377,25 @@ public class TestCLDRFile {
         }
     }
 
+    @Test
+    public void TestPreload() {
+        List<String> locales = List.of("fr_CA", "de_CH", "sr_Latn_BA", "fr_CA");
+        Map<String, CLDRFile> files = factory.preload(locales, true, ForkJoinPool.commonPool());
+        assertEquals(List.of("fr_CA", "de_CH", "sr_Latn_BA"), List.copyOf(files.keySet()));
+        for (Map.Entry<String, CLDRFile> entry : files.entrySet()) {
+            CLDRFile file = entry.getValue();
+            assertEquals(entry.getKey(), file.getLocaleID());
+            assertTrue(file.isResolved(), entry.getKey());
+            CLDRFile made = factory.make(entry.getKey(), true);
+            for (String path : made) {
+                assertEquals(made.getStringValue(path), file.getStringValue(path), path);
+            }
+        }
+        assertThrows(
+                NoSourceDirectoryException.class,
+                () -> factory.preload(List.of("xx_YY"), false, ForkJoinPool.commonPool()));
+    }
+
     @Test
     @Disabled
     /** enable manually - for testing performance */
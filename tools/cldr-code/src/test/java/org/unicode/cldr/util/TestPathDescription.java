@@ -1,8 +1,10 @@
 package org.unicode.cldr.util;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
 import org.junit.jupiter.api.Test;
+import org.unicode.cldr.util.RegexLookup.LookupType;
 
 public class TestPathDescription {
     @Test
@@ -10,4 +12,16 @@ public class TestPathDescription {
         RegexLookup<String> l = PathDescription.parseLookupString();
         assertNotNull(l);
     }
+
+    @Test
+    public void testCompiledLookupMatchesOptimized() {
+        RegexLookup<String> optimized =
+                PathDescription.parseLookupString(LookupType.OPTIMIZED_DIRECTORY_PATTERN_LOOKUP);
+        RegexLookup<String> compiled =
+                PathDescription.parseLookupString(LookupType.COMPILED_PATTERN_LOOKUP);
+        assertEquals(optimized.size(), compiled.size());
+        for (String path : CLDRConfig.getInstance().getEnglish().fullIterable()) {
+            assertEquals(optimized.get(path), compiled.get(path), path);
+        }
+    }
 }
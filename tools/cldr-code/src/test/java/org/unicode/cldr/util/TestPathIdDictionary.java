@@ -0,0 +1,63 @@
+package org.unicode.cldr.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class TestPathIdDictionary {
+    @Test
+    void testIds() {
+        String path = "//ldml/localeDisplayNames/languages/language[@type=\"xx_test\"]";
+        assertEquals(PathIdDictionary.NO_ID, PathIdDictionary.peekId(path + "[@alt=\"unseen\"]"));
+        int id = PathIdDictionary.getId(path);
+        assertTrue(id >= 0 && id < PathIdDictionary.size());
+        assertEquals(id, PathIdDictionary.getId(new String(path)));
+        assertEquals(id, PathIdDictionary.peekId(path));
+        assertEquals(path, PathIdDictionary.getPath(id));
+        assertSame(PathIdDictionary.getPath(id), PathIdDictionary.getCanonical(new String(path)));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> PathIdDictionary.getPath(PathIdDictionary.size()));
+    }
+
+    @Test
+    void testPathIdMap() {
+        Map<String, String> expected = new HashMap<>();
+        for (int i = 0; i < 1000; ++i) {
+            expected.put("//ldml/numbers/test[@type=\"" + i + "\"]", "v" + i);
+        }
+        PathIdMap<String> map = new PathIdMap<>(expected);
+        assertEquals(expected, map);
+        assertEquals(expected.size(), map.size());
+        assertNull(map.get("//ldml/numbers/test[@type=\"missing\"]"));
+        assertThrows(UnsupportedOperationException.class, () -> map.put("//ldml/x", "y"));
+    }
+
+    @Test
+    void testFrozenSourceUnchanged() {
+        XMLSource source = CLDRConfig.getInstance().getEnglish().getUnresolved().dataSource;
+        Map<String, String> values = new HashMap<>();
+        Map<String, String> fullPaths = new HashMap<>();
+        for (String path : source) {
+            values.put(path, source.getValueAtDPath(path));
+            fullPaths.put(path, source.getFullPathAtDPath(path));
+        }
+        XMLSource thawed = source.cloneAsThawed();
+        thawed.freeze();
+        for (String path : values.keySet()) {
+            assertEquals(values.get(path), thawed.getValueAtDPath(path), path);
+            assertEquals(fullPaths.get(path), thawed.getFullPathAtDPath(path), path);
+        }
+        int count = 0;
+        for (String path : thawed) {
+            ++count;
+        }
+        assertEquals(values.size(), count, "path count");
+    }
+}
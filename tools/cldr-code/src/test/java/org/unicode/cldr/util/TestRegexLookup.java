@@ -0,0 +1,105 @@
+package org.unicode.cldr.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.ibm.icu.util.Output;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.unicode.cldr.util.RegexLookup.CompiledPatternIndex;
+import org.unicode.cldr.util.RegexLookup.Finder;
+import org.unicode.cldr.util.RegexLookup.LookupType;
+
+public class TestRegexLookup {
+    @ParameterizedTest
+    @CsvSource({
+        "'^//ldml/dates/calendars', 1, //ldml/dates/calendars",
+        "'^//ldml/numbers/currencies/currency\\[@type=\"(\\w+)\"]', 1, '//ldml/numbers/currencies/currency[@type=\"'",
+        "'^//ldml/abc?', 1, //ldml/ab",
+        "'^//ldml/ab+', 1, //ldml/ab",
+        "'^//ldml/a b', 1, //ldml/a",
+        "'^//ldml/a|^//x', 1, ''",
+        "'^//ldml/(a|b)', 1, //ldml/",
+        "'^(?i)//ldml', 1, ''",
+        "'\\Qa.b\\E', 0, ''",
+        "'/territory\\[', 0, /territory[",
+    })
+    void testRequiredLiteral(String regex, int start, String expected) {
+        assertEquals(expected, CompiledPatternIndex.getRequiredLiteral(regex, start), regex);
+    }
+
+    @Test
+    void testCompiledMatchesOtherTypes() {
+        List<RegexLookup<String>> lookups = new ArrayList<>();
+        for (LookupType type :
+                new LookupType[] {
+                    LookupType.STANDARD,
+                    LookupType.OPTIMIZED_DIRECTORY_PATTERN_LOOKUP,
+                    LookupType.COMPILED_PATTERN_LOOKUP
+                }) {
+            lookups.add(
+                    RegexLookup.<String>of(type, RegexLookup.RegexFinderTransformPath)
+                            .loadFromFile(PathHeader.class, "data/PathHeader.txt"));
+        }
+        RegexLookup<String> compiled = lookups.get(2);
+        assertEquals(lookups.get(0).size(), compiled.size());
+
+        CLDRFile english = CLDRConfig.getInstance().getEnglish();
+        for (String path : english.fullIterable()) {
+            Output<String[]> expectedArgs = new Output<>();
+            Output<Finder> expectedFinder = new Output<>();
+            String expected = lookups.get(0).get(path, null, expectedArgs, expectedFinder, null);
+            for (RegexLookup<String> lookup : lookups.subList(1, lookups.size())) {
+                Output<String[]> args = new Output<>();
+                Output<Finder> finder = new Output<>();
+                assertEquals(expected, lookup.get(path, null, args, finder, null), path);
+                assertArrayEquals(expectedArgs.value, args.value, path);
+                assertEquals(String.valueOf(expectedFinder.value), String.valueOf(finder.value));
+            }
+            assertEquals(
+                    lookups.get(0).getAll(path, null, null, null),
+                    compiled.getAll(path, null, null, null),
+                    path);
+        }
+    }
+
+    @Test
+    void testCompiledFirstAddedWins() {
+        RegexLookup<String> lookup =
+                RegexLookup.<String>of(
+                                LookupType.COMPILED_PATTERN_LOOKUP,
+                                RegexLookup.RegexFinderTransformPath)
+                        .add("//ldml/(\\w+)", "general")
+                        .add("//ldml/numbers/(\\w+)", "specific")
+                        .add("/numbers/", "unanchored");
+        Output<String[]> args = new Output<>();
+        assertSame("general", lookup.get("//ldml/numbers/symbols", null, args));
+        assertEquals("numbers", args.value[1]);
+        assertEquals(
+                List.of("general", "specific", "unanchored"),
+                lookup.getAll("//ldml/numbers/symbols", null, null, null));
+        assertEquals(List.of("general"), lookup.getAll("//ldml/dates", null, null, null));
+    }
+
+    @Test
+    void testCompiledOverlappingSubstrings() {
+        RegexLookup<String> lookup =
+                RegexLookup.<String>of(
+                                LookupType.COMPILED_PATTERN_LOOKUP,
+                                RegexLookup.RegexFinderTransformPath)
+                        .add("/months/month", "months")
+                        .add("nth", "nth")
+                        .add("/month\\[", "month")
+                        .add("onths/x", "other");
+        // literals that overlap, end inside each other, and occur more than once
+        assertEquals(
+                List.of("months", "nth", "month"),
+                lookup.getAll("//ldml/months/month[@type=\"1\"]", null, null, null));
+        assertEquals(List.of("nth"), lookup.getAll("//ldml/nth/nth", null, null, null));
+        assertEquals(List.of(), lookup.getAll("//ldml/days/day", null, null, null));
+    }
+}
@@ -6,11 +6,72 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.ibm.icu.text.PluralRules;
 import com.ibm.icu.util.ULocale;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.junit.jupiter.api.Test;
 import org.unicode.cldr.util.SupplementalDataInfo.ApprovalRequirementMatcher;
 import org.unicode.cldr.util.SupplementalDataInfo.ParentLocaleComponent;
 
 public class TestSupplementalDataInfo {
+    /**
+     * The tables filled on first use (population, metazones, day periods, units and the derived
+     * maps) come out the same when many threads ask for them at once as when asked one by one.
+     */
+    @Test
+    void testConcurrentFirstUse() throws InterruptedException, ExecutionException {
+        final File supplemental = new File(CLDRPaths.DEFAULT_SUPPLEMENTAL_DIRECTORY);
+        final SupplementalDataInfo eager = SupplementalDataInfo.load(supplemental, null);
+        final List<String> expected = new ArrayList<>();
+        for (Callable<String> query : queries(eager)) {
+            try {
+                expected.add(query.call());
+            } catch (Exception e) {
+                throw new ExecutionException(e);
+            }
+        }
+
+        final SupplementalDataInfo lazy = SupplementalDataInfo.load(supplemental, null);
+        final List<Callable<String>> queries = new ArrayList<>();
+        final int rounds = 8;
+        for (int i = 0; i < rounds; ++i) {
+            queries.addAll(queries(lazy));
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            final List<Future<String>> results = executor.invokeAll(queries);
+            for (int i = 0; i < results.size(); ++i) {
+                assertEquals(
+                        expected.get(i % expected.size()), results.get(i).get(), "query " + i);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static List<Callable<String>> queries(SupplementalDataInfo sdi) {
+        return List.of(
+                () -> sdi.getLanguages().toString(),
+                () -> sdi.getTerritoriesForPopulationData("fr").toString(),
+                () -> sdi.getLanguageAndTerritoryPopulationData("en", "US").toString(),
+                () -> sdi.getAllMetazones().toString(),
+                () -> sdi.getMetaZoneRanges("Europe/Paris").toString(),
+                () -> sdi.getCanonicalTimeZones().toString(),
+                () -> sdi.getDayPeriods(DayPeriodInfo.Type.format, "de").toString(),
+                () -> sdi.getDayPeriodLocales(DayPeriodInfo.Type.selection).toString(),
+                () -> sdi.getUnitPrefixes().toString(),
+                () -> sdi.getUnitConverter().canConvert().toString(),
+                () -> sdi.getUnitConverter().getBaseUnit("foot"),
+                () -> sdi.getDefaultContentCLDRLocales().toString(),
+                () -> sdi.getEquivalentsForLocale("zh_Hant_TW").toString(),
+                () -> sdi.getBcp47Keys().toString());
+    }
+
     @Test
     void TestApprovalRequirementMatcher() {
         {
@@ -0,0 +1,114 @@
+package org.unicode.cldr.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.unicode.cldr.util.SupplementalDataInfo.PluralType;
+
+public class TestSupplementalDataSnapshot {
+    @TempDir Path tempDir;
+
+    private static final File SUPPLEMENTAL = new File(CLDRPaths.DEFAULT_SUPPLEMENTAL_DIRECTORY);
+
+    @Test
+    void testReplay() {
+        File snapshotFile =
+                SupplementalDataSnapshot.getSnapshotFile(tempDir.toFile(), SUPPLEMENTAL);
+        SupplementalDataSnapshot.write(SUPPLEMENTAL, snapshotFile);
+        SupplementalDataSnapshot snapshot =
+                SupplementalDataSnapshot.read(
+                        snapshotFile, SupplementalDataSnapshot.getContentHash(SUPPLEMENTAL));
+        assertNotNull(snapshot, "snapshot should be readable");
+
+        List<String> parsedPairs = new ArrayList<>();
+        new XMLFileReader()
+                .setHandler(recorder(parsedPairs))
+                .read(new File(SUPPLEMENTAL, "plurals.xml").toString(), -1, true);
+        List<String> replayedPairs = new ArrayList<>();
+        snapshot.replay("supplemental/plurals.xml", recorder(replayedPairs));
+        assertEquals(parsedPairs, replayedPairs);
+
+        SupplementalDataInfo parsed = SupplementalDataInfo.load(SUPPLEMENTAL, null);
+        SupplementalDataInfo replayed = SupplementalDataInfo.load(SUPPLEMENTAL, snapshot);
+        assertEquals(parsed.getCldrVersion(), replayed.getCldrVersion());
+        assertEquals(parsed.getLikelySubtags(), replayed.getLikelySubtags());
+        assertEquals(parsed.getLocaleAliasInfo(), replayed.getLocaleAliasInfo());
+        assertEquals(parsed.getLanguages(), replayed.getLanguages());
+        assertEquals(parsed.getTerritoryToContained(), replayed.getTerritoryToContained());
+        assertEquals(parsed.getBcp47Keys(), replayed.getBcp47Keys());
+        for (String locale : new String[] {"en", "fr", "ar", "ru"}) {
+            for (PluralType type : PluralType.values()) {
+                assertEquals(
+                        parsed.getPlurals(type, locale).toString(),
+                        replayed.getPlurals(type, locale).toString(),
+                        locale + " " + type);
+            }
+        }
+    }
+
+    @Test
+    void testStaleSnapshotIgnored() {
+        File snapshotFile =
+                SupplementalDataSnapshot.getSnapshotFile(tempDir.toFile(), SUPPLEMENTAL);
+        SupplementalDataSnapshot.write(SUPPLEMENTAL, snapshotFile);
+        assertNull(SupplementalDataSnapshot.read(snapshotFile, "stale"));
+        assertNull(SupplementalDataSnapshot.read(new File(tempDir.toFile(), "missing"), "stale"));
+    }
+
+    @Test
+    void testManifest() throws IOException {
+        // a copy of the files, to change
+        File common = new File(tempDir.toFile(), "common");
+        for (String dir : new String[] {"supplemental", "bcp47", "dtd"}) {
+            File target = new File(common, dir);
+            target.mkdirs();
+            for (File file : new File(SUPPLEMENTAL.getParentFile(), dir).listFiles()) {
+                if (file.isFile()) {
+                    Files.copy(file.toPath(), new File(target, file.getName()).toPath());
+                }
+            }
+        }
+        File supplemental = new File(common, "supplemental");
+        File snapshotFile =
+                new File(tempDir.toFile(), "supplemental" + SupplementalDataSnapshot.SUFFIX);
+        SupplementalDataSnapshot.write(supplemental, snapshotFile);
+        assertNotNull(SupplementalDataSnapshot.read(snapshotFile, supplemental));
+
+        // touched but the same: the manifest differs, but the hash matches
+        File plurals = new File(supplemental, "plurals.xml");
+        String manifest = SupplementalDataSnapshot.getManifest(supplemental);
+        assertTrue(plurals.setLastModified(plurals.lastModified() - 60_000));
+        assertNotEquals(manifest, SupplementalDataSnapshot.getManifest(supplemental));
+        assertNotNull(SupplementalDataSnapshot.read(snapshotFile, supplemental));
+
+        // changed
+        Files.write(
+                plurals.toPath(),
+                "<!-- changed -->\n".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+        assertNull(SupplementalDataSnapshot.read(snapshotFile, supplemental));
+    }
+
+    private static XMLFileReader.SimpleHandler recorder(List<String> pairs) {
+        return new XMLFileReader.SimpleHandler() {
+            @Override
+            public void handlePathValue(String path, String value) {
+                pairs.add(path);
+                pairs.add(value);
+            }
+        };
+    }
+}
@@ -1,12 +1,20 @@
 package org.unicode.cldr.util;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 import com.ibm.icu.impl.Relation;
 import com.ibm.icu.impl.Row.R2;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.EnumSet;
+import java.util.Map;
 import java.util.Map.Entry;
+import java.util.TreeMap;
 import org.junit.jupiter.api.Test;
 import org.unicode.cldr.test.OutdatedPaths;
 import org.unicode.cldr.unittest.TestHelper;
@@ -101,4 +109,131 @@ class TestVettingViewer {
         // but won't fail the test.
         assumeTrue(foundAny, "Did not find any English Changed. May need to revamp the test.");
     }
+
+    @Test
+    void testDashboardFromNotes() throws IOException {
+        final String loc = "ceb";
+        final CLDRLocale locale = CLDRLocale.getInstance(loc);
+        final PathHeader.Factory phf = PathHeader.getFactory();
+        final VoterInfoList vil = new VoterInfoList();
+        final Factory factory = CLDRConfig.getInstance().getCldrFactory();
+        VettingViewer<Organization> vv =
+                new VettingViewer<>(
+                        SupplementalDataInfo.getInstance(),
+                        factory,
+                        new VettingViewer.UsersChoice<Organization>() {
+
+                            @Override
+                            public String getWinningValueForUsersOrganization(
+                                    CLDRFile cldrFile, String path, Organization user) {
+                                return null;
+                            }
+
+                            @Override
+                            public VoteStatus getStatusForUsersOrganization(
+                                    CLDRFile cldrFile, String path, Organization user) {
+                                return VoteResolver.VoteStatus.ok;
+                            }
+
+                            @Override
+                            public boolean userDidVote(int userId, CLDRLocale loc, String path) {
+                                return path.hashCode() % 3 == 0;
+                            }
+
+                            @Override
+                            public VoteType getUserVoteType(
+                                    int userId, CLDRLocale loc, String path) {
+                                return VoteType.DIRECT;
+                            }
+
+                            @Override
+                            public VoteResolver<String> getVoteResolver(
+                                    CLDRFile cldrFile, final CLDRLocale loc, final String path) {
+                                VoteResolver<String> r = new VoteResolver<>(vil);
+                                r.setLocale(locale, phf.fromPath(path));
+                                return r;
+                            }
+                        });
+        final EnumSet<NotificationCategory> choiceSet =
+                VettingViewer.getDashboardNotificationCategories(Organization.google);
+        final VettingParameters notesArgs =
+                new VettingParameters(choiceSet, locale, Level.BASIC);
+        notesArgs.setUserAndOrganization(0, Organization.google);
+        notesArgs.setFiles(locale, factory, factory);
+        final VettingViewer<Organization>.PathNotes notes = vv.generatePathNotes(notesArgs);
+
+        final VettingParameters args = new VettingParameters(choiceSet, locale, Level.BASIC);
+        args.setUserAndOrganization(1, Organization.google);
+        args.setFiles(locale, factory, factory);
+        final VettingViewer<Organization>.DashboardData expected = vv.generateDashboard(args);
+        assertSameDashboard(expected, vv.generateDashboard(args, notes));
+
+        // updating paths one at a time changes nothing when nothing else changed
+        for (VettingViewer<Organization>.WritingInfo info : expected.sorted.values()) {
+            notes.update(info.codeOutput.getOriginalPath());
+        }
+        assertSameDashboard(expected, vv.generateDashboard(args, notes));
+
+        // the notes read back from their compact form are the same
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        notes.write(new DataOutputStream(bytes));
+        final VettingViewer<Organization>.PathNotes read =
+                vv.readPathNotes(
+                        notesArgs,
+                        new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        assertEquals(notes.size(), read.size());
+        for (NotificationCategory category : NotificationCategory.values()) {
+            assertEquals(
+                    notes.getProblemCounts().get(category),
+                    read.getProblemCounts().get(category),
+                    category.name());
+        }
+        assertSameDashboard(expected, vv.generateDashboard(args, read));
+    }
+
+    @Test
+    void testLocaleCompletionFromNotes() {
+        final CLDRLocale locale = CLDRLocale.getInstance("ceb");
+        final Factory factory = CLDRConfig.getInstance().getCldrFactory();
+        final VettingViewer<Organization> vv =
+                new VettingViewer<>(
+                        SupplementalDataInfo.getInstance(), factory, new VotelessUsersChoice());
+        final VettingParameters args =
+                new VettingParameters(
+                        VettingViewer.getLocaleCompletionCategories(), locale, Level.MODERN);
+        args.setUserAndOrganization(0, VettingViewer.getNeutralOrgForSummary());
+        args.setFiles(locale, factory, factory);
+        final LocaleCompletionData expected = vv.generateLocaleCompletion(args);
+        final VettingViewer<Organization>.PathNotes notes = vv.generatePathNotes(args);
+        assertSameCompletion(expected, new LocaleCompletionData(notes.getProblemCounts()));
+    }
+
+    private static void assertSameCompletion(
+            LocaleCompletionData expected, LocaleCompletionData actual) {
+        assertEquals(expected.errorCount(), actual.errorCount());
+        assertEquals(expected.missingCount(), actual.missingCount());
+        assertEquals(expected.provisionalCount(), actual.provisionalCount());
+    }
+
+    private static void assertSameDashboard(
+            VettingViewer<Organization>.DashboardData expected,
+            VettingViewer<Organization>.DashboardData actual) {
+        assertEquals(problemsByPath(expected), problemsByPath(actual));
+        assertEquals(
+                expected.voterProgress.getVotablePathCount(),
+                actual.voterProgress.getVotablePathCount());
+        assertEquals(
+                expected.voterProgress.getVotedPathCount(),
+                actual.voterProgress.getVotedPathCount());
+    }
+
+    private static Map<String, String> problemsByPath(
+            VettingViewer<Organization>.DashboardData dd) {
+        final Map<String, String> result = new TreeMap<>();
+        for (VettingViewer<Organization>.WritingInfo info : dd.sorted.values()) {
+            result.put(
+                    info.codeOutput.getOriginalPath(), info.problems + " " + info.htmlMessage);
+        }
+        return result;
+    }
 }
@@ -0,0 +1,39 @@
+package org.unicode.cldr.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+import java.util.Set;
+import java.util.TreeSet;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.unicode.cldr.util.CLDRFile.DraftStatus;
+
+public class TestXMLNormalizingLoader {
+    @ParameterizedTest
+    @CsvSource({
+        "main/root, unconfirmed",
+        "main/en, unconfirmed",
+        "main/de, approved",
+        "main/sr_Latn, unconfirmed",
+        "annotations/ja, unconfirmed",
+        "supplemental/supplementalData, unconfirmed",
+        "supplemental/supplementalMetadata, unconfirmed",
+    })
+    void testStreamingMatchesDefault(String name, DraftStatus draftStatus) {
+        File xml = new File(CLDRPaths.COMMON_DIRECTORY, name + ".xml");
+        String localeId = xml.getName().replace(".xml", "");
+        XMLSource expected = XMLNormalizingLoader.loadXMLFile(xml, localeId, draftStatus, false);
+        XMLSource actual = XMLNormalizingLoader.loadXMLFile(xml, localeId, draftStatus, true);
+
+        Set<String> expectedPaths = new TreeSet<>();
+        expected.forEach(expectedPaths::add);
+        Set<String> actualPaths = new TreeSet<>();
+        actual.forEach(actualPaths::add);
+        assertEquals(expectedPaths, actualPaths);
+        for (String path : expectedPaths) {
+            assertEquals(expected.getValueAtDPath(path), actual.getValueAtDPath(path), path);
+            assertEquals(expected.getFullPathAtDPath(path), actual.getFullPathAtDPath(path), path);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package org.unicode.cldr.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
+import java.util.TreeSet;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.unicode.cldr.util.CLDRFile.DraftStatus;
+import org.unicode.cldr.util.XPathParts.Comments.CommentType;
+
+public class TestXMLSourceSnapshot {
+    @TempDir Path tempDir;
+
+    @ParameterizedTest
+    @ValueSource(strings = {"main/root", "main/de", "annotations/ja", "main/sr_Latn"})
+    void testRoundTrip(String name) {
+        File xml = new File(CLDRPaths.COMMON_DIRECTORY, name + ".xml");
+        String localeId = xml.getName().replace(".xml", "");
+        XMLSource parsed = XMLNormalizingLoader.loadXMLFile(xml, localeId, DraftStatus.unconfirmed);
+        String hash = XMLSourceSnapshot.getContentHash(xml, DraftStatus.unconfirmed);
+        File snapshot =
+                XMLSourceSnapshot.getSnapshotFile(tempDir.toFile(), xml, DraftStatus.unconfirmed);
+        XMLSourceSnapshot.write(parsed, hash, snapshot);
+
+        XMLSource read = XMLSourceSnapshot.read(snapshot, hash);
+        assertNotNull(read, "snapshot should be readable");
+        assertEquals(parsed.getLocaleID(), read.getLocaleID());
+        assertEquals(parsed.getXMLNormalizingDtdType(), read.getXMLNormalizingDtdType());
+        assertEquals(parsed.isNonInheriting(), read.isNonInheriting());
+        assertEquals(parsed.getDtdVersionInfo(), read.getDtdVersionInfo());
+
+        Set<String> parsedPaths = new TreeSet<>();
+        parsed.forEach(parsedPaths::add);
+        Set<String> readPaths = new TreeSet<>();
+        read.forEach(readPaths::add);
+        assertEquals(parsedPaths, readPaths);
+        for (String path : parsedPaths) {
+            assertEquals(parsed.getValueAtDPath(path), read.getValueAtDPath(path), path);
+            assertEquals(parsed.getFullPathAtDPath(path), read.getFullPathAtDPath(path), path);
+            for (CommentType type : CommentType.values()) {
+                assertEquals(
+                        parsed.getXpathComments().getComment(type, path),
+                        read.getXpathComments().getComment(type, path),
+                        path);
+            }
+        }
+        assertEquals(
+                parsed.getXpathComments().getInitialComment(),
+                read.getXpathComments().getInitialComment());
+        assertEquals(
+                parsed.getXpathComments().getFinalComment(),
+                read.getXpathComments().getFinalComment());
+    }
+
+    @Test
+    void testStaleSnapshotIgnored() {
+        File xml = new File(CLDRPaths.MAIN_DIRECTORY, "fr.xml");
+        XMLSource parsed = XMLNormalizingLoader.loadXMLFile(xml, "fr", DraftStatus.unconfirmed);
+        File snapshot =
+                XMLSourceSnapshot.getSnapshotFile(tempDir.toFile(), xml, DraftStatus.unconfirmed);
+        XMLSourceSnapshot.write(parsed, "stale", snapshot);
+        assertNull(
+                XMLSourceSnapshot.read(
+                        snapshot, XMLSourceSnapshot.getContentHash(xml, DraftStatus.unconfirmed)));
+        assertNull(
+                XMLSourceSnapshot.read(new File(tempDir.toFile(), "missing.snapshot"), "stale"));
+    }
+
+    @Test
+    void testManifest() throws IOException {
+        File xml = new File(tempDir.toFile(), "fr.xml");
+        Files.copy(
+                new File(CLDRPaths.MAIN_DIRECTORY, "fr.xml").toPath(),
+                xml.toPath(),
+                StandardCopyOption.COPY_ATTRIBUTES);
+        XMLSource parsed = XMLNormalizingLoader.loadXMLFile(xml, "fr", DraftStatus.unconfirmed);
+        File snapshot =
+                XMLSourceSnapshot.getSnapshotFile(tempDir.toFile(), xml, DraftStatus.unconfirmed);
+        XMLSourceSnapshot.write(parsed, xml, DraftStatus.unconfirmed, snapshot);
+        assertNotNull(XMLSourceSnapshot.read(snapshot, xml, DraftStatus.unconfirmed));
+        assertNull(XMLSourceSnapshot.read(snapshot, xml, DraftStatus.approved));
+
+        // same size and time: taken as unchanged without hashing
+        final byte[] bytes = Files.readAllBytes(xml.toPath());
+        final long time = xml.lastModified();
+        bytes[bytes.length - 2] = (byte) ' ';
+        Files.write(xml.toPath(), bytes);
+        xml.setLastModified(time);
+        assertNotNull(XMLSourceSnapshot.read(snapshot, xml, DraftStatus.unconfirmed));
+
+        // a different time: hashed, and the changed contents are found
+        xml.setLastModified(time + 2000);
+        assertNull(XMLSourceSnapshot.read(snapshot, xml, DraftStatus.unconfirmed));
+
+        // the same contents with a different time are still current
+        XMLSourceSnapshot.write(parsed, xml, DraftStatus.unconfirmed, snapshot);
+        xml.setLastModified(time + 4000);
+        assertNotNull(XMLSourceSnapshot.read(snapshot, xml, DraftStatus.unconfirmed));
+
+        // a different size needs no hash to be found stale
+        Files.write(
+                xml.toPath(),
+                "<!-- -->".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+        assertNull(XMLSourceSnapshot.read(snapshot, xml, DraftStatus.unconfirmed));
+    }
+}